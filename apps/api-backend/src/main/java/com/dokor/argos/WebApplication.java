@@ -5,6 +5,7 @@ import java.util.concurrent.TimeUnit;
 
 import com.coreoz.wisp.Scheduler;
 import com.dokor.argos.db.DatabaseInitializer;
+import com.dokor.argos.services.scheduler.AuditWorkerPool;
 import com.dokor.argos.services.scheduler.SchedulerJobs;
 import org.glassfish.grizzly.GrizzlyFuture;
 import org.glassfish.grizzly.http.server.HttpServer;
@@ -56,7 +57,11 @@ public class WebApplication {
 
             injector.getInstance(SchedulerJobs.class).scheduleJobs();
 
-            addShutDownListener(httpServer, injector.getInstance(Scheduler.class));
+            addShutDownListener(
+                httpServer,
+                injector.getInstance(Scheduler.class),
+                injector.getInstance(AuditWorkerPool.class)
+            );
 
             logger.info("Server started in {} ms", System.currentTimeMillis() - startTimestamp);
         } catch (Throwable e) {
@@ -68,7 +73,7 @@ public class WebApplication {
         }
     }
 
-    private static void addShutDownListener(HttpServer httpServer, Scheduler scheduler) {
+    private static void addShutDownListener(HttpServer httpServer, Scheduler scheduler, AuditWorkerPool auditWorkerPool) {
         Runtime.getRuntime().addShutdownHook(new Thread(
             () -> {
                 logger.info("Stopping signal received, shutting down server and scheduler...");
@@ -77,6 +82,7 @@ public class WebApplication {
                     logger.info("Waiting for server to shut down... Shutdown timeout is {} seconds", GRACEFUL_SHUTDOWN_TIMEOUT.toSeconds());
                     // If scheduler is used, uncomment next line
                     scheduler.gracefullyShutdown(GRACEFUL_SHUTDOWN_TIMEOUT);
+                    auditWorkerPool.stop(GRACEFUL_SHUTDOWN_TIMEOUT);
                     grizzlyServerShutdownFuture.get();
                     logger.info("Server and scheduler stopped.");
                 } catch (Exception e) {
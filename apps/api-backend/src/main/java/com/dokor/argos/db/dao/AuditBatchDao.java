@@ -0,0 +1,102 @@
+package com.dokor.argos.db.dao;
+
+import com.coreoz.plume.db.querydsl.crud.CrudDaoQuerydsl;
+import com.coreoz.plume.db.querydsl.transaction.TransactionManagerQuerydsl;
+import com.dokor.argos.db.generated.AuditBatch;
+import com.dokor.argos.db.generated.QAuditBatch;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * DAO responsable de la table ARG_AUDIT_BATCH.
+ * <p>
+ * Un lot regroupe les runs créés par une même soumission {@code POST /audits/batch},
+ * ou les pages découvertes par un crawl ({@code POST /audits/crawl}).
+ */
+@Singleton
+public class AuditBatchDao extends CrudDaoQuerydsl<AuditBatch> {
+
+    private static final QAuditBatch BATCH = QAuditBatch.auditBatch;
+
+    @Inject
+    public AuditBatchDao(TransactionManagerQuerydsl transactionManager) {
+        super(transactionManager, BATCH);
+    }
+
+    /**
+     * Réserve jusqu'à {@code requested} pages dans le budget d'un crawl ({@code run_count <= max_pages}).
+     * <p>
+     * Compare-and-set sur {@code run_count} : deux nœuds qui découvrent des pages en même temps
+     * ne peuvent pas dépasser le budget ensemble.
+     *
+     * @param batchId   identifiant du crawl
+     * @param requested nombre de pages à réserver
+     * @return nombre de pages effectivement réservées (0 si le budget est épuisé)
+     */
+    public int reserveRuns(long batchId, int requested) {
+        while (true) {
+            AuditBatch batch = findById(batchId);
+            if (batch == null || batch.getMaxPages() == null) {
+                return 0;
+            }
+            int current = batch.getRunCount();
+            int granted = Math.min(requested, batch.getMaxPages() - current);
+            if (granted <= 0) {
+                return 0;
+            }
+            long updated = transactionManager.update(BATCH)
+                .set(BATCH.runCount, current + granted)
+                .where(BATCH.id.eq(batchId), BATCH.runCount.eq(current))
+                .execute();
+            if (updated == 1) {
+                return granted;
+            }
+        }
+    }
+
+    /**
+     * Lots et crawls soumis par un client depuis {@code since}, du plus ancien au plus récent
+     * (index (submitter_key, created_at)).
+     */
+    public List<AuditBatch> findSubmittedSince(String submitterKey, Instant since) {
+        return transactionManager.selectQuery()
+            .select(BATCH)
+            .from(BATCH)
+            .where(BATCH.submitterKey.eq(submitterKey), BATCH.createdAt.goe(since))
+            .orderBy(BATCH.createdAt.asc())
+            .fetch();
+    }
+
+    /**
+     * Enregistre l'hôte d'un crawl (hôte final de la page de départ, après redirections), s'il ne l'est pas déjà.
+     *
+     * @return hôte du crawl : celui enregistré par cet appel, ou celui enregistré auparavant
+     */
+    public String recordCrawlHost(long batchId, String crawlHost) {
+        transactionManager.update(BATCH)
+            .set(BATCH.crawlHost, crawlHost)
+            .where(BATCH.id.eq(batchId), BATCH.crawlHost.isNull())
+            .execute();
+        return transactionManager.selectQuery()
+            .select(BATCH.crawlHost)
+            .from(BATCH)
+            .where(BATCH.id.eq(batchId))
+            .fetchOne();
+    }
+
+    /**
+     * Rend au budget d'un crawl des pages réservées mais non créées (déjà présentes dans le crawl).
+     */
+    public void releaseRuns(long batchId, int count) {
+        if (count <= 0) {
+            return;
+        }
+        transactionManager.update(BATCH)
+            .set(BATCH.runCount, BATCH.runCount.subtract(count))
+            .where(BATCH.id.eq(batchId))
+            .execute();
+    }
+}
@@ -8,13 +8,17 @@ import com.dokor.argos.db.generated.QAudit;
 import com.dokor.argos.db.generated.QAuditReport;
 import com.dokor.argos.db.generated.QAuditRun;
 import com.dokor.argos.db.generated.QDomain;
+import com.querydsl.core.QueryFlag;
 import com.querydsl.core.Tuple;
 import com.querydsl.sql.SQLExpressions;
+import com.querydsl.sql.dml.SQLInsertClause;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -68,6 +72,72 @@ public class AuditDao extends CrudDaoQuerydsl<Audit> {
         );
     }
 
+    /**
+     * Recherche des audits à partir d’un ensemble d’URLs normalisées (une seule requête).
+     *
+     * @param normalizedUrls URLs normalisées
+     * @return audits existants (les URLs inconnues sont absentes du résultat)
+     */
+    public List<Audit> findByNormalizedUrls(Collection<String> normalizedUrls) {
+        if (normalizedUrls.isEmpty()) {
+            return List.of();
+        }
+        return transactionManager.selectQuery()
+            .select(AUDIT)
+            .from(AUDIT)
+            .where(AUDIT.normalizedUrl.in(normalizedUrls))
+            .fetch();
+    }
+
+    /**
+     * Crée les audits manquants en un seul batch JDBC ({@code INSERT IGNORE}).
+     * <p>
+     * Un audit créé entre-temps pour la même URL (autre requête, autre nœud) est ignoré
+     * grâce à l’index unique : l’appelant relit les identifiants avec {@link #findByNormalizedUrls}.
+     *
+     * @param audits audits à créer (domainId, inputUrl, normalizedUrl et createdAt renseignés)
+     */
+    public void insertMissing(Collection<Audit> audits) {
+        if (audits.isEmpty()) {
+            return;
+        }
+        SQLInsertClause insert = transactionManager.insert(AUDIT)
+            .addFlag(QueryFlag.Position.START_OVERRIDE, "insert ignore into ");
+        for (Audit audit : audits) {
+            insert.set(AUDIT.domainId, audit.getDomainId())
+                .set(AUDIT.inputUrl, audit.getInputUrl())
+                .set(AUDIT.normalizedUrl, audit.getNormalizedUrl())
+                .set(AUDIT.createdAt, audit.getCreatedAt())
+                .addBatch();
+        }
+        insert.execute();
+    }
+
+    /**
+     * Récupère ou crée l’audit d’une URL normalisée.
+     * <p>
+     * {@code INSERT IGNORE} puis relecture : deux premières soumissions simultanées de la même URL
+     * partagent le même audit au lieu de faire échouer la seconde sur l’index unique.
+     *
+     * @param inputUrl      URL brute soumise, conservée si l’audit est créé
+     * @param normalizedUrl URL normalisée (clé fonctionnelle)
+     * @param domainId      domaine de l’URL
+     * @param createdAt     timestamp de création si insertion nécessaire
+     * @return audit existant ou nouvellement créé
+     */
+    public Audit findOrCreate(String inputUrl, String normalizedUrl, long domainId, Instant createdAt) {
+        return findByNormalizedUrl(normalizedUrl).orElseGet(() -> {
+            Audit audit = new Audit();
+            audit.setDomainId(domainId);
+            audit.setInputUrl(inputUrl);
+            audit.setNormalizedUrl(normalizedUrl);
+            audit.setCreatedAt(createdAt);
+            insertMissing(List.of(audit));
+            return findByNormalizedUrl(normalizedUrl)
+                .orElseThrow(() -> new IllegalStateException("Audit not found after creation: " + normalizedUrl));
+        });
+    }
+
     /**
      * Vérifie l’existence d’un audit à partir de son URL normalisée.
      * <p>
@@ -90,7 +160,8 @@ public class AuditDao extends CrudDaoQuerydsl<Audit> {
      * Liste des audits avec leur domaine, leur dernier run et leur rapport public.
      * <p>
      * Le Tuple retourné contient dans l'ordre : Audit (0), Domain (1), AuditRun (2), AuditReport (3).
-     * Le run est sélectionné par MAX(id) pour garantir qu'une seule ligne est retournée par audit.
+     * Le run est sélectionné par MAX(id) pour garantir qu'une seule ligne est retournée par audit ;
+     * les runs qui réutilisent un résultat récent (source_run_id) sont ignorés au profit du run qui l'a produit.
      *
      * @param limit nombre max de lignes
      */
@@ -106,7 +177,7 @@ public class AuditDao extends CrudDaoQuerydsl<Audit> {
                 RUN.id.eq(
                     SQLExpressions.select(SUB_RUN.id.max())
                         .from(SUB_RUN)
-                        .where(SUB_RUN.auditId.eq(AUDIT.id))
+                        .where(SUB_RUN.auditId.eq(AUDIT.id), SUB_RUN.sourceRunId.isNull())
                 )
             )
             .leftJoin(AUDIT_REPORT).on(AUDIT_REPORT.runId.eq(RUN.id))
@@ -116,6 +187,37 @@ public class AuditDao extends CrudDaoQuerydsl<Audit> {
     }
 
 
+    /**
+     * URLs normalisées des pages déjà présentes dans un lot (graine de la frontière d'un crawl).
+     *
+     * @param batchId identifiant du lot
+     */
+    public List<String> findNormalizedUrlsByBatch(long batchId) {
+        return transactionManager.selectQuery()
+            .select(AUDIT.normalizedUrl)
+            .from(RUN)
+            .innerJoin(AUDIT).on(AUDIT.id.eq(RUN.auditId))
+            .where(RUN.batchId.eq(batchId))
+            .fetch();
+    }
+
+    /**
+     * Pages d'un lot avec leur run, dans l'ordre de découverte.
+     * <p>
+     * Le Tuple retourné contient dans l'ordre : AuditRun (0), URL normalisée de l'audit (1).
+     *
+     * @param batchId identifiant du lot
+     */
+    public List<Tuple> findBatchPages(long batchId) {
+        return transactionManager.selectQuery()
+            .select(RUN, AUDIT.normalizedUrl)
+            .from(RUN)
+            .innerJoin(AUDIT).on(AUDIT.id.eq(RUN.auditId))
+            .where(RUN.batchId.eq(batchId))
+            .orderBy(RUN.id.asc())
+            .fetch();
+    }
+
     /**
      * Recherche le rapport public associé à un run.
      *
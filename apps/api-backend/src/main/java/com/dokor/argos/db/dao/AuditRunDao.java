@@ -4,19 +4,43 @@ package com.dokor.argos.db.dao;
 import com.coreoz.plume.db.querydsl.crud.CrudDaoQuerydsl;
 import com.coreoz.plume.db.querydsl.transaction.TransactionManagerQuerydsl;
 import com.dokor.argos.db.generated.AuditRun;
+import com.dokor.argos.db.generated.QAudit;
+import com.dokor.argos.db.generated.QAuditBatch;
 import com.dokor.argos.db.generated.QAuditRun;
 import com.dokor.argos.services.domain.audit.enums.AuditRunStatus;
+import com.querydsl.core.QueryFlag;
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.dsl.Expressions;
+import com.querydsl.core.types.dsl.NumberExpression;
+import com.querydsl.sql.SQLExpressions;
+import com.querydsl.sql.dml.SQLInsertClause;
+import com.querydsl.sql.dml.SQLUpdateClause;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
+import java.sql.Connection;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
 
 
 @Singleton
 public class AuditRunDao extends CrudDaoQuerydsl<AuditRun> {
 
     private static final QAuditRun RUN = QAuditRun.auditRun;
+    private static final QAudit AUDIT = QAudit.audit;
+    private static final QAuditBatch BATCH = QAuditBatch.auditBatch;
+    /** Alias pour compter les runs RUNNING d'un même lot. */
+    private static final QAuditRun BUSY_RUN = new QAuditRun("busyRun");
 
 
     @Inject
@@ -24,22 +48,371 @@ public class AuditRunDao extends CrudDaoQuerydsl<AuditRun> {
         super(transactionManager, QAuditRun.auditRun);
     }
 
-    public Optional<AuditRun> findNextQueuedRun() {
+    /**
+     * Claim atomique de runs QUEUED, répartis entre soumetteurs selon {@code quotaBySubmitter}, en une seule transaction.
+     * <p>
+     * Pour chaque soumetteur, ses runs les plus prioritaires ({@code priority_at} croissant) sont verrouillés par
+     * {@code SELECT … FOR UPDATE SKIP LOCKED} : des workers concurrents (threads ou nœuds) ne s'attendent pas et
+     * obtiennent chacun des runs disjoints, sans perdant. Chaque run reçoit son propre claim token et passe RUNNING
+     * dans la même transaction.
+     * <p>
+     * Les runs d'un lot qui a déjà {@code max_running} runs RUNNING sont ignorés (un crawl ne monopolise pas
+     * les workers), et le nombre de runs d'un même lot pris dans ce claim est borné par la place restante.
+     * La limite reste indicative entre deux claims simultanés : chacun ne voit pas les runs que l'autre passe RUNNING.
+     * <p>
+     * Seules les files ayant encore de la place dans {@code remainingByLane} sont servies, chacune dans la limite
+     * de cette place (workers réservés aux autres files).
+     * <p>
+     * Les runs reportés ({@code next_attempt_at} dans le futur) sont ignorés.
+     * <p>
+     * Le claim est un bail ({@code lease_expires_at}) que le nœud doit prolonger ({@link #extendLeases}) ;
+     * chaque claim incrémente {@code attempt_count}.
+     *
+     * @param quotaBySubmitter soumetteur → nombre maximum de runs de ce soumetteur à claim
+     * @param remainingByLane  file → nombre maximum de runs de cette file à claim
+     * @param claimTokens      générateur de claim tokens uniques
+     * @param now              instant de démarrage du traitement
+     * @param leaseExpiresAt   fin du bail des runs claimés
+     * @return runs claimés (status RUNNING), vide si la file est vide ou entièrement verrouillée
+     */
+    public List<AuditRun> claimQueuedRuns(
+        Map<String, Integer> quotaBySubmitter,
+        Map<String, Integer> remainingByLane,
+        Supplier<String> claimTokens,
+        Instant now,
+        Instant leaseExpiresAt
+    ) {
+        List<String> lanes = remainingByLane.entrySet().stream()
+            .filter(lane -> lane.getValue() > 0)
+            .map(Map.Entry::getKey)
+            .toList();
+        if (lanes.isEmpty() || quotaBySubmitter.isEmpty()) {
+            return List.of();
+        }
+
+        NumberExpression<Long> busyRuns = Expressions.asNumber(
+            SQLExpressions.select(BUSY_RUN.id.count())
+                .from(BUSY_RUN)
+                .where(
+                    BUSY_RUN.batchId.eq(RUN.batchId),
+                    BUSY_RUN.status.eq(AuditRunStatus.RUNNING.name())
+                )
+        );
+
+        return transactionManager.executeAndReturn(connection -> {
+            // Une requête par soumetteur retenu (au plus un par worker libre), sur l'index (status, submitter_key, priority_at)
+            List<Tuple> candidates = new ArrayList<>();
+            for (Map.Entry<String, Integer> quota : quotaBySubmitter.entrySet()) {
+                candidates.addAll(transactionManager.selectQuery(connection)
+                    .select(RUN, BATCH.maxRunning, busyRuns)
+                    .from(RUN)
+                    .leftJoin(BATCH).on(BATCH.id.eq(RUN.batchId))
+                    .where(
+                        RUN.status.eq(AuditRunStatus.QUEUED.name()),
+                        RUN.submitterKey.eq(quota.getKey()),
+                        RUN.claimToken.isNull(),
+                        RUN.nextAttemptAt.isNull().or(RUN.nextAttemptAt.loe(now)),
+                        RUN.lane.in(lanes),
+                        BATCH.maxRunning.isNull().or(busyRuns.lt(BATCH.maxRunning.longValue()))
+                    )
+                    .orderBy(RUN.priorityAt.asc(), RUN.id.asc())
+                    .limit(quota.getValue())
+                    .addFlag(QueryFlag.Position.END, "\nfor update skip locked")
+                    .fetch());
+            }
+
+            // Place restante par lot et par file, décrémentée à chaque run retenu dans ce claim
+            Map<Long, Long> remainingByBatch = new HashMap<>();
+            Map<String, Integer> remainingLanes = new HashMap<>(remainingByLane);
+            List<AuditRun> claimed = new ArrayList<>();
+            SQLUpdateClause update = transactionManager.update(RUN, connection);
+            for (Tuple candidate : candidates) {
+                AuditRun run = candidate.get(RUN);
+                if (remainingLanes.getOrDefault(run.getLane(), 0) <= 0) {
+                    continue;
+                }
+                Integer maxRunning = candidate.get(BATCH.maxRunning);
+                if (maxRunning != null) {
+                    long remaining = remainingByBatch.computeIfAbsent(
+                        run.getBatchId(), batchId -> maxRunning - candidate.get(busyRuns)
+                    );
+                    if (remaining <= 0) {
+                        continue;
+                    }
+                    remainingByBatch.put(run.getBatchId(), remaining - 1);
+                }
+                remainingLanes.merge(run.getLane(), -1, Integer::sum);
+
+                run.setClaimToken(claimTokens.get());
+                run.setStatus(AuditRunStatus.RUNNING.name());
+                run.setStartedAt(now);
+                run.setLeaseExpiresAt(leaseExpiresAt);
+                run.setAttemptCount(run.getAttemptCount() + 1);
+                run.setHostSlotAt(null);
+                update.set(RUN.claimToken, run.getClaimToken())
+                    .set(RUN.status, run.getStatus())
+                    .set(RUN.startedAt, now)
+                    .set(RUN.leaseExpiresAt, leaseExpiresAt)
+                    .set(RUN.attemptCount, run.getAttemptCount())
+                    .setNull(RUN.hostSlotAt)
+                    .where(RUN.id.eq(run.getId()))
+                    .addBatch();
+                claimed.add(run);
+            }
+            if (!claimed.isEmpty()) {
+                update.execute();
+            }
+            return claimed;
+        });
+    }
+
+    /**
+     * Tête de file de chaque soumetteur : pour chaque (soumetteur, file), le {@code priority_at} de son run QUEUED
+     * le plus prioritaire et son nombre de runs QUEUED, hors runs reportés.
+     * Une requête GROUP BY sur l'index (status, submitter_key, priority_at).
+     *
+     * @param now instant courant (les runs dont {@code next_attempt_at} est postérieur sont ignorés)
+     * @return têtes de file, dans un ordre quelconque
+     */
+    public List<QueuedHead> findQueuedHeads(Instant now) {
+        List<QueuedHead> heads = new ArrayList<>();
+        for (Tuple row : transactionManager.selectQuery()
+            .select(RUN.submitterKey, RUN.lane, RUN.priorityAt.min(), RUN.id.count())
+            .from(RUN)
+            .where(
+                RUN.status.eq(AuditRunStatus.QUEUED.name()),
+                RUN.claimToken.isNull(),
+                RUN.nextAttemptAt.isNull().or(RUN.nextAttemptAt.loe(now))
+            )
+            .groupBy(RUN.submitterKey, RUN.lane)
+            .fetch()) {
+            heads.add(new QueuedHead(
+                row.get(RUN.submitterKey),
+                row.get(RUN.lane),
+                row.get(RUN.priorityAt.min()),
+                row.get(RUN.id.count())
+            ));
+        }
+        return heads;
+    }
+
+    /**
+     * Heartbeat : prolonge le bail des runs traités par ce nœud.
+     * <p>
+     * Le bail n'est prolongé que si le run est toujours RUNNING avec le même claim token :
+     * un run repris par le reaper (bail expiré) est signalé comme perdu.
+     *
+     * @param claimTokens    runId → claim token des runs en cours sur ce nœud
+     * @param leaseExpiresAt nouvelle fin de bail
+     * @return identifiants des runs dont le bail a été perdu
+     */
+    public Set<Long> extendLeases(Map<Long, String> claimTokens, Instant leaseExpiresAt) {
+        if (claimTokens.isEmpty()) {
+            return Set.of();
+        }
+        return transactionManager.executeAndReturn(connection -> {
+            Set<Long> lost = new HashSet<>();
+            for (Map.Entry<Long, String> claim : claimTokens.entrySet()) {
+                long updated = transactionManager.update(RUN, connection)
+                    .set(RUN.leaseExpiresAt, leaseExpiresAt)
+                    .where(
+                        RUN.id.eq(claim.getKey()),
+                        RUN.claimToken.eq(claim.getValue()),
+                        RUN.status.eq(AuditRunStatus.RUNNING.name())
+                    )
+                    .execute();
+                if (updated == 0) {
+                    lost.add(claim.getKey());
+                }
+            }
+            return lost;
+        });
+    }
+
+    /**
+     * Remet en file un run claimé qui ne peut pas démarrer tout de suite (hôte occupé), sans le compter comme tentative.
+     * <p>
+     * Le run repasse QUEUED sans claim token, et ne sera plus claimé avant {@code nextAttemptAt}.
+     *
+     * @param runId         run à reporter
+     * @param claimToken    claim token du worker qui reporte le run
+     * @param nextAttemptAt date à partir de laquelle le run peut être claimé à nouveau
+     * @return true si le run a été reporté (false si le claim avait déjà été perdu)
+     */
+    public boolean deferRun(long runId, String claimToken, Instant nextAttemptAt) {
+        long updated = transactionManager.update(RUN)
+            .set(RUN.status, AuditRunStatus.QUEUED.name())
+            .setNull(RUN.claimToken)
+            .setNull(RUN.startedAt)
+            .setNull(RUN.leaseExpiresAt)
+            .set(RUN.attemptCount, RUN.attemptCount.subtract(1))
+            .set(RUN.nextAttemptAt, nextAttemptAt)
+            .where(
+                RUN.id.eq(runId),
+                RUN.claimToken.eq(claimToken),
+                RUN.status.eq(AuditRunStatus.RUNNING.name())
+            )
+            .execute();
+        return updated == 1;
+    }
+
+    /**
+     * Remet en file un run claimé qui a échoué de façon transitoire : il repasse QUEUED sans claim token,
+     * et ne sera plus claimé avant {@code nextAttemptAt}. La tentative reste comptée dans {@code attempt_count}.
+     *
+     * @param runId         run à remettre en file
+     * @param claimToken    claim token du worker qui a exécuté le run
+     * @param nextAttemptAt date à partir de laquelle le run peut être claimé à nouveau
+     * @param lastError     erreur de la tentative
+     * @return true si le run a été remis en file (false si le claim avait déjà été perdu)
+     */
+    public boolean retryRun(long runId, String claimToken, Instant nextAttemptAt, String lastError) {
+        long updated = transactionManager.update(RUN)
+            .set(RUN.status, AuditRunStatus.QUEUED.name())
+            .setNull(RUN.claimToken)
+            .setNull(RUN.startedAt)
+            .setNull(RUN.leaseExpiresAt)
+            .set(RUN.nextAttemptAt, nextAttemptAt)
+            .set(RUN.lastError, lastError)
+            .where(
+                RUN.id.eq(runId),
+                RUN.claimToken.eq(claimToken),
+                RUN.status.eq(AuditRunStatus.RUNNING.name())
+            )
+            .execute();
+        return updated == 1;
+    }
+
+    /**
+     * Reaper : reprend les runs RUNNING dont le bail a expiré (nœud arrêté ou bloqué en cours d'audit).
+     * <p>
+     * Les runs ayant atteint {@code maxAttempts} claims passent FAILED ; les autres repassent QUEUED
+     * sans claim token, et seront claimés à nouveau par n'importe quel nœud.
+     *
+     * @param now         instant courant
+     * @param maxAttempts nombre maximum de claims d'un run
+     * @param lastError   message d'erreur des runs passés FAILED
+     * @return nombre de runs remis en file et passés FAILED
+     */
+    public ReapedRuns reapExpiredLeases(Instant now, int maxAttempts, String lastError) {
+        return transactionManager.executeAndReturn(connection -> {
+            long failed = transactionManager.update(RUN, connection)
+                .set(RUN.status, AuditRunStatus.FAILED.name())
+                .set(RUN.finishedAt, now)
+                .set(RUN.lastError, lastError)
+                .setNull(RUN.leaseExpiresAt)
+                .where(
+                    RUN.status.eq(AuditRunStatus.RUNNING.name()),
+                    RUN.leaseExpiresAt.lt(now),
+                    RUN.attemptCount.goe(maxAttempts)
+                )
+                .execute();
+
+            long requeued = transactionManager.update(RUN, connection)
+                .set(RUN.status, AuditRunStatus.QUEUED.name())
+                .setNull(RUN.claimToken)
+                .setNull(RUN.startedAt)
+                .setNull(RUN.leaseExpiresAt)
+                .where(
+                    RUN.status.eq(AuditRunStatus.RUNNING.name()),
+                    RUN.leaseExpiresAt.lt(now)
+                )
+                .execute();
+
+            return new ReapedRuns(requeued, failed);
+        });
+    }
+
+    /**
+     * Single-flight : retourne le run QUEUED ou RUNNING de l'audit s'il en existe un, sinon crée un run QUEUED.
+     * <p>
+     * La ligne ARG_AUDIT est verrouillée ({@code SELECT … FOR UPDATE}) le temps de la vérification et de l'insertion :
+     * deux soumissions simultanées de la même URL, même sur deux nœuds, ne peuvent pas créer deux runs.
+     *
+     * @param auditId      audit soumis
+     * @param lane         file du run si un run doit être créé
+     * @param submitterKey soumetteur du run si un run doit être créé
+     * @param now          date de création du run si un run doit être créé
+     * @param priorityAt   priorité du run si un run doit être créé
+     * @param beforeCreate appelé uniquement si un run doit être créé, avant l'insertion (contrôle d'admission) :
+     *                     une exception annule la transaction sans rien créer
+     * @return run en cours (attached = true) ou nouveau run (attached = false)
+     */
+    public QueuedRun findInFlightOrCreateQueued(
+        long auditId,
+        String lane,
+        String submitterKey,
+        Instant now,
+        Instant priorityAt,
+        Runnable beforeCreate
+    ) {
+        return transactionManager.executeAndReturn(connection -> {
+            transactionManager.selectQuery(connection)
+                .select(AUDIT.id)
+                .from(AUDIT)
+                .where(AUDIT.id.eq(auditId))
+                .forUpdate()
+                .fetchOne();
+
+            AuditRun inFlight = findInFlightRun(auditId, connection);
+            if (inFlight != null) {
+                return new QueuedRun(inFlight, true);
+            }
+
+            beforeCreate.run();
+            AuditRun run = new AuditRun();
+            run.setAuditId(auditId);
+            run.setStatus(AuditRunStatus.QUEUED.name());
+            run.setLane(lane);
+            run.setSubmitterKey(submitterKey);
+            run.setCreatedAt(now);
+            run.setPriorityAt(priorityAt);
+            run.setId(transactionManager.insert(RUN, connection)
+                .populate(run)
+                .executeWithKey(RUN.id));
+            return new QueuedRun(run, false);
+        });
+    }
+
+    private AuditRun findInFlightRun(long auditId, Connection connection) {
+        return transactionManager.selectQuery(connection)
+            .select(RUN)
+            .from(RUN)
+            .where(
+                RUN.auditId.eq(auditId),
+                RUN.status.in(List.of(AuditRunStatus.QUEUED.name(), AuditRunStatus.RUNNING.name()))
+            )
+            .orderBy(RUN.id.desc())
+            .limit(1)
+            .fetchOne();
+    }
+
+    /**
+     * Dernier run de l'audit terminé avec succès depuis {@code since}, hors runs eux-mêmes réutilisés.
+     * <p>
+     * Seul l'identifiant est lu (pas le result_json) : une lecture sur l'index (audit_id, status, finished_at).
+     *
+     * @param auditId audit soumis
+     * @param since   début de la fenêtre de fraîcheur
+     * @return identifiant du run source, si un résultat assez récent existe
+     */
+    public Optional<Long> findFreshCompletedRunId(long auditId, Instant since) {
         return Optional.ofNullable(
             transactionManager.selectQuery()
-                .select(RUN)
+                .select(RUN.id)
                 .from(RUN)
                 .where(
-                    RUN.status.eq(AuditRunStatus.QUEUED.name()),
-                    RUN.claimToken.isNull()
+                    RUN.auditId.eq(auditId),
+                    RUN.status.eq(AuditRunStatus.COMPLETED.name()),
+                    RUN.finishedAt.goe(since),
+                    RUN.sourceRunId.isNull()
                 )
-                .orderBy(RUN.createdAt.asc())
+                .orderBy(RUN.finishedAt.desc())
                 .limit(1)
                 .fetchOne()
         );
     }
 
-
     /**
      * Recherche un AuditRun à partir de son claimToken.
      * <p>
@@ -73,16 +446,20 @@ public class AuditRunDao extends CrudDaoQuerydsl<AuditRun> {
      * Si un autre worker a déjà claim le run,
      * la requête ne modifie aucune ligne.
      *
-     * @param runId      identifiant du run à claim
-     * @param claimToken token unique du worker
-     * @param now        instant de démarrage du traitement
+     * @param runId          identifiant du run à claim
+     * @param claimToken     token unique du worker
+     * @param now            instant de démarrage du traitement
+     * @param leaseExpiresAt fin du bail du run claimé
      * @return true si le claim a réussi, false sinon
      */
-    public boolean claimRun(long runId, String claimToken, Instant now) {
+    public boolean claimRun(long runId, String claimToken, Instant now, Instant leaseExpiresAt) {
         long updated = transactionManager.update(RUN)
             .set(RUN.claimToken, claimToken)
             .set(RUN.status, AuditRunStatus.RUNNING.name())
             .set(RUN.startedAt, now)
+            .set(RUN.leaseExpiresAt, leaseExpiresAt)
+            .set(RUN.attemptCount, RUN.attemptCount.add(1))
+            .setNull(RUN.hostSlotAt)
             .where(
                 RUN.id.eq(runId),
                 RUN.status.eq(AuditRunStatus.QUEUED.name()),
@@ -100,17 +477,28 @@ public class AuditRunDao extends CrudDaoQuerydsl<AuditRun> {
      * Cette méthode est appelée lorsque le traitement
      * de l'audit s'est bien déroulé.
      *
+     * Comme {@link #retryRun}, l'écriture n'a lieu que si le worker détient encore le claim :
+     * un worker qui a perdu son bail (run repris par le reaper) n'écrase pas le run d'un autre nœud.
+     *
      * @param runId      identifiant du run
+     * @param claimToken claim token du worker qui a exécuté le run
      * @param finishedAt date de fin de traitement
      * @param resultJson résultat du traitement (JSON sérialisé)
+     * @return true si le run a été marqué COMPLETED (false si le claim avait déjà été perdu)
      */
-    public void markCompleted(long runId, Instant finishedAt, String resultJson) {
-        transactionManager.update(RUN)
+    public boolean markCompleted(long runId, String claimToken, Instant finishedAt, String resultJson) {
+        long updated = transactionManager.update(RUN)
             .set(RUN.status, AuditRunStatus.COMPLETED.name())
             .set(RUN.finishedAt, finishedAt)
             .set(RUN.resultJson, resultJson)
-            .where(RUN.id.eq(runId))
+            .setNull(RUN.leaseExpiresAt)
+            .where(
+                RUN.id.eq(runId),
+                RUN.claimToken.eq(claimToken),
+                RUN.status.eq(AuditRunStatus.RUNNING.name())
+            )
             .execute();
+        return updated == 1;
     }
 
     /**
@@ -119,16 +507,222 @@ public class AuditRunDao extends CrudDaoQuerydsl<AuditRun> {
      * Utilisé si une exception ou une erreur métier
      * empêche la fin normale du traitement.
      *
+     * L'écriture n'a lieu que si le worker détient encore le claim (cf. {@link #markCompleted}).
+     *
      * @param runId      identifiant du run
+     * @param claimToken claim token du worker qui a exécuté le run
      * @param finishedAt date de fin (échec)
      * @param lastError  message d'erreur à conserver en base
+     * @return true si le run a été marqué FAILED (false si le claim avait déjà été perdu)
      */
-    public void markFailed(long runId, Instant finishedAt, String lastError) {
-        transactionManager.update(RUN)
+    public boolean markFailed(long runId, String claimToken, Instant finishedAt, String lastError) {
+        long updated = transactionManager.update(RUN)
             .set(RUN.status, AuditRunStatus.FAILED.name())
             .set(RUN.finishedAt, finishedAt)
             .set(RUN.lastError, lastError)
-            .where(RUN.id.eq(runId))
+            .setNull(RUN.leaseExpiresAt)
+            .where(
+                RUN.id.eq(runId),
+                RUN.claimToken.eq(claimToken),
+                RUN.status.eq(AuditRunStatus.RUNNING.name())
+            )
             .execute();
+        return updated == 1;
+    }
+
+    /**
+     * Crée un run QUEUED par audit, rattaché à un lot, en un seul batch JDBC.
+     * <p>
+     * {@code INSERT IGNORE} : un audit déjà présent dans le lot (clé unique (batch_id, audit_id))
+     * n'est pas inséré une seconde fois, ce qui dédoublonne les pages découvertes par un crawl.
+     *
+     * @param auditIds     identifiants des audits à lancer
+     * @param batchId      lot de soumission
+     * @param lane         file des runs
+     * @param submitterKey soumetteur des runs
+     * @param now          date de création des runs
+     * @param priorityAt   priorité des runs
+     * @return nombre de runs insérés
+     */
+    public long insertQueuedRuns(
+        Collection<Long> auditIds,
+        long batchId,
+        String lane,
+        String submitterKey,
+        Instant now,
+        Instant priorityAt
+    ) {
+        if (auditIds.isEmpty()) {
+            return 0;
+        }
+        SQLInsertClause insert = transactionManager.insert(RUN)
+            .addFlag(QueryFlag.Position.START_OVERRIDE, "insert ignore into ");
+        for (Long auditId : auditIds) {
+            insert.set(RUN.auditId, auditId)
+                .set(RUN.batchId, batchId)
+                .set(RUN.status, AuditRunStatus.QUEUED.name())
+                .set(RUN.lane, lane)
+                .set(RUN.submitterKey, submitterKey)
+                .set(RUN.createdAt, now)
+                .set(RUN.priorityAt, priorityAt)
+                .addBatch();
+        }
+        return insert.execute();
+    }
+
+    /**
+     * Plus grand identifiant de run (lecture de la dernière entrée de la clé primaire).
+     */
+    public Long findLatestRunId() {
+        return transactionManager.selectQuery()
+            .select(RUN.id.max())
+            .from(RUN)
+            .fetchOne();
+    }
+
+    /**
+     * Nombre de runs QUEUED de la file {@code lane} qui passeront avant un run de cette file créé à {@code now}
+     * ({@code priority_at <= now}), lu sur l'index (status, lane, priority_at).
+     */
+    public long countQueuedAhead(String lane, Instant now) {
+        Long count = transactionManager.selectQuery()
+            .select(RUN.id.count())
+            .from(RUN)
+            .where(
+                RUN.status.eq(AuditRunStatus.QUEUED.name()),
+                RUN.lane.eq(lane),
+                RUN.priorityAt.loe(now)
+            )
+            .fetchOne();
+        return count == null ? 0L : count;
+    }
+
+    /**
+     * Nombre de runs QUEUED des files {@code lanes}, quelle que soit leur priorité.
+     */
+    public long countQueued(Collection<String> lanes) {
+        Long count = transactionManager.selectQuery()
+            .select(RUN.id.count())
+            .from(RUN)
+            .where(
+                RUN.status.eq(AuditRunStatus.QUEUED.name()),
+                RUN.lane.in(lanes)
+            )
+            .fetchOne();
+        return count == null ? 0L : count;
+    }
+
+    /**
+     * Nombre de runs RUNNING, tous nœuds confondus.
+     */
+    public long countRunning() {
+        Long count = transactionManager.selectQuery()
+            .select(RUN.id.count())
+            .from(RUN)
+            .where(RUN.status.eq(AuditRunStatus.RUNNING.name()))
+            .fetchOne();
+        return count == null ? 0L : count;
+    }
+
+    /**
+     * Durées d'exécution ({@code started_at} → {@code finished_at}) des derniers runs COMPLETED,
+     * hors runs réutilisant un résultat existant (durée nulle).
+     *
+     * @param limit nombre maximum de runs lus, du plus récent au plus ancien
+     */
+    public List<Duration> findRecentRunDurations(int limit) {
+        List<Duration> durations = new ArrayList<>();
+        for (Tuple row : transactionManager.selectQuery()
+            .select(RUN.startedAt, RUN.finishedAt)
+            .from(RUN)
+            .where(
+                RUN.status.eq(AuditRunStatus.COMPLETED.name()),
+                RUN.sourceRunId.isNull(),
+                RUN.startedAt.isNotNull(),
+                RUN.finishedAt.isNotNull()
+            )
+            .orderBy(RUN.id.desc())
+            .limit(limit)
+            .fetch()) {
+            durations.add(Duration.between(row.get(RUN.startedAt), row.get(RUN.finishedAt)));
+        }
+        return durations;
+    }
+
+    /**
+     * Nombre de runs QUEUED et RUNNING par statut et par file (GROUP BY sur les seuls runs en cours).
+     */
+    public List<StatusLaneCount> countInFlightByStatusAndLane() {
+        List<StatusLaneCount> counts = new ArrayList<>();
+        for (Tuple row : transactionManager.selectQuery()
+            .select(RUN.status, RUN.lane, RUN.id.count())
+            .from(RUN)
+            .where(RUN.status.in(AuditRunStatus.QUEUED.name(), AuditRunStatus.RUNNING.name()))
+            .groupBy(RUN.status, RUN.lane)
+            .fetch()) {
+            counts.add(new StatusLaneCount(row.get(RUN.status), row.get(RUN.lane), row.get(RUN.id.count())));
+        }
+        return counts;
+    }
+
+    /**
+     * Date de création du plus ancien run QUEUED (index (status, created_at)), vide si la file est vide.
+     */
+    public Optional<Instant> findOldestQueuedCreatedAt() {
+        return Optional.ofNullable(transactionManager.selectQuery()
+            .select(RUN.createdAt.min())
+            .from(RUN)
+            .where(RUN.status.eq(AuditRunStatus.QUEUED.name()))
+            .fetchOne());
     }
+
+    /**
+     * Nombre de runs d'un lot par statut (une seule requête GROUP BY sur l'index (batch_id, status)).
+     *
+     * @param batchId identifiant du lot
+     * @return statut → nombre de runs (statuts sans run absents)
+     */
+    public Map<String, Long> countByStatusForBatch(long batchId) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (Tuple row : transactionManager.selectQuery()
+            .select(RUN.status, RUN.id.count())
+            .from(RUN)
+            .where(RUN.batchId.eq(batchId))
+            .groupBy(RUN.status)
+            .fetch()) {
+            counts.put(row.get(RUN.status), row.get(RUN.id.count()));
+        }
+        return counts;
+    }
+
+    /**
+     * Run retourné par {@link #findInFlightOrCreateQueued}.
+     *
+     * @param run      run QUEUED/RUNNING existant, ou run créé
+     * @param attached true si la soumission a été rattachée à un run déjà en cours
+     */
+    public record QueuedRun(AuditRun run, boolean attached) {}
+
+    /**
+     * Résultat d'un passage du reaper ({@link #reapExpiredLeases}).
+     *
+     * @param requeued runs remis en QUEUED
+     * @param failed   runs passés FAILED (nombre maximum de tentatives atteint)
+     */
+    public record ReapedRuns(long requeued, long failed) {}
+
+    /**
+     * Tête de file d'un soumetteur dans une file de priorité ({@link #findQueuedHeads}).
+     *
+     * @param submitterKey soumetteur
+     * @param lane         file de priorité
+     * @param priorityAt   {@code priority_at} du run le plus prioritaire
+     * @param queued       nombre de runs QUEUED
+     */
+    public record QueuedHead(String submitterKey, String lane, Instant priorityAt, long queued) {}
+
+    /**
+     * Nombre de runs d'un statut dans une file ({@link #countInFlightByStatusAndLane}).
+     */
+    public record StatusLaneCount(String status, String lane, long count) {}
 }
@@ -0,0 +1,67 @@
+package com.dokor.argos.db.dao;
+
+import com.coreoz.plume.db.querydsl.crud.CrudDaoQuerydsl;
+import com.coreoz.plume.db.querydsl.transaction.TransactionManagerQuerydsl;
+import com.dokor.argos.db.generated.AuditRunModule;
+import com.dokor.argos.db.generated.QAuditRunModule;
+import com.querydsl.core.QueryFlag;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.util.List;
+
+/**
+ * DAO responsable de la table ARG_AUDIT_RUN_MODULE.
+ * <p>
+ * Une ligne par couple (run, module), écrite dès qu'un module a terminé son analyse.
+ */
+@Singleton
+public class AuditRunModuleDao extends CrudDaoQuerydsl<AuditRunModule> {
+
+    private static final QAuditRunModule RM = QAuditRunModule.auditRunModule;
+
+    /** Un module ré-exécuté pour le même run (reprise) remplace son résultat précédent. */
+    private static final String ON_DUPLICATE_KEY_UPDATE =
+        " on duplicate key update result_json = values(result_json),"
+            + " duration_ms = values(duration_ms),"
+            + " finished_at = values(finished_at)";
+
+    @Inject
+    public AuditRunModuleDao(TransactionManagerQuerydsl transactionManager) {
+        super(transactionManager, RM);
+    }
+
+    /**
+     * Insère ou remplace le résultat d'un module pour un run.
+     *
+     * @param module résultat à persister (runId et moduleId renseignés)
+     */
+    public void upsert(AuditRunModule module) {
+        transactionManager.insert(RM)
+            .columns(RM.runId, RM.moduleId, RM.resultJson, RM.durationMs, RM.finishedAt)
+            .values(
+                module.getRunId(),
+                module.getModuleId(),
+                module.getResultJson(),
+                module.getDurationMs(),
+                module.getFinishedAt()
+            )
+            .addFlag(QueryFlag.Position.END, ON_DUPLICATE_KEY_UPDATE)
+            .execute();
+    }
+
+    /**
+     * Résultats de modules déjà persistés pour un run, dans l'ordre de fin d'exécution.
+     *
+     * @param runId identifiant du run
+     * @return résultats de modules (éventuellement vide)
+     */
+    public List<AuditRunModule> findByRunId(long runId) {
+        return transactionManager.selectQuery()
+            .select(RM)
+            .from(RM)
+            .where(RM.runId.eq(runId))
+            .orderBy(RM.finishedAt.asc(), RM.id.asc())
+            .fetch();
+    }
+}
@@ -4,6 +4,7 @@ import com.coreoz.plume.db.querydsl.crud.CrudDaoQuerydsl;
 import com.coreoz.plume.db.querydsl.transaction.TransactionManagerQuerydsl;
 import com.dokor.argos.db.generated.DomainAnalysis;
 import com.dokor.argos.db.generated.QDomainAnalysis;
+import com.querydsl.core.QueryFlag;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
@@ -13,26 +14,37 @@ import java.util.Optional;
 /**
  * DAO responsable de la table ARG_DOMAIN_ANALYSIS.
  * <p>
- * Chaque entrée représente le résultat du module "tech" pour un domaine donné,
- * avec une date d'expiration (TTL) permettant de décider si le cache est encore valide.
+ * Chaque entrée représente le résultat d'un module de portée DOMAIN pour un domaine donné
+ * (une ligne par couple domaine / module), avec une date d'expiration (TTL) permettant
+ * de décider si le cache est encore valide.
  */
 @Singleton
 public class DomainAnalysisDao extends CrudDaoQuerydsl<DomainAnalysis> {
 
     private static final QDomainAnalysis DA = QDomainAnalysis.domainAnalysis;
 
+    /**
+     * Clause MariaDB appliquée en cas de conflit sur la clé unique (domain_id, module_id) :
+     * la ligne existante est mise à jour au lieu d'être supprimée puis réinsérée.
+     */
+    private static final String ON_DUPLICATE_KEY_UPDATE =
+        " on duplicate key update result_json = values(result_json),"
+            + " analyzed_at = values(analyzed_at),"
+            + " expires_at = values(expires_at)";
+
     @Inject
     public DomainAnalysisDao(TransactionManagerQuerydsl transactionManager) {
         super(transactionManager, DA);
     }
 
     /**
-     * Retourne l'analyse de domaine la plus récente et encore valide (non expirée).
+     * Retourne l'analyse encore valide (non expirée) d'un module pour un domaine.
      *
      * @param domainId identifiant du domaine
+     * @param moduleId identifiant du module (ex: "tech", "ssl")
      * @return Optional contenant l'analyse si elle existe et n'est pas expirée
      */
-    public Optional<DomainAnalysis> findFreshByDomainId(long domainId) {
+    public Optional<DomainAnalysis> findFresh(long domainId, String moduleId) {
         Instant now = Instant.now();
         return Optional.ofNullable(
             transactionManager.selectQuery()
@@ -40,23 +52,32 @@ public class DomainAnalysisDao extends CrudDaoQuerydsl<DomainAnalysis> {
                 .from(DA)
                 .where(
                     DA.domainId.eq(domainId),
+                    DA.moduleId.eq(moduleId),
                     DA.expiresAt.gt(now)
                 )
-                .orderBy(DA.analyzedAt.desc())
-                .limit(1)
                 .fetchOne()
         );
     }
 
     /**
-     * Supprime toutes les analyses (expirées ou non) pour un domaine.
-     * Utilisé avant d'insérer un nouveau résultat pour garder la table propre.
+     * Insère ou remplace atomiquement l'analyse d'un module pour un domaine.
+     * <p>
+     * Deux runs concurrents sur le même domaine ne peuvent plus produire de doublon
+     * ni laisser une fenêtre sans cache (contrairement à un delete puis insert).
      *
-     * @param domainId identifiant du domaine
+     * @param analysis analyse à persister (domainId et moduleId renseignés)
      */
-    public void deleteByDomainId(long domainId) {
-        transactionManager.delete(DA)
-            .where(DA.domainId.eq(domainId))
+    public void upsert(DomainAnalysis analysis) {
+        transactionManager.insert(DA)
+            .columns(DA.domainId, DA.moduleId, DA.resultJson, DA.analyzedAt, DA.expiresAt)
+            .values(
+                analysis.getDomainId(),
+                analysis.getModuleId(),
+                analysis.getResultJson(),
+                analysis.getAnalyzedAt(),
+                analysis.getExpiresAt()
+            )
+            .addFlag(QueryFlag.Position.END, ON_DUPLICATE_KEY_UPDATE)
             .execute();
     }
 }
@@ -3,11 +3,19 @@ package com.dokor.argos.db.dao;
 import com.coreoz.plume.db.querydsl.crud.CrudDaoQuerydsl;
 import com.coreoz.plume.db.querydsl.transaction.TransactionManagerQuerydsl;
 import com.dokor.argos.db.generated.Domain;
+import com.dokor.argos.db.generated.QAudit;
+import com.dokor.argos.db.generated.QAuditRun;
 import com.dokor.argos.db.generated.QDomain;
+import com.dokor.argos.services.domain.audit.enums.AuditRunStatus;
+import com.querydsl.core.QueryFlag;
+import com.querydsl.sql.dml.SQLInsertClause;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -20,6 +28,8 @@ import java.util.Optional;
 public class DomainDao extends CrudDaoQuerydsl<Domain> {
 
     private static final QDomain DOMAIN = QDomain.domain;
+    private static final QAudit AUDIT = QAudit.audit;
+    private static final QAuditRun RUN = QAuditRun.auditRun;
 
     @Inject
     public DomainDao(TransactionManagerQuerydsl transactionManager) {
@@ -62,4 +72,129 @@ public class DomainDao extends CrudDaoQuerydsl<Domain> {
             return save(d);
         });
     }
+
+    /**
+     * Recherche les domaines correspondant à un ensemble de hostnames (une seule requête).
+     *
+     * @param hostnames hostnames normalisés
+     * @return domaines existants (les hostnames inconnus sont absents du résultat)
+     */
+    public List<Domain> findByHostnames(Collection<String> hostnames) {
+        if (hostnames.isEmpty()) {
+            return List.of();
+        }
+        return transactionManager.selectQuery()
+            .select(DOMAIN)
+            .from(DOMAIN)
+            .where(DOMAIN.hostname.in(hostnames))
+            .fetch();
+    }
+
+    /**
+     * Crée les domaines manquants en un seul batch JDBC ({@code INSERT IGNORE}).
+     * <p>
+     * Contrairement à {@link #findOrCreate}, l'opération est sûre en multi-worker :
+     * un hostname inséré entre-temps par un autre nœud est simplement ignoré.
+     * Les identifiants sont ensuite relus avec {@link #findByHostnames}.
+     *
+     * @param hostnames hostnames normalisés à créer s'ils n'existent pas
+     * @param createdAt timestamp de création
+     */
+    public void insertMissing(Collection<String> hostnames, Instant createdAt) {
+        if (hostnames.isEmpty()) {
+            return;
+        }
+        SQLInsertClause insert = transactionManager.insert(DOMAIN)
+            .addFlag(QueryFlag.Position.START_OVERRIDE, "insert ignore into ");
+        for (String hostname : hostnames) {
+            insert.set(DOMAIN.hostname, hostname)
+                .set(DOMAIN.createdAt, createdAt)
+                .addBatch();
+        }
+        insert.execute();
+    }
+
+    /**
+     * Politesse par hôte : réserve au run un créneau sur son domaine avant le lancement des modules.
+     * <p>
+     * La ligne ARG_DOMAIN est verrouillée ({@code SELECT … FOR UPDATE}) le temps de la vérification, ce qui sérialise
+     * les démarrages concurrents sur un même hôte, y compris entre nœuds. Le créneau est refusé si :
+     * <ul>
+     *   <li>le dernier démarrage est trop récent ({@code next_allowed_at} dans le futur) ;</li>
+     *   <li>l'hôte a déjà {@code max_running_runs} autres runs RUNNING qui tiennent un créneau.</li>
+     * </ul>
+     * Un créneau accordé repousse {@code next_allowed_at} de l'espacement minimal et est marqué sur le run
+     * ({@code host_slot_at}) dans la même transaction. Seuls les runs RUNNING marqués sont comptés : un run claimé
+     * qui attend encore ce verrou n'occupe pas de place. Aucun compteur à libérer en fin de run : un run qui quitte
+     * l'état RUNNING ne compte plus, et le claim efface la marque d'une tentative précédente.
+     *
+     * @param domainId       domaine de l'audit du run
+     * @param runId          run qui demande un créneau (déjà RUNNING, exclu du décompte)
+     * @param now            instant courant
+     * @param defaultMax     nombre maximum de créneaux tenus par hôte si le domaine n'en définit pas
+     * @param defaultSpacing espacement minimal entre deux démarrages si le domaine n'en définit pas
+     * @param busyRetryDelay délai avant nouvel essai quand l'hôte a déjà trop de runs en cours
+     * @return créneau accordé, ou date à partir de laquelle réessayer
+     */
+    public HostSlot acquireHostSlot(
+        long domainId,
+        long runId,
+        Instant now,
+        int defaultMax,
+        Duration defaultSpacing,
+        Duration busyRetryDelay
+    ) {
+        return transactionManager.executeAndReturn(connection -> {
+            Domain domain = transactionManager.selectQuery(connection)
+                .select(DOMAIN)
+                .from(DOMAIN)
+                .where(DOMAIN.id.eq(domainId))
+                .forUpdate()
+                .fetchOne();
+            if (domain == null) {
+                return new HostSlot(true, null);
+            }
+
+            if (domain.getNextAllowedAt() != null && domain.getNextAllowedAt().isAfter(now)) {
+                return new HostSlot(false, domain.getNextAllowedAt());
+            }
+
+            int maxRunning = domain.getMaxRunningRuns() != null ? domain.getMaxRunningRuns() : defaultMax;
+            Long running = transactionManager.selectQuery(connection)
+                .select(RUN.id.count())
+                .from(RUN)
+                .join(AUDIT).on(AUDIT.id.eq(RUN.auditId))
+                .where(
+                    AUDIT.domainId.eq(domainId),
+                    RUN.status.eq(AuditRunStatus.RUNNING.name()),
+                    RUN.hostSlotAt.isNotNull(),
+                    RUN.id.ne(runId)
+                )
+                .fetchOne();
+            if (running != null && running >= maxRunning) {
+                return new HostSlot(false, now.plus(busyRetryDelay));
+            }
+
+            Duration spacing = domain.getMinSpacingMs() != null
+                ? Duration.ofMillis(domain.getMinSpacingMs())
+                : defaultSpacing;
+            transactionManager.update(DOMAIN, connection)
+                .set(DOMAIN.nextAllowedAt, now.plus(spacing))
+                .where(DOMAIN.id.eq(domainId))
+                .execute();
+            transactionManager.update(RUN, connection)
+                .set(RUN.hostSlotAt, now)
+                .where(RUN.id.eq(runId))
+                .execute();
+            return new HostSlot(true, null);
+        });
+    }
+
+    /**
+     * Résultat de {@link #acquireHostSlot}.
+     *
+     * @param acquired true si le run peut démarrer
+     * @param retryAt  si refusé, date à partir de laquelle réessayer
+     */
+    public record HostSlot(boolean acquired, Instant retryAt) {}
 }
@@ -10,10 +10,17 @@ import com.querydsl.sql.Column;
 @Generated("com.coreoz.plume.db.querydsl.generation.IdBeanSerializer")
 public class AuditRun extends com.coreoz.plume.db.querydsl.crud.CrudEntityQuerydsl {
 
+    @Column("attempt_count")
+    private Integer attemptCount;
+
     @Column("audit_id")
     @JsonSerialize(using=com.fasterxml.jackson.databind.ser.std.ToStringSerializer.class)
     private Long auditId;
 
+    @Column("batch_id")
+    @JsonSerialize(using=com.fasterxml.jackson.databind.ser.std.ToStringSerializer.class)
+    private Long batchId;
+
     @Column("claim_token")
     private String claimToken;
 
@@ -23,6 +30,9 @@ public class AuditRun extends com.coreoz.plume.db.querydsl.crud.CrudEntityQueryd
     @Column("finished_at")
     private java.time.Instant finishedAt;
 
+    @Column("host_slot_at")
+    private java.time.Instant hostSlotAt;
+
     @Column("id")
     @JsonSerialize(using=com.fasterxml.jackson.databind.ser.std.ToStringSerializer.class)
     private Long id;
@@ -30,15 +40,42 @@ public class AuditRun extends com.coreoz.plume.db.querydsl.crud.CrudEntityQueryd
     @Column("last_error")
     private String lastError;
 
+    @Column("lane")
+    private String lane;
+
+    @Column("lease_expires_at")
+    private java.time.Instant leaseExpiresAt;
+
+    @Column("next_attempt_at")
+    private java.time.Instant nextAttemptAt;
+
+    @Column("priority_at")
+    private java.time.Instant priorityAt;
+
     @Column("result_json")
     private String resultJson;
 
+    @Column("source_run_id")
+    @JsonSerialize(using=com.fasterxml.jackson.databind.ser.std.ToStringSerializer.class)
+    private Long sourceRunId;
+
     @Column("started_at")
     private java.time.Instant startedAt;
 
     @Column("status")
     private String status;
 
+    @Column("submitter_key")
+    private String submitterKey;
+
+    public Integer getAttemptCount() {
+        return attemptCount;
+    }
+
+    public void setAttemptCount(Integer attemptCount) {
+        this.attemptCount = attemptCount;
+    }
+
     public Long getAuditId() {
         return auditId;
     }
@@ -47,6 +84,14 @@ public class AuditRun extends com.coreoz.plume.db.querydsl.crud.CrudEntityQueryd
         this.auditId = auditId;
     }
 
+    public Long getBatchId() {
+        return batchId;
+    }
+
+    public void setBatchId(Long batchId) {
+        this.batchId = batchId;
+    }
+
     public String getClaimToken() {
         return claimToken;
     }
@@ -71,6 +116,14 @@ public class AuditRun extends com.coreoz.plume.db.querydsl.crud.CrudEntityQueryd
         this.finishedAt = finishedAt;
     }
 
+    public java.time.Instant getHostSlotAt() {
+        return hostSlotAt;
+    }
+
+    public void setHostSlotAt(java.time.Instant hostSlotAt) {
+        this.hostSlotAt = hostSlotAt;
+    }
+
     public Long getId() {
         return id;
     }
@@ -87,6 +140,38 @@ public class AuditRun extends com.coreoz.plume.db.querydsl.crud.CrudEntityQueryd
         this.lastError = lastError;
     }
 
+    public String getLane() {
+        return lane;
+    }
+
+    public void setLane(String lane) {
+        this.lane = lane;
+    }
+
+    public java.time.Instant getLeaseExpiresAt() {
+        return leaseExpiresAt;
+    }
+
+    public void setLeaseExpiresAt(java.time.Instant leaseExpiresAt) {
+        this.leaseExpiresAt = leaseExpiresAt;
+    }
+
+    public java.time.Instant getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(java.time.Instant nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public java.time.Instant getPriorityAt() {
+        return priorityAt;
+    }
+
+    public void setPriorityAt(java.time.Instant priorityAt) {
+        this.priorityAt = priorityAt;
+    }
+
     public String getResultJson() {
         return resultJson;
     }
@@ -95,6 +180,14 @@ public class AuditRun extends com.coreoz.plume.db.querydsl.crud.CrudEntityQueryd
         this.resultJson = resultJson;
     }
 
+    public Long getSourceRunId() {
+        return sourceRunId;
+    }
+
+    public void setSourceRunId(Long sourceRunId) {
+        this.sourceRunId = sourceRunId;
+    }
+
     public java.time.Instant getStartedAt() {
         return startedAt;
     }
@@ -116,6 +209,14 @@ public class AuditRun extends com.coreoz.plume.db.querydsl.crud.CrudEntityQueryd
         return "AuditRun#" + id;
     }
 
+    public String getSubmitterKey() {
+        return submitterKey;
+    }
+
+    public void setSubmitterKey(String submitterKey) {
+        this.submitterKey = submitterKey;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (id == null) {
@@ -138,6 +239,4 @@ public class AuditRun extends com.coreoz.plume.db.querydsl.crud.CrudEntityQueryd
         result = prime * result + id.hashCode();
         return result;
     }
-
 }
-
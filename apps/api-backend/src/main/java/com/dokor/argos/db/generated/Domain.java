@@ -20,6 +20,15 @@ public class Domain extends com.coreoz.plume.db.querydsl.crud.CrudEntityQuerydsl
     @JsonSerialize(using = com.fasterxml.jackson.databind.ser.std.ToStringSerializer.class)
     private Long id;
 
+    @Column("max_running_runs")
+    private Integer maxRunningRuns;
+
+    @Column("min_spacing_ms")
+    private Integer minSpacingMs;
+
+    @Column("next_allowed_at")
+    private java.time.Instant nextAllowedAt;
+
     public java.time.Instant getCreatedAt() {
         return createdAt;
     }
@@ -44,6 +53,30 @@ public class Domain extends com.coreoz.plume.db.querydsl.crud.CrudEntityQuerydsl
         this.id = id;
     }
 
+    public Integer getMaxRunningRuns() {
+        return maxRunningRuns;
+    }
+
+    public void setMaxRunningRuns(Integer maxRunningRuns) {
+        this.maxRunningRuns = maxRunningRuns;
+    }
+
+    public Integer getMinSpacingMs() {
+        return minSpacingMs;
+    }
+
+    public void setMinSpacingMs(Integer minSpacingMs) {
+        this.minSpacingMs = minSpacingMs;
+    }
+
+    public java.time.Instant getNextAllowedAt() {
+        return nextAllowedAt;
+    }
+
+    public void setNextAllowedAt(java.time.Instant nextAllowedAt) {
+        this.nextAllowedAt = nextAllowedAt;
+    }
+
     @Override
     public String toString() {
         return "Domain#" + id + "(" + hostname + ")";
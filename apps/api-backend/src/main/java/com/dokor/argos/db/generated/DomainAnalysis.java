@@ -7,8 +7,8 @@ import com.querydsl.sql.Column;
 /**
  * DomainAnalysis is a Querydsl bean type.
  * <p>
- * Stocke le résultat du module d'analyse "tech" pour un domaine donné,
- * avec une date d'expiration pour la mise en cache (TTL).
+ * Stocke le résultat d'un module d'analyse de portée DOMAIN (tech, ssl, observatory…)
+ * pour un domaine donné, avec une date d'expiration pour la mise en cache (TTL).
  */
 @Generated("com.coreoz.plume.db.querydsl.generation.IdBeanSerializer")
 public class DomainAnalysis extends com.coreoz.plume.db.querydsl.crud.CrudEntityQuerydsl {
@@ -27,6 +27,9 @@ public class DomainAnalysis extends com.coreoz.plume.db.querydsl.crud.CrudEntity
     @JsonSerialize(using = com.fasterxml.jackson.databind.ser.std.ToStringSerializer.class)
     private Long id;
 
+    @Column("module_id")
+    private String moduleId;
+
     @Column("result_json")
     private String resultJson;
 
@@ -62,6 +65,14 @@ public class DomainAnalysis extends com.coreoz.plume.db.querydsl.crud.CrudEntity
         this.id = id;
     }
 
+    public String getModuleId() {
+        return moduleId;
+    }
+
+    public void setModuleId(String moduleId) {
+        this.moduleId = moduleId;
+    }
+
     public String getResultJson() {
         return resultJson;
     }
@@ -72,7 +83,7 @@ public class DomainAnalysis extends com.coreoz.plume.db.querydsl.crud.CrudEntity
 
     @Override
     public String toString() {
-        return "DomainAnalysis#" + id + "(domainId=" + domainId + ")";
+        return "DomainAnalysis#" + id + "(domainId=" + domainId + ", moduleId=" + moduleId + ")";
     }
 
     @Override
@@ -24,28 +24,50 @@ public class QAuditRun extends com.querydsl.sql.RelationalPathBase<AuditRun> {
 
     public static final QAuditRun auditRun = new QAuditRun("ARG_AUDIT_RUN");
 
+    public final NumberPath<Integer> attemptCount = createNumber("attemptCount", Integer.class);
+
     public final NumberPath<Long> auditId = createNumber("auditId", Long.class);
 
+    public final NumberPath<Long> batchId = createNumber("batchId", Long.class);
+
     public final StringPath claimToken = createString("claimToken");
 
     public final DateTimePath<java.time.Instant> createdAt = createDateTime("createdAt", java.time.Instant.class);
 
     public final DateTimePath<java.time.Instant> finishedAt = createDateTime("finishedAt", java.time.Instant.class);
 
+    public final DateTimePath<java.time.Instant> hostSlotAt = createDateTime("hostSlotAt", java.time.Instant.class);
+
     public final NumberPath<Long> id = createNumber("id", Long.class);
 
     public final StringPath lastError = createString("lastError");
 
+    public final StringPath lane = createString("lane");
+
+    public final DateTimePath<java.time.Instant> leaseExpiresAt = createDateTime("leaseExpiresAt", java.time.Instant.class);
+
+    public final DateTimePath<java.time.Instant> nextAttemptAt = createDateTime("nextAttemptAt", java.time.Instant.class);
+
+    public final DateTimePath<java.time.Instant> priorityAt = createDateTime("priorityAt", java.time.Instant.class);
+
     public final StringPath resultJson = createString("resultJson");
 
+    public final NumberPath<Long> sourceRunId = createNumber("sourceRunId", Long.class);
+
     public final DateTimePath<java.time.Instant> startedAt = createDateTime("startedAt", java.time.Instant.class);
 
     public final StringPath status = createString("status");
 
+    public final StringPath submitterKey = createString("submitterKey");
+
     public final com.querydsl.sql.PrimaryKey<AuditRun> primary = createPrimaryKey(id);
 
     public final com.querydsl.sql.ForeignKey<Audit> runAuditFk = createForeignKey(auditId, "id");
 
+    public final com.querydsl.sql.ForeignKey<AuditBatch> runBatchFk = createForeignKey(batchId, "id");
+
+    public final com.querydsl.sql.ForeignKey<AuditRun> runSourceRunFk = createForeignKey(sourceRunId, "id");
+
     public final com.querydsl.sql.ForeignKey<AuditReport> _reportRunFk = createInvForeignKey(id, "run_id");
 
     public QAuditRun(String variable) {
@@ -74,15 +96,24 @@ public class QAuditRun extends com.querydsl.sql.RelationalPathBase<AuditRun> {
     }
 
     public void addMetadata() {
+        addMetadata(attemptCount, ColumnMetadata.named("attempt_count").withIndex(13).ofType(Types.INTEGER).withSize(10).notNull());
         addMetadata(auditId, ColumnMetadata.named("audit_id").withIndex(2).ofType(Types.BIGINT).withSize(19).notNull());
+        addMetadata(batchId, ColumnMetadata.named("batch_id").withIndex(10).ofType(Types.BIGINT).withSize(19));
         addMetadata(claimToken, ColumnMetadata.named("claim_token").withIndex(9).ofType(Types.VARCHAR).withSize(64));
         addMetadata(createdAt, ColumnMetadata.named("created_at").withIndex(4).ofType(Types.TIMESTAMP).withSize(23).notNull());
         addMetadata(finishedAt, ColumnMetadata.named("finished_at").withIndex(6).ofType(Types.TIMESTAMP).withSize(23));
+        addMetadata(hostSlotAt, ColumnMetadata.named("host_slot_at").withIndex(18).ofType(Types.TIMESTAMP).withSize(23));
         addMetadata(id, ColumnMetadata.named("id").withIndex(1).ofType(Types.BIGINT).withSize(19).notNull());
         addMetadata(lastError, ColumnMetadata.named("last_error").withIndex(7).ofType(Types.LONGVARCHAR).withSize(65535));
+        addMetadata(lane, ColumnMetadata.named("lane").withIndex(14).ofType(Types.VARCHAR).withSize(16).notNull());
+        addMetadata(leaseExpiresAt, ColumnMetadata.named("lease_expires_at").withIndex(12).ofType(Types.TIMESTAMP).withSize(23));
+        addMetadata(nextAttemptAt, ColumnMetadata.named("next_attempt_at").withIndex(17).ofType(Types.TIMESTAMP).withSize(23));
+        addMetadata(priorityAt, ColumnMetadata.named("priority_at").withIndex(15).ofType(Types.TIMESTAMP).withSize(23).notNull());
         addMetadata(resultJson, ColumnMetadata.named("result_json").withIndex(8).ofType(Types.LONGVARCHAR).withSize(2147483647));
+        addMetadata(sourceRunId, ColumnMetadata.named("source_run_id").withIndex(11).ofType(Types.BIGINT).withSize(19));
         addMetadata(startedAt, ColumnMetadata.named("started_at").withIndex(5).ofType(Types.TIMESTAMP).withSize(23));
         addMetadata(status, ColumnMetadata.named("status").withIndex(3).ofType(Types.VARCHAR).withSize(16).notNull());
+        addMetadata(submitterKey, ColumnMetadata.named("submitter_key").withIndex(16).ofType(Types.VARCHAR).withSize(128).notNull());
     }
 
 }
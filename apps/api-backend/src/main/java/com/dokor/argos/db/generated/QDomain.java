@@ -25,6 +25,12 @@ public class QDomain extends com.querydsl.sql.RelationalPathBase<Domain> {
 
     public final NumberPath<Long> id = createNumber("id", Long.class);
 
+    public final NumberPath<Integer> maxRunningRuns = createNumber("maxRunningRuns", Integer.class);
+
+    public final NumberPath<Integer> minSpacingMs = createNumber("minSpacingMs", Integer.class);
+
+    public final DateTimePath<java.time.Instant> nextAllowedAt = createDateTime("nextAllowedAt", java.time.Instant.class);
+
     public final com.querydsl.sql.PrimaryKey<Domain> primary = createPrimaryKey(id);
 
     public final com.querydsl.sql.ForeignKey<Audit> _auditDomainFk = createInvForeignKey(id, "domain_id");
@@ -60,5 +66,8 @@ public class QDomain extends com.querydsl.sql.RelationalPathBase<Domain> {
         addMetadata(createdAt, ColumnMetadata.named("created_at").withIndex(3).ofType(Types.TIMESTAMP).withSize(23).notNull());
         addMetadata(hostname,  ColumnMetadata.named("hostname").withIndex(2).ofType(Types.VARCHAR).withSize(255).notNull());
         addMetadata(id,        ColumnMetadata.named("id").withIndex(1).ofType(Types.BIGINT).withSize(19).notNull());
+        addMetadata(maxRunningRuns, ColumnMetadata.named("max_running_runs").withIndex(4).ofType(Types.INTEGER).withSize(10));
+        addMetadata(minSpacingMs, ColumnMetadata.named("min_spacing_ms").withIndex(5).ofType(Types.INTEGER).withSize(10));
+        addMetadata(nextAllowedAt, ColumnMetadata.named("next_allowed_at").withIndex(6).ofType(Types.TIMESTAMP).withSize(23));
     }
 }
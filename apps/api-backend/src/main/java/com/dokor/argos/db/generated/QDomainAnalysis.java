@@ -27,6 +27,8 @@ public class QDomainAnalysis extends com.querydsl.sql.RelationalPathBase<DomainA
 
     public final NumberPath<Long> id = createNumber("id", Long.class);
 
+    public final StringPath moduleId = createString("moduleId");
+
     public final StringPath resultJson = createString("resultJson");
 
     public final com.querydsl.sql.PrimaryKey<DomainAnalysis> primary = createPrimaryKey(id);
@@ -63,6 +65,7 @@ public class QDomainAnalysis extends com.querydsl.sql.RelationalPathBase<DomainA
         addMetadata(domainId,    ColumnMetadata.named("domain_id").withIndex(2).ofType(Types.BIGINT).withSize(19).notNull());
         addMetadata(expiresAt,   ColumnMetadata.named("expires_at").withIndex(5).ofType(Types.TIMESTAMP).withSize(23).notNull());
         addMetadata(id,          ColumnMetadata.named("id").withIndex(1).ofType(Types.BIGINT).withSize(19).notNull());
+        addMetadata(moduleId,    ColumnMetadata.named("module_id").withIndex(6).ofType(Types.VARCHAR).withSize(64).notNull());
         addMetadata(resultJson,  ColumnMetadata.named("result_json").withIndex(4).ofType(Types.LONGVARCHAR).withSize(2147483647).notNull());
     }
 }
@@ -6,8 +6,11 @@ import com.dokor.argos.services.analysis.lighthouse.LighthouseModuleAnalyzer;
 import com.dokor.argos.services.analysis.model.AuditModuleAnalyzer;
 import com.dokor.argos.services.analysis.modules.html.HtmlModuleAnalyzer;
 import com.dokor.argos.services.analysis.modules.http.HttpModuleAnalyzer;
+import com.dokor.argos.services.analysis.modules.observatory.ObservatoryModuleAnalyzer;
 import com.dokor.argos.services.analysis.modules.runtime.RuntimeModuleAnalyzer;
+import com.dokor.argos.services.analysis.modules.ssl.SslLabsModuleAnalyzer;
 import com.dokor.argos.services.analysis.modules.tech.TechModuleAnalyzer;
+import com.dokor.argos.services.analysis.modules.zap.ZapModuleAnalyzer;
 import com.dokor.argos.services.analysis.scoring.ScorePolicy;
 import com.dokor.argos.services.analysis.scoring.ScorePolicyV1;
 import com.dokor.argos.services.domain.domain.DomainService;
@@ -38,12 +41,16 @@ public class ApplicationModule extends AbstractModule {
 
         Multibinder<AuditModuleAnalyzer> multibinder
             = Multibinder.newSetBinder(binder(), AuditModuleAnalyzer.class);
-        multibinder.addBinding().to(HtmlModuleAnalyzer.class);
-        multibinder.addBinding().to(TechModuleAnalyzer.class);
+        // L'ordre d'enregistrement est l'ordre des modules dans le rapport ;
+        // l'ordre d'exécution est déduit des dépendances déclarées (AuditExecutionPlan).
         multibinder.addBinding().to(HttpModuleAnalyzer.class);
+        multibinder.addBinding().to(HtmlModuleAnalyzer.class);
         multibinder.addBinding().to(RuntimeModuleAnalyzer.class);
         multibinder.addBinding().to(LighthouseModuleAnalyzer.class);
-
+        multibinder.addBinding().to(ObservatoryModuleAnalyzer.class);
+        multibinder.addBinding().to(SslLabsModuleAnalyzer.class);
+        multibinder.addBinding().to(ZapModuleAnalyzer.class);
+        multibinder.addBinding().to(TechModuleAnalyzer.class);
 
         bind(ScorePolicy.class)
             .to(ScorePolicyV1.class)
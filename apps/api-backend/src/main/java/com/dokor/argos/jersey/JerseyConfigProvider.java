@@ -4,6 +4,7 @@ import jakarta.inject.Inject;
 import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
 
+import org.glassfish.jersey.media.sse.SseFeature;
 import org.glassfish.jersey.server.ResourceConfig;
 
 import com.coreoz.plume.jersey.errors.WsJacksonJsonProvider;
@@ -42,6 +43,9 @@ public class JerseyConfigProvider implements Provider<ResourceConfig> {
         // java 8
         config.register(TimeParamProvider.class);
 
+        // Server-Sent Events (run progress streams)
+        config.register(SseFeature.class);
+
         // WADL is like swagger for jersey
         // by default it should be disabled to prevent leaking API documentation
         config.property("jersey.config.server.wadl.disableWadl", true);
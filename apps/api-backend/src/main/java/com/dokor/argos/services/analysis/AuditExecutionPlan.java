@@ -0,0 +1,150 @@
+package com.dokor.argos.services.analysis;
+
+import com.dokor.argos.services.analysis.model.AuditModuleAnalyzer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Plan d'exécution des modules d'analyse, calculé une seule fois au démarrage.
+ * <p>
+ * Le plan est déduit des déclarations des analyzers ({@link AuditModuleAnalyzer#dependsOn()},
+ * {@link AuditModuleAnalyzer#cost()}, activation) :
+ * <ul>
+ *   <li>les modules sont regroupés en étapes : un module est placé dans la première étape
+ *       où toutes ses dépendances ont été exécutées ; les modules d'une même étape tournent en parallèle ;</li>
+ *   <li>au sein d'une étape, les modules les plus coûteux sont lancés en premier ;</li>
+ *   <li>un module désactivé, ou dont une dépendance est désactivée, n'apparaît pas dans le plan ;</li>
+ *   <li>l'ordre des modules dans le rapport reste l'ordre d'enregistrement (Multibinder).</li>
+ * </ul>
+ * Une dépendance inconnue, un identifiant dupliqué ou un cycle lèvent une {@link IllegalStateException} :
+ * l'erreur est détectée au démarrage plutôt qu'au premier audit.
+ */
+public final class AuditExecutionPlan {
+
+    private final List<AuditModuleAnalyzer> modules;
+    private final List<List<AuditModuleAnalyzer>> stages;
+    private final List<String> skippedModules;
+
+    private AuditExecutionPlan(
+        List<AuditModuleAnalyzer> modules,
+        List<List<AuditModuleAnalyzer>> stages,
+        List<String> skippedModules
+    ) {
+        this.modules = modules;
+        this.stages = stages;
+        this.skippedModules = skippedModules;
+    }
+
+    /**
+     * Construit le plan à partir des analyzers enregistrés.
+     *
+     * @param analyzers analyzers dans l'ordre d'enregistrement (ordre du rapport)
+     * @param enabled   indique si un module est activé (configuration)
+     * @return plan d'exécution
+     */
+    public static AuditExecutionPlan build(
+        Collection<? extends AuditModuleAnalyzer> analyzers,
+        Predicate<AuditModuleAnalyzer> enabled
+    ) {
+        Map<String, AuditModuleAnalyzer> byId = new LinkedHashMap<>();
+        for (AuditModuleAnalyzer analyzer : analyzers) {
+            if (byId.putIfAbsent(analyzer.moduleId(), analyzer) != null) {
+                throw new IllegalStateException("Duplicate analysis module id: " + analyzer.moduleId());
+            }
+        }
+        for (AuditModuleAnalyzer analyzer : byId.values()) {
+            for (String dependency : analyzer.dependsOn()) {
+                if (!byId.containsKey(dependency)) {
+                    throw new IllegalStateException(
+                        "Analysis module " + analyzer.moduleId() + " depends on unknown module " + dependency
+                    );
+                }
+            }
+        }
+
+        // Découpage en étapes (tri topologique par niveaux), en conservant l'ordre d'enregistrement
+        List<List<AuditModuleAnalyzer>> layers = new ArrayList<>();
+        Set<String> placed = new HashSet<>();
+        List<AuditModuleAnalyzer> remaining = new ArrayList<>(byId.values());
+        while (!remaining.isEmpty()) {
+            List<AuditModuleAnalyzer> layer = remaining.stream()
+                .filter(analyzer -> placed.containsAll(analyzer.dependsOn()))
+                .toList();
+            if (layer.isEmpty()) {
+                throw new IllegalStateException("Dependency cycle between analysis modules: " + remaining.stream()
+                    .map(AuditModuleAnalyzer::moduleId)
+                    .collect(Collectors.joining(", ")));
+            }
+            layer.forEach(analyzer -> placed.add(analyzer.moduleId()));
+            remaining.removeAll(layer);
+            layers.add(layer);
+        }
+
+        // Activation : un module est actif s'il est activé et que toutes ses dépendances le sont
+        Set<String> active = new HashSet<>();
+        List<String> skipped = new ArrayList<>();
+        List<List<AuditModuleAnalyzer>> stages = new ArrayList<>();
+        for (List<AuditModuleAnalyzer> layer : layers) {
+            List<AuditModuleAnalyzer> stage = new ArrayList<>();
+            for (AuditModuleAnalyzer analyzer : layer) {
+                if (enabled.test(analyzer) && active.containsAll(analyzer.dependsOn())) {
+                    active.add(analyzer.moduleId());
+                    stage.add(analyzer);
+                } else {
+                    skipped.add(analyzer.moduleId());
+                }
+            }
+            if (!stage.isEmpty()) {
+                // Tri stable : à coût égal, l'ordre d'enregistrement est conservé
+                stage.sort(Comparator.comparing(AuditModuleAnalyzer::cost).reversed());
+                stages.add(List.copyOf(stage));
+            }
+        }
+
+        List<AuditModuleAnalyzer> modules = byId.values().stream()
+            .filter(analyzer -> active.contains(analyzer.moduleId()))
+            .toList();
+
+        return new AuditExecutionPlan(modules, List.copyOf(stages), List.copyOf(skipped));
+    }
+
+    /**
+     * Modules actifs, dans l'ordre du rapport.
+     */
+    public List<AuditModuleAnalyzer> modules() {
+        return modules;
+    }
+
+    /**
+     * Étapes d'exécution : chaque étape ne démarre qu'une fois la précédente terminée.
+     */
+    public List<List<AuditModuleAnalyzer>> stages() {
+        return stages;
+    }
+
+    /**
+     * Modules non exécutés (désactivés ou dépendant d'un module désactivé).
+     */
+    public List<String> skippedModules() {
+        return skippedModules;
+    }
+
+    /**
+     * Représentation lisible du plan, pour les logs de démarrage (ex: "[http] -> [lighthouse, ssl, html]").
+     */
+    @Override
+    public String toString() {
+        return stages.stream()
+            .map(stage -> stage.stream().map(AuditModuleAnalyzer::moduleId).collect(Collectors.joining(", ", "[", "]")))
+            .collect(Collectors.joining(" -> "));
+    }
+}
@@ -1,23 +1,28 @@
 package com.dokor.argos.services.analysis;
 
 import com.dokor.argos.db.dao.AuditDao;
+import com.dokor.argos.db.dao.DomainDao;
 import com.dokor.argos.db.generated.Audit;
-import com.dokor.argos.services.analysis.lighthouse.LighthouseModuleAnalyzer;
+import com.dokor.argos.db.generated.AuditRun;
 import com.dokor.argos.services.analysis.model.AuditCheckResult;
 import com.dokor.argos.services.analysis.model.AuditContext;
+import com.dokor.argos.services.analysis.model.AuditModuleAnalyzer;
 import com.dokor.argos.services.analysis.model.AuditModuleResult;
 import com.dokor.argos.services.analysis.model.AuditReportJson;
-import com.dokor.argos.services.analysis.modules.html.HtmlModuleAnalyzer;
-import com.dokor.argos.services.analysis.modules.http.HttpModuleAnalyzer;
-import com.dokor.argos.services.analysis.modules.observatory.ObservatoryModuleAnalyzer;
-import com.dokor.argos.services.analysis.modules.runtime.RuntimeModuleAnalyzer;
-import com.dokor.argos.services.analysis.modules.ssl.SslLabsModuleAnalyzer;
-import com.dokor.argos.services.analysis.modules.zap.ZapModuleAnalyzer;
+import com.dokor.argos.services.analysis.model.ModuleScope;
+import com.dokor.argos.services.analysis.model.enums.AuditSeverity;
+import com.dokor.argos.services.analysis.model.enums.AuditStatus;
 import com.dokor.argos.services.analysis.scoring.AuditScoreReport;
 import com.dokor.argos.services.analysis.scoring.ScoreEnricherService;
 import com.dokor.argos.services.analysis.scoring.ScoreService;
+import com.dokor.argos.services.configuration.ConfigurationService;
+import com.dokor.argos.services.domain.audit.AuditQueueMetrics;
+import com.dokor.argos.services.domain.audit.AuditRunModuleService;
 import com.dokor.argos.services.domain.audit.AuditRunService;
 import com.dokor.argos.services.domain.audit.UrlNormalizer;
+import com.dokor.argos.services.domain.audit.crawl.CrawlService;
+import com.dokor.argos.services.domain.audit.progress.RunProgressRegistry;
+import com.dokor.argos.services.domain.domain.DomainService;
 import com.dokor.argos.services.domain.report.ReportPublishService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.inject.Inject;
@@ -25,8 +30,17 @@ import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 @Singleton
 public class AuditProcessorService {
@@ -36,18 +50,24 @@ public class AuditProcessorService {
     // Version du schema du rapport
     private static final int REPORT_SCHEMA_VERSION = 5;
 
+    /**
+     * Marge accordée à un module après sa deadline avant que l'orchestrateur ne l'abandonne :
+     * les analyzers honorent eux-mêmes leur budget, ceci n'est qu'un filet de sécurité.
+     */
+    private static final Duration MODULE_DEADLINE_GRACE = Duration.ofSeconds(5);
+
     private final AuditRunService auditRunService;
+    private final AuditRunModuleService auditRunModuleService;
+    private final RunProgressRegistry runProgressRegistry;
     private final AuditDao auditDao;
     private final UrlNormalizer urlNormalizer;
 
-    private final HttpModuleAnalyzer httpModuleAnalyzer;
-    private final HtmlModuleAnalyzer htmlModuleAnalyzer;
-    private final RuntimeModuleAnalyzer runtimeModuleAnalyzer;
-    private final LighthouseModuleAnalyzer lighthouseModuleAnalyzer;
-    private final ObservatoryModuleAnalyzer observatoryModuleAnalyzer;
-    private final SslLabsModuleAnalyzer sslLabsModuleAnalyzer;
-    private final ZapModuleAnalyzer zapModuleAnalyzer;
+    /** Plan d'exécution des modules, calculé une seule fois à partir des analyzers enregistrés. */
+    private final AuditExecutionPlan executionPlan;
+
     private final DomainAnalysisService domainAnalysisService;
+    private final DomainService domainService;
+    private final CrawlService crawlService;
 
     private final CheckMergerService checkMergerService;
     private final ScoreEnricherService scoreEnricherService;
@@ -56,42 +76,55 @@ public class AuditProcessorService {
     private final ObjectMapper objectMapper;
 
     private final ReportPublishService reportPublishService;
+    private final ConfigurationService configurationService;
+    private final AuditQueueMetrics queueMetrics;
+
+    /** Un thread virtuel par module : les analyzers passent l'essentiel de leur temps en I/O bloquantes. */
+    private final ExecutorService moduleExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     @Inject
     public AuditProcessorService(
         AuditRunService auditRunService,
+        AuditRunModuleService auditRunModuleService,
+        RunProgressRegistry runProgressRegistry,
         AuditDao auditDao,
         UrlNormalizer urlNormalizer,
-        HttpModuleAnalyzer httpModuleAnalyzer,
-        HtmlModuleAnalyzer htmlModuleAnalyzer,
-        RuntimeModuleAnalyzer runtimeModuleAnalyzer,
-        LighthouseModuleAnalyzer lighthouseModuleAnalyzer,
-        ObservatoryModuleAnalyzer observatoryModuleAnalyzer,
-        SslLabsModuleAnalyzer sslLabsModuleAnalyzer,
-        ZapModuleAnalyzer zapModuleAnalyzer,
+        Set<AuditModuleAnalyzer> analyzers,
         DomainAnalysisService domainAnalysisService,
+        DomainService domainService,
+        CrawlService crawlService,
         CheckMergerService checkMergerService,
         ScoreEnricherService scoreEnricherService,
         ScoreService scoreService,
         ObjectMapper objectMapper,
-        ReportPublishService reportPublishService
+        ReportPublishService reportPublishService,
+        ConfigurationService configurationService,
+        AuditQueueMetrics queueMetrics
     ) {
         this.auditRunService = auditRunService;
+        this.auditRunModuleService = auditRunModuleService;
+        this.runProgressRegistry = runProgressRegistry;
         this.auditDao = auditDao;
         this.urlNormalizer = urlNormalizer;
-        this.httpModuleAnalyzer = httpModuleAnalyzer;
-        this.htmlModuleAnalyzer = htmlModuleAnalyzer;
-        this.runtimeModuleAnalyzer = runtimeModuleAnalyzer;
-        this.lighthouseModuleAnalyzer = lighthouseModuleAnalyzer;
-        this.observatoryModuleAnalyzer = observatoryModuleAnalyzer;
-        this.sslLabsModuleAnalyzer = sslLabsModuleAnalyzer;
-        this.zapModuleAnalyzer = zapModuleAnalyzer;
         this.domainAnalysisService = domainAnalysisService;
+        this.domainService = domainService;
+        this.crawlService = crawlService;
         this.checkMergerService = checkMergerService;
         this.scoreEnricherService = scoreEnricherService;
         this.scoreService = scoreService;
         this.objectMapper = objectMapper;
         this.reportPublishService = reportPublishService;
+        this.configurationService = configurationService;
+        this.queueMetrics = queueMetrics;
+
+        this.executionPlan = AuditExecutionPlan.build(
+            analyzers,
+            analyzer -> configurationService.auditModuleEnabled(analyzer.moduleId(), analyzer.enabledByDefault())
+        );
+        logger.info("Audit execution plan: {}", executionPlan);
+        if (!executionPlan.skippedModules().isEmpty()) {
+            logger.info("Disabled analysis modules: {}", executionPlan.skippedModules());
+        }
     }
 
     public void process(long runId) {
@@ -105,8 +138,28 @@ public class AuditProcessorService {
 
         var run = runOpt.get();
 
-        Audit audit = Optional.ofNullable(auditDao.findById(run.getAuditId()))
-            .orElseThrow(() -> new IllegalStateException("Audit not found: " + run.getAuditId()));
+        Audit audit = auditDao.findById(run.getAuditId());
+        if (audit == null) {
+            if (!auditRunService.fail(run, "Audit not found: " + run.getAuditId())) {
+                runProgressRegistry.runClaimLost(runId);
+                return;
+            }
+            queueMetrics.runFailed();
+            runProgressRegistry.runFailed(runId, "Audit not found");
+            logger.warn("Run failed (audit not found) runId={} auditId={}", runId, run.getAuditId());
+            return;
+        }
+
+        // Politesse par hôte : un hôte déjà chargé ne bloque pas un worker, le run repasse en file
+        if (audit.getDomainId() != null) {
+            DomainDao.HostSlot slot = domainService.acquireHostSlot(audit.getDomainId(), runId);
+            if (!slot.acquired()) {
+                auditRunService.defer(run, slot.retryAt());
+                return;
+            }
+        }
+        // Démarrage effectif : un run renvoyé en file faute de créneau ne compte pas
+        queueMetrics.runStarted(run);
 
         String inputUrl = audit.getInputUrl();
         String normalizedUrl = audit.getNormalizedUrl();
@@ -116,7 +169,12 @@ public class AuditProcessorService {
                 normalizedUrl = urlNormalizer.normalize(inputUrl);
                 logger.info("Normalized URL computed inputUrl={} normalizedUrl={}", inputUrl, normalizedUrl);
             } catch (Exception e) {
-                auditRunService.fail(runId, "URL normalization failed: " + e.getMessage());
+                if (!auditRunService.fail(run, "URL normalization failed: " + e.getMessage())) {
+                    runProgressRegistry.runClaimLost(runId);
+                    return;
+                }
+                queueMetrics.runFailed();
+                runProgressRegistry.runFailed(runId, "URL normalization failed: " + e.getMessage());
                 logger.warn("Run failed (normalization) runId={} error={}", runId, e.getMessage(), e);
                 return;
             }
@@ -125,50 +183,58 @@ public class AuditProcessorService {
         try {
             long domainId = audit.getDomainId();
             AuditContext context = new AuditContext(inputUrl, normalizedUrl, domainId);
+            runProgressRegistry.runStarted(runId, executionPlan.modules().stream().map(AuditModuleAnalyzer::moduleId).toList());
+            // Deadline globale du run : aucun module ne peut la dépasser, quel que soit son propre budget
+            context = context.withDeadline(context.startedAt().plus(configurationService.auditRunBudget()));
+
+            // Exécution du plan étape par étape : les modules d'une étape tournent en parallèle,
+            // chacun sur son propre thread virtuel ; la durée d'une étape est celle de son module le plus lent.
+            // Le contexte est enrichi entre deux étapes (ex: finalUrl, headers, body après "http").
+            // Nouvelle tentative : les modules déjà réussis par une tentative précédente ne sont pas rejoués
+            Map<String, AuditModuleResult> previousResults = previousSuccessfulModules(run);
+            Set<String> reusedModules = new HashSet<>();
+            Map<String, AuditModuleResult> resultsById = new HashMap<>();
+            boolean pageLinksDiscovered = run.getBatchId() == null;
+            for (List<AuditModuleAnalyzer> stage : executionPlan.stages()) {
+                AuditContext stageContext = context;
+                List<AuditModuleAnalyzer> toRun = new ArrayList<>();
+                for (AuditModuleAnalyzer analyzer : stage) {
+                    AuditModuleResult previous = previousResults.get(analyzer.moduleId());
+                    // Réutilisable seulement si ses dépendances l'ont été aussi (même contexte d'entrée)
+                    if (previous != null && reusedModules.containsAll(analyzer.dependsOn())) {
+                        reusedModules.add(analyzer.moduleId());
+                        resultsById.put(analyzer.moduleId(), previous);
+                        runProgressRegistry.moduleFinished(runId, analyzer.moduleId(), 0L);
+                    } else {
+                        toRun.add(analyzer);
+                    }
+                }
+                List<ModuleTask> tasks = toRun.stream()
+                    .map(analyzer -> submitAnalyzer(analyzer, runId, stageContext))
+                    .toList();
+                List<AuditModuleResult> stageResults = awaitAll(runId, tasks);
+                for (int i = 0; i < toRun.size(); i++) {
+                    resultsById.put(toRun.get(i).moduleId(), stageResults.get(i));
+                }
+                for (AuditModuleAnalyzer analyzer : stage) {
+                    context = analyzer.enrich(context, resultsById.get(analyzer.moduleId()));
+                }
+                // Crawl : les pages liées sont mises en file dès que le HTML est disponible,
+                // sans attendre les modules lents de la page courante
+                if (!pageLinksDiscovered && context.body() != null) {
+                    pageLinksDiscovered = true;
+                    discoverPageLinks(run.getBatchId(), runId, context);
+                }
+            }
 
-            // --- Modules PAGE ---
-
-            // HTTP (page-level : status, redirects, headers, body)
-            logger.info("Running module={} runId={} url={}", httpModuleAnalyzer.moduleId(), runId, normalizedUrl);
-            AuditModuleResult httpModule = annotateWithSource(httpModuleAnalyzer.analyze(context, logger));
-
-            // Enrichir le contexte avec les données HTTP (finalUrl, headers, body…)
-            context = HttpModuleAnalyzer.enrichContext(context, httpModule);
-
-            logger.info("Running module={} runId={} finalUrl={}", htmlModuleAnalyzer.moduleId(), runId, context.finalUrl());
-            AuditModuleResult htmlModule = annotateWithSource(htmlModuleAnalyzer.analyze(context, logger));
-
-            logger.info("Running module={} runId={} finalUrl={}", runtimeModuleAnalyzer.moduleId(), runId, context.finalUrl());
-            AuditModuleResult runtimeModule = annotateWithSource(runtimeModuleAnalyzer.analyze(context, logger));
-
-            logger.info("Running module={} runId={} finalUrl={}", lighthouseModuleAnalyzer.moduleId(), runId, context.finalUrl());
-            AuditModuleResult lighthouseModule = annotateWithSource(lighthouseModuleAnalyzer.analyze(context, logger));
-
-            // --- Modules DOMAIN ---
-
-            logger.info("Running module={} runId={} finalUrl={}", observatoryModuleAnalyzer.moduleId(), runId, context.finalUrl());
-            AuditModuleResult observatoryModule = annotateWithSource(observatoryModuleAnalyzer.analyze(context, logger));
-
-            logger.info("Running module={} runId={} finalUrl={}", sslLabsModuleAnalyzer.moduleId(), runId, context.finalUrl());
-            AuditModuleResult sslModule = annotateWithSource(sslLabsModuleAnalyzer.analyze(context, logger));
-
-            logger.info("Running module={} runId={} finalUrl={}", zapModuleAnalyzer.moduleId(), runId, context.finalUrl());
-            AuditModuleResult zapModule = annotateWithSource(zapModuleAnalyzer.analyze(context, logger));
-
-            // --- Module DOMAIN (tech) — cache 24h partagé entre toutes les pages du domaine ---
-            logger.info("Resolving domain tech analysis domainId={} runId={}", domainId, runId);
-            AuditModuleResult techModule = annotateWithSource(domainAnalysisService.getOrRunTechAnalysis(context, logger));
-
-            List<AuditModuleResult> allModules = List.of(
-                httpModule, htmlModule, runtimeModule, lighthouseModule,
-                observatoryModule, sslModule, zapModule, techModule
-            );
-
-            // Merge cross-module duplicate checks
-            List<AuditModuleResult> mergedModules = checkMergerService.merge(allModules);
+            // Fusion déterministe : l'ordre des modules dans le rapport est l'ordre d'enregistrement,
+            // quel que soit l'ordre de fin d'exécution.
+            List<AuditModuleResult> allModules = executionPlan.modules().stream()
+                .map(analyzer -> resultsById.get(analyzer.moduleId()))
+                .toList();
 
-            // Enrich checks (tags/scorable/weight) + compute score
-            List<AuditModuleResult> enrichedModules = scoreEnricherService.enrich(mergedModules);
+            // Merge cross-module duplicate checks + enrich checks (tags/scorable/weight) + compute score
+            List<AuditModuleResult> enrichedModules = mergeAndEnrich(allModules);
             int scoringVersion = scoreEnricherService.scoringVersion();
             AuditScoreReport score = scoreService.compute(scoringVersion, enrichedModules);
 
@@ -192,24 +258,198 @@ public class AuditProcessorService {
 
             String json = objectMapper.writeValueAsString(report);
 
-            auditRunService.complete(runId, json);
+            // Claim perdu (bail expiré, run repris ailleurs) : le run appartient à un autre worker,
+            // qui publiera le rapport ; les abonnés de ce nœud suivent l'état final en base
+            if (!auditRunService.complete(run, json)) {
+                runProgressRegistry.runClaimLost(runId);
+                return;
+            }
+            queueMetrics.runCompleted(run);
             // Publish public report (tokenized) for /report/[token]
             reportPublishService.publishIfAbsent(runId, audit, report)
                 .ifPresentOrElse(
                     token -> logger.info("Public report ready runId={} token={}", runId, token),
                     () -> logger.warn("Public report not published runId={}", runId)
                 );
+            // Notifié après publication : les abonnés peuvent aussitôt récupérer le reportToken
+            runProgressRegistry.runCompleted(runId);
             logger.info(
                 "Run completed runId={} globalScoreRatio={}",
                 runId,
                 score.global().ratio()
             );
         } catch (Exception e) {
-            auditRunService.fail(runId, e.getMessage());
+            if (auditRunService.scheduleRetry(run, e)) {
+                runProgressRegistry.runRetryScheduled(runId, e.getMessage());
+                return;
+            }
+            if (!auditRunService.fail(run, e.getMessage())) {
+                runProgressRegistry.runClaimLost(runId);
+                return;
+            }
+            queueMetrics.runFailed();
+            runProgressRegistry.runFailed(runId, e.getMessage());
             logger.warn("Run failed runId={} error={}", runId, e.getMessage(), e);
         }
     }
 
+    /**
+     * Résultats des modules réussis lors des tentatives précédentes du run (hors modules en "soft fail").
+     */
+    private Map<String, AuditModuleResult> previousSuccessfulModules(AuditRun run) {
+        if (run.getAttemptCount() == null || run.getAttemptCount() <= 1) {
+            return Map.of();
+        }
+        Map<String, AuditModuleResult> previous = new HashMap<>();
+        for (AuditModuleResult module : auditRunModuleService.findModules(run.getId())) {
+            if (module.data() == null || !Boolean.FALSE.equals(module.data().get("available"))) {
+                previous.put(module.id(), module);
+            }
+        }
+        if (!previous.isEmpty()) {
+            logger.info("Reusing module results from previous attempts runId={} modules={}", run.getId(), previous.keySet());
+        }
+        return previous;
+    }
+
+    /**
+     * Étend la frontière du crawl auquel appartient le run. Un échec n'interrompt pas l'audit de la page.
+     */
+    private void discoverPageLinks(long batchId, long runId, AuditContext context) {
+        try {
+            crawlService.onPageFetched(batchId, context);
+        } catch (Exception e) {
+            logger.warn("Crawl link discovery failed batchId={} runId={}", batchId, runId, e);
+        }
+    }
+
+    /**
+     * Score provisoire d'un run en cours, calculé sur les modules déjà terminés
+     * avec les mêmes règles (fusion, enrichissement, scoring) que le rapport final.
+     *
+     * @param modules résultats des modules terminés
+     * @return score calculé sur ces seuls modules
+     */
+    public AuditScoreReport provisionalScore(List<AuditModuleResult> modules) {
+        return scoreService.compute(scoreEnricherService.scoringVersion(), mergeAndEnrich(modules));
+    }
+
+    private List<AuditModuleResult> mergeAndEnrich(List<AuditModuleResult> modules) {
+        return scoreEnricherService.enrich(checkMergerService.merge(modules));
+    }
+
+    /**
+     * Soumet un analyzer à l'exécuteur : les modules de portée {@link ModuleScope#DOMAIN}
+     * sont servis par le cache de domaine ({@link DomainAnalysisService}), les autres exécutés directement.
+     */
+    private ModuleTask submitAnalyzer(AuditModuleAnalyzer analyzer, long runId, AuditContext runContext) {
+        return submitModule(analyzer.moduleId(), runId, runContext, ctx -> analyzer.scope() == ModuleScope.DOMAIN
+            ? domainAnalysisService.getOrRun(analyzer, ctx, logger)
+            : analyzer.analyze(ctx, logger)
+        );
+    }
+
+    /**
+     * Soumet un module à l'exécuteur de threads virtuels.
+     * <p>
+     * Le module reçoit un contexte borné par sa propre deadline : min(deadline du run, maintenant + budget du module).
+     * Le résultat est annoté avec la source du module dès la fin de son exécution. Il n'est enregistré que si
+     * l'orchestrateur ne l'a pas déjà abandonné au profit d'un résultat de dépassement de budget.
+     */
+    private ModuleTask submitModule(
+        String moduleId,
+        long runId,
+        AuditContext runContext,
+        Function<AuditContext, AuditModuleResult> module
+    ) {
+        Instant moduleDeadline = Instant.now().plus(configurationService.auditModuleBudget(moduleId));
+        if (runContext.deadline() != null && runContext.deadline().isBefore(moduleDeadline)) {
+            moduleDeadline = runContext.deadline();
+        }
+        AuditContext moduleContext = runContext.withDeadline(moduleDeadline);
+        long start = System.currentTimeMillis();
+        AtomicBoolean settled = new AtomicBoolean();
+
+        Future<AuditModuleResult> future = moduleExecutor.submit(() -> {
+            logger.info("Running module={} runId={}", moduleId, runId);
+            runProgressRegistry.moduleStarted(runId, moduleId);
+            AuditModuleResult result = annotateWithSource(module.apply(moduleContext));
+            long durationMs = System.currentTimeMillis() - start;
+            logger.info("Module done module={} runId={} durationMs={}", moduleId, runId, durationMs);
+            // Persistance progressive : le résultat est visible avant la fin du run
+            if (settled.compareAndSet(false, true)) {
+                auditRunModuleService.record(runId, result, durationMs);
+                runProgressRegistry.moduleFinished(runId, moduleId, durationMs);
+            }
+            return result;
+        });
+        return new ModuleTask(moduleId, future, moduleDeadline, start, settled);
+    }
+
+    /**
+     * Attend la fin de tous les modules et retourne leurs résultats dans l'ordre de soumission.
+     * <p>
+     * Un module qui n'a pas répondu après sa deadline (+ {@link #MODULE_DEADLINE_GRACE}) est interrompu
+     * et remplacé par un check "collect" en WARN : il ne bloque ni le run ni le thread worker. Ce résultat est
+     * enregistré et notifié comme celui d'un module terminé, pour que la progression et le score provisoire
+     * concordent avec le rapport final.
+     * Si un module lève une exception, les modules encore en cours sont annulés (interruption
+     * de leur thread virtuel) et l'exception d'origine est propagée pour faire échouer le run.
+     */
+    private List<AuditModuleResult> awaitAll(long runId, List<ModuleTask> tasks) throws Exception {
+        List<AuditModuleResult> results = new ArrayList<>(tasks.size());
+        try {
+            for (ModuleTask task : tasks) {
+                long waitMs = Math.max(0L, Duration.between(Instant.now(), task.deadline().plus(MODULE_DEADLINE_GRACE)).toMillis());
+                try {
+                    results.add(task.future().get(waitMs, TimeUnit.MILLISECONDS));
+                } catch (TimeoutException e) {
+                    if (!task.settled().compareAndSet(false, true)) {
+                        // Terminé entre-temps : son résultat est déjà enregistré, c'est lui qui fait foi
+                        results.add(task.future().get());
+                        continue;
+                    }
+                    task.future().cancel(true);
+                    logger.warn("Module exceeded its time budget, interrupted module={} deadline={}", task.moduleId(), task.deadline());
+                    AuditModuleResult result = annotateWithSource(budgetExceededModule(task.moduleId()));
+                    long durationMs = System.currentTimeMillis() - task.startedAtMs();
+                    auditRunModuleService.record(runId, result, durationMs);
+                    runProgressRegistry.moduleFinished(runId, task.moduleId(), durationMs);
+                    results.add(result);
+                }
+            }
+            return results;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof Exception exception ? exception : new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } finally {
+            tasks.forEach(task -> task.future().cancel(true));
+        }
+    }
+
+    /**
+     * Résultat "soft fail" d'un module abandonné par l'orchestrateur après dépassement de son budget.
+     */
+    private static AuditModuleResult budgetExceededModule(String moduleId) {
+        String reason = "Time budget exceeded";
+        List<AuditCheckResult> checks = List.of(AuditCheckResult.of(
+            moduleId + ".collect",
+            "Module collection (" + moduleId + ")",
+            AuditStatus.WARN,
+            AuditSeverity.MEDIUM,
+            false, 0.0, List.of(moduleId),
+            false,
+            Map.of("error", reason),
+            "Le module " + moduleId + " a dépassé son budget de temps et a été interrompu.",
+            "Vérifier la disponibilité du service sollicité par le module ou augmenter audit.budget.modules." + moduleId + "."
+        ));
+        return new AuditModuleResult(moduleId, moduleId, moduleId + "=unavailable",
+            Map.of("available", false, "error", reason), checks);
+    }
+
     /**
      * Annotates each check in the module with the module's own id as source,
      * unless the check already has sources set (e.g. from a merge).
@@ -220,4 +460,17 @@ public class AuditProcessorService {
             .toList();
         return new AuditModuleResult(module.id(), module.title(), module.summary(), module.data(), annotated);
     }
+
+    /**
+     * Module soumis à l'exécuteur, avec la deadline au-delà de laquelle son résultat est abandonné.
+     * {@code settled} est positionné par le premier qui enregistre un résultat : le module, ou l'orchestrateur
+     * quand il l'abandonne.
+     */
+    private record ModuleTask(
+        String moduleId,
+        Future<AuditModuleResult> future,
+        Instant deadline,
+        long startedAtMs,
+        AtomicBoolean settled
+    ) {}
 }
@@ -3,8 +3,9 @@ package com.dokor.argos.services.analysis;
 import com.dokor.argos.db.dao.DomainAnalysisDao;
 import com.dokor.argos.db.generated.DomainAnalysis;
 import com.dokor.argos.services.analysis.model.AuditContext;
+import com.dokor.argos.services.analysis.model.AuditModuleAnalyzer;
 import com.dokor.argos.services.analysis.model.AuditModuleResult;
-import com.dokor.argos.services.analysis.modules.tech.TechModuleAnalyzer;
+import com.dokor.argos.services.configuration.ConfigurationService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -13,110 +14,172 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
- * Orchestre l'analyse de niveau domaine (module "tech") avec mise en cache TTL.
+ * Exécute les modules de portée DOMAIN (tech, ssl, observatory…) avec mise en cache TTL.
  * <p>
- * Logique :
+ * Logique, pour un couple (domaine, module) :
  * <ol>
- *   <li>Si une analyse récente (non expirée) existe pour le domaine → on la réutilise.</li>
- *   <li>Sinon → on exécute {@link TechModuleAnalyzer}, on supprime l'ancienne entrée
- *       et on persiste le nouveau résultat.</li>
+ *   <li>Si une analyse récente (non expirée) existe → on la réutilise.</li>
+ *   <li>Sinon → on exécute l'analyzer et on remplace atomiquement l'entrée en cache (upsert).</li>
  * </ol>
- * Le TTL par défaut est de 24 heures : la stack technique d'un site ne change pas
- * à chaque analyse de page.
+ * Le TTL est configurable par module ({@link ConfigurationService#auditDomainCacheTtl(String)}) :
+ * la stack technique ou la configuration TLS d'un site ne change pas à chaque analyse de page.
+ * Un résultat en échec ({@code data.available == false}) n'est jamais mis en cache, pour ne pas
+ * figer une indisponibilité temporaire du service distant pendant toute la durée du TTL.
+ * <p>
+ * Sur un même nœud, les runs concurrents d'un même domaine (pages d'un crawl, lot d'URLs)
+ * partagent l'exécution en cours d'un module au lieu de le relancer chacun sur un cache vide.
  */
 @Singleton
 public class DomainAnalysisService {
 
     private static final Logger logger = LoggerFactory.getLogger(DomainAnalysisService.class);
 
-    /** Durée de validité d'une analyse de domaine. */
-    private static final Duration DOMAIN_ANALYSIS_TTL = Duration.ofHours(24);
-
     private final DomainAnalysisDao domainAnalysisDao;
-    private final TechModuleAnalyzer techModuleAnalyzer;
+    private final ConfigurationService configurationService;
     private final ObjectMapper objectMapper;
 
+    /** Exécutions en cours, par couple "domainId:moduleId". */
+    private final ConcurrentHashMap<String, CompletableFuture<AuditModuleResult>> inFlight = new ConcurrentHashMap<>();
+
     @Inject
     public DomainAnalysisService(
         DomainAnalysisDao domainAnalysisDao,
-        TechModuleAnalyzer techModuleAnalyzer,
+        ConfigurationService configurationService,
         ObjectMapper objectMapper
     ) {
         this.domainAnalysisDao = domainAnalysisDao;
-        this.techModuleAnalyzer = techModuleAnalyzer;
+        this.configurationService = configurationService;
         this.objectMapper = objectMapper;
     }
 
     /**
-     * Retourne le résultat du module "tech" pour le domaine du contexte.
+     * Retourne le résultat d'un module DOMAIN pour le domaine du contexte.
      * <p>
      * Si une entrée non expirée existe en base, elle est désérialisée et retournée
-     * sans ré-exécuter l'analyse. Sinon, {@link TechModuleAnalyzer#analyze} est appelé,
+     * sans ré-exécuter l'analyse. Sinon (ou si l'entrée est illisible), l'analyzer est appelé,
      * le résultat est persisté et retourné.
      *
-     * @param context contexte d'audit courant (contient le domainId)
-     * @param logger  logger de l'orchestrateur (pour tracer le run en cours)
-     * @return résultat du module tech (frais ou depuis le cache)
+     * @param analyzer analyzer de portée DOMAIN
+     * @param context  contexte d'audit courant (contient le domainId)
+     * @param logger   logger de l'orchestrateur (pour tracer le run en cours)
+     * @return résultat du module (frais ou depuis le cache)
      */
-    public AuditModuleResult getOrRunTechAnalysis(AuditContext context, Logger logger) {
+    public AuditModuleResult getOrRun(AuditModuleAnalyzer analyzer, AuditContext context, Logger logger) {
         long domainId = context.domainId();
+        String moduleId = analyzer.moduleId();
 
         // 1. Chercher un résultat valide en cache
-        var cached = domainAnalysisDao.findFreshByDomainId(domainId);
+        var cached = domainAnalysisDao.findFresh(domainId, moduleId);
         if (cached.isPresent()) {
-            logger.info("Tech analysis cache hit domainId={} expiresAt={}", domainId, cached.get().getExpiresAt());
-            return deserialize(cached.get());
+            Optional<AuditModuleResult> result = deserialize(cached.get());
+            if (result.isPresent()) {
+                logger.info("Domain cache hit module={} domainId={} expiresAt={}", moduleId, domainId, cached.get().getExpiresAt());
+                return result.get();
+            }
         }
 
-        // 2. Pas de cache valide → exécuter le module
-        logger.info("Tech analysis cache miss domainId={} — running TechModuleAnalyzer", domainId);
-        AuditModuleResult result = techModuleAnalyzer.analyze(context, logger);
-
-        // 3. Persister (remplace l'ancienne entrée si présente)
-        persist(domainId, result);
+        // 2. Module déjà en cours pour ce domaine sur ce nœud → partager son résultat
+        String key = domainId + ":" + moduleId;
+        CompletableFuture<AuditModuleResult> execution = new CompletableFuture<>();
+        CompletableFuture<AuditModuleResult> running = inFlight.putIfAbsent(key, execution);
+        if (running != null) {
+            logger.info("Domain analysis already running module={} domainId={} — waiting for it", moduleId, domainId);
+            return awaitRunning(running, analyzer, context, logger);
+        }
 
-        return result;
+        // 3. Pas de cache valide → exécuter le module
+        try {
+            logger.info("Domain cache miss module={} domainId={} — running analyzer", moduleId, domainId);
+            AuditModuleResult result = analyzer.analyze(context, logger);
+
+            // 4. Persister (remplace l'ancienne entrée si présente), sauf en cas d'échec du module
+            if (isAvailable(result)) {
+                persist(domainId, moduleId, result);
+            } else {
+                logger.info("Domain analysis not cached (module unavailable) module={} domainId={}", moduleId, domainId);
+            }
+            execution.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            execution.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, execution);
+        }
     }
 
     // -------------------------
     // Helpers privés
     // -------------------------
 
-    private AuditModuleResult deserialize(DomainAnalysis entity) {
+    /**
+     * Attend l'exécution en cours, dans la limite du budget du run appelant.
+     * Si elle échoue ou dépasse ce budget, l'analyzer est appelé directement (il soft-fail si le budget est épuisé).
+     */
+    private static AuditModuleResult awaitRunning(
+        CompletableFuture<AuditModuleResult> running,
+        AuditModuleAnalyzer analyzer,
+        AuditContext context,
+        Logger logger
+    ) {
+        Duration wait = context.remainingBudget(Duration.ofDays(1));
+        try {
+            return running.get(wait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for domain analysis " + analyzer.moduleId());
+        } catch (ExecutionException | TimeoutException | CancellationException e) {
+            logger.info("Shared domain analysis unavailable module={} domainId={} — running analyzer",
+                analyzer.moduleId(), context.domainId());
+            return analyzer.analyze(context, logger);
+        }
+    }
+
+    private static boolean isAvailable(AuditModuleResult result) {
+        return result != null
+            && (result.data() == null || !Boolean.FALSE.equals(result.data().get("available")));
+    }
+
+    private Optional<AuditModuleResult> deserialize(DomainAnalysis entity) {
         try {
-            return objectMapper.readValue(entity.getResultJson(), AuditModuleResult.class);
+            return Optional.of(objectMapper.readValue(entity.getResultJson(), AuditModuleResult.class));
         } catch (Exception e) {
-            // Cache corrompu : on loggue et on laisse l'appelant gérer (il repassera par run)
+            // Cache corrompu : l'appelant repasse par l'analyzer et l'upsert écrasera l'entrée
             DomainAnalysisService.logger.warn(
-                "Failed to deserialize cached tech result domainId={} — will re-run",
-                entity.getDomainId(), e
+                "Failed to deserialize cached domain analysis module={} domainId={} — will re-run",
+                entity.getModuleId(), entity.getDomainId(), e
             );
-            throw new IllegalStateException("Corrupted domain analysis cache for domainId=" + entity.getDomainId(), e);
+            return Optional.empty();
         }
     }
 
-    private void persist(long domainId, AuditModuleResult result) {
+    private void persist(long domainId, String moduleId, AuditModuleResult result) {
         try {
-            // Supprimer l'ancienne entrée (une seule ligne par domaine)
-            domainAnalysisDao.deleteByDomainId(domainId);
-
             Instant now = Instant.now();
             DomainAnalysis entity = new DomainAnalysis();
             entity.setDomainId(domainId);
+            entity.setModuleId(moduleId);
             entity.setResultJson(objectMapper.writeValueAsString(result));
             entity.setAnalyzedAt(now);
-            entity.setExpiresAt(now.plus(DOMAIN_ANALYSIS_TTL));
-            domainAnalysisDao.save(entity);
+            entity.setExpiresAt(now.plus(configurationService.auditDomainCacheTtl(moduleId)));
+            domainAnalysisDao.upsert(entity);
 
             DomainAnalysisService.logger.info(
-                "Tech analysis persisted domainId={} expiresAt={}", domainId, entity.getExpiresAt()
+                "Domain analysis persisted module={} domainId={} expiresAt={}", moduleId, domainId, entity.getExpiresAt()
             );
         } catch (Exception e) {
             // Échec de persistance non bloquant : le résultat est quand même retourné
             DomainAnalysisService.logger.warn(
-                "Failed to persist domain analysis domainId={}", domainId, e
+                "Failed to persist domain analysis module={} domainId={}", moduleId, domainId, e
             );
         }
     }
@@ -1,5 +1,9 @@
 package com.dokor.argos.services.analysis.lighthouse;
 
+import com.dokor.argos.services.domain.audit.RetryPolicy;
+import com.dokor.argos.services.domain.audit.errors.TransientServiceException;
+import com.dokor.argos.services.http.HttpClientFactory;
+import com.dokor.argos.services.http.HttpClientProfile;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.inject.Inject;
@@ -15,8 +19,6 @@ import java.util.Map;
 @Singleton
 public class LighthouseClient {
 
-    /** Timeout alloué à une analyse Lighthouse (le service peut être lent sur les pages complexes). */
-    private static final int TIMEOUT_LIGHTHOUSE_REQUEST_SECONDS = 240;
     private static final String DEFAULT_URL_LIGHTHOUSE_SERVICE = "http://lighthouse-service:3017";
 
     private final HttpClient http;
@@ -24,22 +26,26 @@ public class LighthouseClient {
     private final String baseUrl;
 
     @Inject
-    public LighthouseClient(ObjectMapper objectMapper) {
+    public LighthouseClient(ObjectMapper objectMapper, HttpClientFactory httpClientFactory) {
         this.objectMapper = objectMapper;
-        this.http = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(5))
-            .build();
+        this.http = httpClientFactory.client(HttpClientProfile.SIDECAR);
 
         // ex: http://lighthouse-service:3017
         this.baseUrl = System.getenv().getOrDefault("LIGHTHOUSE_SERVICE_URL", DEFAULT_URL_LIGHTHOUSE_SERVICE);
     }
 
-    public JsonNode analyze(String url) throws Exception {
+    /**
+     * Lance une analyse Lighthouse.
+     *
+     * @param url     URL à analyser
+     * @param timeout temps maximal accordé (budget restant du module, cf. audit.budget.modules.lighthouse)
+     */
+    public JsonNode analyze(String url, Duration timeout) throws Exception {
         URI endpoint = URI.create(baseUrl + "/analyze");
         String payload = objectMapper.writeValueAsString(Map.of("url", url));
 
         HttpRequest req = HttpRequest.newBuilder(endpoint)
-            .timeout(Duration.ofSeconds(TIMEOUT_LIGHTHOUSE_REQUEST_SECONDS))
+            .timeout(timeout)
             .header("content-type", "application/json")
             .POST(HttpRequest.BodyPublishers.ofString(payload))
             .build();
@@ -47,7 +53,11 @@ public class LighthouseClient {
         HttpResponse<String> res = http.send(req, HttpResponse.BodyHandlers.ofString());
 
         if (res.statusCode() < 200 || res.statusCode() >= 300) {
-            throw new IllegalStateException("Lighthouse service error status=" + res.statusCode() + " body=" + truncate(res.body(), 500));
+            String message = "Lighthouse service error status=" + res.statusCode() + " body=" + truncate(res.body(), 500);
+            if (RetryPolicy.isTransientStatus(res.statusCode())) {
+                throw new TransientServiceException(message);
+            }
+            throw new IllegalStateException(message);
         }
 
         return objectMapper.readTree(res.body());
@@ -3,21 +3,28 @@ package com.dokor.argos.services.analysis.lighthouse;
 import com.dokor.argos.services.analysis.model.*;
 import com.dokor.argos.services.analysis.model.enums.AuditSeverity;
 import com.dokor.argos.services.analysis.model.enums.AuditStatus;
+import com.dokor.argos.services.domain.audit.RetryPolicy;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 
+import java.time.Duration;
 import java.util.*;
 
 @Singleton
 public class LighthouseModuleAnalyzer implements AuditModuleAnalyzer {
 
+    /** Timeout maximal d'une analyse Lighthouse, réduit au budget restant du module. */
+    private static final Duration LIGHTHOUSE_TIMEOUT = Duration.ofSeconds(240);
+
     private final LighthouseClient client;
+    private final RetryPolicy retryPolicy;
 
     @Inject
-    public LighthouseModuleAnalyzer(LighthouseClient client) {
+    public LighthouseModuleAnalyzer(LighthouseClient client, RetryPolicy retryPolicy) {
         this.client = client;
+        this.retryPolicy = retryPolicy;
     }
 
     @Override
@@ -25,35 +32,28 @@ public class LighthouseModuleAnalyzer implements AuditModuleAnalyzer {
         return "lighthouse";
     }
 
+    @Override
+    public ModuleCost cost() {
+        return ModuleCost.HIGH;
+    }
+
     @Override
     public AuditModuleResult analyze(AuditContext auditContext, Logger logger) {
         long start = System.currentTimeMillis();
 
         String url = auditContext.finalUrl() != null ? auditContext.finalUrl() : auditContext.normalizedUrl();
 
+        if (auditContext.isBudgetExhausted()) {
+            logger.warn("LIGHTHOUSE module: time budget exhausted before start");
+            return unavailable("Time budget exhausted");
+        }
+
         JsonNode lhr;
         try {
-            lhr = client.analyze(url);
+            lhr = retryPolicy.callModule(moduleId(), auditContext.deadline(),
+                () -> client.analyze(url, auditContext.remainingBudget(LIGHTHOUSE_TIMEOUT)));
         } catch (Exception e) {
-            List<AuditCheckResult> checks = List.of(AuditCheckResult.of(
-                "lighthouse.collect",
-                "Lighthouse collection",
-                AuditStatus.WARN,
-                AuditSeverity.MEDIUM,
-                false, 0.0, List.of("lighthouse"),
-                false,
-                Map.of("error", e.getMessage()),
-                "Impossible d'exécuter Lighthouse (service indisponible ou timeout).",
-                "Vérifier que lighthouse-service est up et joignable depuis api-backend."
-            ));
-
-            return new AuditModuleResult(
-                moduleId(),
-                "Lighthouse",
-                "lighthouse=unavailable",
-                Map.of("available", false, "error", e.getMessage()),
-                checks
-            );
+            return unavailable(String.valueOf(e.getMessage()));
         }
 
         long durationMs = System.currentTimeMillis() - start;
@@ -105,6 +105,31 @@ public class LighthouseModuleAnalyzer implements AuditModuleAnalyzer {
         );
     }
 
+    /**
+     * Module "soft fail" : Lighthouse indisponible, en timeout ou budget épuisé.
+     */
+    private AuditModuleResult unavailable(String error) {
+        List<AuditCheckResult> checks = List.of(AuditCheckResult.of(
+            "lighthouse.collect",
+            "Lighthouse collection",
+            AuditStatus.WARN,
+            AuditSeverity.MEDIUM,
+            false, 0.0, List.of("lighthouse"),
+            false,
+            Map.of("error", error),
+            "Impossible d'exécuter Lighthouse (service indisponible ou timeout).",
+            "Vérifier que lighthouse-service est up et joignable depuis api-backend."
+        ));
+
+        return new AuditModuleResult(
+            moduleId(),
+            "Lighthouse",
+            "lighthouse=unavailable",
+            Map.of("available", false, "error", error),
+            checks
+        );
+    }
+
     private static AuditCheckResult scoreCheck(String key, String title, int score100) {
         AuditStatus status =
             score100 >= 85 ? AuditStatus.PASS :
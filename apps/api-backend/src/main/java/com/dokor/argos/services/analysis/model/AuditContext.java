@@ -1,5 +1,6 @@
 package com.dokor.argos.services.analysis.model;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
@@ -14,12 +15,18 @@ import java.util.Map;
  *
  * Le contexte est IMMUTABLE (record) : chaque étape peut produire une nouvelle version enrichie
  * (via withXxx(...) ci-dessous).
+ *
+ * Budget de temps :
+ * - deadline est l'instant au-delà duquel un module doit abandonner (soft-fail)
+ * - l'orchestrateur la positionne au min(deadline du run, budget du module)
+ * - null = pas de deadline (tests, appels hors orchestrateur)
  */
 public record AuditContext(
     String inputUrl,
     String normalizedUrl,
     long domainId,
     Instant startedAt,
+    Instant deadline,
 
     // Résultat "HTTP-level" (rempli après HttpModuleAnalyzer)
     String finalUrl,
@@ -43,6 +50,7 @@ public record AuditContext(
             domainId,
             Instant.now(),
             null,
+            null,
             0,
             0L,
             List.of(),
@@ -64,6 +72,7 @@ public record AuditContext(
             normalizedUrl,
             domainId,
             startedAt,
+            deadline,
             finalUrl,
             httpStatusCode,
             httpDurationMs,
@@ -72,4 +81,52 @@ public record AuditContext(
             body
         );
     }
+
+    /**
+     * Retourne une copie du contexte bornée par la deadline donnée.
+     *
+     * @param deadline instant au-delà duquel les modules doivent abandonner
+     */
+    public AuditContext withDeadline(Instant deadline) {
+        return new AuditContext(
+            inputUrl,
+            normalizedUrl,
+            domainId,
+            startedAt,
+            deadline,
+            finalUrl,
+            httpStatusCode,
+            httpDurationMs,
+            redirectChain,
+            headers,
+            body
+        );
+    }
+
+    /**
+     * Temps restant avant la deadline, borné par {@code cap}.
+     * <p>
+     * Sert de timeout aux clients HTTP des modules : un module ne doit jamais attendre
+     * plus longtemps que ce que le budget du run lui laisse.
+     *
+     * @param cap durée maximale (timeout "naturel" de l'appel)
+     * @return {@code cap} sans deadline, {@link Duration#ZERO} si la deadline est dépassée
+     */
+    public Duration remainingBudget(Duration cap) {
+        if (deadline == null) {
+            return cap;
+        }
+        Duration remaining = Duration.between(Instant.now(), deadline);
+        if (remaining.isNegative()) {
+            return Duration.ZERO;
+        }
+        return remaining.compareTo(cap) < 0 ? remaining : cap;
+    }
+
+    /**
+     * @return true si la deadline est dépassée (le module doit soft-fail sans appeler de service)
+     */
+    public boolean isBudgetExhausted() {
+        return deadline != null && !Instant.now().isBefore(deadline);
+    }
 }
@@ -2,6 +2,8 @@ package com.dokor.argos.services.analysis.model;
 
 import org.slf4j.Logger;
 
+import java.util.Set;
+
 /**
  * Un "module analyzer" est un plugin d'analyse.
  *
@@ -9,8 +11,10 @@ import org.slf4j.Logger;
  * - Chaque module produit un AuditModuleResult structuré, composé de checks (AuditCheckResult).
  *
  * Principe :
- * - L'orchestrateur (AuditProcessorService) appelle plusieurs analyzers.
- * - Il agrège leurs résultats dans un AuditReport global.
+ * - Les analyzers sont découverts par l'orchestrateur (AuditProcessorService) via le Multibinder Guice.
+ * - Chaque analyzer déclare ses dépendances, sa portée, son coût et s'il est activé :
+ *   le plan d'exécution (AuditExecutionPlan) en est déduit une seule fois au démarrage.
+ * - L'orchestrateur agrège leurs résultats dans un AuditReport global.
  *
  * Important :
  * - L'analyzer NE gère pas la persistance (ça reste dans AuditProcessorService / AuditRunService).
@@ -36,6 +40,49 @@ public interface AuditModuleAnalyzer {
         return ModuleScope.PAGE;
     }
 
+    /**
+     * Modules dont le résultat doit être disponible (dans le contexte) avant l'exécution de celui-ci.
+     * <p>
+     * Par défaut, un module dépend du module "http" qui alimente le contexte (finalUrl, headers, body).
+     *
+     * @return identifiants des modules requis
+     */
+    default Set<String> dependsOn() {
+        return Set.of("http");
+    }
+
+    /**
+     * Classe de coût du module, utilisée pour ordonner les lancements au sein d'une étape.
+     *
+     * @return coût du module
+     */
+    default ModuleCost cost() {
+        return ModuleCost.LOW;
+    }
+
+    /**
+     * Activation par défaut du module, surchargeable par configuration
+     * ({@code audit.modules.<moduleId>.enabled}).
+     * Un module désactivé n'est jamais appelé, ni les modules qui en dépendent.
+     *
+     * @return true si le module est actif sans configuration explicite
+     */
+    default boolean enabledByDefault() {
+        return true;
+    }
+
+    /**
+     * Enrichit le contexte avec le résultat de ce module, pour les modules qui en dépendent.
+     * Appelé par l'orchestrateur une fois l'étape du module terminée.
+     *
+     * @param context contexte courant
+     * @param result  résultat produit par {@link #analyze}
+     * @return contexte enrichi (par défaut, inchangé)
+     */
+    default AuditContext enrich(AuditContext context, AuditModuleResult result) {
+        return context;
+    }
+
     /**
      * Analyse l'URL et retourne le résultat du module.
      *
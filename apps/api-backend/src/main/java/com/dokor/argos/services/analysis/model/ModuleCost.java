@@ -0,0 +1,29 @@
+package com.dokor.argos.services.analysis.model;
+
+/**
+ * Classe de coût d'un module d'analyse.
+ * <p>
+ * Sert à l'orchestrateur pour ordonner le lancement des modules d'une même étape :
+ * les plus coûteux (services distants lents) démarrent en premier, les modules locaux
+ * (parsing du HTML déjà téléchargé) en dernier.
+ */
+public enum ModuleCost {
+
+    /**
+     * Traitement local, sans appel réseau.
+     * Exemples : analyse HTML, détection de la stack technique.
+     */
+    LOW,
+
+    /**
+     * Un appel réseau court vers la cible ou un service tiers.
+     * Exemples : requêtes HTTP, Observatory, ZAP.
+     */
+    MEDIUM,
+
+    /**
+     * Analyse longue (navigateur headless, polling d'un service tiers).
+     * Exemples : Lighthouse, runtime Playwright, SSL Labs.
+     */
+    HIGH
+}
@@ -0,0 +1,95 @@
+package com.dokor.argos.services.analysis.modules.http;
+
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.SSLSocketFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Mesure des phases d'établissement de connexion : résolution DNS, connexion TCP, handshake TLS.
+ * <p>
+ * {@link java.net.http.HttpClient} n'expose pas ces phases, et la connexion utilisée par une requête peut être
+ * une connexion réutilisée (keep-alive, HTTP/2) : on ne peut donc pas les déduire du temps de la requête.
+ * <ul>
+ *   <li>{@link #resolve} interroge le résolveur (aucun trafic vers le site audité) ; la résolution réchauffe
+ *       le cache DNS de la JVM, la requête qui suit ne repaie donc pas le DNS ;</li>
+ *   <li>{@link #connect} ouvre une connexion de sonde puis la ferme sans rien envoyer. Le module HTTP ne l'utilise
+ *       qu'une fois par audit, sur l'origine de la réponse finale, pour ne pas doubler les handshakes
+ *       sur chaque saut de redirection.</li>
+ * </ul>
+ * Une mesure en échec (hôte injoignable, certificat invalide...) n'interrompt rien : elle reste {@code null}
+ * et l'erreur réelle est remontée par la requête elle-même.
+ */
+final class ConnectionProbe {
+
+    private ConnectionProbe() {
+    }
+
+    /**
+     * Phases de connexion mesurées, en millisecondes ({@code null} si non mesurée ; {@code tlsMs} est
+     * {@code null} en HTTP).
+     */
+    record Timing(Long connectMs, Long tlsMs) {
+
+        static final Timing NONE = new Timing(null, null);
+    }
+
+    /**
+     * Durée de résolution DNS de {@code host}, ou {@code null} si elle échoue.
+     */
+    static Long resolve(String host) {
+        if (host == null) {
+            return null;
+        }
+        long start = System.nanoTime();
+        try {
+            InetAddress.getByName(host);
+            return elapsedMs(start);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * Connexion TCP (et handshake TLS en https) à l'origine de {@code uri}, fermée aussitôt.
+     *
+     * @param timeout durée maximale de chaque phase (connexion, handshake)
+     */
+    static Timing connect(URI uri, Duration timeout) {
+        String host = uri.getHost();
+        if (host == null || timeout.isZero() || timeout.isNegative()) {
+            return Timing.NONE;
+        }
+        boolean https = "https".equalsIgnoreCase(uri.getScheme());
+        int port = uri.getPort() != -1 ? uri.getPort() : (https ? 443 : 80);
+        int timeoutMs = (int) Math.max(1L, Math.min(Integer.MAX_VALUE, timeout.toMillis()));
+
+        long start = System.nanoTime();
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, port), timeoutMs);
+            long connectMs = elapsedMs(start);
+            if (!https) {
+                return new Timing(connectMs, null);
+            }
+
+            socket.setSoTimeout(timeoutMs);
+            start = System.nanoTime();
+            try (SSLSocket tls = (SSLSocket) ((SSLSocketFactory) SSLSocketFactory.getDefault())
+                .createSocket(socket, host, port, false)) {
+                tls.startHandshake();
+                return new Timing(connectMs, elapsedMs(start));
+            } catch (Exception e) {
+                return new Timing(connectMs, null);
+            }
+        } catch (Exception e) {
+            return Timing.NONE;
+        }
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+    }
+}
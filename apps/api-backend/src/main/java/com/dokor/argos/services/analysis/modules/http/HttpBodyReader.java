@@ -0,0 +1,270 @@
+package com.dokor.argos.services.analysis.modules.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.OptionalLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Lecture bornée du corps d'une réponse HTTP.
+ * <p>
+ * Le corps est lu en flux depuis la réponse et n'est jamais matérialisé au-delà de {@code maxBytes} :
+ * une fois la limite atteinte, le flux est fermé (ce qui annule la réception du reste) et le corps
+ * est marqué tronqué. Une page énorme ou un binaire mal typé ne coûte donc au plus que {@code maxBytes}
+ * au worker.
+ * <p>
+ * Un corps compressé ({@code gzip} / {@code deflate}) est décodé au fil de la lecture : la limite porte sur
+ * les octets décodés (une "bombe" de compression est tronquée comme le reste) et les octets reçus sur le réseau
+ * sont comptés à part, pour mesurer le gain de la compression. Un encodage non supporté (ex. {@code br},
+ * que le JDK ne sait pas décoder et qu'on ne demande donc pas) est conservé tel quel.
+ * <p>
+ * Le charset est détecté, dans l'ordre : paramètre {@code charset} du Content-Type, BOM,
+ * balise {@code <meta charset>} / {@code <meta http-equiv="Content-Type">} dans les premiers octets, UTF-8.
+ */
+final class HttpBodyReader {
+
+    /** Nombre d'octets inspectés pour trouver une balise meta charset. */
+    private static final int META_SNIFF_BYTES = 1024;
+    /** Taille initiale du buffer : on n'alloue pas {@code maxBytes} d'avance. */
+    private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    /** Encodages demandés au serveur (header Accept-Encoding) : ceux que {@link #decoder} sait décoder. */
+    static final String ACCEPTED_ENCODINGS = "gzip, deflate";
+
+    private static final Pattern CHARSET_PARAM = Pattern.compile(
+        "charset\\s*=\\s*[\"']?([A-Za-z0-9._:-]+)", Pattern.CASE_INSENSITIVE
+    );
+    private static final Pattern META_CHARSET = Pattern.compile(
+        "<meta[^>]+charset\\s*=\\s*[\"']?([A-Za-z0-9._:-]+)", Pattern.CASE_INSENSITIVE
+    );
+
+    private HttpBodyReader() {
+    }
+
+    /**
+     * Corps lu : texte décodé, nombre d'octets conservés (décodés), octets reçus sur le réseau,
+     * troncature, charset et encodage de transfert décodé ({@code identity} si aucun).
+     */
+    record CapturedBody(String text, long bytes, long wireBytes, boolean truncated, String charset, String encoding) {
+
+        /**
+         * Taille décodée ÷ taille transférée (1.0 sans compression).
+         */
+        double compressionRatio() {
+            return wireBytes > 0 ? (double) bytes / wireBytes : 1.0;
+        }
+    }
+
+    /**
+     * Lit au plus {@code maxBytes} octets décodés de {@code in}, puis le ferme.
+     *
+     * @param in              flux du corps de la réponse, tel que reçu
+     * @param maxBytes        nombre maximal d'octets décodés conservés
+     * @param contentType     valeur du header Content-Type (peut être null)
+     * @param contentEncoding valeur du header Content-Encoding (peut être null)
+     * @param contentLength   valeur du header Content-Length, si connue (sert uniquement à dimensionner le buffer)
+     */
+    static CapturedBody read(
+        InputStream in,
+        long maxBytes,
+        String contentType,
+        String contentEncoding,
+        OptionalLong contentLength
+    ) throws IOException {
+        int limit = (int) Math.min(Math.max(0L, maxBytes), Integer.MAX_VALUE - 8);
+        int initialSize = (int) Math.min(limit, Math.min(contentLength.orElse(INITIAL_BUFFER_SIZE), INITIAL_BUFFER_SIZE));
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(0, initialSize));
+        boolean truncated = false;
+
+        CountingInputStream wire = new CountingInputStream(in);
+        PushbackInputStream peekable = new PushbackInputStream(wire, 2);
+        String encoding = decodableEncoding(peekable, contentEncoding);
+        try (wire; InputStream decoded = decoder(peekable, encoding)) {
+            byte[] chunk = new byte[CHUNK_SIZE];
+            int remaining = limit;
+            while (remaining > 0) {
+                int read = decoded.read(chunk, 0, Math.min(chunk.length, remaining));
+                if (read < 0) {
+                    break;
+                }
+                out.write(chunk, 0, read);
+                remaining -= read;
+            }
+            // Limite atteinte : un octet de plus suffit à savoir s'il en restait.
+            if (remaining == 0 && decoded.read() >= 0) {
+                truncated = true;
+            }
+        }
+
+        byte[] bytes = out.toByteArray();
+        Charset charset = detectCharset(contentType, bytes);
+        int bomLength = bomLength(bytes, charset);
+        String text = new String(bytes, bomLength, bytes.length - bomLength, charset);
+        return new CapturedBody(text, bytes.length, wire.count(), truncated, charset.name(), encoding);
+    }
+
+    /**
+     * Encodage effectivement décodé : celui du header Content-Encoding s'il est supporté et que le corps
+     * commence bien comme tel, {@code identity} sinon (corps vide, header absent, serveur mal configuré).
+     */
+    private static String decodableEncoding(PushbackInputStream in, String contentEncoding) throws IOException {
+        if (contentEncoding == null || contentEncoding.isBlank()) {
+            return "identity";
+        }
+        String encoding = contentEncoding.trim().toLowerCase(Locale.ROOT);
+        if ("x-gzip".equals(encoding)) {
+            encoding = "gzip";
+        }
+        if (!"gzip".equals(encoding) && !"deflate".equals(encoding)) {
+            return encoding;
+        }
+
+        byte[] header = in.readNBytes(2);
+        in.unread(header);
+        if (header.length < 2) {
+            return "identity";
+        }
+        if ("gzip".equals(encoding)) {
+            return (header[0] & 0xFF) == 0x1F && (header[1] & 0xFF) == 0x8B ? "gzip" : "identity";
+        }
+        return encoding;
+    }
+
+    private static InputStream decoder(PushbackInputStream in, String encoding) throws IOException {
+        return switch (encoding) {
+            case "gzip" -> new GZIPInputStream(in, CHUNK_SIZE);
+            case "deflate" -> new InflaterInputStream(in, new Inflater(!isZlibHeader(in)), CHUNK_SIZE);
+            default -> in;
+        };
+    }
+
+    /**
+     * "deflate" désigne en principe un flux zlib, mais certains serveurs envoient du deflate brut :
+     * on regarde l'en-tête zlib avant de choisir.
+     */
+    private static boolean isZlibHeader(PushbackInputStream in) throws IOException {
+        byte[] header = in.readNBytes(2);
+        in.unread(header);
+        return header.length == 2
+            && (header[0] & 0x0F) == 8
+            && (((header[0] & 0xFF) << 8) | (header[1] & 0xFF)) % 31 == 0;
+    }
+
+    /**
+     * Charset du corps : Content-Type, puis BOM, puis balise meta, puis UTF-8.
+     */
+    static Charset detectCharset(String contentType, byte[] bytes) {
+        if (contentType != null) {
+            Matcher matcher = CHARSET_PARAM.matcher(contentType);
+            if (matcher.find()) {
+                Charset charset = toCharset(matcher.group(1));
+                if (charset != null) {
+                    return charset;
+                }
+            }
+        }
+
+        Charset bom = bomCharset(bytes);
+        if (bom != null) {
+            return bom;
+        }
+
+        // Les balises meta sont en ASCII : ISO-8859-1 décode les premiers octets sans perte.
+        String head = new String(bytes, 0, Math.min(bytes.length, META_SNIFF_BYTES), StandardCharsets.ISO_8859_1);
+        Matcher matcher = META_CHARSET.matcher(head);
+        if (matcher.find()) {
+            Charset charset = toCharset(matcher.group(1));
+            if (charset != null) {
+                return charset;
+            }
+        }
+
+        return StandardCharsets.UTF_8;
+    }
+
+    private static Charset bomCharset(byte[] bytes) {
+        if (startsWith(bytes, 0xEF, 0xBB, 0xBF)) return StandardCharsets.UTF_8;
+        if (startsWith(bytes, 0xFE, 0xFF)) return StandardCharsets.UTF_16BE;
+        if (startsWith(bytes, 0xFF, 0xFE)) return StandardCharsets.UTF_16LE;
+        return null;
+    }
+
+    private static int bomLength(byte[] bytes, Charset charset) {
+        if (charset.equals(StandardCharsets.UTF_8) && startsWith(bytes, 0xEF, 0xBB, 0xBF)) return 3;
+        if (charset.equals(StandardCharsets.UTF_16BE) && startsWith(bytes, 0xFE, 0xFF)) return 2;
+        if (charset.equals(StandardCharsets.UTF_16LE) && startsWith(bytes, 0xFF, 0xFE)) return 2;
+        return 0;
+    }
+
+    private static boolean startsWith(byte[] bytes, int... prefix) {
+        if (bytes.length < prefix.length) {
+            return false;
+        }
+        return Arrays.equals(
+            Arrays.copyOf(bytes, prefix.length),
+            toBytes(prefix)
+        );
+    }
+
+    private static byte[] toBytes(int... values) {
+        byte[] out = new byte[values.length];
+        for (int i = 0; i < values.length; i++) {
+            out[i] = (byte) values[i];
+        }
+        return out;
+    }
+
+    /**
+     * Compte les octets lus sur le flux réseau, avant décodage.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        long count() {
+            return count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, len);
+            if (read > 0) {
+                count += read;
+            }
+            return read;
+        }
+    }
+
+    private static Charset toCharset(String name) {
+        try {
+            return Charset.forName(name.trim().toLowerCase(Locale.ROOT));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -4,12 +4,17 @@ import com.dokor.argos.services.analysis.model.AuditCheckResult;
 import com.dokor.argos.services.analysis.model.AuditContext;
 import com.dokor.argos.services.analysis.model.AuditModuleAnalyzer;
 import com.dokor.argos.services.analysis.model.AuditModuleResult;
+import com.dokor.argos.services.analysis.model.ModuleCost;
 import com.dokor.argos.services.analysis.model.enums.AuditSeverity;
 import com.dokor.argos.services.analysis.model.enums.AuditStatus;
+import com.dokor.argos.services.configuration.ConfigurationService;
+import com.dokor.argos.services.http.HttpClientFactory;
+import com.dokor.argos.services.http.HttpClientProfile;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpHeaders;
@@ -28,25 +33,36 @@ import java.util.*;
  * Notes :
  * - On ne suit pas automatiquement les redirections : on reconstruit la chaîne pour l'exposer dans le report.
  * - On se limite à MAX_REDIRECTS pour éviter les boucles.
+ * - Seule la réponse finale (non-3xx) est lue : le corps des sauts de redirection est jeté dès l'arrivée
+ *   des headers (cf. {@link RedirectBodyDiscarder}).
+ * - Chaque saut est chronométré (DNS, premier octet, téléchargement) ; les phases connexion TCP / TLS sont
+ *   mesurées une seule fois par audit, sur l'origine de la réponse finale (cf. {@link ConnectionProbe}).
+ * - Le corps est lu en flux et borné à {@code audit.http.max-body-size} (cf. {@link HttpBodyReader}) :
+ *   une page énorme ou hostile ne peut pas saturer la mémoire d'un worker.
  */
 @Singleton
 public class HttpModuleAnalyzer implements AuditModuleAnalyzer {
 
     private static final int MAX_REDIRECTS = 10;
+    /** Timeout maximal d'un saut HTTP, réduit au budget restant du module. */
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(20);
+    /** Au-delà, le corps d'un saut de redirection n'est plus drainé : la réception est annulée. */
+    private static final long MAX_DRAINED_REDIRECT_BYTES = 16 * 1024;
+    /** Timeout maximal de chaque phase de la sonde de connexion, réduit au budget restant du module. */
+    private static final Duration PROBE_TIMEOUT = Duration.ofSeconds(5);
 
     private final HttpClient client;
+    private final long maxBodyBytes;
 
     @Inject
-    public HttpModuleAnalyzer() {
-        this(HttpClient.newBuilder()
-            .followRedirects(HttpClient.Redirect.NEVER)
-            .connectTimeout(Duration.ofSeconds(10))
-            .build());
+    public HttpModuleAnalyzer(HttpClientFactory httpClientFactory, ConfigurationService configurationService) {
+        this(httpClientFactory.client(HttpClientProfile.AUDIT_TARGET), configurationService.auditHttpMaxBodySize());
     }
 
     // package-private pour tests
-    HttpModuleAnalyzer(HttpClient client) {
+    HttpModuleAnalyzer(HttpClient client, long maxBodyBytes) {
         this.client = client;
+        this.maxBodyBytes = maxBodyBytes;
     }
 
     @Override
@@ -54,6 +70,24 @@ public class HttpModuleAnalyzer implements AuditModuleAnalyzer {
         return "http";
     }
 
+    /**
+     * Premier module du plan : il ne dépend d'aucun autre et alimente le contexte des suivants.
+     */
+    @Override
+    public Set<String> dependsOn() {
+        return Set.of();
+    }
+
+    @Override
+    public ModuleCost cost() {
+        return ModuleCost.MEDIUM;
+    }
+
+    @Override
+    public AuditContext enrich(AuditContext context, AuditModuleResult result) {
+        return enrichContext(context, result);
+    }
+
     @Override
     public AuditModuleResult analyze(AuditContext context, Logger logger) {
         long start = System.currentTimeMillis();
@@ -66,26 +100,45 @@ public class HttpModuleAnalyzer implements AuditModuleAnalyzer {
         int lastStatus = 0;
         String httpVersion = null;
         String body = null;
+        HttpBodyReader.CapturedBody capturedBody = null;
+        List<HopTiming> hopTimings = new ArrayList<>();
+        Map<String, Long> dnsMsByHost = new HashMap<>();
+        ConnectionProbe.Timing finalConnection = ConnectionProbe.Timing.NONE;
 
         List<String> errors = new ArrayList<>();
 
         try {
             for (int i = 0; i < MAX_REDIRECTS; i++) {
+                if (context.isBudgetExhausted()) {
+                    logger.warn("HTTP module: time budget exhausted url={}", currentUrl);
+                    errors.add("BudgetExhausted: time budget exhausted before reaching a final response");
+                    break;
+                }
+
                 redirectChain.add(currentUrl);
 
                 HttpRequest request = HttpRequest.newBuilder()
                     .uri(URI.create(currentUrl))
-                    .timeout(Duration.ofSeconds(20))
+                    .timeout(context.remainingBudget(REQUEST_TIMEOUT))
                     .header("User-Agent", "argos-auditor/1.0")
                     .header("Accept", "*/*")
+                    .header("Accept-Encoding", HttpBodyReader.ACCEPTED_ENCODINGS)
                     .GET()
                     .build();
 
                 logger.debug("HTTP module: requesting url={}", currentUrl);
 
-                HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                // DNS mesuré une fois par hôte : les sauts suivants vers le même hôte passent par le cache
+                String host = request.uri().getHost();
+                Long dnsMs = null;
+                if (host != null && !dnsMsByHost.containsKey(host)) {
+                    dnsMs = ConnectionProbe.resolve(host);
+                    dnsMsByHost.put(host, dnsMs);
+                }
+                long requestStart = System.nanoTime();
+                HttpResponse<InputStream> response = client.send(request, HopBodyHandler.INSTANCE);
+                long ttfbMs = elapsedMs(requestStart);
 
-                body = response.body();
                 lastStatus = response.statusCode();
                 lastHeaders = flattenHeaders(response.headers());
                 httpVersion = response.version() != null ? response.version().name() : null;
@@ -100,10 +153,29 @@ public class HttpModuleAnalyzer implements AuditModuleAnalyzer {
                         break;
                     }
 
+                    hopTimings.add(new HopTiming(currentUrl, lastStatus, dnsMs, ttfbMs, 0L));
                     currentUrl = URI.create(currentUrl).resolve(location).toString();
                     continue;
                 }
 
+                long downloadStart = System.nanoTime();
+                capturedBody = HttpBodyReader.read(
+                    response.body(),
+                    maxBodyBytes,
+                    response.headers().firstValue("content-type").orElse(null),
+                    response.headers().firstValue("content-encoding").orElse(null),
+                    response.headers().firstValueAsLong("content-length")
+                );
+                hopTimings.add(new HopTiming(currentUrl, lastStatus, dnsMs, ttfbMs, elapsedMs(downloadStart)));
+                body = capturedBody.text();
+                if (capturedBody.truncated()) {
+                    logger.info("HTTP module: body truncated at {} bytes url={}", capturedBody.bytes(), currentUrl);
+                }
+
+                // Phases connect/TLS : une seule connexion de sonde par audit, vers l'origine finale,
+                // une fois la réponse lue (la requête elle-même n'est ni retardée ni doublée à chaque saut)
+                finalConnection = ConnectionProbe.connect(request.uri(), context.remainingBudget(PROBE_TIMEOUT));
+
                 // On s'arrête dès qu'on a une réponse finale (non-3xx)
                 break;
             }
@@ -132,22 +204,27 @@ public class HttpModuleAnalyzer implements AuditModuleAnalyzer {
         // 5) Response time
         checks.add(checkResponseTime(durationMs));
 
-        // 6) Content-Type
+        // 6) Timing breakdown du dernier saut (DNS / connect / TLS / TTFB / download)
+        if (!hopTimings.isEmpty()) {
+            checks.add(checkTimingPhases(hopTimings, dnsMsByHost, finalConnection));
+        }
+
+        // 7) Content-Type
         checks.add(checkContentType(lastHeaders));
 
-        // 7) Security headers (HSTS, CSP, etc.)
+        // 8) Security headers (HSTS, CSP, etc.)
         checks.addAll(checkSecurityHeaders(lastHeaders));
 
-        // 8) Compression (Content-Encoding)
+        // 9) Compression (Content-Encoding)
         checks.add(checkCompression(lastHeaders));
 
-        // 9) Cache headers (Cache-Control / Expires)
+        // 10) Cache headers (Cache-Control / Expires)
         checks.add(checkCaching(lastHeaders));
 
-        // 10) Server header (info only)
+        // 11) Server header (info only)
         checks.add(checkServerHeader(lastHeaders));
 
-        // 11) HTTP version (info)
+        // 12) HTTP version (info)
         checks.add(AuditCheckResult.of(
             "http.protocol.version",
             "HTTP protocol version",
@@ -162,7 +239,31 @@ public class HttpModuleAnalyzer implements AuditModuleAnalyzer {
             null
         ));
 
-        // 12) Errors (info)
+        // 13) Transfer size & compression ratio (octets reçus vs décodés)
+        if (capturedBody != null) {
+            checks.add(checkTransferSize(capturedBody));
+            checks.add(checkCompressionRatio(capturedBody, lastHeaders));
+        }
+
+        // 14) Body truncated (cap audit.http.max-body-size atteint)
+        if (capturedBody != null && capturedBody.truncated()) {
+            checks.add(AuditCheckResult.of(
+                "http.body.truncated",
+                "Response body truncated",
+                AuditStatus.INFO,
+                AuditSeverity.LOW,
+                false,          // scorable filled later
+                0.0,            // weight filled later
+                List.of(),      // tags filled later
+                capturedBody.bytes(),
+                Map.of("capturedBytes", capturedBody.bytes(), "maxBytes", maxBodyBytes),
+                "Response body exceeds " + maxBodyBytes + " bytes; only the first " + capturedBody.bytes()
+                    + " bytes were analyzed.",
+                "Reduce the page weight: very large HTML documents are slow to download and parse."
+            ));
+        }
+
+        // 15) Errors (info)
         if (!errors.isEmpty()) {
             checks.add(AuditCheckResult.of(
                 "http.errors",
@@ -188,10 +289,17 @@ public class HttpModuleAnalyzer implements AuditModuleAnalyzer {
         data.put("statusCode", lastStatus);
         data.put("durationMs", durationMs);
         data.put("redirectChain", redirectChain);
+        data.put("hopTimings", hopTimings.stream().map(HopTiming::toMap).toList());
+        data.put("connectionTiming", connectionTimingMap(finalConnection));
         data.put("headers", lastHeaders);
         data.put("httpVersion", httpVersion);
         data.put("errors", errors);
         data.put("body", body);
+        data.put("bodyBytes", capturedBody != null ? capturedBody.bytes() : 0L);
+        data.put("bodyTruncated", capturedBody != null && capturedBody.truncated());
+        data.put("bodyCharset", capturedBody != null ? capturedBody.charset() : null);
+        data.put("bodyWireBytes", capturedBody != null ? capturedBody.wireBytes() : 0L);
+        data.put("bodyEncoding", capturedBody != null ? capturedBody.encoding() : null);
 
         logger.info("HTTP module done: status={} redirects={} durationMs={} finalUrl={}",
             lastStatus, Math.max(0, redirectChain.size() - 1), durationMs, currentUrl
@@ -474,6 +582,164 @@ public class HttpModuleAnalyzer implements AuditModuleAnalyzer {
         return out;
     }
 
+    /**
+     * Phases de la réponse finale : la phase dominante indique si la lenteur vient du DNS, du réseau,
+     * du handshake TLS ou du backend. Les seuils sont ceux d'une page servie "correctement".
+     * <p>
+     * Le TTFB est mesuré sur la requête réelle : il inclut l'établissement de la connexion quand le client
+     * en a ouvert une. Il n'est jugé lent qu'une fois retranché le coût connect + TLS de la sonde
+     * ({@code serverTtfbMs}), sauf si la connexion a pu être réutilisée : origine déjà visitée par un saut
+     * précédent, ou TTFB inférieur au seul établissement de connexion. Sans cela un handshake lent serait
+     * signalé comme un backend lent.
+     */
+    private static AuditCheckResult checkTimingPhases(
+        List<HopTiming> hopTimings,
+        Map<String, Long> dnsMsByHost,
+        ConnectionProbe.Timing connection
+    ) {
+        HopTiming last = hopTimings.get(hopTimings.size() - 1);
+        Long dnsMs = dnsMsByHost.get(URI.create(last.url()).getHost());
+        long setupMs = (connection.connectMs() != null ? connection.connectMs() : 0L)
+            + (connection.tlsMs() != null ? connection.tlsMs() : 0L);
+        boolean ttfbIncludesSetup = setupMs > 0 && last.ttfbMs() >= setupMs
+            && hopTimings.subList(0, hopTimings.size() - 1).stream()
+                .noneMatch(hop -> sameOrigin(hop.url(), last.url()));
+        long serverTtfbMs = ttfbIncludesSetup ? last.ttfbMs() - setupMs : last.ttfbMs();
+
+        List<String> slowPhases = new ArrayList<>();
+        if (dnsMs != null && dnsMs > 500) slowPhases.add("DNS");
+        if (connection.connectMs() != null && connection.connectMs() > 500) slowPhases.add("TCP connect");
+        if (connection.tlsMs() != null && connection.tlsMs() > 1000) slowPhases.add("TLS handshake");
+        if (serverTtfbMs > 1500) slowPhases.add("time to first byte");
+        if (last.downloadMs() > 2000) slowPhases.add("download");
+
+        boolean slow = !slowPhases.isEmpty();
+        Map<String, Object> details = last.toMap();
+        details.put("dnsMs", dnsMs);
+        details.putAll(connectionTimingMap(connection));
+        details.put("ttfbIncludesSetup", ttfbIncludesSetup);
+        details.put("serverTtfbMs", serverTtfbMs);
+        details.put("hops", hopTimings.size());
+
+        String ttfb = "TTFB=" + last.ttfbMs() + " ms (" + (ttfbIncludesSetup
+            ? "includes connection setup, ~" + serverTtfbMs + " ms after it"
+            : "connection reused or setup not measured") + ")";
+        return AuditCheckResult.of(
+            "http.timing.phases",
+            "Connection timing breakdown",
+            slow ? AuditStatus.WARN : AuditStatus.INFO,
+            slow ? AuditSeverity.MEDIUM : AuditSeverity.LOW,
+            false,          // scorable filled later
+            0.0,            // weight filled later
+            List.of(),      // tags filled later
+            last.ttfbMs(),
+            details,
+            slow
+                ? "Slow phase(s) on the final response: " + String.join(", ", slowPhases) + ". " + ttfb + "."
+                : "DNS=" + dnsMs + " ms, connect=" + connection.connectMs()
+                    + " ms, TLS=" + connection.tlsMs() + " ms, " + ttfb
+                    + ", download=" + last.downloadMs() + " ms.",
+            slow ? "Investigate the slowest phase: DNS provider, network path/CDN, TLS configuration "
+                + "(session resumption, certificate chain) or backend processing time." : null
+        );
+    }
+
+    /**
+     * Même origine (schéma, hôte, port effectif) : le client peut y réutiliser une connexion ouverte.
+     */
+    private static boolean sameOrigin(String url, String otherUrl) {
+        URI a = URI.create(url);
+        URI b = URI.create(otherUrl);
+        return a.getScheme() != null && a.getScheme().equalsIgnoreCase(b.getScheme())
+            && a.getHost() != null && a.getHost().equalsIgnoreCase(b.getHost())
+            && effectivePort(a) == effectivePort(b);
+    }
+
+    private static int effectivePort(URI uri) {
+        if (uri.getPort() != -1) {
+            return uri.getPort();
+        }
+        return "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+    }
+
+    private static AuditCheckResult checkTransferSize(HttpBodyReader.CapturedBody body) {
+        return AuditCheckResult.of(
+            "http.transfer.size",
+            "Transfer size",
+            AuditStatus.INFO,
+            AuditSeverity.LOW,
+            false,          // scorable filled later
+            0.0,            // weight filled later
+            List.of(),      // tags filled later
+            body.wireBytes(),
+            Map.of(
+                "wireBytes", body.wireBytes(),
+                "decodedBytes", body.bytes(),
+                "encoding", body.encoding()
+            ),
+            "Transferred " + body.wireBytes() + " bytes for " + body.bytes() + " decoded bytes ("
+                + body.encoding() + ").",
+            null
+        );
+    }
+
+    /**
+     * Gain réel de la compression, mesuré sur le corps reçu (et non déduit des headers).
+     * Un document texte de plus de 1 Ko servi sans compression est signalé.
+     */
+    private static AuditCheckResult checkCompressionRatio(HttpBodyReader.CapturedBody body, Map<String, String> headers) {
+        double ratio = Math.round(body.compressionRatio() * 100.0) / 100.0;
+        long savedBytes = Math.max(0L, body.bytes() - body.wireBytes());
+        boolean compressed = "gzip".equals(body.encoding()) || "deflate".equals(body.encoding());
+        String contentType = headers.getOrDefault("content-type", "").toLowerCase(Locale.ROOT);
+        boolean textual = contentType.startsWith("text/") || contentType.contains("json")
+            || contentType.contains("javascript") || contentType.contains("xml");
+
+        AuditStatus status;
+        AuditSeverity severity;
+        String message;
+        String recommendation = null;
+
+        if (compressed) {
+            status = AuditStatus.PASS;
+            severity = AuditSeverity.LOW;
+            message = "Response is compressed (" + body.encoding() + "): ratio " + ratio + "x, "
+                + savedBytes + " bytes saved.";
+        } else if (!"identity".equals(body.encoding())) {
+            status = AuditStatus.INFO;
+            severity = AuditSeverity.LOW;
+            message = "Response uses an unsupported encoding (" + body.encoding() + "); ratio not measured.";
+        } else if (textual && body.bytes() > 1024) {
+            status = AuditStatus.WARN;
+            severity = AuditSeverity.MEDIUM;
+            message = "Text response of " + body.bytes() + " bytes is served uncompressed.";
+            recommendation = "Enable gzip or brotli compression for text resources on the server or CDN.";
+        } else {
+            status = AuditStatus.INFO;
+            severity = AuditSeverity.LOW;
+            message = "Response is not compressed.";
+        }
+
+        return AuditCheckResult.of(
+            "http.compression.ratio",
+            "Compression ratio",
+            status,
+            severity,
+            false,          // scorable filled later
+            0.0,            // weight filled later
+            List.of(),      // tags filled later
+            ratio,
+            Map.of(
+                "ratio", ratio,
+                "savedBytes", savedBytes,
+                "wireBytes", body.wireBytes(),
+                "decodedBytes", body.bytes()
+            ),
+            message,
+            recommendation
+        );
+    }
+
     private static AuditCheckResult checkCompression(Map<String, String> headers) {
         String enc = headers.get("content-encoding");
         boolean enabled = enc != null && !enc.isBlank();
@@ -571,6 +837,51 @@ public class HttpModuleAnalyzer implements AuditModuleAnalyzer {
         return status >= 300 && status < 400;
     }
 
+    /**
+     * Corps d'un saut : jeté pour une redirection, lu en flux (cf. {@link HttpBodyReader}) pour la réponse finale.
+     */
+    private enum HopBodyHandler implements HttpResponse.BodyHandler<InputStream> {
+        INSTANCE;
+
+        @Override
+        public HttpResponse.BodySubscriber<InputStream> apply(HttpResponse.ResponseInfo responseInfo) {
+            return isRedirect(responseInfo.statusCode())
+                ? new RedirectBodyDiscarder(MAX_DRAINED_REDIRECT_BYTES)
+                : HttpResponse.BodySubscribers.ofInputStream();
+        }
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return Duration.ofNanos(System.nanoTime() - startNanos).toMillis();
+    }
+
+    private static Map<String, Object> connectionTimingMap(ConnectionProbe.Timing connection) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("connectMs", connection.connectMs());
+        out.put("tlsMs", connection.tlsMs());
+        return out;
+    }
+
+    /**
+     * Chronométrage d'un saut, mesuré sur la requête réelle.
+     * <p>
+     * {@code dnsMs} n'est renseigné que pour le premier saut vers un hôte ; {@code ttfbMs} va de l'envoi de la
+     * requête aux headers de la réponse (connexion comprise si le client en ouvre une) ; {@code downloadMs} est
+     * la lecture du corps (0 pour une redirection, dont le corps est jeté).
+     */
+    private record HopTiming(String url, int status, Long dnsMs, long ttfbMs, long downloadMs) {
+
+        Map<String, Object> toMap() {
+            Map<String, Object> out = new LinkedHashMap<>();
+            out.put("url", url);
+            out.put("status", status);
+            out.put("dnsMs", dnsMs);
+            out.put("ttfbMs", ttfbMs);
+            out.put("downloadMs", downloadMs);
+            return out;
+        }
+    }
+
     private static Map<String, String> flattenHeaders(HttpHeaders headers) {
         Map<String, String> out = new LinkedHashMap<>();
         headers.map().forEach((k, v) -> out.put(k.toLowerCase(Locale.ROOT), String.join(", ", v)));
@@ -0,0 +1,61 @@
+package com.dokor.argos.services.analysis.modules.http;
+
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+
+/**
+ * Corps d'un saut de redirection : seuls le statut et les headers ({@code Location}) sont utilisés,
+ * le contenu est jeté au fil de l'eau sans jamais être conservé.
+ * <p>
+ * Le corps est rendu dès l'arrivée des headers (flux vide) : le saut suivant n'attend pas la fin du contenu.
+ * Un petit corps (la page "Moved Permanently" habituelle) est drainé pour que la connexion reste réutilisable ;
+ * au-delà de {@code maxDrainedBytes}, la réception est annulée et la connexion libérée.
+ */
+final class RedirectBodyDiscarder implements HttpResponse.BodySubscriber<InputStream> {
+
+    private final long maxDrainedBytes;
+    private final CompletableFuture<InputStream> body = CompletableFuture.completedFuture(InputStream.nullInputStream());
+
+    private Flow.Subscription subscription;
+    private long drainedBytes;
+
+    RedirectBodyDiscarder(long maxDrainedBytes) {
+        this.maxDrainedBytes = maxDrainedBytes;
+    }
+
+    @Override
+    public CompletionStage<InputStream> getBody() {
+        return body;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void onNext(List<ByteBuffer> items) {
+        for (ByteBuffer item : items) {
+            drainedBytes += item.remaining();
+        }
+        if (drainedBytes > maxDrainedBytes) {
+            subscription.cancel();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        // Corps ignoré : une erreur de lecture n'a pas d'impact sur le saut.
+    }
+
+    @Override
+    public void onComplete() {
+        // Rien à faire : le corps (vide) est déjà disponible.
+    }
+}
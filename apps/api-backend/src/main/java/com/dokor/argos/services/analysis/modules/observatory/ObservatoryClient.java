@@ -1,5 +1,9 @@
 package com.dokor.argos.services.analysis.modules.observatory;
 
+import com.dokor.argos.services.domain.audit.RetryPolicy;
+import com.dokor.argos.services.domain.audit.errors.TransientServiceException;
+import com.dokor.argos.services.http.HttpClientFactory;
+import com.dokor.argos.services.http.HttpClientProfile;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.inject.Inject;
@@ -20,23 +24,23 @@ public class ObservatoryClient {
     private final ObjectMapper objectMapper;
 
     @Inject
-    public ObservatoryClient(ObjectMapper objectMapper) {
-        this.httpClient = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(15))
-            .build();
+    public ObservatoryClient(ObjectMapper objectMapper, HttpClientFactory httpClientFactory) {
+        this.httpClient = httpClientFactory.client(HttpClientProfile.EXTERNAL_API);
         this.objectMapper = objectMapper;
     }
 
     /**
      * Triggers a scan for the given hostname and returns the JSON result.
      * Uses POST with empty body (application/x-www-form-urlencoded).
+     *
+     * @param timeout maximum time allowed for the call (remaining module budget)
      */
-    public JsonNode scan(String hostname) throws Exception {
+    public JsonNode scan(String hostname, Duration timeout) throws Exception {
         String url = API_BASE + "/scan?host=" + hostname + "&rescan=false";
 
         HttpRequest request = HttpRequest.newBuilder()
             .uri(URI.create(url))
-            .timeout(Duration.ofSeconds(30))
+            .timeout(timeout)
             .header("User-Agent", "argos-auditor/1.0")
             .header("Content-Type", "application/x-www-form-urlencoded")
             .POST(HttpRequest.BodyPublishers.noBody())
@@ -45,7 +49,11 @@ public class ObservatoryClient {
         HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
 
         if (response.statusCode() < 200 || response.statusCode() >= 300) {
-            throw new RuntimeException("Observatory API returned HTTP " + response.statusCode() + " for host=" + hostname);
+            String message = "Observatory API returned HTTP " + response.statusCode() + " for host=" + hostname;
+            if (RetryPolicy.isTransientStatus(response.statusCode())) {
+                throw new TransientServiceException(message);
+            }
+            throw new RuntimeException(message);
         }
 
         return objectMapper.readTree(response.body());
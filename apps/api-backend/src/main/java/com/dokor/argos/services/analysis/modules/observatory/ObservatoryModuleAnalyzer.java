@@ -4,15 +4,18 @@ import com.dokor.argos.services.analysis.model.AuditCheckResult;
 import com.dokor.argos.services.analysis.model.AuditContext;
 import com.dokor.argos.services.analysis.model.AuditModuleAnalyzer;
 import com.dokor.argos.services.analysis.model.AuditModuleResult;
+import com.dokor.argos.services.analysis.model.ModuleCost;
 import com.dokor.argos.services.analysis.model.ModuleScope;
 import com.dokor.argos.services.analysis.model.enums.AuditSeverity;
 import com.dokor.argos.services.analysis.model.enums.AuditStatus;
+import com.dokor.argos.services.domain.audit.RetryPolicy;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 
 import java.net.URI;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -21,11 +24,16 @@ import java.util.Map;
 @Singleton
 public class ObservatoryModuleAnalyzer implements AuditModuleAnalyzer {
 
+    /** Timeout maximal d'un scan Observatory, réduit au budget restant du module. */
+    private static final Duration OBSERVATORY_TIMEOUT = Duration.ofSeconds(30);
+
     private final ObservatoryClient client;
+    private final RetryPolicy retryPolicy;
 
     @Inject
-    public ObservatoryModuleAnalyzer(ObservatoryClient client) {
+    public ObservatoryModuleAnalyzer(ObservatoryClient client, RetryPolicy retryPolicy) {
         this.client = client;
+        this.retryPolicy = retryPolicy;
     }
 
     @Override
@@ -33,6 +41,11 @@ public class ObservatoryModuleAnalyzer implements AuditModuleAnalyzer {
         return "observatory";
     }
 
+    @Override
+    public ModuleCost cost() {
+        return ModuleCost.MEDIUM;
+    }
+
     @Override
     public ModuleScope scope() {
         return ModuleScope.DOMAIN;
@@ -48,11 +61,17 @@ public class ObservatoryModuleAnalyzer implements AuditModuleAnalyzer {
             return errorModule("Could not extract hostname from URL: " + url);
         }
 
+        if (context.isBudgetExhausted()) {
+            logger.warn("Observatory module: time budget exhausted before start hostname={}", hostname);
+            return errorModule("Time budget exhausted");
+        }
+
         logger.info("Observatory module: scanning hostname={}", hostname);
 
         JsonNode result;
         try {
-            result = client.scan(hostname);
+            result = retryPolicy.callModule(moduleId(), context.deadline(),
+                () -> client.scan(hostname, context.remainingBudget(OBSERVATORY_TIMEOUT)));
         } catch (Exception e) {
             logger.warn("Observatory module: API call failed hostname={} error={}", hostname, e.getMessage());
             return errorModule("Observatory API unavailable: " + e.getMessage());
@@ -4,20 +4,27 @@ import com.dokor.argos.services.analysis.model.*;
 import com.dokor.argos.services.analysis.model.enums.AuditSeverity;
 import com.dokor.argos.services.analysis.model.enums.AuditStatus;
 import com.dokor.argos.services.analysis.playwright.PlaywrightRuntimeClient;
+import com.dokor.argos.services.domain.audit.RetryPolicy;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 
+import java.time.Duration;
 import java.util.*;
 
 @Singleton
 public class RuntimeModuleAnalyzer implements AuditModuleAnalyzer {
 
+    /** Timeout maximal de la collecte Playwright, réduit au budget restant du module. */
+    private static final Duration RUNTIME_TIMEOUT = Duration.ofSeconds(60);
+
     private final PlaywrightRuntimeClient client;
+    private final RetryPolicy retryPolicy;
 
     @Inject
-    public RuntimeModuleAnalyzer(PlaywrightRuntimeClient client) {
+    public RuntimeModuleAnalyzer(PlaywrightRuntimeClient client, RetryPolicy retryPolicy) {
         this.client = client;
+        this.retryPolicy = retryPolicy;
     }
 
     @Override
@@ -25,36 +32,29 @@ public class RuntimeModuleAnalyzer implements AuditModuleAnalyzer {
         return "runtime";
     }
 
+    @Override
+    public ModuleCost cost() {
+        return ModuleCost.HIGH;
+    }
+
     @Override
     public AuditModuleResult analyze(AuditContext auditContext, Logger logger) {
         long start = System.currentTimeMillis();
 
         String url = auditContext.finalUrl() != null ? auditContext.finalUrl() : auditContext.normalizedUrl();
 
+        if (auditContext.isBudgetExhausted()) {
+            logger.warn("RUNTIME module: time budget exhausted before start");
+            return unavailable("Time budget exhausted");
+        }
+
         PlaywrightRuntimeClient.RuntimeAnalyzeResponse r;
         try {
-            r = client.analyzeRuntime(url);
+            r = retryPolicy.callModule(moduleId(), auditContext.deadline(),
+                () -> client.analyzeRuntime(url, auditContext.remainingBudget(RUNTIME_TIMEOUT)));
         } catch (Exception e) {
             // module "soft fail" : on ne casse pas tout l’audit
-            List<AuditCheckResult> checks = List.of(AuditCheckResult.of(
-                "runtime.collect",
-                "Runtime collection (Playwright)",
-                AuditStatus.WARN,
-                AuditSeverity.MEDIUM,
-                false, 0.0, List.of("runtime"),
-                false,
-                Map.of("error", e.getMessage()),
-                "Impossible de collecter les métriques runtime (Playwright).",
-                "Vérifier que playwright-service est up et joignable depuis api-backend."
-            ));
-
-            return new AuditModuleResult(
-                moduleId(),
-                "Runtime behavior",
-                "runtime=unavailable",
-                Map.of("available", false, "error", e.getMessage()),
-                checks
-            );
+            return unavailable(String.valueOf(e.getMessage()));
         }
 
         long durationMs = System.currentTimeMillis() - start;
@@ -207,6 +207,31 @@ public class RuntimeModuleAnalyzer implements AuditModuleAnalyzer {
         );
     }
 
+    /**
+     * Module "soft fail" : playwright-service indisponible, en timeout ou budget épuisé.
+     */
+    private AuditModuleResult unavailable(String error) {
+        List<AuditCheckResult> checks = List.of(AuditCheckResult.of(
+            "runtime.collect",
+            "Runtime collection (Playwright)",
+            AuditStatus.WARN,
+            AuditSeverity.MEDIUM,
+            false, 0.0, List.of("runtime"),
+            false,
+            Map.of("error", error),
+            "Impossible de collecter les métriques runtime (Playwright).",
+            "Vérifier que playwright-service est up et joignable depuis api-backend."
+        ));
+
+        return new AuditModuleResult(
+            moduleId(),
+            "Runtime behavior",
+            "runtime=unavailable",
+            Map.of("available", false, "error", error),
+            checks
+        );
+    }
+
     private static int safeInt(Integer v) { return v == null ? 0 : v; }
     private static long safeLong(Long v) { return v == null ? 0L : v; }
     private static List<?> safeList(Object v) { return v instanceof List<?> l ? l : List.of(); }
@@ -1,5 +1,9 @@
 package com.dokor.argos.services.analysis.modules.ssl;
 
+import com.dokor.argos.services.domain.audit.RetryPolicy;
+import com.dokor.argos.services.domain.audit.errors.TransientServiceException;
+import com.dokor.argos.services.http.HttpClientFactory;
+import com.dokor.argos.services.http.HttpClientProfile;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.inject.Inject;
@@ -9,7 +13,9 @@ import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
 import java.time.Duration;
+import java.time.Instant;
 
 @Singleton
 public class SslLabsClient {
@@ -17,43 +23,52 @@ public class SslLabsClient {
     private static final String API_BASE = "https://api.ssllabs.com/api/v3";
     private static final int MAX_POLLS = 10;
     private static final long POLL_INTERVAL_MS = 6_000L;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
 
     private final HttpClient httpClient;
     private final ObjectMapper objectMapper;
 
     @Inject
-    public SslLabsClient(ObjectMapper objectMapper) {
-        this.httpClient = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(15))
-            .build();
+    public SslLabsClient(ObjectMapper objectMapper, HttpClientFactory httpClientFactory) {
+        this.httpClient = httpClientFactory.client(HttpClientProfile.EXTERNAL_API);
         this.objectMapper = objectMapper;
     }
 
     /**
      * Starts a new SSL Labs analysis for the given host and polls until READY or ERROR.
+     * Polling stops early when the next poll would end after the deadline.
      * Throws if the API is unavailable or times out.
+     *
+     * @param deadline instant after which no more call is made (module budget)
      */
-    public JsonNode analyze(String host) throws Exception {
+    public JsonNode analyze(String host, Instant deadline) throws Exception {
         // Start the analysis
-        JsonNode result = get(API_BASE + "/analyze?host=" + host + "&startNew=on&all=done");
+        JsonNode result = get(API_BASE + "/analyze?host=" + host + "&startNew=on&all=done", deadline);
 
         for (int i = 0; i < MAX_POLLS; i++) {
             String status = result.path("status").asText("");
             if ("READY".equals(status) || "ERROR".equals(status)) {
                 return result;
             }
+            if (Instant.now().plusMillis(POLL_INTERVAL_MS).isAfter(deadline)) {
+                break;
+            }
             Thread.sleep(POLL_INTERVAL_MS);
-            result = get(API_BASE + "/analyze?host=" + host + "&all=done");
+            result = get(API_BASE + "/analyze?host=" + host + "&all=done", deadline);
         }
 
         // Return whatever we have after timeout (may be partial)
         return result;
     }
 
-    private JsonNode get(String url) throws Exception {
+    private JsonNode get(String url, Instant deadline) throws Exception {
+        Duration remaining = Duration.between(Instant.now(), deadline);
+        if (remaining.isNegative() || remaining.isZero()) {
+            throw new HttpTimeoutException("SSL Labs time budget exhausted");
+        }
         HttpRequest request = HttpRequest.newBuilder()
             .uri(URI.create(url))
-            .timeout(Duration.ofSeconds(30))
+            .timeout(remaining.compareTo(REQUEST_TIMEOUT) < 0 ? remaining : REQUEST_TIMEOUT)
             .header("User-Agent", "argos-auditor/1.0")
             .GET()
             .build();
@@ -61,10 +76,14 @@ public class SslLabsClient {
         HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
 
         if (response.statusCode() == 429) {
-            throw new RuntimeException("SSL Labs API rate limit exceeded (HTTP 429)");
+            throw new TransientServiceException("SSL Labs API rate limit exceeded (HTTP 429)");
         }
         if (response.statusCode() < 200 || response.statusCode() >= 300) {
-            throw new RuntimeException("SSL Labs API returned HTTP " + response.statusCode());
+            String message = "SSL Labs API returned HTTP " + response.statusCode();
+            if (RetryPolicy.isTransientStatus(response.statusCode())) {
+                throw new TransientServiceException(message);
+            }
+            throw new RuntimeException(message);
         }
 
         return objectMapper.readTree(response.body());
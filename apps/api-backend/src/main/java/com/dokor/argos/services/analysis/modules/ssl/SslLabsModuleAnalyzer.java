@@ -4,15 +4,18 @@ import com.dokor.argos.services.analysis.model.AuditCheckResult;
 import com.dokor.argos.services.analysis.model.AuditContext;
 import com.dokor.argos.services.analysis.model.AuditModuleAnalyzer;
 import com.dokor.argos.services.analysis.model.AuditModuleResult;
+import com.dokor.argos.services.analysis.model.ModuleCost;
 import com.dokor.argos.services.analysis.model.ModuleScope;
 import com.dokor.argos.services.analysis.model.enums.AuditSeverity;
 import com.dokor.argos.services.analysis.model.enums.AuditStatus;
+import com.dokor.argos.services.domain.audit.RetryPolicy;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 
 import java.net.URI;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -22,11 +25,16 @@ import java.util.Map;
 @Singleton
 public class SslLabsModuleAnalyzer implements AuditModuleAnalyzer {
 
+    /** Durée maximale du polling SSL Labs, réduite au budget restant du module. */
+    private static final Duration SSL_LABS_TIMEOUT = Duration.ofSeconds(90);
+
     private final SslLabsClient client;
+    private final RetryPolicy retryPolicy;
 
     @Inject
-    public SslLabsModuleAnalyzer(SslLabsClient client) {
+    public SslLabsModuleAnalyzer(SslLabsClient client, RetryPolicy retryPolicy) {
         this.client = client;
+        this.retryPolicy = retryPolicy;
     }
 
     @Override
@@ -34,6 +42,11 @@ public class SslLabsModuleAnalyzer implements AuditModuleAnalyzer {
         return "ssl";
     }
 
+    @Override
+    public ModuleCost cost() {
+        return ModuleCost.HIGH;
+    }
+
     @Override
     public ModuleScope scope() {
         return ModuleScope.DOMAIN;
@@ -49,16 +62,32 @@ public class SslLabsModuleAnalyzer implements AuditModuleAnalyzer {
             return errorModule("Could not extract host from URL: " + url);
         }
 
+        if (context.isBudgetExhausted()) {
+            logger.warn("SSL Labs module: time budget exhausted before start host={}", host);
+            return errorModule("Time budget exhausted");
+        }
+
         logger.info("SSL Labs module: analyzing host={}", host);
 
         JsonNode result;
         try {
-            result = client.analyze(host);
+            result = retryPolicy.callModule(moduleId(), context.deadline(),
+                () -> client.analyze(host, Instant.now().plus(context.remainingBudget(SSL_LABS_TIMEOUT))));
         } catch (Exception e) {
             logger.warn("SSL Labs module: API failed host={} error={}", host, e.getMessage());
             return errorModule("SSL Labs API unavailable: " + e.getMessage());
         }
 
+        // Évaluation non terminée (budget écoulé pendant le polling) ou en erreur : pas de résultat exploitable.
+        // errorModule (available=false) évite qu'un résultat partiel soit mis en cache pour tout le domaine.
+        String assessmentStatus = textOrNull(result.path("status"));
+        if (!"READY".equals(assessmentStatus)) {
+            logger.warn("SSL Labs module: assessment not ready host={} status={}", host, assessmentStatus);
+            String statusMessage = textOrNull(result.path("statusMessage"));
+            return errorModule("SSL Labs assessment not finished (status=" + assessmentStatus
+                + (statusMessage != null ? ", " + statusMessage : "") + ")");
+        }
+
         // Pick the best/first endpoint
         JsonNode endpoints = result.path("endpoints");
         JsonNode endpoint = endpoints.isArray() && endpoints.size() > 0 ? endpoints.get(0) : null;
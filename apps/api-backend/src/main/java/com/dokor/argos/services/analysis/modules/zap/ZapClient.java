@@ -1,5 +1,9 @@
 package com.dokor.argos.services.analysis.modules.zap;
 
+import com.dokor.argos.services.domain.audit.RetryPolicy;
+import com.dokor.argos.services.domain.audit.errors.TransientServiceException;
+import com.dokor.argos.services.http.HttpClientFactory;
+import com.dokor.argos.services.http.HttpClientProfile;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.inject.Inject;
@@ -21,25 +25,25 @@ public class ZapClient {
     private final String zapApiUrl;
 
     @Inject
-    public ZapClient(ObjectMapper objectMapper) {
+    public ZapClient(ObjectMapper objectMapper, HttpClientFactory httpClientFactory) {
         this.objectMapper = objectMapper;
         String envUrl = System.getenv("ZAP_API_URL");
         this.zapApiUrl = (envUrl != null && !envUrl.isBlank()) ? envUrl : "http://localhost:8080";
-        this.httpClient = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(5))
-            .build();
+        this.httpClient = httpClientFactory.client(HttpClientProfile.SIDECAR);
     }
 
     /**
      * Retrieves passive scan alerts for the given target URL.
+     *
+     * @param timeout maximum time allowed for the call (remaining module budget)
      */
-    public JsonNode getAlerts(String targetUrl) throws Exception {
+    public JsonNode getAlerts(String targetUrl, Duration timeout) throws Exception {
         String encodedTarget = URLEncoder.encode(targetUrl, StandardCharsets.UTF_8);
         String url = zapApiUrl + "/JSON/core/view/alerts/?baseurl=" + encodedTarget + "&start=0&count=100";
 
         HttpRequest request = HttpRequest.newBuilder()
             .uri(URI.create(url))
-            .timeout(Duration.ofSeconds(15))
+            .timeout(timeout)
             .header("User-Agent", "argos-auditor/1.0")
             .GET()
             .build();
@@ -47,7 +51,11 @@ public class ZapClient {
         HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
 
         if (response.statusCode() < 200 || response.statusCode() >= 300) {
-            throw new RuntimeException("ZAP API returned HTTP " + response.statusCode());
+            String message = "ZAP API returned HTTP " + response.statusCode();
+            if (RetryPolicy.isTransientStatus(response.statusCode())) {
+                throw new TransientServiceException(message);
+            }
+            throw new RuntimeException(message);
         }
 
         return objectMapper.readTree(response.body());
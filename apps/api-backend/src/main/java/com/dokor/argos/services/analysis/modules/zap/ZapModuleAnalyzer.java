@@ -4,13 +4,16 @@ import com.dokor.argos.services.analysis.model.AuditCheckResult;
 import com.dokor.argos.services.analysis.model.AuditContext;
 import com.dokor.argos.services.analysis.model.AuditModuleAnalyzer;
 import com.dokor.argos.services.analysis.model.AuditModuleResult;
+import com.dokor.argos.services.analysis.model.ModuleCost;
 import com.dokor.argos.services.analysis.model.enums.AuditSeverity;
 import com.dokor.argos.services.analysis.model.enums.AuditStatus;
+import com.dokor.argos.services.domain.audit.RetryPolicy;
 import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -28,11 +31,16 @@ public class ZapModuleAnalyzer implements AuditModuleAnalyzer {
         "10037", "http.security.referrer_policy"
     );
 
+    /** Timeout maximal d'un appel au daemon ZAP, réduit au budget restant du module. */
+    private static final Duration ZAP_TIMEOUT = Duration.ofSeconds(15);
+
     private final ZapClient client;
+    private final RetryPolicy retryPolicy;
 
     @Inject
-    public ZapModuleAnalyzer(ZapClient client) {
+    public ZapModuleAnalyzer(ZapClient client, RetryPolicy retryPolicy) {
         this.client = client;
+        this.retryPolicy = retryPolicy;
     }
 
     @Override
@@ -40,6 +48,11 @@ public class ZapModuleAnalyzer implements AuditModuleAnalyzer {
         return "zap";
     }
 
+    @Override
+    public ModuleCost cost() {
+        return ModuleCost.MEDIUM;
+    }
+
     // PAGE scope (default)
 
     @Override
@@ -48,9 +61,15 @@ public class ZapModuleAnalyzer implements AuditModuleAnalyzer {
 
         logger.info("ZAP module: fetching alerts for url={}", url);
 
+        if (context.isBudgetExhausted()) {
+            logger.warn("ZAP module: time budget exhausted before start");
+            return emptyModule("Time budget exhausted");
+        }
+
         JsonNode response;
         try {
-            response = client.getAlerts(url);
+            response = retryPolicy.callModule(moduleId(), context.deadline(),
+                () -> client.getAlerts(url, context.remainingBudget(ZAP_TIMEOUT)));
         } catch (Exception e) {
             logger.warn("ZAP module: ZAP daemon unavailable url={} error={}", url, e.getMessage());
             return emptyModule("ZAP daemon unavailable: " + e.getMessage());
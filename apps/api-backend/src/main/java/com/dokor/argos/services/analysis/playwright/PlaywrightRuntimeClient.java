@@ -1,5 +1,9 @@
 package com.dokor.argos.services.analysis.playwright;
 
+import com.dokor.argos.services.domain.audit.RetryPolicy;
+import com.dokor.argos.services.domain.audit.errors.TransientServiceException;
+import com.dokor.argos.services.http.HttpClientFactory;
+import com.dokor.argos.services.http.HttpClientProfile;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -22,23 +26,27 @@ public class PlaywrightRuntimeClient {
     private final String baseUrl;
 
     @Inject
-    public PlaywrightRuntimeClient(ObjectMapper objectMapper) {
+    public PlaywrightRuntimeClient(ObjectMapper objectMapper, HttpClientFactory httpClientFactory) {
         this.objectMapper = objectMapper;
-        this.http = HttpClient.newBuilder()
-            .connectTimeout(Duration.ofSeconds(5))
-            .build();
+        this.http = httpClientFactory.client(HttpClientProfile.SIDECAR);
 
         // ex: http://playwright-service:3016
         this.baseUrl = System.getenv().getOrDefault("PLAYWRIGHT_SERVICE_URL", DEFAULT_PLAYWRIGHT_SERVICE_URL);
     }
 
-    public RuntimeAnalyzeResponse analyzeRuntime(String url) throws Exception {
+    /**
+     * Collecte les métriques runtime d'une page via playwright-service.
+     *
+     * @param url     URL à analyser
+     * @param timeout temps maximal accordé (budget restant du module, cf. audit.budget.modules.runtime)
+     */
+    public RuntimeAnalyzeResponse analyzeRuntime(String url, Duration timeout) throws Exception {
         URI endpoint = URI.create(baseUrl + "/analyze/runtime");
 
         String body = objectMapper.writeValueAsString(Map.of("url", url));
 
         HttpRequest req = HttpRequest.newBuilder(endpoint)
-            .timeout(Duration.ofSeconds(60))
+            .timeout(timeout)
             .header("content-type", "application/json")
             .POST(HttpRequest.BodyPublishers.ofString(body))
             .build();
@@ -46,7 +54,11 @@ public class PlaywrightRuntimeClient {
         HttpResponse<String> res = http.send(req, HttpResponse.BodyHandlers.ofString());
 
         if (res.statusCode() < 200 || res.statusCode() >= 300) {
-            throw new IllegalStateException("Playwright service error status=" + res.statusCode() + " body=" + truncate(res.body(), 500));
+            String message = "Playwright service error status=" + res.statusCode() + " body=" + truncate(res.body(), 500);
+            if (RetryPolicy.isTransientStatus(res.statusCode())) {
+                throw new TransientServiceException(message);
+            }
+            throw new IllegalStateException(message);
         }
 
         return objectMapper.readValue(res.body(), RuntimeAnalyzeResponse.class);
@@ -3,11 +3,14 @@ package com.dokor.argos.services.configuration;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 
+import com.dokor.argos.services.domain.audit.enums.AuditRunLane;
+import com.dokor.argos.services.http.HttpClientProfile;
 import com.typesafe.config.Config;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
+import java.util.Locale;
 
 @Singleton
 public class ConfigurationService {
@@ -36,7 +39,299 @@ public class ConfigurationService {
         return config.getInt("http-grizzly.worker-threads-pool-size");
     }
 
-    public Duration auditSchedulerInterval() {
-        return config.getDuration("audit.scheduler.interval");
+    /**
+     * Nombre de workers qui traitent des runs en parallèle sur ce nœud.
+     */
+    public int auditWorkerConcurrency() {
+        return config.getInt("audit.worker.concurrency");
+    }
+
+    /**
+     * Nombre maximum de runs claimés en une requête pour les workers libres.
+     */
+    public int auditWorkerClaimBatchSize() {
+        return config.getInt("audit.worker.claim-batch-size");
+    }
+
+    /**
+     * Nombre de workers réservés à une file : les runs des autres files ne peuvent pas les occuper.
+     */
+    public int auditLaneReservedWorkers(AuditRunLane lane) {
+        return config.getInt("audit.lanes." + laneKey(lane) + ".reserved-workers");
+    }
+
+    /**
+     * Délai de vieillissement d'une file : un run est claimé dans l'ordre de {@code created_at + délai}.
+     */
+    public Duration auditLaneAgingDelay(AuditRunLane lane) {
+        return config.getDuration("audit.lanes." + laneKey(lane) + ".aging-delay");
+    }
+
+    private static String laneKey(AuditRunLane lane) {
+        return lane.name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Avance du temps virtuel d'un soumetteur à chaque run qui lui est attribué (partage équitable des workers).
+     */
+    public Duration auditFairShareQuantum() {
+        return config.getDuration("audit.fair-share.quantum");
+    }
+
+    /**
+     * Durée pendant laquelle les têtes de file par soumetteur sont gardées en mémoire avant relecture.
+     */
+    public Duration auditFairShareIndexRefresh() {
+        return config.getDuration("audit.fair-share.index-refresh");
+    }
+
+    /**
+     * Durée de cache de la lecture agrégée de la file exposée dans les métriques de monitoring.
+     */
+    public Duration auditMetricsQueueRefresh() {
+        return config.getDuration("audit.metrics.queue-refresh");
+    }
+
+    /**
+     * Timeout de connexion du client HTTP partagé d'un profil.
+     */
+    public Duration httpClientConnectTimeout(HttpClientProfile profile) {
+        return config.getDuration(
+            "http-client.profiles." + profile.name().toLowerCase(Locale.ROOT).replace('_', '-') + ".connect-timeout"
+        );
+    }
+
+    /**
+     * Taille maximale (en octets) du corps de réponse lu par le module HTTP ; au-delà, le corps est tronqué.
+     */
+    public long auditHttpMaxBodySize() {
+        return config.getBytes("audit.http.max-body-size");
+    }
+
+    /**
+     * Attente projetée au-delà de laquelle une nouvelle soumission d'audit est refusée (429), 0 pour désactiver.
+     */
+    public Duration auditAdmissionMaxWait() {
+        return config.getDuration("audit.admission.max-wait");
+    }
+
+    /**
+     * Intervalle minimal entre deux lectures de la charge de la file par le contrôle d'admission.
+     */
+    public Duration auditAdmissionStatsRefresh() {
+        return config.getDuration("audit.admission.stats-refresh");
+    }
+
+    /**
+     * Nombre de runs récents dont la durée médiane sert à projeter l'attente.
+     */
+    public int auditAdmissionDurationSampleSize() {
+        return config.getInt("audit.admission.duration-sample-size");
+    }
+
+    /**
+     * Durée d'un run supposée tant qu'aucun run n'a été exécuté.
+     */
+    public Duration auditAdmissionDefaultRunDuration() {
+        return config.getDuration("audit.admission.default-run-duration");
+    }
+
+    /**
+     * Attente projetée du backlog BULK/SCHEDULED au-delà de laquelle un lot ou un crawl est refusé (429),
+     * 0 pour désactiver.
+     */
+    public Duration auditAdmissionBulkMaxWait() {
+        return config.getDuration("audit.admission.bulk-max-wait");
+    }
+
+    /**
+     * Nombre maximum d'URLs soumises en lot ou en crawl par un même client sur la fenêtre, 0 pour désactiver.
+     */
+    public int auditAdmissionClientQuota() {
+        return config.getInt("audit.admission.client-quota");
+    }
+
+    /**
+     * Fenêtre glissante du quota d'URLs par client.
+     */
+    public Duration auditAdmissionClientQuotaWindow() {
+        return config.getDuration("audit.admission.client-quota-window");
+    }
+
+    /**
+     * Nombre maximum de runs tenant un créneau sur un même hôte, sauf limite propre au domaine.
+     */
+    public int auditPolitenessMaxRunningPerHost() {
+        return config.getInt("audit.politeness.max-running-per-host");
+    }
+
+    /**
+     * Espacement minimal entre deux démarrages de run sur un même hôte, sauf espacement propre au domaine.
+     */
+    public Duration auditPolitenessMinSpacing() {
+        return config.getDuration("audit.politeness.min-spacing");
+    }
+
+    /**
+     * Report d'un run dont l'hôte a déjà trop de runs en cours.
+     */
+    public Duration auditPolitenessBusyRetryDelay() {
+        return config.getDuration("audit.politeness.busy-retry-delay");
+    }
+
+    /**
+     * Durée du bail d'un run claimé, prolongé par le heartbeat tant que le run est traité.
+     */
+    public Duration auditRunLease() {
+        return config.getDuration("audit.worker.lease");
+    }
+
+    /**
+     * Intervalle du heartbeat qui prolonge les baux des runs en cours.
+     */
+    public Duration auditWorkerHeartbeatInterval() {
+        return config.getDuration("audit.worker.heartbeat-interval");
+    }
+
+    /**
+     * Intervalle du reaper qui reprend les runs dont le bail a expiré.
+     */
+    public Duration auditReaperInterval() {
+        return config.getDuration("audit.reaper.interval");
+    }
+
+    /**
+     * Nombre maximum de tentatives (claims) d'un run : au-delà, un bail expiré ou un échec transitoire
+     * le fait passer FAILED au lieu de QUEUED.
+     */
+    public int auditRetryMaxAttempts() {
+        return config.getInt("audit.retry.max-attempts");
+    }
+
+    /**
+     * Délai avant la deuxième tentative d'un run en échec transitoire, doublé à chaque tentative suivante.
+     */
+    public Duration auditRetryBaseDelay() {
+        return config.getDuration("audit.retry.base-delay");
+    }
+
+    /**
+     * Plafond du délai entre deux tentatives d'un run.
+     */
+    public Duration auditRetryMaxDelay() {
+        return config.getDuration("audit.retry.max-delay");
+    }
+
+    /**
+     * Nombre maximum d'appels d'un module à son service tiers en cas d'échec transitoire.
+     */
+    public int auditRetryModuleMaxAttempts() {
+        return config.getInt("audit.retry.module.max-attempts");
+    }
+
+    /**
+     * Délai avant le deuxième appel d'un module à son service tiers, doublé à chaque appel suivant.
+     */
+    public Duration auditRetryModuleBaseDelay() {
+        return config.getDuration("audit.retry.module.base-delay");
+    }
+
+    /**
+     * Plafond du délai entre deux appels d'un module à son service tiers.
+     */
+    public Duration auditRetryModuleMaxDelay() {
+        return config.getDuration("audit.retry.module.max-delay");
+    }
+
+    /**
+     * Intervalle de la sonde qui réveille les workers inactifs quand un autre nœud a mis des runs en file.
+     */
+    public Duration auditWorkerNudgeInterval() {
+        return config.getDuration("audit.worker.nudge-interval");
+    }
+
+    /**
+     * Attente d'un worker quand la file est vide, avant de chercher à nouveau un run.
+    public Duration auditWorkerIdleBackoff() {
+        return config.getDuration("audit.worker.idle-backoff");
+    }
+
+    /**
+     * Budget de temps global d'un run : au-delà, tous les modules encore en cours soft-fail.
+     */
+    public Duration auditRunBudget() {
+        return config.getDuration("audit.budget.run");
+    }
+
+    /**
+     * Budget de temps d'un module, borné à l'exécution par le budget restant du run.
+     * Utilise {@code audit.budget.modules.<moduleId>} si défini, sinon {@code audit.budget.module-default}.
+     */
+    public Duration auditModuleBudget(String moduleId) {
+        String path = "audit.budget.modules." + moduleId;
+        if (config.hasPath(path)) {
+            return config.getDuration(path);
+        }
+        return config.getDuration("audit.budget.module-default");
+    }
+
+    /**
+     * Activation d'un module d'analyse : {@code audit.modules.<moduleId>.enabled} si défini,
+     * sinon la valeur par défaut déclarée par le module.
+     */
+    public boolean auditModuleEnabled(String moduleId, boolean defaultValue) {
+        String path = "audit.modules." + moduleId + ".enabled";
+        if (config.hasPath(path)) {
+            return config.getBoolean(path);
+        }
+        return defaultValue;
+    }
+
+    /**
+     * Durée de validité en cache d'un résultat de module de portée DOMAIN.
+     * Utilise {@code audit.domain-cache.ttl.<moduleId>} si défini, sinon {@code audit.domain-cache.ttl-default}.
+     */
+    public Duration auditDomainCacheTtl(String moduleId) {
+        String path = "audit.domain-cache.ttl." + moduleId;
+        if (config.hasPath(path)) {
+            return config.getDuration(path);
+        }
+        return config.getDuration("audit.domain-cache.ttl-default");
+    }
+
+    /**
+     * Nombre maximum d'URLs acceptées par une soumission {@code POST /audits/batch}.
+     */
+    public int auditBatchMaxUrls() {
+        return config.getInt("audit.batch.max-urls");
+    }
+
+    /**
+     * Nombre de pages auditées par un crawl lorsque la requête ne le précise pas.
+     */
+    public int auditCrawlDefaultPages() {
+        return config.getInt("audit.crawl.default-pages");
+    }
+
+    /**
+     * Nombre maximum de pages qu'un crawl peut demander.
+     */
+    public int auditCrawlMaxPages() {
+        return config.getInt("audit.crawl.max-pages");
+    }
+
+    /**
+     * Nombre maximum de pages d'un même crawl traitées simultanément par les workers.
+     */
+    public int auditCrawlMaxRunning() {
+        return config.getInt("audit.crawl.max-running");
+    }
+
+    /**
+     * Fenêtre pendant laquelle le dernier résultat d'un audit est réutilisé au lieu de relancer l'analyse.
+     * {@link Duration#ZERO} désactive la réutilisation.
+     */
+    public Duration auditReuseFreshnessWindow() {
+        return config.getDuration("audit.reuse.freshness-window");
     }
 }
@@ -0,0 +1,239 @@
+package com.dokor.argos.services.domain.audit;
+
+import com.dokor.argos.db.dao.AuditBatchDao;
+import com.dokor.argos.db.dao.AuditRunDao;
+import com.dokor.argos.db.generated.AuditBatch;
+import com.dokor.argos.services.configuration.ConfigurationService;
+import com.dokor.argos.services.domain.audit.enums.AuditRunLane;
+import com.dokor.argos.services.domain.audit.errors.ClientQuotaExceededException;
+import com.dokor.argos.services.domain.audit.errors.QueueFullException;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Contrôle d'admission des audits interactifs : une soumission est refusée dès que le run attendrait
+ * plus de {@code audit.admission.max-wait} avant de démarrer, au lieu d'empiler en base des runs QUEUED
+ * qui ne démarreraient que des heures plus tard.
+ * <p>
+ * Attente projetée = runs INTERACTIVE QUEUED passant avant lui × durée médiane des derniers runs ÷ workers
+ * utilisables par la file interactive. Les runs des autres files ne sont pas comptés : même vieillis, ils ne
+ * prennent ni les workers réservés à la file interactive ni, grâce au partage équitable, la place d'un
+ * soumetteur interactif, et un gros batch ne ferme donc pas la page d'accueil.
+ * <p>
+ * Workers utilisables = workers (de ce nœud, ou runs RUNNING tous nœuds confondus s'ils sont plus nombreux)
+ * moins ceux réservés aux autres files, comme pour le claim.
+ * <p>
+ * Les lots et crawls ({@link #admitBulk}) sont admis séparément, avant toute insertion : le backlog BULK/SCHEDULED
+ * doit pouvoir démarrer dans {@code audit.admission.bulk-max-wait}, et un même client ne soumet pas plus de
+ * {@code audit.admission.client-quota} URLs par fenêtre.
+ * <p>
+ * La charge de la file est relue au plus toutes les {@code audit.admission.stats-refresh}, et incrémentée
+ * à chaque admission entre deux lectures : un pic de soumissions ne fait pas une requête par soumission.
+ */
+@Singleton
+public class AuditAdmissionController {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditAdmissionController.class);
+
+    private static final List<String> BULK_LANES = List.of(AuditRunLane.BULK.name(), AuditRunLane.SCHEDULED.name());
+
+    private final AuditRunDao auditRunDao;
+    private final AuditBatchDao auditBatchDao;
+    private final ConfigurationService configurationService;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private long queuedAhead;
+    private long workers;
+    private long bulkQueued;
+    private long bulkWorkers;
+    private Duration runDuration;
+    private Instant refreshedAt;
+
+    @Inject
+    public AuditAdmissionController(
+        AuditRunDao auditRunDao,
+        AuditBatchDao auditBatchDao,
+        ConfigurationService configurationService
+    ) {
+        this.auditRunDao = auditRunDao;
+        this.auditBatchDao = auditBatchDao;
+        this.configurationService = configurationService;
+    }
+
+    /**
+     * Admet un nouveau run interactif.
+     *
+     * @throws QueueFullException si l'attente projetée dépasse {@code audit.admission.max-wait}
+     */
+    public void admit() {
+        Duration maxWait = configurationService.auditAdmissionMaxWait();
+        if (maxWait.isZero()) {
+            return;
+        }
+        lock.lock();
+        try {
+            Instant now = Instant.now();
+            if (refreshedAt == null
+                || refreshedAt.plus(configurationService.auditAdmissionStatsRefresh()).isBefore(now)) {
+                refresh(now);
+            }
+            Duration projectedWait = projectedWait(queuedAhead, workers, runDuration);
+            if (projectedWait.compareTo(maxWait) > 0) {
+                logger.warn("Audit rejected: queuedAhead={} workers={} runDuration={} projectedWait={}",
+                    queuedAhead, workers, runDuration, projectedWait);
+                throw new QueueFullException(retryAfter(projectedWait, maxWait), now.plus(projectedWait));
+            }
+            queuedAhead++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Admet un lot ou un crawl de {@code runs} pages soumis par {@code submitterKey}.
+     *
+     * @throws ClientQuotaExceededException si le client a déjà soumis son quota d'URLs sur la fenêtre
+     * @throws QueueFullException           si le backlog BULK/SCHEDULED, lot compris, dépasse
+     *                                      {@code audit.admission.bulk-max-wait}
+     */
+    public void admitBulk(String submitterKey, int runs) {
+        Instant now = Instant.now();
+        checkClientQuota(submitterKey, runs, now);
+
+        Duration maxWait = configurationService.auditAdmissionBulkMaxWait();
+        if (maxWait.isZero()) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (refreshedAt == null
+                || refreshedAt.plus(configurationService.auditAdmissionStatsRefresh()).isBefore(now)) {
+                refresh(now);
+            }
+            Duration projectedWait = projectedWait(bulkQueued + runs, bulkWorkers, runDuration);
+            if (projectedWait.compareTo(maxWait) > 0) {
+                logger.warn("Bulk submission rejected: submitter={} runs={} bulkQueued={} workers={} projectedWait={}",
+                    submitterKey, runs, bulkQueued, bulkWorkers, projectedWait);
+                throw new QueueFullException(retryAfter(projectedWait, maxWait), now.plus(projectedWait));
+            }
+            bulkQueued += runs;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Attente avant le démarrage d'un run placé derrière {@code queuedAhead} runs.
+     */
+    static Duration projectedWait(long queuedAhead, long workers, Duration runDuration) {
+        return runDuration.multipliedBy(queuedAhead).dividedBy(Math.max(1L, workers));
+    }
+
+    /**
+     * Délai au bout duquel l'attente projetée repasse sous le seuil, arrondi à la seconde supérieure.
+     */
+    static Duration retryAfter(Duration projectedWait, Duration maxWait) {
+        Duration excess = projectedWait.minus(maxWait);
+        long seconds = excess.toSeconds() + (excess.toNanosPart() > 0 ? 1 : 0);
+        return Duration.ofSeconds(Math.max(1L, seconds));
+    }
+
+    /**
+     * Durée médiane : un audit bloqué jusqu'à son budget ne fausse pas l'estimation.
+     */
+    static Duration median(List<Duration> durations, Duration fallback) {
+        if (durations.isEmpty()) {
+            return fallback;
+        }
+        List<Duration> sorted = new ArrayList<>(durations);
+        sorted.sort(null);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    /**
+     * Délai avant que les plus anciennes soumissions du client sortent de la fenêtre et libèrent assez de quota
+     * pour {@code runs} URLs de plus.
+     *
+     * @param submitted soumissions du client dans la fenêtre, de la plus ancienne à la plus récente
+     * @return {@link Duration#ZERO} si la soumission tient dans le quota
+     */
+    static Duration quotaRetryAfter(List<AuditBatch> submitted, int runs, int quota, Duration window, Instant now) {
+        long used = submitted.stream().mapToLong(AuditAdmissionController::budget).sum();
+        for (AuditBatch batch : submitted) {
+            if (used + runs <= quota) {
+                break;
+            }
+            used -= budget(batch);
+            if (used + runs <= quota) {
+                Duration wait = Duration.between(now, batch.getCreatedAt().plus(window));
+                return wait.isNegative() ? Duration.ZERO : wait;
+            }
+        }
+        return used + runs <= quota ? Duration.ZERO : window;
+    }
+
+    /**
+     * URLs imputées à un lot : son budget de pages pour un crawl, ses URLs soumises sinon.
+     */
+    private static long budget(AuditBatch batch) {
+        Integer pages = batch.getMaxPages() != null ? batch.getMaxPages() : batch.getUrlCount();
+        return pages != null ? pages : 0L;
+    }
+
+    private void checkClientQuota(String submitterKey, int runs, Instant now) {
+        int quota = configurationService.auditAdmissionClientQuota();
+        if (quota <= 0) {
+            return;
+        }
+        Duration window = configurationService.auditAdmissionClientQuotaWindow();
+        if (runs > quota) {
+            throw new IllegalArgumentException("A client submits at most " + quota + " URLs per " + window);
+        }
+        List<AuditBatch> submitted = auditBatchDao.findSubmittedSince(submitterKey, now.minus(window));
+        Duration retryAfter = quotaRetryAfter(submitted, runs, quota, window, now);
+        if (!retryAfter.isZero()) {
+            logger.warn("Bulk submission rejected: submitter={} runs={} quota={} window={} retryAfter={}",
+                submitterKey, runs, quota, window, retryAfter);
+            throw new ClientQuotaExceededException(quota, window, retryAfter(retryAfter, Duration.ZERO));
+        }
+    }
+
+    /**
+     * Workers qu'une file peut occuper : tous sauf ceux réservés aux autres files.
+     */
+    private long laneWorkers(Collection<AuditRunLane> lanes, long workers) {
+        long reservedElsewhere = 0;
+        long reservedHere = 0;
+        for (AuditRunLane lane : AuditRunLane.values()) {
+            if (lanes.contains(lane)) {
+                reservedHere += configurationService.auditLaneReservedWorkers(lane);
+            } else {
+                reservedElsewhere += configurationService.auditLaneReservedWorkers(lane);
+            }
+        }
+        return Math.max(reservedHere, workers - reservedElsewhere);
+    }
+
+    private void refresh(Instant now) {
+        long allWorkers = Math.max(configurationService.auditWorkerConcurrency(), auditRunDao.countRunning());
+        queuedAhead = auditRunDao.countQueuedAhead(AuditRunLane.INTERACTIVE.name(), now);
+        workers = laneWorkers(List.of(AuditRunLane.INTERACTIVE), allWorkers);
+        bulkQueued = auditRunDao.countQueued(BULK_LANES);
+        bulkWorkers = laneWorkers(List.of(AuditRunLane.BULK, AuditRunLane.SCHEDULED), allWorkers);
+        runDuration = median(
+            auditRunDao.findRecentRunDurations(configurationService.auditAdmissionDurationSampleSize()),
+            configurationService.auditAdmissionDefaultRunDuration()
+        );
+        refreshedAt = now;
+        logger.debug("Admission stats refreshed: queuedAhead={} workers={} runDuration={}", queuedAhead, workers, runDuration);
+    }
+}
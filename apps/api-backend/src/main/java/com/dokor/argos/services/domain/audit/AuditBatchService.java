@@ -0,0 +1,333 @@
+package com.dokor.argos.services.domain.audit;
+
+import com.dokor.argos.db.dao.AuditBatchDao;
+import com.dokor.argos.db.dao.AuditDao;
+import com.dokor.argos.db.generated.Audit;
+import com.dokor.argos.db.generated.AuditBatch;
+import com.dokor.argos.db.generated.Domain;
+import com.dokor.argos.services.configuration.ConfigurationService;
+import com.dokor.argos.services.domain.audit.enums.AuditRunLane;
+import com.dokor.argos.services.domain.audit.enums.AuditRunStatus;
+import com.dokor.argos.services.domain.audit.errors.NotFoundException;
+import com.dokor.argos.services.domain.domain.DomainService;
+import com.dokor.argos.webservices.api.audits.data.AuditBatchStatusResponse;
+import com.dokor.argos.webservices.api.audits.data.CreateAuditBatchRequest;
+import com.dokor.argos.webservices.api.audits.data.CreateAuditBatchResponse;
+import com.dokor.argos.webservices.api.audits.data.CreateAuditBatchResponse.RejectedUrl;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Soumission d'audits en lot ({@code POST /audits/batch}).
+ * <p>
+ * Là où {@link AuditService#createAudit} fait plusieurs allers-retours en base par URL,
+ * un lot de N URLs est traité en un nombre constant de requêtes par tranche de {@value #CHUNK_SIZE} URLs :
+ * <ol>
+ *   <li>normalisation de toutes les URLs en parallèle (threads virtuels : la vérification SSRF fait une résolution DNS) ;</li>
+ *   <li>résolution des domaines : une lecture {@code IN}, un batch {@code INSERT IGNORE}, une relecture ;</li>
+ *   <li>résolution des audits : même principe sur les URLs normalisées ;</li>
+ *   <li>création de tous les runs QUEUED en batch JDBC, rattachés au lot.</li>
+ * </ol>
+ * Les URLs invalides sont rejetées individuellement ; les doublons (même URL normalisée) ne créent qu'un run.
+ */
+@Singleton
+public class AuditBatchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditBatchService.class);
+
+    /** Taille des tranches pour les clauses {@code IN} et les batchs JDBC. */
+    private static final int CHUNK_SIZE = 500;
+    /** Nombre de normalisations (résolutions DNS) simultanées. */
+    private static final int NORMALIZATION_CONCURRENCY = 64;
+    private static final int MAX_URL_LENGTH = 2048;
+
+    private final AuditBatchDao auditBatchDao;
+    private final AuditDao auditDao;
+    private final AuditRunService auditRunService;
+    private final DomainService domainService;
+    private final UrlNormalizer urlNormalizer;
+    private final ConfigurationService configurationService;
+    private final AuditAdmissionController admissionController;
+
+    @Inject
+    public AuditBatchService(
+        AuditBatchDao auditBatchDao,
+        AuditDao auditDao,
+        AuditRunService auditRunService,
+        DomainService domainService,
+        UrlNormalizer urlNormalizer,
+        ConfigurationService configurationService,
+        AuditAdmissionController admissionController
+    ) {
+        this.auditBatchDao = auditBatchDao;
+        this.auditDao = auditDao;
+        this.auditRunService = auditRunService;
+        this.domainService = domainService;
+        this.urlNormalizer = urlNormalizer;
+        this.configurationService = configurationService;
+        this.admissionController = admissionController;
+    }
+
+    /**
+     * Crée un lot et un run QUEUED par URL normalisée distincte.
+     * <p>
+     * Le lot passe le contrôle d'admission des soumissions en masse avant toute insertion.
+     *
+     * @param ipHint IP du client (optionnelle) : soumetteur du lot pour le quota par client
+     * @throws IllegalArgumentException si le lot est vide, dépasse {@code audit.batch.max-urls}
+     *                                  ou demande une file autre que BULK/SCHEDULED
+     * @throws com.dokor.argos.services.domain.audit.errors.QueueFullException si le backlog des lots est saturé
+     * @throws com.dokor.argos.services.domain.audit.errors.ClientQuotaExceededException si le client a épuisé
+     *                                  son quota d'URLs
+     */
+    public CreateAuditBatchResponse createBatch(CreateAuditBatchRequest request, String ipHint) {
+        List<String> urls = request.urls();
+        if (urls == null || urls.isEmpty()) {
+            throw new IllegalArgumentException("Field 'urls' is required");
+        }
+        int maxUrls = configurationService.auditBatchMaxUrls();
+        if (urls.size() > maxUrls) {
+            throw new IllegalArgumentException("A batch accepts at most " + maxUrls + " URLs");
+        }
+        AuditRunLane lane = batchLane(request.lane());
+        logger.info("AuditBatchService.createBatch urlCount={} lane={}", urls.size(), lane);
+        String submitterKey = AuditRunService.ipSubmitterKey(ipHint);
+        admissionController.admitBulk(submitterKey, urls.size());
+        Instant now = Instant.now();
+
+        // 1. Normalisation parallèle, dédoublonnage sur l'URL normalisée (la première occurrence l'emporte)
+        List<NormalizedUrl> normalized = normalizeAll(urls);
+        List<RejectedUrl> rejected = new ArrayList<>();
+        Map<String, NormalizedUrl> accepted = new LinkedHashMap<>();
+        for (NormalizedUrl url : normalized) {
+            if (url.error() != null) {
+                rejected.add(new RejectedUrl(url.index(), url.error()));
+            } else {
+                accepted.putIfAbsent(url.normalizedUrl(), url);
+            }
+        }
+
+        // 2. Domaines puis audits, par tranches
+        List<Long> auditIds = resolveAuditIds(List.copyOf(accepted.values()), rejected, now);
+
+        // 3. Lot puis runs
+        AuditBatch batch = new AuditBatch();
+        batch.setUrlCount(urls.size());
+        batch.setRunCount(auditIds.size());
+        batch.setSubmitterKey(submitterKey);
+        batch.setCreatedAt(now);
+        batch = auditBatchDao.save(batch);
+
+        for (List<Long> chunk : chunks(auditIds)) {
+            auditRunService.createQueuedRuns(chunk, batch.getId(), lane, now);
+        }
+
+        logger.info(
+            "Batch created batchId={} urlCount={} runCount={} rejected={}",
+            batch.getId(), urls.size(), auditIds.size(), rejected.size()
+        );
+
+        return new CreateAuditBatchResponse(batch.getId(), urls.size(), auditIds.size(), rejected, now);
+    }
+
+    /**
+     * Avancement agrégé d'un lot (une requête GROUP BY sur les runs du lot).
+     *
+     * @throws NotFoundException si le lot n'existe pas
+     */
+    public AuditBatchStatusResponse getBatchStatus(long batchId) {
+        AuditBatch batch = auditBatchDao.findById(batchId);
+        if (batch == null) {
+            throw new NotFoundException("AuditBatch not found: " + batchId);
+        }
+
+        Map<String, Long> counts = auditRunService.countByStatusForBatch(batchId);
+        long queued = counts.getOrDefault(AuditRunStatus.QUEUED.name(), 0L);
+        long running = counts.getOrDefault(AuditRunStatus.RUNNING.name(), 0L);
+        long completed = counts.getOrDefault(AuditRunStatus.COMPLETED.name(), 0L);
+        long failed = counts.getOrDefault(AuditRunStatus.FAILED.name(), 0L);
+
+        return new AuditBatchStatusResponse(
+            batchId,
+            batch.getCreatedAt(),
+            batch.getRunCount(),
+            queued,
+            running,
+            completed,
+            failed,
+            queued + running == 0
+        );
+    }
+
+    /**
+     * Ajoute à un lot existant des pages dont l'URL est déjà normalisée (pages découvertes par un crawl).
+     * <p>
+     * Mêmes requêtes ensemblistes que {@link #createBatch} ; une page déjà présente dans le lot est ignorée.
+     *
+     * @param batchId  lot cible
+     * @param pages    URL normalisée → URL telle que trouvée dans la page (inputUrl de l'audit)
+     * @param hostname hostname commun des pages
+     * @return nombre de runs effectivement créés
+     */
+    public long addPages(long batchId, Map<String, String> pages, String hostname) {
+        Instant now = Instant.now();
+        List<NormalizedUrl> urls = new ArrayList<>(pages.size());
+        for (Map.Entry<String, String> page : pages.entrySet()) {
+            urls.add(new NormalizedUrl(urls.size(), page.getValue(), page.getKey(), hostname, null));
+        }
+        List<Long> auditIds = resolveAuditIds(urls, new ArrayList<>(), now);
+
+        long created = 0;
+        for (List<Long> chunk : chunks(auditIds)) {
+            created += auditRunService.createQueuedRuns(chunk, batchId, AuditRunLane.BULK, now);
+        }
+        return created;
+    }
+
+    // -------------------------
+    // Helpers privés
+    // -------------------------
+
+    /**
+     * File des runs d'un lot : BULK par défaut, SCHEDULED sur demande. La file INTERACTIVE est réservée
+     * aux soumissions unitaires.
+     */
+    private static AuditRunLane batchLane(String lane) {
+        if (lane == null || lane.isBlank()) {
+            return AuditRunLane.BULK;
+        }
+        String value = lane.trim().toUpperCase(Locale.ROOT);
+        if (value.equals(AuditRunLane.BULK.name())) {
+            return AuditRunLane.BULK;
+        }
+        if (value.equals(AuditRunLane.SCHEDULED.name())) {
+            return AuditRunLane.SCHEDULED;
+        }
+        throw new IllegalArgumentException("Field 'lane' must be BULK or SCHEDULED");
+    }
+
+    /**
+     * Résout (ou crée) domaines et audits des URLs, par tranches de {@value #CHUNK_SIZE}.
+     * Les URLs sans audit après création sont ajoutées à {@code rejected}.
+     */
+    private List<Long> resolveAuditIds(List<NormalizedUrl> urls, List<RejectedUrl> rejected, Instant now) {
+        List<Long> auditIds = new ArrayList<>(urls.size());
+        for (List<NormalizedUrl> chunk : chunks(urls)) {
+            Map<String, Domain> domains = domainService.findOrCreateAll(
+                chunk.stream().map(NormalizedUrl::hostname).distinct().toList()
+            );
+            Map<String, Long> audits = resolveAudits(chunk, domains, now);
+            for (NormalizedUrl url : chunk) {
+                Long auditId = audits.get(url.normalizedUrl());
+                if (auditId == null) {
+                    // Collision sur le préfixe de l'index unique (URL normalisée > 255 caractères)
+                    rejected.add(new RejectedUrl(url.index(), "Conflicting audit for this URL"));
+                } else {
+                    auditIds.add(auditId);
+                }
+            }
+        }
+        return auditIds;
+    }
+
+    private Map<String, Long> resolveAudits(List<NormalizedUrl> chunk, Map<String, Domain> domains, Instant now) {
+        List<String> normalizedUrls = chunk.stream().map(NormalizedUrl::normalizedUrl).toList();
+        Map<String, Long> audits = new HashMap<>();
+        auditDao.findByNormalizedUrls(normalizedUrls)
+            .forEach(audit -> audits.put(audit.getNormalizedUrl(), audit.getId()));
+
+        List<Audit> missing = new ArrayList<>();
+        for (NormalizedUrl url : chunk) {
+            Domain domain = domains.get(url.hostname());
+            if (audits.containsKey(url.normalizedUrl()) || domain == null) {
+                continue;
+            }
+            Audit audit = new Audit();
+            audit.setDomainId(domain.getId());
+            audit.setInputUrl(url.inputUrl());
+            audit.setNormalizedUrl(url.normalizedUrl());
+            audit.setCreatedAt(now);
+            missing.add(audit);
+        }
+        if (!missing.isEmpty()) {
+            auditDao.insertMissing(missing);
+            auditDao.findByNormalizedUrls(missing.stream().map(Audit::getNormalizedUrl).toList())
+                .forEach(audit -> audits.put(audit.getNormalizedUrl(), audit.getId()));
+        }
+        return audits;
+    }
+
+    private List<NormalizedUrl> normalizeAll(List<String> urls) {
+        Semaphore permits = new Semaphore(NORMALIZATION_CONCURRENCY);
+        List<Future<NormalizedUrl>> futures = new ArrayList<>(urls.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < urls.size(); i++) {
+                int index = i;
+                String url = urls.get(i);
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return normalize(index, url);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+        // close() attend la fin de toutes les tâches
+        List<NormalizedUrl> results = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            Future<NormalizedUrl> future = futures.get(i);
+            results.add(future.state() == Future.State.SUCCESS
+                ? future.resultNow()
+                : NormalizedUrl.rejected(i, "URL normalization failed"));
+        }
+        return results;
+    }
+
+    private NormalizedUrl normalize(int index, String inputUrl) {
+        if (inputUrl == null || inputUrl.isBlank()) {
+            return NormalizedUrl.rejected(index, "URL is required");
+        }
+        if (inputUrl.length() > MAX_URL_LENGTH) {
+            return NormalizedUrl.rejected(index, "URL must not exceed " + MAX_URL_LENGTH + " characters");
+        }
+        try {
+            String normalizedUrl = urlNormalizer.normalize(inputUrl);
+            return new NormalizedUrl(index, inputUrl, normalizedUrl, urlNormalizer.extractHostname(normalizedUrl), null);
+        } catch (IllegalArgumentException e) {
+            return NormalizedUrl.rejected(index, e.getMessage());
+        }
+    }
+
+    private static <T> List<List<T>> chunks(List<T> items) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += CHUNK_SIZE) {
+            chunks.add(items.subList(i, Math.min(items.size(), i + CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+
+    /**
+     * URL d'un lot après normalisation : soit normalizedUrl/hostname, soit error.
+     */
+    private record NormalizedUrl(int index, String inputUrl, String normalizedUrl, String hostname, String error) {
+        static NormalizedUrl rejected(int index, String error) {
+            return new NormalizedUrl(index, null, null, null, error);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.dokor.argos.services.domain.audit;
+
+import com.codahale.metrics.CachedGauge;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.Timer;
+import com.dokor.argos.db.dao.AuditRunDao;
+import com.dokor.argos.db.generated.AuditRun;
+import com.dokor.argos.services.configuration.ConfigurationService;
+import com.dokor.argos.services.domain.audit.enums.AuditRunLane;
+import com.dokor.argos.services.domain.audit.enums.AuditRunStatus;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métriques de santé de la file d'audits, exposées par {@code /monitoring/metrics}.
+ * <ul>
+ *   <li>{@code audit.queue.depth.<status>.<lane>} : runs QUEUED/RUNNING par file ;</li>
+ *   <li>{@code audit.queue.oldest-queued-age-ms} : âge du plus ancien run QUEUED ;</li>
+ *   <li>{@code audit.runs.claim-to-start} / {@code audit.runs.end-to-end} : latences (claim → début du traitement,
+ *       création → fin d'un run COMPLETED), percentiles sur les runs récents de ce nœud ;</li>
+ *   <li>{@code audit.runs.completed} / {@code audit.runs.failed} : débit (taux sur 1, 5 et 15 minutes) de ce nœud.</li>
+ * </ul>
+ * Les gauges de profondeur partagent une seule requête agrégée, mise en cache {@code audit.metrics.queue-refresh} :
+ * un scrape fréquent ne relit pas la file à chaque fois.
+ */
+@Singleton
+public class AuditQueueMetrics {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditQueueMetrics.class);
+
+    private final AuditRunDao auditRunDao;
+
+    private final CachedGauge<QueueSnapshot> queueSnapshot;
+    private final Timer claimToStart = new Timer();
+    private final Timer endToEnd = new Timer();
+    private final Meter completed = new Meter();
+    private final Meter failed = new Meter();
+
+    @Inject
+    public AuditQueueMetrics(AuditRunDao auditRunDao, ConfigurationService configurationService) {
+        this.auditRunDao = auditRunDao;
+        this.queueSnapshot = new CachedGauge<>(
+            configurationService.auditMetricsQueueRefresh().toMillis(), TimeUnit.MILLISECONDS
+        ) {
+            @Override
+            protected QueueSnapshot loadValue() {
+                return loadSnapshot();
+            }
+        };
+    }
+
+    /**
+     * Un worker commence le traitement d'un run claimé, une fois son créneau d'hôte obtenu.
+     */
+    public void runStarted(AuditRun run) {
+        if (run.getStartedAt() != null) {
+            record(claimToStart, Duration.between(run.getStartedAt(), Instant.now()));
+        }
+    }
+
+    /**
+     * Un run vient de passer COMPLETED.
+     */
+    public void runCompleted(AuditRun run) {
+        completed.mark();
+        if (run.getCreatedAt() != null) {
+            record(endToEnd, Duration.between(run.getCreatedAt(), Instant.now()));
+        }
+    }
+
+    /**
+     * Un run vient de passer FAILED.
+     */
+    public void runFailed() {
+        failed.mark();
+    }
+
+    /**
+     * Métriques à enregistrer, par nom.
+     */
+    public Map<String, Metric> metrics() {
+        Map<String, Metric> metrics = new LinkedHashMap<>();
+        for (AuditRunStatus status : List.of(AuditRunStatus.QUEUED, AuditRunStatus.RUNNING)) {
+            for (AuditRunLane lane : AuditRunLane.values()) {
+                String key = depthKey(status.name(), lane.name());
+                metrics.put("audit.queue." + key, (Gauge<Long>) () -> queueSnapshot.getValue().depths().getOrDefault(key, 0L));
+            }
+        }
+        metrics.put("audit.queue.oldest-queued-age-ms", (Gauge<Long>) () -> {
+            Instant oldest = queueSnapshot.getValue().oldestQueuedCreatedAt();
+            return oldest == null ? 0L : Math.max(0L, Duration.between(oldest, Instant.now()).toMillis());
+        });
+        metrics.put("audit.runs.claim-to-start", claimToStart);
+        metrics.put("audit.runs.end-to-end", endToEnd);
+        metrics.put("audit.runs.completed", completed);
+        metrics.put("audit.runs.failed", failed);
+        return metrics;
+    }
+
+    private QueueSnapshot loadSnapshot() {
+        try {
+            Map<String, Long> depths = new HashMap<>();
+            for (AuditRunDao.StatusLaneCount count : auditRunDao.countInFlightByStatusAndLane()) {
+                depths.put(depthKey(count.status(), count.lane()), count.count());
+            }
+            return new QueueSnapshot(depths, auditRunDao.findOldestQueuedCreatedAt().orElse(null));
+        } catch (Exception e) {
+            logger.warn("Failed to read audit queue metrics", e);
+            return new QueueSnapshot(Map.of(), null);
+        }
+    }
+
+    private static String depthKey(String status, String lane) {
+        return ("depth." + status + "." + lane).toLowerCase(Locale.ROOT);
+    }
+
+    private static void record(Timer timer, Duration duration) {
+        timer.update(Math.max(0L, duration.toMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Lecture agrégée de la file, partagée par les gauges jusqu'à expiration du cache.
+     */
+    private record QueueSnapshot(Map<String, Long> depths, Instant oldestQueuedCreatedAt) {}
+}
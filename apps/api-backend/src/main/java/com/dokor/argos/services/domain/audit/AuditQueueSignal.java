@@ -0,0 +1,64 @@
+package com.dokor.argos.services.domain.audit;
+
+import jakarta.inject.Singleton;
+
+import java.time.Duration;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Signal en mémoire « la file a changé » : réveille les workers inactifs de ce nœud dès qu'un run est mis en file,
+ * au lieu d'attendre la fin de leur {@code audit.worker.idle-backoff}.
+ * <p>
+ * Chaque signal incrémente une génération : un worker lit la génération avant de chercher un run, et ne s'endort
+ * que si aucun signal n'a été émis depuis. Un run mis en file pendant son claim n'est donc jamais manqué.
+ * L'attente périodique reste le filet de sécurité (runs reportés, signal d'un autre nœud perdu).
+ */
+@Singleton
+public class AuditQueueSignal {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private long generation;
+
+    /**
+     * Génération courante, à lire avant de chercher un run dans la file.
+     */
+    public long generation() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Réveille tous les workers en attente.
+     */
+    public void signal() {
+        lock.lock();
+        try {
+            generation++;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Attend un signal postérieur à {@code seenGeneration}, au plus {@code timeout}.
+     * Retourne immédiatement si un signal a déjà été émis depuis.
+     */
+    public void await(long seenGeneration, Duration timeout) throws InterruptedException {
+        long remainingNanos = timeout.toNanos();
+        lock.lock();
+        try {
+            while (generation == seenGeneration && remainingNanos > 0) {
+                remainingNanos = changed.awaitNanos(remainingNanos);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
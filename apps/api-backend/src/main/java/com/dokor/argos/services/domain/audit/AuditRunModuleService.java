@@ -0,0 +1,69 @@
+package com.dokor.argos.services.domain.audit;
+
+import com.dokor.argos.db.dao.AuditRunModuleDao;
+import com.dokor.argos.db.generated.AuditRunModule;
+import com.dokor.argos.services.analysis.model.AuditModuleResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Persistance progressive des résultats de modules d'un run.
+ * <p>
+ * Chaque module est écrit dès qu'il termine : un run encore RUNNING expose ainsi
+ * ses résultats partiels (et un score provisoire) sans attendre les modules les plus lents.
+ * Le rapport final reste stocké dans ARG_AUDIT_RUN.result_json.
+ */
+@Singleton
+public class AuditRunModuleService {
+    private static final Logger logger = LoggerFactory.getLogger(AuditRunModuleService.class);
+
+    private final AuditRunModuleDao auditRunModuleDao;
+    private final ObjectMapper objectMapper;
+
+    @Inject
+    public AuditRunModuleService(AuditRunModuleDao auditRunModuleDao, ObjectMapper objectMapper) {
+        this.auditRunModuleDao = auditRunModuleDao;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Enregistre le résultat d'un module terminé.
+     * Un échec d'écriture est loggué mais ne fait pas échouer le run : le rapport final reste complet.
+     */
+    public void record(long runId, AuditModuleResult module, long durationMs) {
+        try {
+            AuditRunModule entity = new AuditRunModule();
+            entity.setRunId(runId);
+            entity.setModuleId(module.id());
+            entity.setResultJson(objectMapper.writeValueAsString(module));
+            entity.setDurationMs(durationMs);
+            entity.setFinishedAt(Instant.now());
+            auditRunModuleDao.upsert(entity);
+        } catch (Exception e) {
+            logger.warn("Failed to persist module result runId={} module={}", runId, module.id(), e);
+        }
+    }
+
+    /**
+     * Résultats des modules déjà terminés pour un run, dans l'ordre de fin d'exécution.
+     * Une entrée illisible est ignorée.
+     */
+    public List<AuditModuleResult> findModules(long runId) {
+        List<AuditModuleResult> modules = new ArrayList<>();
+        for (AuditRunModule entity : auditRunModuleDao.findByRunId(runId)) {
+            try {
+                modules.add(objectMapper.readValue(entity.getResultJson(), AuditModuleResult.class));
+            } catch (Exception e) {
+                logger.warn("Unreadable module result runId={} module={}", runId, entity.getModuleId(), e);
+            }
+        }
+        return modules;
+    }
+}
@@ -3,59 +3,219 @@ package com.dokor.argos.services.domain.audit;
 import com.dokor.argos.db.dao.AuditRunDao;
 
 import com.dokor.argos.db.generated.AuditRun;
+import com.dokor.argos.services.configuration.ConfigurationService;
+import com.dokor.argos.services.domain.audit.enums.AuditRunLane;
 import com.dokor.argos.services.domain.audit.enums.AuditRunStatus;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Singleton
 public class AuditRunService {
     private static final Logger logger = LoggerFactory.getLogger(AuditRunService.class);
 
+    /** Soumetteur des runs créés sans information sur le client. */
+    public static final String ANONYMOUS_SUBMITTER = "anonymous";
+
     private final AuditRunDao auditRunDao;
+    private final SubmitterFairShare submitterFairShare;
+    private final RetryPolicy retryPolicy;
+    private final AuditQueueSignal queueSignal;
+    private final ConfigurationService configurationService;
 
     @Inject
-    public AuditRunService(AuditRunDao auditRunDao) {
+    public AuditRunService(
+        AuditRunDao auditRunDao,
+        SubmitterFairShare submitterFairShare,
+        RetryPolicy retryPolicy,
+        AuditQueueSignal queueSignal,
+        ConfigurationService configurationService
+    ) {
         this.auditRunDao = auditRunDao;
+        this.submitterFairShare = submitterFairShare;
+        this.retryPolicy = retryPolicy;
+        this.queueSignal = queueSignal;
+        this.configurationService = configurationService;
     }
 
     /**
-     * Récupère le prochain run en QUEUED et le claim de façon atomique.
+     * Claim atomique de jusqu'à {@code max} runs QUEUED (SKIP LOCKED : des workers concurrents obtiennent des runs disjoints),
+     * répartis équitablement entre soumetteurs ({@link SubmitterFairShare}).
+     *
+     * @param remainingByLane file → nombre maximum de runs de cette file à claim
      */
-    public Optional<AuditRun> claimNextQueuedRun() {
-        return auditRunDao.findNextQueuedRun()
-            .flatMap(run -> {
-                String token = UUID.randomUUID().toString().replace("-", "");
-                boolean claimed = auditRunDao.claimRun(run.getId(), token, Instant.now());
+    public List<AuditRun> claimQueuedRuns(int max, Map<AuditRunLane, Integer> remainingByLane) {
+        Map<String, Integer> quotaBySubmitter = submitterFairShare.quotas(max, remainingByLane);
+        if (quotaBySubmitter.isEmpty()) {
+            return List.of();
+        }
 
-                if (!claimed) {
-                    logger.debug("Run already claimed by another worker runId={}", run.getId());
-                    return Optional.empty();
-                }
+        Instant now = Instant.now();
+        Map<String, Integer> lanes = new HashMap<>();
+        remainingByLane.forEach((lane, remaining) -> lanes.put(lane.name(), remaining));
+        List<AuditRun> claimed = auditRunDao.claimQueuedRuns(
+            quotaBySubmitter, lanes, AuditRunService::newClaimToken, now, now.plus(configurationService.auditRunLease())
+        );
+        if (claimed.size() < quotaBySubmitter.values().stream().mapToInt(Integer::intValue).sum()) {
+            // Têtes de file en mémoire en retard (runs claimés par un autre nœud, lot plein…)
+            submitterFairShare.invalidate();
+        }
+        if (!claimed.isEmpty()) {
+            logger.info("Runs claimed runIds={}", claimed.stream().map(AuditRun::getId).toList());
+        }
+        return claimed;
+    }
 
-                logger.info("Run claimed runId={}", run.getId());
-                return Optional.of(run);
+    /**
+     * Heartbeat : prolonge le bail des runs en cours sur ce nœud.
+     *
+     * @param claimTokens runId → claim token
+     * @return runs dont le bail a été perdu (repris par le reaper)
+     */
+    public Set<Long> extendLeases(Map<Long, String> claimTokens) {
+        Set<Long> lost = auditRunDao.extendLeases(claimTokens, Instant.now().plus(configurationService.auditRunLease()));
+        if (!lost.isEmpty()) {
+            logger.warn("Lease lost for runIds={}", lost);
+        }
+        return lost;
+    }
+
+    /**
+     * Reaper : remet en file les runs RUNNING dont le bail a expiré, ou les passe FAILED
+     * après {@code audit.retry.max-attempts} tentatives.
+     */
+    public AuditRunDao.ReapedRuns reapExpiredLeases() {
+        int maxAttempts = configurationService.auditRetryMaxAttempts();
+        AuditRunDao.ReapedRuns reaped = auditRunDao.reapExpiredLeases(
+            Instant.now(),
+            maxAttempts,
+            "Run lease expired " + maxAttempts + " times (worker node lost)"
+        );
+        if (reaped.requeued() > 0 || reaped.failed() > 0) {
+            logger.warn("Expired run leases reaped: requeued={} failed={}", reaped.requeued(), reaped.failed());
+        }
+        return reaped;
+    }
+
+    /**
+     * Réutilise le dernier résultat de l'audit s'il a été produit dans la fenêtre de fraîcheur
+     * ({@code audit.reuse.freshness-window}, désactivée si nulle).
+     * <p>
+     * Le run créé est directement COMPLETED et pointe vers le run source ({@code source_run_id}) :
+     * le rapport JSON et le rapport public ne sont pas dupliqués.
+     *
+     * @return run COMPLETED créé, ou vide si aucun résultat assez récent
+     */
+    public Optional<AuditRun> reuseFreshResult(long auditId, Instant now) {
+        Duration window = configurationService.auditReuseFreshnessWindow();
+        if (window.isZero() || window.isNegative()) {
+            return Optional.empty();
+        }
+        return auditRunDao.findFreshCompletedRunId(auditId, now.minus(window))
+            .map(sourceRunId -> {
+                AuditRun run = new AuditRun();
+                run.setAuditId(auditId);
+                run.setSourceRunId(sourceRunId);
+                run.setStatus(AuditRunStatus.COMPLETED.name());
+                run.setLane(AuditRunLane.INTERACTIVE.name());
+                run.setCreatedAt(now);
+                run.setPriorityAt(now);
+                run.setStartedAt(now);
+                run.setFinishedAt(now);
+                return auditRunDao.save(run);
             });
     }
 
-    public AuditRun createQueuedRun(long auditId, Instant now) {
-        logger.info("Creating QUEUED run for auditId={}", auditId);
+    /**
+     * Retourne le run QUEUED/RUNNING de l'audit s'il existe, sinon crée un run QUEUED (single-flight).
+     * Une URL soumise plusieurs fois pendant son audit n'est auditée qu'une fois.
+     *
+     * @param submitterKey soumetteur du run s'il est créé (voir {@link #ipSubmitterKey(String)})
+     * @param beforeCreate appelé seulement si un run doit être créé (contrôle d'admission)
+     */
+    public AuditRunDao.QueuedRun findInFlightOrCreateQueuedRun(
+        long auditId,
+        String submitterKey,
+        Instant now,
+        Runnable beforeCreate
+    ) {
+        AuditRunLane lane = AuditRunLane.INTERACTIVE;
+        AuditRunDao.QueuedRun queued = auditRunDao.findInFlightOrCreateQueued(
+            auditId, lane.name(), submitterKey, now, priorityAt(lane, now), beforeCreate
+        );
+        if (queued.attached()) {
+            logger.info("Submission attached to in-flight run auditId={} runId={} status={}",
+                auditId, queued.run().getId(), queued.run().getStatus());
+        } else {
+            logger.debug("Run persisted: runId={}", queued.run().getId());
+            queueSignal.signal();
+        }
+        return queued;
+    }
+
+    /**
+     * Crée un run QUEUED, éventuellement rattaché à un lot (page de départ d'un crawl).
+     */
+    public AuditRun createQueuedRun(long auditId, Long batchId, AuditRunLane lane, Instant now) {
+        logger.info("Creating QUEUED run for auditId={} batchId={} lane={}", auditId, batchId, lane);
 
         AuditRun run = new AuditRun();
         run.setAuditId(auditId);
+        run.setBatchId(batchId);
         run.setStatus(AuditRunStatus.QUEUED.name());
+        run.setLane(lane.name());
+        run.setSubmitterKey(batchId == null ? ANONYMOUS_SUBMITTER : batchSubmitterKey(batchId));
         run.setCreatedAt(now);
+        run.setPriorityAt(priorityAt(lane, now));
 
         AuditRun saved = auditRunDao.save(run);
         logger.debug("Run persisted: runId={}", saved.getId());
+        queueSignal.signal();
         return saved;
     }
 
+    /**
+     * Crée les runs QUEUED d'un lot en un seul batch JDBC.
+     *
+     * @return nombre de runs créés
+     */
+    public long createQueuedRuns(Collection<Long> auditIds, long batchId, AuditRunLane lane, Instant now) {
+        long created = auditRunDao.insertQueuedRuns(
+            auditIds, batchId, lane.name(), batchSubmitterKey(batchId), now, priorityAt(lane, now)
+        );
+        logger.debug("Batch runs persisted: batchId={} count={}", batchId, created);
+        if (created > 0) {
+            queueSignal.signal();
+        }
+        return created;
+    }
+
+    /**
+     * Identifiant du dernier run créé, tous nœuds confondus (null si aucun) :
+     * s'il change, un autre nœud a mis des runs en file.
+     */
+    public Long latestRunId() {
+        return auditRunDao.findLatestRunId();
+    }
+
+    /**
+     * Nombre de runs d'un lot par statut.
+     */
+    public Map<String, Long> countByStatusForBatch(long batchId) {
+        return auditRunDao.countByStatusForBatch(batchId);
+    }
+
     public Optional<AuditRun> getRun(long runId) {
         return Optional.ofNullable(auditRunDao.findById(runId));
     }
@@ -65,11 +225,12 @@ public class AuditRunService {
      * Utilisé par un worker.
      */
     public Optional<String> claim(long runId) {
-        String token = UUID.randomUUID().toString().replace("-", "");
+        String token = newClaimToken();
 
         logger.debug("Attempting to claim runId={} with token={}", runId, token);
 
-        boolean claimed = auditRunDao.claimRun(runId, token, Instant.now());
+        Instant now = Instant.now();
+        boolean claimed = auditRunDao.claimRun(runId, token, now, now.plus(configurationService.auditRunLease()));
 
         if (claimed) {
             logger.info("Run successfully claimed: runId={}", runId);
@@ -80,17 +241,99 @@ public class AuditRunService {
         return Optional.empty();
     }
 
-    public void complete(long runId, String resultJson) {
-        logger.info("Marking run as COMPLETED: runId={}", runId);
-        auditRunDao.markCompleted(runId, Instant.now(), resultJson);
+    /**
+     * Remet en file un run claimé qui ne peut pas démarrer avant {@code nextAttemptAt} (hôte occupé).
+     * Le report ne compte pas comme une tentative.
+     */
+    public void defer(AuditRun run, Instant nextAttemptAt) {
+        if (auditRunDao.deferRun(run.getId(), run.getClaimToken(), nextAttemptAt)) {
+            logger.info("Run deferred runId={} nextAttemptAt={}", run.getId(), nextAttemptAt);
+        } else {
+            logger.warn("Run not deferred, claim lost runId={}", run.getId());
+        }
+    }
+
+    /**
+     * Marque COMPLETED un run claimé par ce worker.
+     *
+     * @return false si le claim a été perdu entre-temps (run repris par le reaper) : rien n'est écrit
+     */
+    public boolean complete(AuditRun run, String resultJson) {
+        logger.info("Marking run as COMPLETED: runId={}", run.getId());
+        if (auditRunDao.markCompleted(run.getId(), run.getClaimToken(), Instant.now(), resultJson)) {
+            return true;
+        }
+        logger.warn("Run not completed, claim lost runId={}", run.getId());
+        return false;
+    }
+
+    /**
+     * Remet en file un run en échec transitoire ({@link RetryPolicy}), avec un délai croissant à chaque tentative.
+     *
+     * @return true si une nouvelle tentative est planifiée, false si le run doit échouer
+     */
+    public boolean scheduleRetry(AuditRun run, Exception error) {
+        int attemptCount = run.getAttemptCount() != null ? run.getAttemptCount() : 1;
+        Optional<Instant> nextAttemptAt = retryPolicy.nextRunAttempt(attemptCount, error, Instant.now());
+        if (nextAttemptAt.isEmpty()) {
+            return false;
+        }
+        if (auditRunDao.retryRun(run.getId(), run.getClaimToken(), nextAttemptAt.get(), String.valueOf(error.getMessage()))) {
+            logger.warn(
+                "Run requeued after transient failure runId={} attempt={} nextAttemptAt={} error={}",
+                run.getId(), attemptCount, nextAttemptAt.get(), error.getMessage()
+            );
+        } else {
+            // Bail perdu entre-temps : le run appartient déjà au reaper, il ne faut pas le passer FAILED
+            logger.warn("Run not requeued, claim lost runId={}", run.getId());
+        }
+        return true;
     }
 
-    public void fail(long runId, String errorMessage) {
+    /**
+     * Marque FAILED un run claimé par ce worker.
+     *
+     * @return false si le claim a été perdu entre-temps (run repris par le reaper) : rien n'est écrit
+     */
+    public boolean fail(AuditRun run, String errorMessage) {
         logger.warn(
             "Marking run as FAILED: runId={}, error={}",
-            runId,
+            run.getId(),
             errorMessage
         );
-        auditRunDao.markFailed(runId, Instant.now(), errorMessage);
+        if (auditRunDao.markFailed(run.getId(), run.getClaimToken(), Instant.now(), errorMessage)) {
+            return true;
+        }
+        logger.warn("Run not failed, claim lost runId={}", run.getId());
+        return false;
+    }
+
+    /**
+     * Soumetteur d'un run interactif : l'IP du client si elle est connue.
+     */
+    public static String ipSubmitterKey(String ipHint) {
+        if (ipHint == null || ipHint.isBlank()) {
+            return ANONYMOUS_SUBMITTER;
+        }
+        String key = "ip:" + ipHint.trim();
+        return key.length() > 128 ? key.substring(0, 128) : key;
+    }
+
+    /**
+     * Soumetteur des runs d'un lot : le lot lui-même, qui partage les workers avec les autres soumetteurs.
+     */
+    private static String batchSubmitterKey(long batchId) {
+        return "batch:" + batchId;
+    }
+
+    /**
+     * Ordre de claim d'un run : sa date de création retardée du délai de vieillissement de sa file.
+     */
+    private Instant priorityAt(AuditRunLane lane, Instant createdAt) {
+        return createdAt.plus(configurationService.auditLaneAgingDelay(lane));
+    }
+
+    private static String newClaimToken() {
+        return UUID.randomUUID().toString().replace("-", "");
     }
 }
@@ -1,11 +1,15 @@
 package com.dokor.argos.services.domain.audit;
 
 import com.dokor.argos.db.dao.AuditDao;
+import com.dokor.argos.db.dao.AuditRunDao;
 import com.dokor.argos.db.generated.Audit;
 import com.dokor.argos.db.generated.AuditReport;
 import com.dokor.argos.db.generated.AuditRun;
 import com.dokor.argos.db.generated.Domain;
 import com.dokor.argos.services.analysis.AuditProcessorService;
+import com.dokor.argos.services.analysis.model.AuditModuleResult;
+import com.dokor.argos.services.analysis.scoring.ScoreAggregate;
+import com.dokor.argos.services.domain.audit.enums.AuditRunLane;
 import com.dokor.argos.services.domain.audit.errors.NotFoundException;
 import com.dokor.argos.services.domain.domain.DomainService;
 import com.dokor.argos.webservices.api.audits.data.AuditListItemResponse;
@@ -20,6 +24,8 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 @Singleton
 public class AuditService {
@@ -28,23 +34,29 @@ public class AuditService {
 
     private final AuditDao auditDao;
     private final AuditRunService auditRunService;
+    private final AuditRunModuleService auditRunModuleService;
     private final AuditProcessorService auditProcessorService;
     private final UrlNormalizer urlNormalizer;
     private final DomainService domainService;
+    private final AuditAdmissionController admissionController;
 
     @Inject
     public AuditService(
         AuditDao auditDao,
         AuditRunService auditRunService,
+        AuditRunModuleService auditRunModuleService,
         AuditProcessorService auditProcessorService,
         UrlNormalizer urlNormalizer,
-        DomainService domainService
+        DomainService domainService,
+        AuditAdmissionController admissionController
     ) {
         this.auditDao = auditDao;
         this.auditRunService = auditRunService;
+        this.auditRunModuleService = auditRunModuleService;
         this.auditProcessorService = auditProcessorService;
         this.urlNormalizer = urlNormalizer;
         this.domainService = domainService;
+        this.admissionController = admissionController;
     }
 
     /**
@@ -101,31 +113,36 @@ public class AuditService {
     }
 
     /**
-     * Méthode appelée par le scheduler.
-     * Elle :
-     * - tente de récupérer un run QUEUED
-     * - le claim
-     * - lance le traitement
+     * Claim de jusqu'à {@code max} runs QUEUED pour les workers ({@code AuditWorkerPool}).
+     * Les runs retournés sont RUNNING et doivent être traités via {@link #processRun(AuditRun)}.
+     *
+     * @param remainingByLane file → nombre maximum de runs de cette file à claim
      */
-    public boolean processNextQueuedRun() {
-        logger.debug("Scheduler tick: looking for queued audit run");
-
-        return auditRunService.claimNextQueuedRun()
-            .map(run -> {
-                logger.info("Processing queued runId={}", run.getId());
-                auditProcessorService.process(run.getId());
-                return true;
-            })
-            .orElse(false);
+    public List<AuditRun> claimQueuedRuns(int max, Map<AuditRunLane, Integer> remainingByLane) {
+        logger.debug("Worker looking for up to {} queued audit runs in lanes {}", max, remainingByLane);
+        return auditRunService.claimQueuedRuns(max, remainingByLane);
+    }
+
+    /**
+     * Traite un run claimé par {@link #claimQueuedRuns(int, Map)}.
+     */
+    public void processRun(AuditRun run) {
+        logger.info("Processing queued runId={}", run.getId());
+        auditProcessorService.process(run.getId());
     }
 
     /**
      * Point d’entrée métier typique quand un utilisateur soumet une URL :
      * - normalise l’URL
      * - récupère ou crée l’Audit (idempotent)
-     * - crée un AuditRun en QUEUED
+     * - si l’URL a été auditée avec succès dans la fenêtre de fraîcheur (et sans forceRefresh),
+     *   crée un run COMPLETED qui pointe vers ce résultat
+     * - sinon rattache la soumission au run QUEUED/RUNNING de l’audit s’il en existe un,
+     *   ou crée un AuditRun en QUEUED (single-flight : une URL n’est jamais auditée deux fois en parallèle)
+     *
+     * @param ipHint IP du client (optionnelle) : soumetteur du run pour le partage équitable des workers
      */
-    public CreateAuditResponse createAudit(CreateAuditRequest request) {
+    public CreateAuditResponse createAudit(CreateAuditRequest request, String ipHint) {
         String inputUrl = request.url();
         logger.info("AuditService.createAudit inputUrl={}", inputUrl);
 
@@ -136,26 +153,42 @@ public class AuditService {
         // Trouver ou créer le domaine (one per hostname)
         Domain domain = domainService.findOrCreate(hostname);
 
-        Audit audit = auditDao.findByNormalizedUrl(normalizedUrl)
-            .orElseGet(() -> {
-                logger.info("Creating new Audit for normalizedUrl={} domainId={}", normalizedUrl, domain.getId());
-                Audit a = new Audit();
-                a.setDomainId(domain.getId());
-                a.setInputUrl(inputUrl);
-                a.setNormalizedUrl(normalizedUrl);
-                a.setCreatedAt(now);
-                return auditDao.save(a);
-            });
+        Audit audit = auditDao.findOrCreate(inputUrl, normalizedUrl, domain.getId(), now);
+
+        // Résultat récent réutilisable : une lecture d'index au lieu d'un audit complet
+        if (!request.forceRefreshOrDefault()) {
+            Optional<AuditRun> reused = auditRunService.reuseFreshResult(audit.getId(), now);
+            if (reused.isPresent()) {
+                AuditRun run = reused.get();
+                logger.info("Run reused: auditId={}, runId={}, sourceRunId={}", audit.getId(), run.getId(), run.getSourceRunId());
+                return new CreateAuditResponse(
+                    run.getId(),
+                    run.getAuditId(),
+                    run.getStatus(),
+                    run.getCreatedAt(),
+                    false,
+                    run.getSourceRunId()
+                );
+            }
+        }
 
-        AuditRun run = auditRunService.createQueuedRun(audit.getId(), now);
+        // Contrôle d'admission, uniquement si un nouveau run QUEUED doit être créé : une soumission
+        // rattachée au run en cours n'ajoute aucun travail et n'est jamais refusée
+        AuditRunDao.QueuedRun queued = auditRunService.findInFlightOrCreateQueuedRun(
+            audit.getId(), AuditRunService.ipSubmitterKey(ipHint), now, admissionController::admit
+        );
+        AuditRun run = queued.run();
 
-        logger.info("Run created: auditId={}, runId={}, status={}", audit.getId(), run.getId(), run.getStatus());
+        logger.info("Run {}: auditId={}, runId={}, status={}",
+            queued.attached() ? "reused" : "created", audit.getId(), run.getId(), run.getStatus());
 
         return new CreateAuditResponse(
             run.getId(),
             run.getAuditId(),
             run.getStatus(),
-            run.getCreatedAt()
+            run.getCreatedAt(),
+            queued.attached(),
+            null
         );
     }
 
@@ -165,10 +198,25 @@ public class AuditService {
         AuditRun run = auditRunService.getRun(runId)
             .orElseThrow(() -> new NotFoundException("AuditRun not found: " + runId));
 
-        String reportToken = auditDao.findReportByRunId(runId)
+        // Run qui réutilise un résultat récent : rapport JSON et rapport public sont ceux du run source
+        AuditRun resultRun = run.getSourceRunId() == null
+            ? run
+            : auditRunService.getRun(run.getSourceRunId()).orElse(run);
+
+        String reportToken = auditDao.findReportByRunId(resultRun.getId())
             .map(r -> r.getPublicToken())
             .orElse(null);
 
+        // Run pas encore terminé : exposer les modules déjà disponibles et un score provisoire
+        List<AuditModuleResult> partialModules = null;
+        ScoreAggregate provisionalScore = null;
+        if (resultRun.getResultJson() == null) {
+            partialModules = auditRunModuleService.findModules(runId);
+            if (!partialModules.isEmpty()) {
+                provisionalScore = auditProcessorService.provisionalScore(partialModules).global();
+            }
+        }
+
         return new AuditRunStatusResponse(
             run.getId(),
             run.getAuditId(),
@@ -177,8 +225,11 @@ public class AuditService {
             run.getStartedAt(),
             run.getFinishedAt(),
             run.getLastError(),
-            run.getResultJson(),
-            reportToken
+            resultRun.getResultJson(),
+            reportToken,
+            partialModules,
+            provisionalScore,
+            run.getSourceRunId()
         );
     }
 }
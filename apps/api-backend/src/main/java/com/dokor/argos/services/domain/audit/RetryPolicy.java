@@ -0,0 +1,136 @@
+package com.dokor.argos.services.domain.audit;
+
+import com.dokor.argos.services.configuration.ConfigurationService;
+import com.dokor.argos.services.domain.audit.errors.TransientServiceException;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Nouvelles tentatives sur échec transitoire (DNS, connexion refusée ou coupée, timeout, service tiers en 429/503…).
+ * Les autres échecs sont définitifs.
+ * <p>
+ * Deux niveaux :
+ * <ul>
+ *   <li>module : l'appel au service tiers est rejoué dans le budget du module ({@link #callModule}),
+ *       sans rejouer les autres modules du run ;</li>
+ *   <li>run : un run en échec transitoire repasse QUEUED jusqu'à {@code audit.retry.max-attempts} tentatives
+ *       ({@link #nextRunAttempt}) ; les modules déjà terminés avec succès sont réutilisés par la tentative suivante.</li>
+ * </ul>
+ * Le délai double à chaque tentative, plafonné, avec une gigue (entre la moitié et la totalité du délai)
+ * pour que des runs échoués ensemble ne reviennent pas tous en même temps.
+ */
+@Singleton
+public class RetryPolicy {
+
+    private static final Logger logger = LoggerFactory.getLogger(RetryPolicy.class);
+
+    private static final Set<Integer> TRANSIENT_STATUS_CODES = Set.of(408, 425, 429, 500, 502, 503, 504);
+
+    private final ConfigurationService configurationService;
+
+    @Inject
+    public RetryPolicy(ConfigurationService configurationService) {
+        this.configurationService = configurationService;
+    }
+
+    /**
+     * Code HTTP d'un service tiers qui justifie une nouvelle tentative.
+     */
+    public static boolean isTransientStatus(int statusCode) {
+        return TRANSIENT_STATUS_CODES.contains(statusCode);
+    }
+
+    /**
+     * Classe un échec : transitoire si l'erreur ou l'une de ses causes est une erreur réseau
+     * ou une {@link TransientServiceException}.
+     */
+    public boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof TransientServiceException
+                || cause instanceof HttpTimeoutException
+                || cause instanceof SocketTimeoutException
+                || cause instanceof SocketException
+                || cause instanceof UnknownHostException
+                // Connexion fermée par le serveur (java.net.http lève une IOException nue)
+                || cause.getClass() == IOException.class) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Appelle un service tiers pour un module, en rejouant les échecs transitoires
+     * ({@code audit.retry.module.*}) tant que la deadline du module le permet.
+     *
+     * @param moduleId module appelant (logs)
+     * @param deadline deadline du module (null si aucune)
+     * @param call     appel au service tiers, qui recalcule son timeout à chaque tentative
+     * @throws Exception dernière erreur si l'appel échoue définitivement
+     */
+    public <T> T callModule(String moduleId, Instant deadline, Callable<T> call) throws Exception {
+        int maxAttempts = configurationService.auditRetryModuleMaxAttempts();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.call();
+            } catch (Exception e) {
+                if (attempt >= maxAttempts || !isTransient(e)) {
+                    throw e;
+                }
+                Duration delay = backoff(
+                    attempt,
+                    configurationService.auditRetryModuleBaseDelay(),
+                    configurationService.auditRetryModuleMaxDelay()
+                );
+                if (deadline != null && Instant.now().plus(delay).isAfter(deadline)) {
+                    throw e;
+                }
+                logger.info("Transient failure module={} attempt={} retryIn={} error={}", moduleId, attempt, delay, e.toString());
+                Thread.sleep(delay.toMillis());
+            }
+        }
+    }
+
+    /**
+     * Date de la prochaine tentative d'un run en échec.
+     *
+     * @param attemptCount tentatives déjà faites (claims du run, dont celle qui vient d'échouer)
+     * @param error        erreur du run
+     * @param now          instant courant
+     * @return date de la prochaine tentative, ou vide si l'échec est définitif ou les tentatives épuisées
+     */
+    public Optional<Instant> nextRunAttempt(int attemptCount, Throwable error, Instant now) {
+        if (attemptCount >= configurationService.auditRetryMaxAttempts() || !isTransient(error)) {
+            return Optional.empty();
+        }
+        return Optional.of(now.plus(backoff(
+            attemptCount,
+            configurationService.auditRetryBaseDelay(),
+            configurationService.auditRetryMaxDelay()
+        )));
+    }
+
+    /**
+     * Délai avant la tentative suivant la tentative {@code attempt} : {@code base * 2^(attempt-1)} plafonné à {@code max},
+     * puis tiré entre la moitié et la totalité de cette valeur.
+     */
+    static Duration backoff(int attempt, Duration base, Duration max) {
+        long cappedMillis = Math.min(max.toMillis(), base.toMillis() * (1L << Math.min(attempt - 1, 20)));
+        long halfMillis = cappedMillis / 2;
+        return Duration.ofMillis(halfMillis + ThreadLocalRandom.current().nextLong(cappedMillis - halfMillis + 1));
+    }
+}
@@ -0,0 +1,157 @@
+package com.dokor.argos.services.domain.audit;
+
+import com.dokor.argos.db.dao.AuditRunDao;
+import com.dokor.argos.services.configuration.ConfigurationService;
+import com.dokor.argos.services.domain.audit.enums.AuditRunLane;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Partage équitable des workers entre soumetteurs ({@code submitter_key} : IP du client ou lot).
+ * <p>
+ * Ordonnancement à temps virtuel, variante pondérée du round-robin à déficit : chaque soumetteur a un temps virtuel
+ * qui avance d'un quantum ({@code audit.fair-share.quantum}) à chaque run qui lui est attribué, et le run suivant
+ * revient au soumetteur dont {@code max(priority_at de sa tête de file, temps virtuel)} est le plus petit.
+ * Un soumetteur qui dépose des milliers de runs ne reçoit donc qu'un run par quantum tant que d'autres attendent,
+ * et l'attente de chacun reste bornée ; les priorités de file ({@code priority_at}) sont conservées.
+ * <p>
+ * Les têtes de file sont lues par une requête GROUP BY et gardées en mémoire ({@code audit.fair-share.index-refresh}),
+ * décrémentées à chaque attribution. L'état est propre à chaque nœud : l'équité entre nœuds est approximative.
+ */
+@Singleton
+public class SubmitterFairShare {
+
+    private static final Logger logger = LoggerFactory.getLogger(SubmitterFairShare.class);
+
+    private final AuditRunDao auditRunDao;
+    private final ConfigurationService configurationService;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    /** Temps virtuel de chaque soumetteur servi récemment. */
+    private final Map<String, Instant> virtualTimes = new HashMap<>();
+    private List<QueueHead> heads = List.of();
+    private Instant refreshedAt;
+
+    @Inject
+    public SubmitterFairShare(AuditRunDao auditRunDao, ConfigurationService configurationService) {
+        this.auditRunDao = auditRunDao;
+        this.configurationService = configurationService;
+    }
+
+    /**
+     * Répartit {@code slots} runs entre soumetteurs.
+     *
+     * @param slots           nombre de runs à claim
+     * @param remainingByLane file → nombre maximum de runs de cette file à claim
+     * @return soumetteur → nombre de runs à claim pour lui (vide si aucun run QUEUED dans les files ouvertes)
+     */
+    public Map<String, Integer> quotas(int slots, Map<AuditRunLane, Integer> remainingByLane) {
+        lock.lock();
+        try {
+            Instant now = Instant.now();
+            boolean fresh = refreshedAt == null
+                || refreshedAt.plus(configurationService.auditFairShareIndexRefresh()).isBefore(now);
+            if (fresh) {
+                refresh(now);
+            }
+            Map<String, Integer> quotas = allocate(slots, remainingByLane);
+            if (quotas.isEmpty() && !fresh) {
+                // Index peut-être en retard sur des runs soumis depuis la dernière lecture
+                refresh(now);
+                quotas = allocate(slots, remainingByLane);
+            }
+            return quotas;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Force la relecture des têtes de file au prochain claim (runs claimés par un autre nœud entre-temps).
+     */
+    public void invalidate() {
+        lock.lock();
+        try {
+            refreshedAt = null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Map<String, Integer> allocate(int slots, Map<AuditRunLane, Integer> remainingByLane) {
+        Duration quantum = configurationService.auditFairShareQuantum();
+        Map<String, Integer> remainingLanes = new HashMap<>();
+        remainingByLane.forEach((lane, remaining) -> remainingLanes.put(lane.name(), remaining));
+
+        Map<String, Integer> quotas = new LinkedHashMap<>();
+        for (int slot = 0; slot < slots; slot++) {
+            QueueHead best = null;
+            Instant bestStart = null;
+            for (QueueHead head : heads) {
+                if (head.queued <= 0 || remainingLanes.getOrDefault(head.lane, 0) <= 0) {
+                    continue;
+                }
+                Instant virtualTime = virtualTimes.get(head.submitterKey);
+                Instant start = virtualTime != null && virtualTime.isAfter(head.priorityAt) ? virtualTime : head.priorityAt;
+                if (bestStart == null || start.isBefore(bestStart)) {
+                    best = head;
+                    bestStart = start;
+                }
+            }
+            if (best == null) {
+                break;
+            }
+            quotas.merge(best.submitterKey, 1, Integer::sum);
+            remainingLanes.merge(best.lane, -1, Integer::sum);
+            best.queued--;
+            virtualTimes.put(best.submitterKey, bestStart.plus(quantum));
+        }
+        return quotas;
+    }
+
+    private void refresh(Instant now) {
+        List<QueueHead> refreshed = new ArrayList<>();
+        for (AuditRunDao.QueuedHead head : auditRunDao.findQueuedHeads(now)) {
+            refreshed.add(new QueueHead(head.submitterKey(), head.lane(), head.priorityAt(), head.queued()));
+        }
+        heads = refreshed;
+        refreshedAt = now;
+
+        // Un soumetteur sans run en attente dont le temps virtuel est passé n'a plus de retard à rattraper
+        Set<String> waitingSubmitters = new HashSet<>();
+        refreshed.forEach(head -> waitingSubmitters.add(head.submitterKey));
+        virtualTimes.entrySet().removeIf(entry -> entry.getValue().isBefore(now)
+            && !waitingSubmitters.contains(entry.getKey()));
+        logger.debug("Submitter queue heads refreshed: {} heads", refreshed.size());
+    }
+
+    /**
+     * Tête de file d'un soumetteur dans une file de priorité, décrémentée à chaque attribution.
+     */
+    private static final class QueueHead {
+        private final String submitterKey;
+        private final String lane;
+        private final Instant priorityAt;
+        private long queued;
+
+        private QueueHead(String submitterKey, String lane, Instant priorityAt, long queued) {
+            this.submitterKey = submitterKey;
+            this.lane = lane;
+            this.priorityAt = priorityAt;
+            this.queued = queued;
+        }
+    }
+}
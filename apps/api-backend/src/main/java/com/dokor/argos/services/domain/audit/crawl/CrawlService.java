@@ -0,0 +1,318 @@
+package com.dokor.argos.services.domain.audit.crawl;
+
+import com.dokor.argos.db.dao.AuditBatchDao;
+import com.dokor.argos.db.dao.AuditDao;
+import com.dokor.argos.db.generated.Audit;
+import com.dokor.argos.db.generated.AuditBatch;
+import com.dokor.argos.db.generated.AuditRun;
+import com.dokor.argos.db.generated.Domain;
+import com.dokor.argos.services.analysis.model.AuditContext;
+import com.dokor.argos.services.analysis.model.enums.AuditStatus;
+import com.dokor.argos.services.configuration.ConfigurationService;
+import com.dokor.argos.services.domain.audit.AuditAdmissionController;
+import com.dokor.argos.services.domain.audit.AuditBatchService;
+import com.dokor.argos.services.domain.audit.AuditRunService;
+import com.dokor.argos.services.domain.audit.UrlNormalizer;
+import com.dokor.argos.services.domain.audit.enums.AuditRunLane;
+import com.dokor.argos.services.domain.audit.enums.AuditRunStatus;
+import com.dokor.argos.services.domain.audit.errors.NotFoundException;
+import com.dokor.argos.services.domain.domain.DomainService;
+import com.dokor.argos.webservices.api.audits.data.CrawlRollupResponse;
+import com.dokor.argos.webservices.api.audits.data.CreateCrawlRequest;
+import com.dokor.argos.webservices.api.audits.data.CreateCrawlResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.querydsl.core.Tuple;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mode crawl : audit d'un site à partir d'une page de départ.
+ * <p>
+ * Un crawl est un lot ({@code ARG_AUDIT_BATCH}) avec une URL racine et un budget de pages :
+ * <ul>
+ *   <li>la page de départ est mise en file comme un run classique ;</li>
+ *   <li>dès que le module http d'une page du crawl a récupéré son HTML, les liens de même hostname
+ *       sont extraits, normalisés et ajoutés à la frontière (ensemble des URLs normalisées déjà retenues) ;
+ *       le hostname du crawl est celui de la page de départ après redirections (ex: apex → www) ;</li>
+ *   <li>les nouvelles pages sont mises en file dans la limite du budget, réservé atomiquement en base ;</li>
+ *   <li>les workers ne traitent jamais plus de {@code max_running} pages d'un même crawl à la fois.</li>
+ * </ul>
+ * Les modules de portée DOMAIN (tech, ssl, observatory) ne tournent qu'une fois pour tout le crawl
+ * grâce au cache de domaine ; seuls les modules de portée PAGE sont exécutés pour chaque page.
+ */
+@Singleton
+public class CrawlService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CrawlService.class);
+
+    /** Nombre de frontières conservées en mémoire (les plus récemment utilisées). */
+    private static final int MAX_TRACKED_CRAWLS = 64;
+    private static final int MAX_FAILING_CHECKS = 20;
+
+    private final AuditBatchDao auditBatchDao;
+    private final AuditDao auditDao;
+    private final AuditBatchService auditBatchService;
+    private final AuditRunService auditRunService;
+    private final DomainService domainService;
+    private final UrlNormalizer urlNormalizer;
+    private final ConfigurationService configurationService;
+    private final AuditAdmissionController admissionController;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Frontière de chaque crawl suivi par ce nœud : URLs normalisées déjà mises en file.
+     * Initialisée depuis la base au premier usage ; la clé unique (batch_id, audit_id) reste la garantie
+     * de non-duplication entre nœuds.
+     */
+    private final Map<Long, Set<String>> frontiers = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Set<String>> eldest) {
+                return size() > MAX_TRACKED_CRAWLS;
+            }
+        }
+    );
+
+    @Inject
+    public CrawlService(
+        AuditBatchDao auditBatchDao,
+        AuditDao auditDao,
+        AuditBatchService auditBatchService,
+        AuditRunService auditRunService,
+        DomainService domainService,
+        UrlNormalizer urlNormalizer,
+        ConfigurationService configurationService,
+        AuditAdmissionController admissionController,
+        ObjectMapper objectMapper
+    ) {
+        this.auditBatchDao = auditBatchDao;
+        this.auditDao = auditDao;
+        this.auditBatchService = auditBatchService;
+        this.auditRunService = auditRunService;
+        this.domainService = domainService;
+        this.urlNormalizer = urlNormalizer;
+        this.configurationService = configurationService;
+        this.admissionController = admissionController;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Démarre un crawl : crée le lot et met en file la page de départ.
+     * <p>
+     * Le crawl passe le contrôle d'admission des soumissions en masse pour tout son budget de pages,
+     * avant toute insertion.
+     *
+     * @param ipHint IP du client (optionnelle) : soumetteur du crawl pour le quota par client
+     * @throws IllegalArgumentException si l'URL est invalide ou le budget demandé trop grand
+     * @throws com.dokor.argos.services.domain.audit.errors.QueueFullException si le backlog des lots est saturé
+     * @throws com.dokor.argos.services.domain.audit.errors.ClientQuotaExceededException si le client a épuisé
+     *                                  son quota d'URLs
+     */
+    public CreateCrawlResponse createCrawl(CreateCrawlRequest request, String ipHint) {
+        int maxPages = request.maxPages() != null ? request.maxPages() : configurationService.auditCrawlDefaultPages();
+        int maxPagesLimit = configurationService.auditCrawlMaxPages();
+        if (maxPages < 1 || maxPages > maxPagesLimit) {
+            throw new IllegalArgumentException("maxPages must be between 1 and " + maxPagesLimit);
+        }
+
+        String inputUrl = request.url();
+        String normalizedUrl = urlNormalizer.normalize(inputUrl);
+        String hostname = urlNormalizer.extractHostname(normalizedUrl);
+        String submitterKey = AuditRunService.ipSubmitterKey(ipHint);
+        admissionController.admitBulk(submitterKey, maxPages);
+        Instant now = Instant.now();
+
+        Domain domain = domainService.findOrCreate(hostname);
+        Audit audit = auditDao.findOrCreate(inputUrl, normalizedUrl, domain.getId(), now);
+
+        AuditBatch crawl = new AuditBatch();
+        crawl.setUrlCount(1);
+        crawl.setRunCount(1);
+        crawl.setRootUrl(normalizedUrl);
+        crawl.setMaxPages(maxPages);
+        crawl.setMaxRunning(configurationService.auditCrawlMaxRunning());
+        crawl.setSubmitterKey(submitterKey);
+        crawl.setCreatedAt(now);
+        crawl = auditBatchDao.save(crawl);
+
+        AuditRun root = auditRunService.createQueuedRun(audit.getId(), crawl.getId(), AuditRunLane.BULK, now);
+        frontiers.put(crawl.getId(), newFrontier(List.of(normalizedUrl)));
+
+        logger.info("Crawl created batchId={} domainId={} maxPages={} rootRunId={}",
+            crawl.getId(), domain.getId(), maxPages, root.getId());
+
+        return new CreateCrawlResponse(crawl.getId(), root.getId(), maxPages, now);
+    }
+
+    /**
+     * Étend la frontière d'un crawl avec les liens de la page qui vient d'être récupérée.
+     * <p>
+     * Appelé par l'orchestrateur dès que le contexte contient le HTML de la page ; sans effet
+     * si le lot n'est pas un crawl ou si son budget de pages est épuisé.
+     *
+     * @param batchId lot du run en cours
+     * @param context contexte enrichi par le module http (finalUrl, body)
+     */
+    public void onPageFetched(long batchId, AuditContext context) {
+        AuditBatch crawl = auditBatchDao.findById(batchId);
+        if (crawl == null || crawl.getMaxPages() == null) {
+            return;
+        }
+        if (crawl.getRunCount() >= crawl.getMaxPages()) {
+            frontiers.remove(batchId);
+            return;
+        }
+
+        String hostname = crawl.getCrawlHost() != null ? crawl.getCrawlHost() : recordCrawlHost(batchId, context);
+        Set<String> frontier = frontiers.computeIfAbsent(
+            batchId, id -> newFrontier(auditDao.findNormalizedUrlsByBatch(id))
+        );
+
+        // URL normalisée → URL telle que trouvée dans la page, dans l'ordre du document
+        Map<String, String> candidates = new LinkedHashMap<>();
+        for (String link : LinkExtractor.extractSameHostLinks(context.body(), context.finalUrl())) {
+            String normalizedUrl;
+            try {
+                normalizedUrl = urlNormalizer.normalize(link);
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            if (hostname.equals(urlNormalizer.extractHostname(normalizedUrl)) && frontier.add(normalizedUrl)) {
+                candidates.put(normalizedUrl, link);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        int granted = auditBatchDao.reserveRuns(batchId, candidates.size());
+        if (granted < candidates.size()) {
+            // Budget épuisé : les pages suivantes ne seront jamais mises en file, la frontière n'est plus utile
+            frontiers.remove(batchId);
+        }
+        if (granted == 0) {
+            return;
+        }
+
+        Map<String, String> pages = new LinkedHashMap<>();
+        for (Map.Entry<String, String> candidate : candidates.entrySet()) {
+            if (pages.size() == granted) {
+                break;
+            }
+            pages.put(candidate.getKey(), candidate.getValue());
+        }
+        long created = auditBatchService.addPages(batchId, pages, hostname);
+        // Pages déjà présentes dans le crawl (découvertes par un autre nœud) : la réservation est rendue
+        auditBatchDao.releaseRuns(batchId, granted - (int) created);
+
+        logger.info("Crawl frontier extended batchId={} discovered={} enqueued={}", batchId, candidates.size(), created);
+    }
+
+    /**
+     * Synthèse d'un crawl à l'échelle du site : avancement, score moyen, score moyen par module,
+     * checks en échec sur le plus de pages, et score de chaque page.
+     *
+     * @throws NotFoundException si le crawl n'existe pas
+     */
+    public CrawlRollupResponse getRollup(long batchId) {
+        AuditBatch crawl = auditBatchDao.findById(batchId);
+        if (crawl == null || crawl.getMaxPages() == null) {
+            throw new NotFoundException("Crawl not found: " + batchId);
+        }
+
+        List<CrawlRollupResponse.Page> pages = new ArrayList<>();
+        List<Double> pageScores = new ArrayList<>();
+        Map<String, List<Double>> moduleScores = new LinkedHashMap<>();
+        Map<String, Integer> failingPages = new LinkedHashMap<>();
+        Map<String, String> checkTitles = new LinkedHashMap<>();
+
+        for (Tuple row : auditDao.findBatchPages(batchId)) {
+            AuditRun run = row.get(0, AuditRun.class);
+            String normalizedUrl = row.get(1, String.class);
+            Double score = null;
+
+            if (AuditRunStatus.COMPLETED.name().equals(run.getStatus()) && run.getResultJson() != null) {
+                try {
+                    JsonNode report = objectMapper.readTree(run.getResultJson());
+                    score = report.path("score").path("global").path("ratio").asDouble();
+                    pageScores.add(score);
+                    for (JsonNode module : report.path("score").path("byModule")) {
+                        moduleScores.computeIfAbsent(module.path("id").asText(), id -> new ArrayList<>())
+                            .add(module.path("ratio").asDouble());
+                    }
+                    for (JsonNode module : report.path("modules")) {
+                        for (JsonNode check : module.path("checks")) {
+                            if (AuditStatus.FAIL.name().equals(check.path("status").asText())) {
+                                String key = check.path("key").asText();
+                                failingPages.merge(key, 1, Integer::sum);
+                                checkTitles.putIfAbsent(key, check.path("title").asText(key));
+                            }
+                        }
+                    }
+                } catch (Exception e) {
+                    logger.warn("Failed to read crawl page report batchId={} runId={}", batchId, run.getId(), e);
+                }
+            }
+            pages.add(new CrawlRollupResponse.Page(run.getId(), normalizedUrl, run.getStatus(), score));
+        }
+
+        return new CrawlRollupResponse(
+            batchId,
+            crawl.getRootUrl(),
+            crawl.getMaxPages(),
+            auditBatchService.getBatchStatus(batchId),
+            pageScores.isEmpty() ? null : average(pageScores),
+            moduleScores.entrySet().stream()
+                .map(entry -> new CrawlRollupResponse.ModuleScore(entry.getKey(), average(entry.getValue())))
+                .toList(),
+            failingPages.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()))
+                .limit(MAX_FAILING_CHECKS)
+                .map(entry -> new CrawlRollupResponse.FailingCheck(entry.getKey(), checkTitles.get(entry.getKey()), entry.getValue()))
+                .toList(),
+            pages
+        );
+    }
+
+    // -------------------------
+    // Helpers privés
+    // -------------------------
+
+    /**
+     * Hôte du crawl fixé par la première page récupérée, la page de départ : celui de son URL finale, pour
+     * qu'une redirection de l'hôte racine (apex → www, autre domaine) ne rejette pas tous ses liens.
+     */
+    private String recordCrawlHost(long batchId, AuditContext context) {
+        String hostname;
+        try {
+            hostname = urlNormalizer.extractHostname(urlNormalizer.normalize(context.finalUrl()));
+        } catch (RuntimeException e) {
+            hostname = urlNormalizer.extractHostname(context.normalizedUrl());
+        }
+        logger.info("Crawl host recorded batchId={} hostname={}", batchId, hostname);
+        return auditBatchDao.recordCrawlHost(batchId, hostname);
+    }
+
+    private static Set<String> newFrontier(List<String> normalizedUrls) {
+        Set<String> frontier = ConcurrentHashMap.newKeySet();
+        frontier.addAll(normalizedUrls);
+        return frontier;
+    }
+
+    private static double average(List<Double> values) {
+        return values.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+    }
+}
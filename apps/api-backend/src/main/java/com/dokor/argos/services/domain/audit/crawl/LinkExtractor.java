@@ -0,0 +1,107 @@
+package com.dokor.argos.services.domain.audit.crawl;
+
+import java.net.URI;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extraction des liens {@code <a href>} d'une page HTML déjà récupérée par le module http.
+ * <p>
+ * Même approche que {@code HtmlModuleAnalyzer} (expressions régulières, pas de parseur DOM) :
+ * suffisant pour alimenter la frontière d'un crawl, un lien manqué n'est qu'une page non auditée.
+ * Seuls les liens http(s) vers le même hostname sont retenus, sans fragment, dans l'ordre du document.
+ */
+public final class LinkExtractor {
+
+    private static final Pattern ANCHOR_HREF_PATTERN =
+        Pattern.compile("(?is)<a\\b[^>]*?\\bhref\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)'|([^\\s>]+))");
+    private static final Pattern BASE_HREF_PATTERN =
+        Pattern.compile("(?is)<base\\b[^>]*?\\bhref\\s*=\\s*(?:\"([^\"]*)\"|'([^']*)'|([^\\s>]+))");
+
+    private LinkExtractor() {
+    }
+
+    /**
+     * Liens absolus de même hostname que la page.
+     *
+     * @param html    corps HTML de la page (peut être null)
+     * @param pageUrl URL finale de la page (après redirections), base de résolution des liens relatifs
+     * @return URLs absolues distinctes, dans l'ordre du document (vide si la page n'est pas exploitable)
+     */
+    public static Set<String> extractSameHostLinks(String html, String pageUrl) {
+        Set<String> links = new LinkedHashSet<>();
+        if (html == null || html.isBlank() || pageUrl == null) {
+            return links;
+        }
+
+        URI base;
+        try {
+            base = URI.create(pageUrl);
+        } catch (IllegalArgumentException e) {
+            return links;
+        }
+        String host = base.getHost();
+        if (host == null) {
+            return links;
+        }
+
+        Matcher baseMatcher = BASE_HREF_PATTERN.matcher(html);
+        if (baseMatcher.find()) {
+            URI declaredBase = resolve(base, href(baseMatcher));
+            if (declaredBase != null) {
+                base = declaredBase;
+            }
+        }
+
+        Matcher matcher = ANCHOR_HREF_PATTERN.matcher(html);
+        while (matcher.find()) {
+            URI link = resolve(base, href(matcher));
+            if (link == null || link.getHost() == null || !link.getHost().equalsIgnoreCase(host)) {
+                continue;
+            }
+            String scheme = link.getScheme() == null ? "" : link.getScheme().toLowerCase(Locale.ROOT);
+            if (!scheme.equals("http") && !scheme.equals("https")) {
+                continue;
+            }
+            links.add(withoutFragment(link));
+        }
+        return links;
+    }
+
+    private static String href(Matcher matcher) {
+        for (int group = 1; group <= 3; group++) {
+            if (matcher.group(group) != null) {
+                return decodeEntities(matcher.group(group).trim());
+            }
+        }
+        return "";
+    }
+
+    private static URI resolve(URI base, String href) {
+        if (href.isEmpty() || href.startsWith("#")) {
+            return null;
+        }
+        String lower = href.toLowerCase(Locale.ROOT);
+        if (lower.startsWith("javascript:") || lower.startsWith("mailto:") || lower.startsWith("tel:")) {
+            return null;
+        }
+        try {
+            return base.resolve(href.replace(" ", "%20"));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String withoutFragment(URI uri) {
+        String value = uri.toString();
+        int fragment = value.indexOf('#');
+        return fragment < 0 ? value : value.substring(0, fragment);
+    }
+
+    private static String decodeEntities(String value) {
+        return value.replace("&amp;", "&").replace("&#38;", "&");
+    }
+}
@@ -0,0 +1,18 @@
+package com.dokor.argos.services.domain.audit.enums;
+
+/**
+ * File de priorité d'un run QUEUED.
+ * <p>
+ * Chaque file a des workers réservés ({@code audit.lanes.<lane>.reserved-workers}) que les autres files
+ * ne peuvent pas occuper, et un délai de vieillissement ({@code audit.lanes.<lane>.aging-delay}) :
+ * un run est claimé dans l'ordre de {@code priority_at = created_at + délai}, si bien qu'un run BULK
+ * qui attend depuis plus que son délai passe devant un run INTERACTIVE plus récent (pas de famine).
+ */
+public enum AuditRunLane {
+    /** Audit soumis depuis l'interface : latence faible. */
+    INTERACTIVE,
+    /** Lots et pages de crawl : débit. */
+    BULK,
+    /** Réaudits planifiés soumis en lot : aucune urgence. */
+    SCHEDULED
+}
@@ -0,0 +1,21 @@
+package com.dokor.argos.services.domain.audit.errors;
+
+import java.time.Duration;
+
+/**
+ * Lot ou crawl refusé : le client a déjà soumis son quota d'URLs sur la fenêtre
+ * (voir {@link com.dokor.argos.services.domain.audit.AuditAdmissionController#admitBulk}).
+ */
+public class ClientQuotaExceededException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public ClientQuotaExceededException(int quota, Duration window, Duration retryAfter) {
+        super("Client quota of " + quota + " URLs per " + window + " exceeded, retry in " + retryAfter.toSeconds() + "s");
+        this.retryAfter = retryAfter;
+    }
+
+    /** Délai après lequel assez de soumissions sont sorties de la fenêtre pour accepter celle-ci. */
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,28 @@
+package com.dokor.argos.services.domain.audit.errors;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Soumission refusée : la file d'audits est saturée (voir {@link com.dokor.argos.services.domain.audit.AuditAdmissionController}).
+ */
+public class QueueFullException extends RuntimeException {
+    private final Duration retryAfter;
+    private final Instant estimatedStartAt;
+
+    public QueueFullException(Duration retryAfter, Instant estimatedStartAt) {
+        super("Audit queue is full, retry in " + retryAfter.toSeconds() + "s");
+        this.retryAfter = retryAfter;
+        this.estimatedStartAt = estimatedStartAt;
+    }
+
+    /** Délai après lequel l'attente projetée repasse sous le seuil d'admission. */
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+
+    /** Démarrage estimé d'un run qui serait mis en file maintenant. */
+    public Instant estimatedStartAt() {
+        return estimatedStartAt;
+    }
+}
@@ -0,0 +1,11 @@
+package com.dokor.argos.services.domain.audit.errors;
+
+/**
+ * Échec d'un service tiers qui peut réussir en réessayant (HTTP 429, 503…).
+ * Voir {@link com.dokor.argos.services.domain.audit.RetryPolicy}.
+ */
+public class TransientServiceException extends RuntimeException {
+    public TransientServiceException(String message) {
+        super(message);
+    }
+}
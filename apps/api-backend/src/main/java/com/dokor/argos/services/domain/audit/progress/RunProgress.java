@@ -0,0 +1,56 @@
+package com.dokor.argos.services.domain.audit.progress;
+
+import com.dokor.argos.services.domain.audit.enums.AuditRunStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * État courant (immuable) d'un run en cours d'exécution sur ce nœud.
+ * <p>
+ * Chaque évènement produit une nouvelle instance : l'état peut ainsi être partagé
+ * entre threads sans verrou.
+ *
+ * @param runId           identifiant du run
+ * @param status          statut du run ({@link AuditRunStatus})
+ * @param plannedModules  modules prévus par le plan d'exécution
+ * @param runningModules  modules en cours d'exécution
+ * @param finishedModules modules terminés, dans l'ordre de fin
+ * @param updatedAt       date du dernier évènement
+ */
+public record RunProgress(
+    long runId,
+    AuditRunStatus status,
+    List<String> plannedModules,
+    Set<String> runningModules,
+    List<String> finishedModules,
+    Instant updatedAt
+) {
+
+    public static RunProgress started(long runId, List<String> plannedModules) {
+        return new RunProgress(runId, AuditRunStatus.RUNNING, List.copyOf(plannedModules), Set.of(), List.of(), Instant.now());
+    }
+
+    public RunProgress withModuleStarted(String moduleId) {
+        Set<String> running = new LinkedHashSet<>(runningModules);
+        running.add(moduleId);
+        return new RunProgress(runId, status, plannedModules, Set.copyOf(running), finishedModules, Instant.now());
+    }
+
+    public RunProgress withModuleFinished(String moduleId) {
+        Set<String> running = new LinkedHashSet<>(runningModules);
+        running.remove(moduleId);
+        List<String> finished = new ArrayList<>(finishedModules);
+        if (!finished.contains(moduleId)) {
+            finished.add(moduleId);
+        }
+        return new RunProgress(runId, status, plannedModules, Set.copyOf(running), List.copyOf(finished), Instant.now());
+    }
+
+    public RunProgress withStatus(AuditRunStatus newStatus) {
+        return new RunProgress(runId, newStatus, plannedModules, Set.of(), finishedModules, Instant.now());
+    }
+}
@@ -0,0 +1,31 @@
+package com.dokor.argos.services.domain.audit.progress;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+
+import java.time.Instant;
+
+/**
+ * Évènement de progression d'un run, diffusé aux abonnés (flux SSE).
+ *
+ * @param runId            identifiant du run
+ * @param type             type d'évènement
+ * @param moduleId         module concerné (null pour les évènements de run)
+ * @param durationMs       durée du module (MODULE_FINISHED uniquement)
+ * @param error            message d'erreur (RUN_FAILED uniquement)
+ * @param finishedModules  nombre de modules terminés après cet évènement
+ * @param totalModules     nombre de modules prévus pour le run
+ * @param at               date de l'évènement
+ */
+public record RunProgressEvent(
+    @JsonSerialize(using = ToStringSerializer.class)
+    long runId,
+    RunProgressEventType type,
+    String moduleId,
+    Long durationMs,
+    String error,
+    int finishedModules,
+    int totalModules,
+    Instant at
+) {
+}
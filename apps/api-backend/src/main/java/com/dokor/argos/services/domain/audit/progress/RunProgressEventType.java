@@ -0,0 +1,19 @@
+package com.dokor.argos.services.domain.audit.progress;
+
+/**
+ * Type d'évènement de progression d'un run.
+ */
+public enum RunProgressEventType {
+    RUN_STARTED,
+    MODULE_STARTED,
+    MODULE_FINISHED,
+    /** Échec transitoire : le run est remis en file, une nouvelle tentative suivra (sur ce nœud ou un autre). */
+    RUN_RETRY_SCHEDULED,
+    RUN_COMPLETED,
+    RUN_FAILED;
+
+    /** Un évènement terminal clôt le suivi du run (plus aucun évènement ne suivra). */
+    public boolean isTerminal() {
+        return this == RUN_COMPLETED || this == RUN_FAILED;
+    }
+}
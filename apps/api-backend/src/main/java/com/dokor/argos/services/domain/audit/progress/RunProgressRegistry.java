@@ -0,0 +1,145 @@
+package com.dokor.argos.services.domain.audit.progress;
+
+import com.dokor.argos.services.domain.audit.enums.AuditRunStatus;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+/**
+ * Registre en mémoire de la progression des runs exécutés par ce nœud.
+ * <p>
+ * Alimenté par l'orchestrateur (début/fin de run et de chaque module), il permet de diffuser
+ * la progression aux clients (flux SSE) sans relire ARG_AUDIT_RUN à chaque mise à jour.
+ * <p>
+ * Sans verrou : l'état de chaque run est une valeur immuable ({@link RunProgress}) remplacée par CAS,
+ * et les abonnés sont stockés dans des ensembles concurrents. Un run est retiré du registre
+ * dès son évènement terminal ; son état final reste disponible en base.
+ */
+@Singleton
+public class RunProgressRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(RunProgressRegistry.class);
+
+    private final ConcurrentMap<Long, AtomicReference<RunProgress>> runs = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Set<Consumer<RunProgressEvent>>> listeners = new ConcurrentHashMap<>();
+
+    public void runStarted(long runId, List<String> plannedModules) {
+        RunProgress progress = RunProgress.started(runId, plannedModules);
+        runs.put(runId, new AtomicReference<>(progress));
+        publish(progress, RunProgressEventType.RUN_STARTED, null, null, null);
+    }
+
+    public void moduleStarted(long runId, String moduleId) {
+        update(runId, p -> p.withModuleStarted(moduleId))
+            .ifPresent(p -> publish(p, RunProgressEventType.MODULE_STARTED, moduleId, null, null));
+    }
+
+    public void moduleFinished(long runId, String moduleId, long durationMs) {
+        update(runId, p -> p.withModuleFinished(moduleId))
+            .ifPresent(p -> publish(p, RunProgressEventType.MODULE_FINISHED, moduleId, durationMs, null));
+    }
+
+    /**
+     * Run remis en file après un échec transitoire : son état est retiré du registre,
+     * mais les abonnés restent inscrits pour suivre la tentative suivante.
+     */
+    public void runRetryScheduled(long runId, String error) {
+        RunProgress progress = update(runId, p -> p.withStatus(AuditRunStatus.QUEUED))
+            .orElseGet(() -> RunProgress.started(runId, List.of()).withStatus(AuditRunStatus.QUEUED));
+        publish(progress, RunProgressEventType.RUN_RETRY_SCHEDULED, null, null, error);
+        runs.remove(runId);
+    }
+
+    public void runCompleted(long runId) {
+        finish(runId, AuditRunStatus.COMPLETED, RunProgressEventType.RUN_COMPLETED, null);
+    }
+
+    public void runFailed(long runId, String error) {
+        finish(runId, AuditRunStatus.FAILED, RunProgressEventType.RUN_FAILED, error);
+    }
+
+    /**
+     * Run dont ce nœud a perdu le claim : son état est retiré sans évènement, le worker qui l'a repris
+     * fait foi. Les abonnés restent inscrits et le heartbeat SSE, faute d'état local, relit le run en base.
+     */
+    public void runClaimLost(long runId) {
+        runs.remove(runId);
+    }
+
+    /**
+     * État courant d'un run, s'il est en cours d'exécution sur ce nœud.
+     */
+    public Optional<RunProgress> snapshot(long runId) {
+        return Optional.ofNullable(runs.get(runId)).map(AtomicReference::get);
+    }
+
+    /**
+     * Abonne un listener aux évènements d'un run.
+     * Le listener est appelé sur le thread de l'orchestrateur : il ne doit pas bloquer.
+     *
+     * @return action de désabonnement
+     */
+    public Runnable subscribe(long runId, Consumer<RunProgressEvent> listener) {
+        // Ajout et retrait sous le verrou de la clé : un désabonnement concurrent ne peut pas retirer
+        // l'ensemble entre sa création et l'ajout du listener
+        listeners.compute(runId, (id, runListeners) -> {
+            Set<Consumer<RunProgressEvent>> set = runListeners != null ? runListeners : ConcurrentHashMap.newKeySet();
+            set.add(listener);
+            return set;
+        });
+        return () -> listeners.computeIfPresent(runId, (id, runListeners) -> {
+            runListeners.remove(listener);
+            return runListeners.isEmpty() ? null : runListeners;
+        });
+    }
+
+    // -------------------------
+    // Helpers privés
+    // -------------------------
+
+    private Optional<RunProgress> update(long runId, UnaryOperator<RunProgress> change) {
+        AtomicReference<RunProgress> ref = runs.get(runId);
+        return ref == null ? Optional.empty() : Optional.of(ref.updateAndGet(change));
+    }
+
+    private void finish(long runId, AuditRunStatus status, RunProgressEventType type, String error) {
+        RunProgress progress = update(runId, p -> p.withStatus(status))
+            .orElseGet(() -> RunProgress.started(runId, List.of()).withStatus(status));
+        publish(progress, type, null, null, error);
+        runs.remove(runId);
+        listeners.remove(runId);
+    }
+
+    private void publish(RunProgress progress, RunProgressEventType type, String moduleId, Long durationMs, String error) {
+        Set<Consumer<RunProgressEvent>> runListeners = listeners.get(progress.runId());
+        if (runListeners == null || runListeners.isEmpty()) {
+            return;
+        }
+        RunProgressEvent event = new RunProgressEvent(
+            progress.runId(),
+            type,
+            moduleId,
+            durationMs,
+            error,
+            progress.finishedModules().size(),
+            progress.plannedModules().size(),
+            Instant.now()
+        );
+        for (Consumer<RunProgressEvent> listener : runListeners) {
+            try {
+                listener.accept(event);
+            } catch (Exception e) {
+                logger.debug("Run progress listener failed runId={} type={}", progress.runId(), type, e);
+            }
+        }
+    }
+}
@@ -2,12 +2,19 @@ package com.dokor.argos.services.domain.domain;
 
 import com.dokor.argos.db.dao.DomainDao;
 import com.dokor.argos.db.generated.Domain;
+import com.dokor.argos.services.configuration.ConfigurationService;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service métier pour la gestion des domaines.
@@ -22,10 +29,12 @@ public class DomainService {
     private static final Logger logger = LoggerFactory.getLogger(DomainService.class);
 
     private final DomainDao domainDao;
+    private final ConfigurationService configurationService;
 
     @Inject
-    public DomainService(DomainDao domainDao) {
+    public DomainService(DomainDao domainDao, ConfigurationService configurationService) {
         this.domainDao = domainDao;
+        this.configurationService = configurationService;
     }
 
     /**
@@ -42,4 +51,47 @@ public class DomainService {
         logger.debug("Domain resolved hostname={} domainId={}", hostname, domain.getId());
         return domain;
     }
+
+    /**
+     * Version ensembliste de {@link #findOrCreate} pour les soumissions en lot :
+     * une requête de lecture, un batch {@code INSERT IGNORE} pour les hostnames inconnus, une relecture.
+     *
+     * @param hostnames hostnames normalisés
+     * @return hostname → domaine, pour chaque hostname demandé
+     */
+    public Map<String, Domain> findOrCreateAll(Collection<String> hostnames) {
+        Map<String, Domain> domains = domainDao.findByHostnames(hostnames).stream()
+            .collect(Collectors.toMap(Domain::getHostname, Function.identity()));
+
+        Set<String> missing = new HashSet<>(hostnames);
+        missing.removeAll(domains.keySet());
+        if (!missing.isEmpty()) {
+            domainDao.insertMissing(missing, Instant.now());
+            domainDao.findByHostnames(missing)
+                .forEach(domain -> domains.put(domain.getHostname(), domain));
+        }
+        logger.debug("Domains resolved count={} created={}", domains.size(), missing.size());
+        return domains;
+    }
+
+    /**
+     * Politesse par hôte : réserve au run un créneau sur son domaine avant de lancer les modules
+     * (limites du domaine, sinon {@code audit.politeness.*}).
+     *
+     * @return créneau accordé, ou date à partir de laquelle le run peut réessayer
+     */
+    public DomainDao.HostSlot acquireHostSlot(long domainId, long runId) {
+        DomainDao.HostSlot slot = domainDao.acquireHostSlot(
+            domainId,
+            runId,
+            Instant.now(),
+            configurationService.auditPolitenessMaxRunningPerHost(),
+            configurationService.auditPolitenessMinSpacing(),
+            configurationService.auditPolitenessBusyRetryDelay()
+        );
+        if (!slot.acquired()) {
+            logger.debug("Host busy domainId={} runId={} retryAt={}", domainId, runId, slot.retryAt());
+        }
+        return slot;
+    }
 }
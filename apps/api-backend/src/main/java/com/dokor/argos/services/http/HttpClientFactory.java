@@ -0,0 +1,69 @@
+package com.dokor.argos.services.http;
+
+import com.codahale.metrics.Metric;
+import com.dokor.argos.services.configuration.ConfigurationService;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+import java.net.http.HttpClient;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Clients HTTP partagés par les modules d'analyse et les clients de services (lighthouse, playwright, zap,
+ * SSL Labs, Observatory).
+ * <p>
+ * Un seul {@link HttpClient} par {@link HttpClientProfile}, créé au démarrage : chaque client garde ses
+ * connexions ouvertes par origine (keep-alive en HTTP/1.1, une connexion multiplexée en HTTP/2), si bien qu'un
+ * appel à un service interne ne repaie pas une connexion à chaque module. Tous les clients partagent le même
+ * exécuteur de threads virtuels.
+ * <p>
+ * Les redirections ne sont jamais suivies automatiquement (comportement par défaut du JDK, conservé) :
+ * le module HTTP reconstruit lui-même la chaîne de redirections.
+ * <p>
+ * Métriques exposées par {@code /monitoring/metrics}, par profil :
+ * {@code http.client.<profil>.requests}, {@code .errors} et {@code .http2}.
+ */
+@Singleton
+public class HttpClientFactory {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Map<HttpClientProfile, MeteredHttpClient> clients = new EnumMap<>(HttpClientProfile.class);
+
+    @Inject
+    public HttpClientFactory(ConfigurationService configurationService) {
+        for (HttpClientProfile profile : HttpClientProfile.values()) {
+            clients.put(profile, new MeteredHttpClient(HttpClient.newBuilder()
+                .version(profile.version())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(configurationService.httpClientConnectTimeout(profile))
+                .executor(executor)
+                .build()));
+        }
+    }
+
+    /**
+     * Client partagé du profil : à conserver par l'appelant, jamais à fermer.
+     */
+    public HttpClient client(HttpClientProfile profile) {
+        return clients.get(profile);
+    }
+
+    /**
+     * Métriques à enregistrer, par nom.
+     */
+    public Map<String, Metric> metrics() {
+        Map<String, Metric> metrics = new LinkedHashMap<>();
+        clients.forEach((profile, client) -> {
+            String prefix = "http.client." + profile.name().toLowerCase(Locale.ROOT).replace('_', '-');
+            metrics.put(prefix + ".requests", client.requests());
+            metrics.put(prefix + ".errors", client.errors());
+            metrics.put(prefix + ".http2", client.http2());
+        });
+        return metrics;
+    }
+}
@@ -0,0 +1,28 @@
+package com.dokor.argos.services.http;
+
+import java.net.http.HttpClient;
+
+/**
+ * Profil d'un client HTTP partagé (cf. {@link HttpClientFactory}).
+ * <p>
+ * Le timeout de connexion de chaque profil est configuré par {@code http-client.profiles.<profil>.connect-timeout} ;
+ * le timeout de chaque requête reste fixé par l'appelant (budget restant du module).
+ */
+public enum HttpClientProfile {
+    /** Sites audités : HTTP/2 négocié quand le site le propose. */
+    AUDIT_TARGET(HttpClient.Version.HTTP_2),
+    /** Services internes (lighthouse, playwright, zap) : HTTP/1.1 en keep-alive, sans tentative d'upgrade h2c. */
+    SIDECAR(HttpClient.Version.HTTP_1_1),
+    /** API publiques tierces (SSL Labs, Observatory) : HTTPS, HTTP/2 négocié par ALPN. */
+    EXTERNAL_API(HttpClient.Version.HTTP_2);
+
+    private final HttpClient.Version version;
+
+    HttpClientProfile(HttpClient.Version version) {
+        this.version = version;
+    }
+
+    public HttpClient.Version version() {
+        return version;
+    }
+}
@@ -0,0 +1,158 @@
+package com.dokor.argos.services.http;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Timer;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLParameters;
+import java.io.IOException;
+import java.net.Authenticator;
+import java.net.CookieHandler;
+import java.net.ProxySelector;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link HttpClient} partagé qui compte ses échanges : les appelants l'utilisent comme n'importe quel client.
+ * <ul>
+ *   <li>{@code requests} : durée jusqu'à la réception des headers ;</li>
+ *   <li>{@code errors} : échanges en échec (connexion, timeout...) ;</li>
+ *   <li>{@code http2} : réponses reçues en HTTP/2, multiplexées sur une connexion par origine.</li>
+ * </ul>
+ */
+final class MeteredHttpClient extends HttpClient {
+
+    private final HttpClient delegate;
+    private final Timer requests = new Timer();
+    private final Meter errors = new Meter();
+    private final Meter http2 = new Meter();
+
+    MeteredHttpClient(HttpClient delegate) {
+        this.delegate = delegate;
+    }
+
+    Timer requests() {
+        return requests;
+    }
+
+    Meter errors() {
+        return errors;
+    }
+
+    Meter http2() {
+        return http2;
+    }
+
+    @Override
+    public <T> HttpResponse<T> send(HttpRequest request, HttpResponse.BodyHandler<T> responseBodyHandler)
+        throws IOException, InterruptedException {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<T> response = delegate.send(request, responseBodyHandler);
+            record(response, start);
+            return response;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            errors.mark();
+            throw e;
+        }
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(
+        HttpRequest request,
+        HttpResponse.BodyHandler<T> responseBodyHandler
+    ) {
+        long start = System.nanoTime();
+        return delegate.sendAsync(request, responseBodyHandler).whenComplete((response, error) -> {
+            if (error != null) {
+                errors.mark();
+            } else {
+                record(response, start);
+            }
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<HttpResponse<T>> sendAsync(
+        HttpRequest request,
+        HttpResponse.BodyHandler<T> responseBodyHandler,
+        HttpResponse.PushPromiseHandler<T> pushPromiseHandler
+    ) {
+        long start = System.nanoTime();
+        return delegate.sendAsync(request, responseBodyHandler, pushPromiseHandler).whenComplete((response, error) -> {
+            if (error != null) {
+                errors.mark();
+            } else {
+                record(response, start);
+            }
+        });
+    }
+
+    private void record(HttpResponse<?> response, long startNanos) {
+        requests.update(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        if (response.version() == Version.HTTP_2) {
+            http2.mark();
+        }
+    }
+
+    // -------------------------
+    // Délégation
+    // -------------------------
+
+    @Override
+    public Optional<CookieHandler> cookieHandler() {
+        return delegate.cookieHandler();
+    }
+
+    @Override
+    public Optional<Duration> connectTimeout() {
+        return delegate.connectTimeout();
+    }
+
+    @Override
+    public Redirect followRedirects() {
+        return delegate.followRedirects();
+    }
+
+    @Override
+    public Optional<ProxySelector> proxy() {
+        return delegate.proxy();
+    }
+
+    @Override
+    public SSLContext sslContext() {
+        return delegate.sslContext();
+    }
+
+    @Override
+    public SSLParameters sslParameters() {
+        return delegate.sslParameters();
+    }
+
+    @Override
+    public Optional<Authenticator> authenticator() {
+        return delegate.authenticator();
+    }
+
+    @Override
+    public Version version() {
+        return delegate.version();
+    }
+
+    @Override
+    public Optional<Executor> executor() {
+        return delegate.executor();
+    }
+
+    @Override
+    public WebSocket.Builder newWebSocketBuilder() {
+        return delegate.newWebSocketBuilder();
+    }
+}
@@ -0,0 +1,269 @@
+package com.dokor.argos.services.scheduler;
+
+import com.dokor.argos.db.generated.AuditRun;
+import com.dokor.argos.services.configuration.ConfigurationService;
+import com.dokor.argos.services.domain.audit.AuditQueueSignal;
+import com.dokor.argos.services.domain.audit.AuditRunService;
+import com.dokor.argos.services.domain.audit.AuditService;
+import com.dokor.argos.services.domain.audit.enums.AuditRunLane;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Workers qui consomment la file des runs QUEUED.
+ * <p>
+ * Chaque worker (thread virtuel) enchaîne les runs tant qu'il en trouve, et ne se met en attente
+ * ({@code audit.worker.idle-backoff}) que lorsque la file est vide : la latence de la file suit la charge
+ * réelle au lieu d'être bornée à un run par tick d'ordonnanceur.
+ * Le nombre de workers ({@code audit.worker.concurrency}) borne le nombre de runs traités en parallèle par nœud.
+ * <p>
+ * Un worker sans travail claim en une requête autant de runs qu'il y a de workers libres
+ * (au plus {@code audit.worker.claim-batch-size}) : il garde le premier et confie les autres aux workers libres
+ * via une file locale, au lieu que tous les workers se disputent le même run le plus ancien.
+ * <p>
+ * Un claim est un bail : un heartbeat ({@code audit.worker.heartbeat-interval}) prolonge le bail de tous les runs
+ * claimés par ce nœud. Si le nœud s'arrête brutalement, le reaper remet ses runs en file à l'expiration du bail.
+ * <p>
+ * Les workers réservés à une file ({@code audit.lanes.<lane>.reserved-workers}) ne sont jamais occupés par
+ * les autres files : un lot de milliers d'URLs laisse toujours un worker libre pour un audit interactif.
+ * <p>
+ * Un worker inactif est réveillé dès qu'un run est mis en file : par {@link AuditQueueSignal} si le run est créé
+ * sur ce nœud, sinon par une sonde légère ({@code audit.worker.nudge-interval}) qui relit le dernier identifiant
+ * de run créé. L'attente {@code audit.worker.idle-backoff} ne sert plus que de filet de sécurité.
+ */
+@Singleton
+public class AuditWorkerPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditWorkerPool.class);
+
+    private final AuditService auditService;
+    private final AuditRunService auditRunService;
+    private final AuditQueueSignal queueSignal;
+    private final ConfigurationService configurationService;
+
+    private final List<Thread> workers = new ArrayList<>();
+    /** Runs claimés par un worker pour le compte des autres workers libres. */
+    private final Queue<AuditRun> claimedRuns = new ConcurrentLinkedQueue<>();
+    /** Runs claimés par ce nœud et pas encore terminés : baux à prolonger, occupation des files. */
+    private final Map<Long, AuditRun> leasedRuns = new ConcurrentHashMap<>();
+    private final AtomicInteger busyWorkers = new AtomicInteger();
+    private ScheduledExecutorService heartbeatScheduler;
+    /** Dernier identifiant de run vu par la sonde inter-nœuds. */
+    private volatile Long latestRunId;
+    private volatile int concurrency;
+    private volatile boolean running;
+
+    @Inject
+    public AuditWorkerPool(
+        AuditService auditService,
+        AuditRunService auditRunService,
+        AuditQueueSignal queueSignal,
+        ConfigurationService configurationService
+    ) {
+        this.auditService = auditService;
+        this.auditRunService = auditRunService;
+        this.queueSignal = queueSignal;
+        this.configurationService = configurationService;
+    }
+
+    /**
+     * Démarre les workers. Sans effet si le pool est déjà démarré.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        concurrency = configurationService.auditWorkerConcurrency();
+        for (int i = 0; i < concurrency; i++) {
+            workers.add(Thread.ofVirtual().name("audit-worker-" + i).start(this::workLoop));
+        }
+        long heartbeatMillis = configurationService.auditWorkerHeartbeatInterval().toMillis();
+        heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("audit-worker-heartbeat").daemon().factory()
+        );
+        heartbeatScheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        long nudgeMillis = configurationService.auditWorkerNudgeInterval().toMillis();
+        heartbeatScheduler.scheduleWithFixedDelay(this::nudgeOnRemoteRuns, 0L, nudgeMillis, TimeUnit.MILLISECONDS);
+        logger.info("Audit worker pool started with {} workers", concurrency);
+    }
+
+    /**
+     * Arrête les workers : plus aucun run n'est claim, les runs en cours et ceux déjà claimés
+     * se terminent dans la limite du timeout.
+     */
+    public synchronized void stop(Duration timeout) {
+        if (!running) {
+            return;
+        }
+        running = false;
+        queueSignal.signal();
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (Thread worker : workers) {
+            try {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0 || !worker.join(Duration.ofMillis(remainingMillis))) {
+                    logger.warn("Audit worker {} still running after shutdown timeout", worker.getName());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.clear();
+        heartbeatScheduler.shutdownNow();
+        logger.info("Audit worker pool stopped");
+    }
+
+    private void workLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            AuditRun run = claimedRuns.poll();
+            if (run == null) {
+                if (!running) {
+                    return;
+                }
+                // Lue avant le claim : un run mis en file pendant le claim réveille aussitôt ce worker
+                long generation = queueSignal.generation();
+                run = claimForIdleWorkers();
+                if (run == null) {
+                    awaitIdleBackoff(generation);
+                    continue;
+                }
+            }
+
+            busyWorkers.incrementAndGet();
+            try {
+                auditService.processRun(run);
+            } catch (Exception e) {
+                logger.error("Error while processing audit runId={}", run.getId(), e);
+            } finally {
+                leasedRuns.remove(run.getId());
+                busyWorkers.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Claim pour ce worker et les autres workers libres.
+     *
+     * @return run à traiter par ce worker, null si la file est vide
+     */
+    private AuditRun claimForIdleWorkers() {
+        int idleWorkers = Math.max(1, concurrency - busyWorkers.get());
+        List<AuditRun> claimed;
+        try {
+            claimed = auditService.claimQueuedRuns(
+                Math.min(idleWorkers, configurationService.auditWorkerClaimBatchSize()),
+                remainingByLane()
+            );
+        } catch (Exception e) {
+            // Erreur d'infrastructure (base indisponible…) : on temporise comme sur une file vide
+            logger.error("Error while claiming queued audit runs", e);
+            return null;
+        }
+        if (claimed.isEmpty()) {
+            return null;
+        }
+        claimed.forEach(run -> leasedRuns.put(run.getId(), run));
+        if (claimed.size() > 1) {
+            claimedRuns.addAll(claimed.subList(1, claimed.size()));
+            queueSignal.signal();
+        }
+        return claimed.get(0);
+    }
+
+    /**
+     * Place restante par file : une file peut occuper tous les workers sauf ceux réservés aux autres files.
+     * Les runs déjà claimés par ce nœud (en cours ou en attente d'un worker) occupent leur file.
+     */
+    private Map<AuditRunLane, Integer> remainingByLane() {
+        Map<AuditRunLane, Integer> reserved = new EnumMap<>(AuditRunLane.class);
+        int totalReserved = 0;
+        for (AuditRunLane lane : AuditRunLane.values()) {
+            int laneReserved = configurationService.auditLaneReservedWorkers(lane);
+            reserved.put(lane, laneReserved);
+            totalReserved += laneReserved;
+        }
+
+        Map<String, Integer> busyByLane = new HashMap<>();
+        leasedRuns.values().forEach(run -> busyByLane.merge(run.getLane(), 1, Integer::sum));
+
+        Map<AuditRunLane, Integer> remaining = new EnumMap<>(AuditRunLane.class);
+        for (AuditRunLane lane : AuditRunLane.values()) {
+            int capacity = concurrency - (totalReserved - reserved.get(lane));
+            remaining.put(lane, capacity - busyByLane.getOrDefault(lane.name(), 0));
+        }
+        return remaining;
+    }
+
+    /**
+     * Prolonge les baux des runs de ce nœud. Un run dont le bail a été perdu (repris par le reaper
+     * après une pause trop longue du nœud) n'est plus prolongé, et n'est pas démarré s'il était encore en attente.
+     */
+    private void heartbeat() {
+        if (leasedRuns.isEmpty()) {
+            return;
+        }
+        try {
+            Map<Long, String> claimTokens = new HashMap<>();
+            leasedRuns.forEach((runId, run) -> claimTokens.put(runId, run.getClaimToken()));
+            Set<Long> lost = auditRunService.extendLeases(claimTokens);
+            if (!lost.isEmpty()) {
+                lost.forEach(leasedRuns::remove);
+                claimedRuns.removeIf(run -> lost.contains(run.getId()));
+            }
+        } catch (Exception e) {
+            logger.error("Error while extending audit run leases", e);
+        }
+    }
+
+    /**
+     * Sonde inter-nœuds : un nouveau run créé par un autre nœud (dernier identifiant de run changé)
+     * réveille les workers de ce nœud. Une seule lecture d'index, sans effet si tous les workers sont occupés.
+     */
+    private void nudgeOnRemoteRuns() {
+        if (busyWorkers.get() >= concurrency) {
+            return;
+        }
+        try {
+            Long latest = auditRunService.latestRunId();
+            Long previous = latestRunId;
+            latestRunId = latest;
+            if (previous != null && !Objects.equals(previous, latest)) {
+                queueSignal.signal();
+            }
+        } catch (Exception e) {
+            logger.debug("Error while checking for new audit runs", e);
+        }
+    }
+
+    private void awaitIdleBackoff(long generation) {
+        if (!running) {
+            return;
+        }
+        try {
+            queueSignal.await(generation, configurationService.auditWorkerIdleBackoff());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
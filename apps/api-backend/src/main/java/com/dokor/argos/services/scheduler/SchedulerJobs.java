@@ -4,8 +4,7 @@ import com.coreoz.wisp.LongRunningJobMonitor;
 import com.coreoz.wisp.Scheduler;
 import com.coreoz.wisp.schedule.Schedules;
 import com.dokor.argos.services.configuration.ConfigurationService;
-
-import com.dokor.argos.services.domain.audit.AuditService;
+import com.dokor.argos.services.domain.audit.AuditRunService;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.slf4j.Logger;
@@ -20,25 +19,30 @@ public class SchedulerJobs {
 
     private final Scheduler scheduler;
     private final ConfigurationService configurationService;
-    private final AuditService auditService;
+    private final AuditWorkerPool auditWorkerPool;
+    private final AuditRunService auditRunService;
 
     @Inject
     public SchedulerJobs(
         Scheduler scheduler,
         ConfigurationService configurationService,
-        AuditService auditService
+        AuditWorkerPool auditWorkerPool,
+        AuditRunService auditRunService
     ) {
         this.scheduler = scheduler;
         this.configurationService = configurationService;
-        this.auditService = auditService;
+        this.auditWorkerPool = auditWorkerPool;
+        this.auditRunService = auditRunService;
     }
 
     public void scheduleJobs() {
+        // La file des runs est consommée en continu par les workers, hors de l'ordonnanceur Wisp
+        auditWorkerPool.start();
 
         scheduler.schedule(
-            "Process queued audit runs",
-            this::processAuditQueue,
-            Schedules.fixedDelaySchedule(configurationService.auditSchedulerInterval())
+            "Reap expired audit run leases",
+            this::reapExpiredLeases,
+            Schedules.fixedDelaySchedule(configurationService.auditReaperInterval())
         );
 
         scheduler.schedule(
@@ -48,14 +52,11 @@ public class SchedulerJobs {
         );
     }
 
-    private void processAuditQueue() {
+    private void reapExpiredLeases() {
         try {
-            boolean processed = auditService.processNextQueuedRun();
-            if (!processed) {
-                logger.debug("No queued audit run found");
-            }
+            auditRunService.reapExpiredLeases();
         } catch (Exception e) {
-            logger.error("Error while processing audit queue", e);
+            logger.error("Error while reaping expired audit run leases", e);
         }
     }
 }
@@ -1,11 +1,20 @@
 package com.dokor.argos.webservices.api.audits;
 
 import com.coreoz.plume.jersey.security.permission.PublicApi;
+import com.coreoz.plume.jersey.security.size.ContentSizeLimit;
+import com.dokor.argos.services.domain.audit.AuditBatchService;
 import com.dokor.argos.services.domain.audit.AuditService;
 import com.dokor.argos.services.domain.audit.UrlNormalizer;
+import com.dokor.argos.services.domain.audit.crawl.CrawlService;
+import com.dokor.argos.services.domain.audit.errors.ClientQuotaExceededException;
+import com.dokor.argos.services.domain.audit.errors.QueueFullException;
+import com.dokor.argos.webservices.api.audits.data.AuditBatchStatusResponse;
 import com.dokor.argos.webservices.api.audits.data.AuditListItemResponse;
 import com.dokor.argos.webservices.api.audits.data.AuditRunStatusResponse;
+import com.dokor.argos.webservices.api.audits.data.CreateAuditBatchRequest;
 import com.dokor.argos.webservices.api.audits.data.CreateAuditRequest;
+import com.dokor.argos.webservices.api.audits.data.CreateCrawlRequest;
+import com.dokor.argos.webservices.api.audits.data.CrawlRollupResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.parameters.RequestBody;
@@ -21,8 +30,13 @@ import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.glassfish.grizzly.http.server.Request;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -44,26 +58,51 @@ public class AuditsWs {
 
     private static final Logger logger = LoggerFactory.getLogger(AuditsWs.class);
 
+    /** 5000 URLs de 2048 caractères au plus, sérialisées en JSON. */
+    private static final int BATCH_CONTENT_SIZE_LIMIT = 12 * 1024 * 1024;
+
     private final AuditService auditService;
+    private final AuditBatchService auditBatchService;
+    private final CrawlService crawlService;
+    private final RunEventsPublisher runEventsPublisher;
 
     @Inject
-    public AuditsWs(AuditService auditService) {
+    public AuditsWs(
+        AuditService auditService,
+        AuditBatchService auditBatchService,
+        CrawlService crawlService,
+        RunEventsPublisher runEventsPublisher
+    ) {
         this.auditService = auditService;
+        this.auditBatchService = auditBatchService;
+        this.crawlService = crawlService;
+        this.runEventsPublisher = runEventsPublisher;
     }
 
     /**
-     * Crée un audit et un run associé en statut QUEUED.
+     * Soumet une URL à l'audit.
      * <p>
-     * La création est idempotente sur l'URL normalisée :
-     * deux soumissions de la même URL créent deux runs distincts
-     * mais partagent le même objet Audit en base.
+     * L'Audit est idempotent sur l'URL normalisée. Le run renvoyé dépend de l'état de cette URL :
+     * <ul>
+     *   <li>auditée avec succès dans la fenêtre de fraîcheur ({@code audit.reuse.freshness-window}) :
+     *       un run COMPLETED est créé, {@code sourceRunId} désigne le run dont le résultat est réutilisé ;</li>
+     *   <li>un run QUEUED ou RUNNING existe déjà : la soumission y est rattachée ({@code attached = true}),
+     *       aucun nouveau run n'est créé ;</li>
+     *   <li>sinon un nouveau run QUEUED est créé, après le contrôle d'admission.</li>
+     * </ul>
+     * {@code forceRefresh = true} ignore la fenêtre de fraîcheur, mais pas le rattachement au run en cours.
      *
-     * @return 200 avec le run créé, ou 400 si l'URL est absente/invalide
+     * @return 200 avec le run (créé, rattaché ou réutilisé), 400 si l'URL est absente/invalide,
+     * ou 429 (en-tête {@code Retry-After}) si la file d'audits est saturée
      */
     @POST
-    @Operation(description = "Crée un audit (idempotent sur normalizedUrl) et crée un run en status QUEUED.")
+    @Operation(description = "Soumet une URL (Audit idempotent sur normalizedUrl). Renvoie un run COMPLETED qui réutilise "
+        + "un résultat récent (sourceRunId), le run QUEUED/RUNNING existant (attached=true), ou un nouveau run QUEUED. "
+        + "forceRefresh=true ignore la fenêtre de fraîcheur.")
     public Response createAudit(
-        @Parameter(required = true) @RequestBody(required = true) @Valid CreateAuditRequest request
+        @Parameter(required = true) @RequestBody(required = true) @Valid CreateAuditRequest request,
+        @Context HttpHeaders headers,
+        @Context Request connection
     ) {
         if (request == null || request.url() == null || request.url().isBlank()) {
             return Response.status(Response.Status.BAD_REQUEST)
@@ -75,15 +114,129 @@ public class AuditsWs {
         logger.info("Create audit requested: url={}", sanitizeForLog(request.url()));
 
         try {
-            return Response.ok(auditService.createAudit(request)).build();
+            return Response.ok(auditService.createAudit(request, ipHint(headers, connection))).build();
         } catch (IllegalArgumentException e) {
             logger.warn("Invalid URL submitted url={} error={}", sanitizeForLog(request.url()), e.getMessage());
             return Response.status(Response.Status.BAD_REQUEST)
                 .entity(Map.of("error", e.getMessage()))
                 .build();
+        } catch (QueueFullException e) {
+            return queueFull(e);
+        }
+    }
+
+    /**
+     * Soumet un lot d'URLs : un run QUEUED est créé par URL normalisée distincte, rattaché au lot retourné.
+     * <p>
+     * Les URLs invalides sont rejetées individuellement (index + raison) sans faire échouer le lot.
+     * Avant toute insertion, le lot passe le contrôle d'admission des soumissions en masse
+     * et le quota d'URLs du client ({@code audit.admission.client-quota}).
+     *
+     * @return 200 avec l'identifiant du lot, 400 si le lot est vide ou trop grand,
+     * ou 429 (en-tête {@code Retry-After}) si le backlog des lots est saturé ou le quota du client épuisé
+     */
+    @POST
+    @Path("/batch")
+    @ContentSizeLimit(BATCH_CONTENT_SIZE_LIMIT)
+    @Operation(description = "Soumet un lot d'URLs et crée un run QUEUED par URL normalisée distincte. "
+        + "429 si le backlog des lots est saturé ou si le client a épuisé son quota d'URLs.")
+    public Response createAuditBatch(
+        @Parameter(required = true) @RequestBody(required = true) @Valid CreateAuditBatchRequest request,
+        @Context HttpHeaders headers,
+        @Context Request connection
+    ) {
+        if (request == null || request.urls() == null || request.urls().isEmpty()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(Map.of("error", "Field 'urls' is required"))
+                .build();
+        }
+
+        logger.info("Create audit batch requested: urlCount={}", request.urls().size());
+
+        try {
+            return Response.ok(auditBatchService.createBatch(request, ipHint(headers, connection))).build();
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid audit batch submitted error={}", e.getMessage());
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(Map.of("error", e.getMessage()))
+                .build();
+        } catch (QueueFullException e) {
+            return queueFull(e);
+        } catch (ClientQuotaExceededException e) {
+            return clientQuotaExceeded(e);
+        }
+    }
+
+    /**
+     * Avancement agrégé d'un lot (nombre de runs par statut).
+     *
+     * @param batchId identifiant du lot
+     */
+    @GET
+    @Path("/batch/{batchId}")
+    @Operation(description = "Récupère l'avancement agrégé d'un lot.")
+    public AuditBatchStatusResponse getBatchStatus(
+        @Parameter(required = true) @PathParam("batchId") Long batchId
+    ) {
+        logger.debug("Get batch status requested: batchId={}", batchId);
+        return auditBatchService.getBatchStatus(batchId);
+    }
+
+    /**
+     * Démarre un crawl : la page de départ puis les pages de même hostname découvertes au fil de l'audit,
+     * dans la limite de {@code maxPages}.
+     * Avant toute insertion, le crawl passe pour tout son budget de pages le contrôle d'admission
+     * des soumissions en masse et le quota d'URLs du client.
+     *
+     * @return 200 avec l'identifiant du crawl, 400 si l'URL ou le budget de pages est invalide,
+     * ou 429 (en-tête {@code Retry-After}) si le backlog des lots est saturé ou le quota du client épuisé
+     */
+    @POST
+    @Path("/crawl")
+    @Operation(description = "Démarre le crawl d'un site à partir d'une URL (pages de même hostname). "
+        + "429 si le backlog des lots est saturé ou si le client a épuisé son quota d'URLs.")
+    public Response createCrawl(
+        @Parameter(required = true) @RequestBody(required = true) @Valid CreateCrawlRequest request,
+        @Context HttpHeaders headers,
+        @Context Request connection
+    ) {
+        if (request == null || request.url() == null || request.url().isBlank()) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(Map.of("error", "Field 'url' is required"))
+                .build();
+        }
+
+        logger.info("Create crawl requested: url={} maxPages={}", sanitizeForLog(request.url()), request.maxPages());
+
+        try {
+            return Response.ok(crawlService.createCrawl(request, ipHint(headers, connection))).build();
+        } catch (IllegalArgumentException e) {
+            logger.warn("Invalid crawl submitted url={} error={}", sanitizeForLog(request.url()), e.getMessage());
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity(Map.of("error", e.getMessage()))
+                .build();
+        } catch (QueueFullException e) {
+            return queueFull(e);
+        } catch (ClientQuotaExceededException e) {
+            return clientQuotaExceeded(e);
         }
     }
 
+    /**
+     * Synthèse d'un crawl à l'échelle du site (avancement, score moyen, checks les plus fréquents, pages).
+     *
+     * @param batchId identifiant du crawl
+     */
+    @GET
+    @Path("/crawl/{batchId}")
+    @Operation(description = "Récupère la synthèse d'un crawl à l'échelle du site.")
+    public CrawlRollupResponse getCrawlRollup(
+        @Parameter(required = true) @PathParam("batchId") Long batchId
+    ) {
+        logger.debug("Get crawl rollup requested: batchId={}", batchId);
+        return crawlService.getRollup(batchId);
+    }
+
     /** Délègue à {@link UrlNormalizer#sanitizeForLog} pour éviter la duplication. */
     private static String sanitizeForLog(String url) {
         return UrlNormalizer.sanitizeForLog(url);
@@ -104,6 +257,28 @@ public class AuditsWs {
         return auditService.getRunStatus(runId);
     }
 
+    /**
+     * Flux Server-Sent Events de la progression d'un run (alternative au polling de {@link #getRunStatus}).
+     * <p>
+     * Évènements : {@code snapshot} (statut courant à l'ouverture), {@code run-started}, {@code module-started},
+     * {@code module-finished}, puis {@code run-completed} ou {@code run-failed} qui ferment le flux.
+     * La méthode rend la main immédiatement : aucun thread worker Grizzly n'est retenu par flux ouvert.
+     *
+     * @param runId identifiant du run
+     */
+    @GET
+    @Path("/runs/{runId}/events")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @Operation(description = "Flux SSE de la progression d'un run.")
+    public void streamRunEvents(
+        @Parameter(required = true) @PathParam("runId") Long runId,
+        @Context SseEventSink sink,
+        @Context Sse sse
+    ) {
+        logger.debug("Run events stream requested: runId={}", runId);
+        runEventsPublisher.open(runId, sink, sse);
+    }
+
     /**
      * Liste les audits avec leur dernier run.
      *
@@ -118,4 +293,44 @@ public class AuditsWs {
         logger.info("List audits limit={}", safeLimit);
         return auditService.listAudits(safeLimit);
     }
+
+    private static Response queueFull(QueueFullException e) {
+        return Response.status(Response.Status.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, e.retryAfter().toSeconds())
+            .entity(Map.of(
+                "error", e.getMessage(),
+                "retryAfterSeconds", e.retryAfter().toSeconds(),
+                "estimatedStartAt", e.estimatedStartAt().toString()
+            ))
+            .build();
+    }
+
+    private static Response clientQuotaExceeded(ClientQuotaExceededException e) {
+        logger.warn("Client quota exceeded error={}", e.getMessage());
+        return Response.status(Response.Status.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, e.retryAfter().toSeconds())
+            .entity(Map.of(
+                "error", e.getMessage(),
+                "retryAfterSeconds", e.retryAfter().toSeconds()
+            ))
+            .build();
+    }
+
+    /**
+     * IP du client (best effort), utilisée comme clé de soumetteur pour la file, l'admission et le quota par client.
+     * <p>
+     * Seule la dernière entrée de {@code X-Forwarded-For} est retenue : c'est celle ajoutée par le proxy de
+     * confiance devant l'API, les précédentes sont fournies par le client et falsifiables. Sans en-tête,
+     * l'adresse de la connexion est utilisée.
+     */
+    private static String ipHint(HttpHeaders headers, Request connection) {
+        String forwardedFor = headers.getHeaderString("X-Forwarded-For");
+        if (forwardedFor != null) {
+            String lastHop = forwardedFor.substring(forwardedFor.lastIndexOf(',') + 1).trim();
+            if (!lastHop.isEmpty()) {
+                return lastHop;
+            }
+        }
+        return connection != null ? connection.getRemoteAddr() : null;
+    }
 }
@@ -0,0 +1,189 @@
+package com.dokor.argos.webservices.api.audits;
+
+import com.dokor.argos.services.domain.audit.AuditService;
+import com.dokor.argos.services.domain.audit.enums.AuditRunStatus;
+import com.dokor.argos.services.domain.audit.progress.RunProgressEvent;
+import com.dokor.argos.services.domain.audit.progress.RunProgressRegistry;
+import com.dokor.argos.webservices.api.audits.data.AuditRunStatusResponse;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Diffuse la progression d'un run sur un flux Server-Sent Events.
+ * <p>
+ * Déroulé d'un flux :
+ * <ol>
+ *   <li>un évènement {@code snapshot} avec le statut courant du run (une seule lecture en base) ;</li>
+ *   <li>les évènements du {@link RunProgressRegistry} au fil de l'eau ({@code module-started}, {@code module-finished}…) ;</li>
+ *   <li>fermeture du flux après {@code run-completed} / {@code run-failed}.</li>
+ * </ol>
+ * Aucun thread n'est bloqué par flux ouvert : les évènements sont poussés depuis les threads de l'orchestrateur.
+ * Un heartbeat périodique détecte les clients déconnectés et, si le run n'est pas suivi par ce nœud,
+ * revérifie son statut en base pour ne pas laisser un flux ouvert indéfiniment.
+ */
+@Singleton
+public class RunEventsPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(RunEventsPublisher.class);
+
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+
+    private final AuditService auditService;
+    private final RunProgressRegistry runProgressRegistry;
+
+    private final ScheduledExecutorService heartbeatScheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofPlatform().name("run-events-heartbeat").daemon().factory()
+    );
+
+    @Inject
+    public RunEventsPublisher(AuditService auditService, RunProgressRegistry runProgressRegistry) {
+        this.auditService = auditService;
+        this.runProgressRegistry = runProgressRegistry;
+    }
+
+    /**
+     * Ouvre le flux d'évènements d'un run.
+     *
+     * @throws com.dokor.argos.services.domain.audit.errors.NotFoundException si le run n'existe pas
+     */
+    public void open(long runId, SseEventSink sink, Sse sse) {
+        RunStream stream = new RunStream(runId, sink, sse);
+
+        // Abonnement avant la lecture du snapshot : aucun évènement ne peut être perdu entre les deux
+        stream.unsubscribe = runProgressRegistry.subscribe(runId, stream::onEvent);
+
+        AuditRunStatusResponse status;
+        try {
+            status = auditService.getRunStatus(runId);
+        } catch (RuntimeException e) {
+            stream.unsubscribe.run();
+            throw e;
+        }
+        stream.send("snapshot", status);
+        if (isTerminal(status.status())) {
+            stream.close();
+            return;
+        }
+
+        stream.heartbeat = heartbeatScheduler.scheduleWithFixedDelay(
+            stream::heartbeat,
+            HEARTBEAT_INTERVAL.toMillis(),
+            HEARTBEAT_INTERVAL.toMillis(),
+            TimeUnit.MILLISECONDS
+        );
+        logger.debug("Run events stream opened runId={}", runId);
+    }
+
+    private static boolean isTerminal(String status) {
+        return AuditRunStatus.COMPLETED.name().equals(status) || AuditRunStatus.FAILED.name().equals(status);
+    }
+
+    /**
+     * Flux SSE d'un client. Les envois sont sérialisés (plusieurs modules peuvent terminer en même temps).
+     */
+    private final class RunStream {
+        private final long runId;
+        private final SseEventSink sink;
+        private final Sse sse;
+        private final ReentrantLock sendLock = new ReentrantLock();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private volatile Runnable unsubscribe;
+        private volatile ScheduledFuture<?> heartbeat;
+
+        private RunStream(long runId, SseEventSink sink, Sse sse) {
+            this.runId = runId;
+            this.sink = sink;
+            this.sse = sse;
+        }
+
+        private void onEvent(RunProgressEvent event) {
+            send(event.type().name().toLowerCase(Locale.ROOT).replace('_', '-'), event);
+            if (event.type().isTerminal()) {
+                close();
+            }
+        }
+
+        private void heartbeat() {
+            if (closed.get() || sink.isClosed()) {
+                close();
+                return;
+            }
+            if (runProgressRegistry.snapshot(runId).isEmpty()) {
+                // Run traité par un autre nœud (ou pas encore démarré) : on s'appuie sur la base
+                try {
+                    AuditRunStatusResponse status = auditService.getRunStatus(runId);
+                    if (isTerminal(status.status())) {
+                        send("snapshot", status);
+                        close();
+                        return;
+                    }
+                } catch (Exception e) {
+                    logger.debug("Run events heartbeat status check failed runId={}", runId, e);
+                }
+            }
+            sendLock.lock();
+            try {
+                if (!closed.get()) {
+                    sink.send(sse.newEventBuilder().comment("heartbeat").build());
+                }
+            } finally {
+                sendLock.unlock();
+            }
+        }
+
+        private void send(String name, Object data) {
+            sendLock.lock();
+            try {
+                if (closed.get() || sink.isClosed()) {
+                    return;
+                }
+                sink.send(sse.newEventBuilder()
+                        .name(name)
+                        .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                        .data(data.getClass(), data)
+                        .build())
+                    .whenComplete((ignored, error) -> {
+                        if (error != null) {
+                            logger.debug("Run events client disconnected runId={}", runId);
+                            close();
+                        }
+                    });
+            } finally {
+                sendLock.unlock();
+            }
+        }
+
+        private void close() {
+            // Toujours annuler le heartbeat : il peut avoir été planifié après une fermeture concurrente
+            if (heartbeat != null) {
+                heartbeat.cancel(false);
+            }
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            if (unsubscribe != null) {
+                unsubscribe.run();
+            }
+            try {
+                sink.close();
+            } catch (Exception e) {
+                logger.debug("Failed to close run events stream runId={}", runId, e);
+            }
+            logger.debug("Run events stream closed runId={}", runId);
+        }
+    }
+}
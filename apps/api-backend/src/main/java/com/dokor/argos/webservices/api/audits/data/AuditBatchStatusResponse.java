@@ -0,0 +1,36 @@
+package com.dokor.argos.webservices.api.audits.data;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Aggregate progress of a batch of audit runs")
+public record AuditBatchStatusResponse(
+
+    @Schema(description = "Identifier of the batch", example = "7")
+    @JsonSerialize(using = ToStringSerializer.class)
+    long batchId,
+
+    @Schema(description = "Creation timestamp of the batch")
+    Instant createdAt,
+
+    @Schema(description = "Number of runs created by the batch", example = "987")
+    long runCount,
+
+    @Schema(description = "Runs waiting for a worker", example = "900")
+    long queued,
+
+    @Schema(description = "Runs being processed", example = "4")
+    long running,
+
+    @Schema(description = "Runs completed successfully", example = "80")
+    long completed,
+
+    @Schema(description = "Runs that failed", example = "3")
+    long failed,
+
+    @Schema(description = "True once every run of the batch is COMPLETED or FAILED")
+    boolean done
+) {}
@@ -1,10 +1,13 @@
 package com.dokor.argos.webservices.api.audits.data;
 
+import com.dokor.argos.services.analysis.model.AuditModuleResult;
+import com.dokor.argos.services.analysis.scoring.ScoreAggregate;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import io.swagger.v3.oas.annotations.media.Schema;
 
 import java.time.Instant;
+import java.util.List;
 
 @Schema(description = "Current status of an audit run")
 public record AuditRunStatusResponse(
@@ -36,7 +39,17 @@ public record AuditRunStatusResponse(
     String resultJson,
 
     @Schema(description = "Result payload if the run completed successfully", nullable = true)
-    String reportToken
+    String reportToken,
+
+    @Schema(description = "Results of the modules already finished while the run is not completed yet", nullable = true)
+    List<AuditModuleResult> partialModules,
+
+    @Schema(description = "Provisional global score computed on the finished modules only", nullable = true)
+    ScoreAggregate provisionalScore,
+
+    @Schema(description = "Run that produced the result when this run reuses a recent result", nullable = true)
+    @JsonSerialize(using = ToStringSerializer.class)
+    Long sourceRunId
 
 ) {
 }
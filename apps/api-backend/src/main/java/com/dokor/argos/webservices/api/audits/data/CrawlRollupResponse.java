@@ -0,0 +1,60 @@
+package com.dokor.argos.webservices.api.audits.data;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+@Schema(description = "Site-level rollup of a crawl")
+public record CrawlRollupResponse(
+
+    @Schema(description = "Identifier of the crawl", example = "8")
+    @JsonSerialize(using = ToStringSerializer.class)
+    long batchId,
+
+    @Schema(description = "Normalized start URL of the crawl")
+    String rootUrl,
+
+    @Schema(description = "Maximum number of pages audited by the crawl", example = "50")
+    int maxPages,
+
+    @Schema(description = "Aggregate progress of the crawl runs")
+    AuditBatchStatusResponse progress,
+
+    @Schema(description = "Average global score ratio (0..1) of the completed pages", nullable = true)
+    Double siteScore,
+
+    @Schema(description = "Average score ratio per module over the completed pages")
+    List<ModuleScore> moduleScores,
+
+    @Schema(description = "Checks failing on the most pages (top 20)")
+    List<FailingCheck> failingChecks,
+
+    @Schema(description = "Pages of the crawl, in discovery order")
+    List<Page> pages
+) {
+
+    @Schema(description = "Average score of a module over the completed pages")
+    public record ModuleScore(
+        String moduleId,
+        double ratio
+    ) {}
+
+    @Schema(description = "Check failing on several pages")
+    public record FailingCheck(
+        String key,
+        String title,
+        int pageCount
+    ) {}
+
+    @Schema(description = "Page audited by the crawl")
+    public record Page(
+        @JsonSerialize(using = ToStringSerializer.class)
+        long runId,
+        String normalizedUrl,
+        String status,
+        @Schema(nullable = true)
+        Double score
+    ) {}
+}
@@ -0,0 +1,19 @@
+package com.dokor.argos.webservices.api.audits.data;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Soumission d'un lot d'URLs. La taille maximale du lot est configurée par {@code audit.batch.max-urls} ;
+ * les URLs invalides sont rejetées individuellement sans faire échouer le lot.
+ * <p>
+ * Les runs d'un lot sont dans la file BULK, ou SCHEDULED pour des réaudits planifiés ({@code lane}).
+ */
+public record CreateAuditBatchRequest(
+    @NotEmpty
+    List<String> urls,
+
+    /** BULK (défaut) ou SCHEDULED. */
+    String lane
+) {}
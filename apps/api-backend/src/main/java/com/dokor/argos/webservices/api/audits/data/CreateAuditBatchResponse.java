@@ -0,0 +1,39 @@
+package com.dokor.argos.webservices.api.audits.data;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.List;
+
+@Schema(description = "Response returned after submitting a batch of URLs")
+public record CreateAuditBatchResponse(
+
+    @Schema(description = "Identifier of the batch, used to track its aggregate progress", example = "7")
+    @JsonSerialize(using = ToStringSerializer.class)
+    Long batchId,
+
+    @Schema(description = "Number of URLs submitted", example = "1000")
+    int urlCount,
+
+    @Schema(description = "Number of QUEUED runs created (one per distinct normalized URL)", example = "987")
+    int runCount,
+
+    @Schema(description = "URLs rejected during normalization, with the reason")
+    List<RejectedUrl> rejected,
+
+    @Schema(description = "Creation timestamp of the batch")
+    Instant createdAt
+) {
+
+    @Schema(description = "URL rejected from a batch")
+    public record RejectedUrl(
+
+        @Schema(description = "Position of the URL in the submitted list", example = "3")
+        int index,
+
+        @Schema(description = "Reason of the rejection", example = "Invalid URL")
+        String error
+    ) {}
+}
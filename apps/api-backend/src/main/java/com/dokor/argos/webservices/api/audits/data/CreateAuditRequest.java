@@ -6,5 +6,12 @@ import jakarta.validation.constraints.Size;
 public record CreateAuditRequest(
     @NotBlank
     @Size(max = 2048, message = "URL must not exceed 2048 characters")
-    String url
-) {}
+    String url,
+
+    /** Ignore la fenêtre de fraîcheur et force un nouvel audit. */
+    Boolean forceRefresh
+) {
+    public boolean forceRefreshOrDefault() {
+        return Boolean.TRUE.equals(forceRefresh);
+    }
+}
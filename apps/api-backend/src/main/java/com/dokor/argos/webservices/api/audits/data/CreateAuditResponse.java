@@ -21,6 +21,13 @@ public record CreateAuditResponse(
     String status,
 
     @Schema(description = "Creation timestamp of the audit run")
-    Instant createdAt
+    Instant createdAt,
+
+    @Schema(description = "True when the submission was attached to a run already QUEUED or RUNNING for the same URL")
+    boolean attached,
+
+    @Schema(description = "Run whose recent result is reused, when the run was created COMPLETED from the freshness window", nullable = true)
+    @JsonSerialize(using = ToStringSerializer.class)
+    Long sourceRunId
 ) {
 }
@@ -0,0 +1,18 @@
+package com.dokor.argos.webservices.api.audits.data;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Démarrage d'un crawl : la page de départ puis les pages de même hostname qu'elle référence,
+ * dans la limite de {@code maxPages} (par défaut {@code audit.crawl.default-pages}).
+ */
+public record CreateCrawlRequest(
+    @NotBlank
+    @Size(max = 2048, message = "URL must not exceed 2048 characters")
+    String url,
+
+    @Positive
+    Integer maxPages
+) {}
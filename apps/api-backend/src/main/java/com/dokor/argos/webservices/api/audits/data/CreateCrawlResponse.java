@@ -0,0 +1,26 @@
+package com.dokor.argos.webservices.api.audits.data;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+
+@Schema(description = "Response returned after starting a crawl")
+public record CreateCrawlResponse(
+
+    @Schema(description = "Identifier of the crawl (a batch whose pages are discovered progressively)", example = "8")
+    @JsonSerialize(using = ToStringSerializer.class)
+    Long batchId,
+
+    @Schema(description = "Identifier of the run auditing the start page", example = "42")
+    @JsonSerialize(using = ToStringSerializer.class)
+    Long rootRunId,
+
+    @Schema(description = "Maximum number of pages audited by the crawl", example = "50")
+    int maxPages,
+
+    @Schema(description = "Creation timestamp of the crawl")
+    Instant createdAt
+) {
+}
@@ -24,6 +24,8 @@ import com.coreoz.plume.jersey.monitoring.utils.info.beans.ApplicationInfo;
 import com.coreoz.plume.jersey.monitoring.utils.metrics.MetricsCheckBuilder;
 import com.coreoz.plume.jersey.security.basic.BasicAuthenticator;
 import com.coreoz.plume.jersey.security.permission.PublicApi;
+import com.dokor.argos.services.domain.audit.AuditQueueMetrics;
+import com.dokor.argos.services.http.HttpClientFactory;
 import lombok.SneakyThrows;
 
 @Path("/monitoring")
@@ -46,7 +48,9 @@ public class MonitoringWs {
 //        HikariDataSource hikariDataSource,
         GrizzlyThreadPoolProbe grizzlyThreadPoolProbe,
         InternalApiAuthenticator apiAuthenticator,
-        JerseyMonitoringObjectMapperProvider metricsObjectMapperProvider
+        JerseyMonitoringObjectMapperProvider metricsObjectMapperProvider,
+        AuditQueueMetrics auditQueueMetrics,
+        HttpClientFactory httpClientFactory
     ) {
         this.applicationInfo = applicationInfoProvider.get();
         // Registering health checks
@@ -55,11 +59,15 @@ public class MonitoringWs {
             .build();
 
         // Registering metrics to monitor
-        this.metrics = new MetricsCheckBuilder()
+        MetricsCheckBuilder metricsCheckBuilder = new MetricsCheckBuilder()
             .registerJvmMetrics()
-            .registerGrizzlyMetrics(grizzlyThreadPoolProbe)
+            .registerGrizzlyMetrics(grizzlyThreadPoolProbe);
 //            .registerHikariMetrics(hikariDataSource)
-            .build();
+        // Audit queue health: depth per status and lane, oldest queued run, latencies, throughput
+        auditQueueMetrics.metrics().forEach(metricsCheckBuilder::registerMetric);
+        // Shared HTTP clients: requests, errors and HTTP/2 responses per client profile
+        httpClientFactory.metrics().forEach(metricsCheckBuilder::registerMetric);
+        this.metrics = metricsCheckBuilder.build();
 
         // Require authentication to access monitoring endpoints
         this.basicAuthenticator = apiAuthenticator.get();
@@ -0,0 +1,21 @@
+-- =============================================================
+-- V10 : Claims of ARG_AUDIT_RUN become leases
+--
+-- Rationale : a node dying mid-audit used to leave its runs RUNNING
+-- forever. A claim now sets lease_expires_at, extended by a heartbeat
+-- while the run is processed ; a reaper requeues runs whose lease
+-- lapsed, or fails them once attempt_count reaches the maximum.
+-- The (status, lease_expires_at) index keeps the reaper scan cheap.
+-- Runs already RUNNING get an expired lease : they are recovered by
+-- the first reaper pass instead of by manual SQL.
+-- =============================================================
+
+ALTER TABLE ARG_AUDIT_RUN
+    ADD COLUMN lease_expires_at DATETIME(3) NULL,
+    ADD COLUMN attempt_count    INT         NOT NULL DEFAULT 0,
+    ADD INDEX idx_run_status_lease (status, lease_expires_at);
+
+UPDATE ARG_AUDIT_RUN
+SET lease_expires_at = COALESCE(started_at, created_at),
+    attempt_count    = 1
+WHERE status = 'RUNNING';
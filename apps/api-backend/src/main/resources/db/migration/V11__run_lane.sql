@@ -0,0 +1,26 @@
+-- =============================================================
+-- V11 : Priority lanes in the audit queue
+--
+-- Rationale : runs were claimed purely by created_at, so a batch of
+-- thousands of URLs delayed an interactive audit submitted right
+-- after it. Each run now belongs to a lane (INTERACTIVE, BULK,
+-- SCHEDULED) and is claimed by priority_at = created_at + the lane
+-- aging delay : interactive runs go first, while a bulk run that has
+-- waited longer than its delay is not starved. Workers reserved per
+-- lane are enforced by the claim itself.
+-- =============================================================
+
+ALTER TABLE ARG_AUDIT_RUN
+    ADD COLUMN lane        VARCHAR(16) NOT NULL DEFAULT 'INTERACTIVE',
+    ADD COLUMN priority_at DATETIME(3) NULL;
+
+UPDATE ARG_AUDIT_RUN
+SET lane = 'BULK'
+WHERE batch_id IS NOT NULL;
+
+UPDATE ARG_AUDIT_RUN
+SET priority_at = created_at;
+
+ALTER TABLE ARG_AUDIT_RUN
+    MODIFY COLUMN priority_at DATETIME(3) NOT NULL,
+    ADD INDEX idx_run_status_priority (status, priority_at);
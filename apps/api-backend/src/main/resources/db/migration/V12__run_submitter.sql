@@ -0,0 +1,20 @@
+-- =============================================================
+-- V12 : Per-submitter fair share of the audit queue
+--
+-- Rationale : within a lane, one heavy submitter could fill the
+-- queue and delay everyone else. Each run now records who submitted
+-- it (submitter_key : client IP hint or batch) and workers share the
+-- claims between submitters. The (status, submitter_key, priority_at)
+-- index serves both the per-submitter queue heads and the claim of
+-- the most urgent runs of one submitter.
+-- =============================================================
+
+ALTER TABLE ARG_AUDIT_RUN
+    ADD COLUMN submitter_key VARCHAR(128) NOT NULL DEFAULT 'anonymous';
+
+UPDATE ARG_AUDIT_RUN
+SET submitter_key = CONCAT('batch:', batch_id)
+WHERE batch_id IS NOT NULL;
+
+ALTER TABLE ARG_AUDIT_RUN
+    ADD INDEX idx_run_status_submitter_priority (status, submitter_key, priority_at);
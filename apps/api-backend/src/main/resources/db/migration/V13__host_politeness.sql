@@ -0,0 +1,20 @@
+-- =============================================================
+-- V13 : Per-host politeness
+--
+-- Rationale : crawls and batches often target the same host, and
+-- every module of every run hit the customer's server at once. A
+-- worker now takes a slot on the run's ARG_DOMAIN row before
+-- starting the modules : at most max_running_runs RUNNING runs per
+-- host, and at least min_spacing_ms between two run starts
+-- (next_allowed_at). NULL limits use the configured defaults.
+-- A run whose host is busy goes back to QUEUED with next_attempt_at
+-- instead of holding a worker.
+-- =============================================================
+
+ALTER TABLE ARG_DOMAIN
+    ADD COLUMN max_running_runs INT         NULL,
+    ADD COLUMN min_spacing_ms   INT         NULL,
+    ADD COLUMN next_allowed_at  DATETIME(3) NULL;
+
+ALTER TABLE ARG_AUDIT_RUN
+    ADD COLUMN next_attempt_at DATETIME(3) NULL;
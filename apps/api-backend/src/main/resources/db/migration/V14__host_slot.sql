@@ -0,0 +1,13 @@
+-- =============================================================
+-- V14 : Host slots held by runs
+--
+-- Rationale : V13 counted every RUNNING run of a host as busy,
+-- including runs just claimed and still waiting for the domain
+-- lock, so concurrent claims on one host could refuse each other
+-- and none would start. A run now records when it was granted a
+-- slot (host_slot_at, set under the ARG_DOMAIN lock) and only
+-- RUNNING runs holding a slot are counted. A new claim clears it.
+-- =============================================================
+
+ALTER TABLE ARG_AUDIT_RUN
+    ADD COLUMN host_slot_at DATETIME(3) NULL;
@@ -0,0 +1,12 @@
+-- =============================================================
+-- V15 : Queue depth per lane
+--
+-- Rationale : admission control only counts the INTERACTIVE runs
+-- queued ahead of a new submission : an aged bulk backlog must
+-- not make every POST /audits look hours away. The
+-- (status, lane, priority_at) index serves that count without
+-- scanning the other lanes.
+-- =============================================================
+
+ALTER TABLE ARG_AUDIT_RUN
+    ADD INDEX idx_run_status_lane_priority (status, lane, priority_at);
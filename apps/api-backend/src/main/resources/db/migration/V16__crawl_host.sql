@@ -0,0 +1,13 @@
+-- =============================================================
+-- V16 : Crawl host after redirects
+--
+-- Rationale : discovered links were kept only if they matched the
+-- host of root_url, while the links of a page are those of its final
+-- URL. A root redirecting apex -> www dropped every link and the
+-- crawl stopped at its first page. crawl_host records the final
+-- host of the root page (set once, when it is fetched) and is the
+-- host the frontier is filtered on.
+-- =============================================================
+
+ALTER TABLE ARG_AUDIT_BATCH
+    ADD COLUMN crawl_host VARCHAR(255) NULL;
@@ -0,0 +1,14 @@
+-- =============================================================
+-- V17 : Per-client quota on batches and crawls
+--
+-- Rationale : POST /audits/batch and /audits/crawl are public, so
+-- one anonymous client could queue thousands of audits (ZAP scans
+-- of third-party hosts included) with a single request. A batch now
+-- records who submitted it (submitter_key : client IP hint) and the
+-- URLs a client submitted over the quota window are summed on the
+-- (submitter_key, created_at) index before accepting a new one.
+-- =============================================================
+
+ALTER TABLE ARG_AUDIT_BATCH
+    ADD COLUMN submitter_key VARCHAR(128) NULL,
+    ADD INDEX idx_batch_submitter_created (submitter_key, created_at);
@@ -0,0 +1,28 @@
+-- =============================================================
+-- V5 : Key ARG_DOMAIN_ANALYSIS on (domain_id, module_id)
+--
+-- Rationale : every DOMAIN-scoped module (tech, ssl, observatory…)
+-- shares the same cache table. One row per (domain, module), kept
+-- up to date with INSERT … ON DUPLICATE KEY UPDATE instead of a
+-- delete-then-insert.
+-- =============================================================
+
+-- 1. Existing rows all come from the tech module
+ALTER TABLE ARG_DOMAIN_ANALYSIS
+    ADD COLUMN module_id VARCHAR(64) NOT NULL DEFAULT 'tech';
+
+ALTER TABLE ARG_DOMAIN_ANALYSIS ALTER COLUMN module_id DROP DEFAULT;
+
+-- 2. Keep only the most recent row per domain before adding the unique key
+DELETE older
+FROM   ARG_DOMAIN_ANALYSIS older
+INNER  JOIN ARG_DOMAIN_ANALYSIS newer
+       ON  newer.domain_id = older.domain_id
+       AND newer.module_id = older.module_id
+       AND newer.id > older.id;
+
+-- 3. One cache entry per (domain, module) ; also serves the domain FK
+ALTER TABLE ARG_DOMAIN_ANALYSIS
+    ADD UNIQUE KEY uq_domain_analysis_module (domain_id, module_id);
+
+ALTER TABLE ARG_DOMAIN_ANALYSIS DROP INDEX idx_domain_analysis_lookup;
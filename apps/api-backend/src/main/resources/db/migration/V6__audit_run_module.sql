@@ -0,0 +1,21 @@
+-- =============================================================
+-- V6 : Introduce ARG_AUDIT_RUN_MODULE
+--
+-- Rationale : module results are written as soon as each module
+-- finishes, so GET /audits/runs/{runId} can expose partial results
+-- and a provisional score while slow modules are still running.
+-- The final report is still stored in ARG_AUDIT_RUN.result_json.
+-- =============================================================
+
+CREATE TABLE IF NOT EXISTS ARG_AUDIT_RUN_MODULE (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    run_id      BIGINT      NOT NULL,
+    module_id   VARCHAR(64) NOT NULL,
+    result_json LONGTEXT    NOT NULL,
+    duration_ms BIGINT      NOT NULL,
+    finished_at DATETIME(3) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uq_run_module (run_id, module_id),
+    CONSTRAINT fk_run_module_run
+        FOREIGN KEY (run_id) REFERENCES ARG_AUDIT_RUN(id) ON DELETE CASCADE
+) ENGINE=InnoDB;
@@ -0,0 +1,22 @@
+-- =============================================================
+-- V7 : Introduce ARG_AUDIT_BATCH
+--
+-- Rationale : POST /audits/batch submits thousands of URLs at once.
+-- Runs created by a batch reference it through ARG_AUDIT_RUN.batch_id,
+-- so the aggregate progress of a batch is a single GROUP BY status
+-- on the (batch_id, status) index.
+-- =============================================================
+
+CREATE TABLE IF NOT EXISTS ARG_AUDIT_BATCH (
+    id           BIGINT      NOT NULL AUTO_INCREMENT,
+    url_count    INT         NOT NULL,
+    run_count    INT         NOT NULL,
+    created_at   DATETIME(3) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+ALTER TABLE ARG_AUDIT_RUN
+    ADD COLUMN batch_id BIGINT NULL,
+    ADD CONSTRAINT fk_run_batch
+        FOREIGN KEY (batch_id) REFERENCES ARG_AUDIT_BATCH(id) ON DELETE SET NULL,
+    ADD INDEX idx_run_batch_status (batch_id, status);
@@ -0,0 +1,21 @@
+-- =============================================================
+-- V8 : Crawl mode on top of ARG_AUDIT_BATCH
+--
+-- Rationale : a crawl is a batch whose runs are discovered page by
+-- page (same-host links of the pages already fetched) instead of
+-- being submitted upfront.
+--   * root_url    : normalized start URL (NULL for a plain URL batch)
+--   * max_pages   : page budget; run_count is reserved against it
+--   * max_running : runs of the batch a worker may have RUNNING at once
+--                   (NULL = unbounded)
+-- The (batch_id, audit_id) unique key guarantees that a page is
+-- enqueued only once per crawl, even when two nodes discover it.
+-- =============================================================
+
+ALTER TABLE ARG_AUDIT_BATCH
+    ADD COLUMN root_url    TEXT NULL,
+    ADD COLUMN max_pages   INT  NULL,
+    ADD COLUMN max_running INT  NULL;
+
+ALTER TABLE ARG_AUDIT_RUN
+    ADD UNIQUE KEY uq_run_batch_audit (batch_id, audit_id);
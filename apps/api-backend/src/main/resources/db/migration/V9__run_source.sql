@@ -0,0 +1,16 @@
+-- =============================================================
+-- V9 : Reuse of recent results (freshness window)
+--
+-- Rationale : a URL audited successfully a few minutes ago is not
+-- audited again. The new run is created COMPLETED and points to the
+-- run that actually produced the result (source_run_id) : the report
+-- JSON and the public report are read from that run, never copied.
+-- The (audit_id, status, finished_at) index makes the freshness check
+-- a single index range read.
+-- =============================================================
+
+ALTER TABLE ARG_AUDIT_RUN
+    ADD COLUMN source_run_id BIGINT NULL,
+    ADD CONSTRAINT fk_run_source_run
+        FOREIGN KEY (source_run_id) REFERENCES ARG_AUDIT_RUN(id) ON DELETE CASCADE,
+    ADD INDEX idx_run_audit_status_finished (audit_id, status, finished_at);
@@ -3,6 +3,8 @@ package com.dokor.argos.services.analysis;
 import com.dokor.argos.services.analysis.model.AuditContext;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
@@ -47,4 +49,36 @@ class AuditContextTest {
         assertEquals("text/html", ctx.headers().get("content-type"));
         assertEquals("<html/>", ctx.body());
     }
+
+    @Test
+    void shouldReturnCapWhenNoDeadline() {
+        AuditContext ctx = new AuditContext("http://example.com", "http://example.com", 0L);
+
+        assertNull(ctx.deadline());
+        assertFalse(ctx.isBudgetExhausted());
+        assertEquals(Duration.ofSeconds(30), ctx.remainingBudget(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void shouldBoundRemainingBudgetByDeadline() {
+        AuditContext ctx = new AuditContext("http://example.com", "http://example.com", 0L)
+            .withDeadline(Instant.now().plusSeconds(5));
+
+        Duration remaining = ctx.remainingBudget(Duration.ofSeconds(30));
+        assertTrue(remaining.compareTo(Duration.ofSeconds(5)) <= 0);
+        assertTrue(remaining.isPositive());
+        assertFalse(ctx.isBudgetExhausted());
+    }
+
+    @Test
+    void shouldKeepDeadlineWhenEnrichingAndReportExhaustion() {
+        Instant past = Instant.now().minusSeconds(1);
+        AuditContext ctx = new AuditContext("http://example.com", "http://example.com", 0L)
+            .withDeadline(past)
+            .withHttpResult("http://example.com", 200, 1, List.of(), Map.of(), null);
+
+        assertEquals(past, ctx.deadline());
+        assertTrue(ctx.isBudgetExhausted());
+        assertEquals(Duration.ZERO, ctx.remainingBudget(Duration.ofSeconds(30)));
+    }
 }
@@ -0,0 +1,117 @@
+package com.dokor.argos.services.analysis;
+
+import com.dokor.argos.services.analysis.model.AuditContext;
+import com.dokor.argos.services.analysis.model.AuditModuleAnalyzer;
+import com.dokor.argos.services.analysis.model.AuditModuleResult;
+import com.dokor.argos.services.analysis.model.ModuleCost;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditExecutionPlanTest {
+
+    @Test
+    void shouldGroupModulesInStagesAndLaunchExpensiveFirst() {
+        AuditExecutionPlan plan = AuditExecutionPlan.build(List.of(
+            analyzer("http", Set.of(), ModuleCost.MEDIUM),
+            analyzer("html", Set.of("http"), ModuleCost.LOW),
+            analyzer("lighthouse", Set.of("http"), ModuleCost.HIGH),
+            analyzer("zap", Set.of("http"), ModuleCost.MEDIUM)
+        ), a -> true);
+
+        assertEquals(2, plan.stages().size());
+        assertEquals(List.of("http"), ids(plan.stages().get(0)));
+        assertEquals(List.of("lighthouse", "zap", "html"), ids(plan.stages().get(1)));
+        assertEquals(List.of("http", "html", "lighthouse", "zap"), ids(plan.modules()));
+        assertEquals("[http] -> [lighthouse, zap, html]", plan.toString());
+    }
+
+    @Test
+    void shouldSkipDisabledModulesAndTheirDependents() {
+        AuditExecutionPlan plan = AuditExecutionPlan.build(List.of(
+            analyzer("http", Set.of(), ModuleCost.MEDIUM),
+            analyzer("zap", Set.of("http"), ModuleCost.MEDIUM),
+            analyzer("zapReport", Set.of("zap"), ModuleCost.LOW),
+            analyzer("html", Set.of("http"), ModuleCost.LOW)
+        ), a -> !a.moduleId().equals("zap"));
+
+        assertEquals(List.of("http", "html"), ids(plan.modules()));
+        assertEquals(List.of("zap", "zapReport"), plan.skippedModules());
+    }
+
+    @Test
+    void shouldPlaceModulesAfterDependenciesRegisteredLater() {
+        AuditExecutionPlan plan = AuditExecutionPlan.build(List.of(
+            analyzer("html", Set.of("http"), ModuleCost.LOW),
+            analyzer("http", Set.of(), ModuleCost.MEDIUM)
+        ), a -> true);
+
+        assertEquals(List.of("http"), ids(plan.stages().get(0)));
+        assertEquals(List.of("html"), ids(plan.stages().get(1)));
+        assertEquals(List.of("html", "http"), ids(plan.modules()));
+    }
+
+    @Test
+    void shouldRejectUnknownDependency() {
+        List<AuditModuleAnalyzer> analyzers = List.of(analyzer("html", Set.of("http"), ModuleCost.LOW));
+
+        assertThrows(IllegalStateException.class, () -> AuditExecutionPlan.build(analyzers, a -> true));
+    }
+
+    @Test
+    void shouldRejectDuplicateModuleId() {
+        List<AuditModuleAnalyzer> analyzers = List.of(
+            analyzer("http", Set.of(), ModuleCost.MEDIUM),
+            analyzer("http", Set.of(), ModuleCost.MEDIUM)
+        );
+
+        assertThrows(IllegalStateException.class, () -> AuditExecutionPlan.build(analyzers, a -> true));
+    }
+
+    @Test
+    void shouldRejectDependencyCycle() {
+        List<AuditModuleAnalyzer> analyzers = List.of(
+            analyzer("a", Set.of("b"), ModuleCost.LOW),
+            analyzer("b", Set.of("a"), ModuleCost.LOW)
+        );
+
+        assertThrows(IllegalStateException.class, () -> AuditExecutionPlan.build(analyzers, a -> true));
+    }
+
+    // -------------------------
+    // Helpers
+    // -------------------------
+
+    private static List<String> ids(List<AuditModuleAnalyzer> analyzers) {
+        return analyzers.stream().map(AuditModuleAnalyzer::moduleId).toList();
+    }
+
+    private static AuditModuleAnalyzer analyzer(String id, Set<String> dependsOn, ModuleCost cost) {
+        return new AuditModuleAnalyzer() {
+            @Override
+            public String moduleId() {
+                return id;
+            }
+
+            @Override
+            public Set<String> dependsOn() {
+                return dependsOn;
+            }
+
+            @Override
+            public ModuleCost cost() {
+                return cost;
+            }
+
+            @Override
+            public AuditModuleResult analyze(AuditContext context, Logger logger) {
+                return new AuditModuleResult(id, id, "ok", Map.of(), List.of());
+            }
+        };
+    }
+}
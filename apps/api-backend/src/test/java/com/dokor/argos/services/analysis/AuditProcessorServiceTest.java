@@ -1,29 +1,45 @@
 package com.dokor.argos.services.analysis;
 
 import com.dokor.argos.db.dao.AuditDao;
+import com.dokor.argos.db.dao.DomainDao;
 import com.dokor.argos.db.generated.Audit;
-import com.dokor.argos.services.analysis.lighthouse.LighthouseModuleAnalyzer;
+import com.dokor.argos.db.generated.AuditRun;
 import com.dokor.argos.services.analysis.model.AuditContext;
+import com.dokor.argos.services.analysis.model.AuditModuleAnalyzer;
 import com.dokor.argos.services.analysis.model.AuditModuleResult;
-import com.dokor.argos.services.analysis.modules.html.HtmlModuleAnalyzer;
 import com.dokor.argos.services.analysis.modules.http.HttpModuleAnalyzer;
-import com.dokor.argos.services.analysis.modules.runtime.RuntimeModuleAnalyzer;
+import com.dokor.argos.services.analysis.scoring.AuditScoreReport;
+import com.dokor.argos.services.analysis.scoring.ScoreAggregate;
 import com.dokor.argos.services.analysis.scoring.ScoreEnricherService;
 import com.dokor.argos.services.analysis.scoring.ScoreService;
+import com.dokor.argos.services.configuration.ConfigurationService;
+import com.dokor.argos.services.domain.audit.AuditQueueMetrics;
+import com.dokor.argos.services.domain.audit.AuditRunModuleService;
 import com.dokor.argos.services.domain.audit.AuditRunService;
 import com.dokor.argos.services.domain.audit.UrlNormalizer;
+import com.dokor.argos.services.domain.audit.crawl.CrawlService;
+import com.dokor.argos.services.domain.audit.progress.RunProgressEvent;
+import com.dokor.argos.services.domain.audit.progress.RunProgressEventType;
+import com.dokor.argos.services.domain.audit.progress.RunProgressRegistry;
+import com.dokor.argos.services.domain.domain.DomainService;
 import com.dokor.argos.services.domain.report.ReportPublishService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
-import com.dokor.argos.services.analysis.CheckMergerService;
-import com.dokor.argos.services.analysis.modules.observatory.ObservatoryModuleAnalyzer;
-import com.dokor.argos.services.analysis.modules.ssl.SslLabsModuleAnalyzer;
-import com.dokor.argos.services.analysis.modules.zap.ZapModuleAnalyzer;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class AuditProcessorServiceTest {
@@ -33,29 +49,12 @@ class AuditProcessorServiceTest {
         AuditRunService runService = mock(AuditRunService.class);
         when(runService.getRun(1L)).thenReturn(Optional.empty());
 
-        AuditProcessorService svc = new AuditProcessorService(
-            runService,
-            mock(AuditDao.class),
-            mock(UrlNormalizer.class),
-            mock(HttpModuleAnalyzer.class),
-            mock(HtmlModuleAnalyzer.class),
-            mock(RuntimeModuleAnalyzer.class),
-            mock(LighthouseModuleAnalyzer.class),
-            mock(ObservatoryModuleAnalyzer.class),
-            mock(SslLabsModuleAnalyzer.class),
-            mock(ZapModuleAnalyzer.class),
-            mock(DomainAnalysisService.class),
-            mock(CheckMergerService.class),
-            mock(ScoreEnricherService.class),
-            mock(ScoreService.class),
-            new ObjectMapper(),
-            mock(ReportPublishService.class)
-        );
+        AuditProcessorService svc = service(runService, mock(AuditDao.class), mock(UrlNormalizer.class), budgets(), httpOk());
 
         svc.process(1L);
 
-        verify(runService, never()).complete(anyLong(), anyString());
-        verify(runService, never()).fail(anyLong(), anyString());
+        verify(runService, never()).complete(any(AuditRun.class), anyString());
+        verify(runService, never()).fail(any(AuditRun.class), anyString());
     }
 
     @Test
@@ -63,103 +62,129 @@ class AuditProcessorServiceTest {
         AuditRunService runService = mock(AuditRunService.class);
         AuditDao auditDao = mock(AuditDao.class);
 
-        var run = new com.dokor.argos.db.generated.AuditRun();
-        run.setId(1L);
-        run.setAuditId(10L);
+        when(runService.getRun(1L)).thenReturn(Optional.of(run()));
+        when(auditDao.findById(10L)).thenReturn(null);
+
+        AuditProcessorService svc = service(runService, auditDao, mock(UrlNormalizer.class), budgets(), httpOk());
+
+        svc.process(1L);
 
+        verify(runService).fail(runOne(), anyString());
+    }
+
+    @Test
+    void shouldDeferRunWhenHostIsBusy() {
+        AuditRunService runService = mock(AuditRunService.class);
+        AuditDao auditDao = mock(AuditDao.class);
+        DomainService domainService = mock(DomainService.class);
+        AtomicInteger httpCalls = new AtomicInteger();
+        Instant retryAt = Instant.parse("2026-01-01T10:00:05Z");
+
+        AuditRun run = run();
         when(runService.getRun(1L)).thenReturn(Optional.of(run));
-        when(auditDao.findById(10L)).thenReturn(null);
+        when(auditDao.findById(10L)).thenReturn(audit("http://example.com"));
+        when(domainService.acquireHostSlot(1L, 1L)).thenReturn(new DomainDao.HostSlot(false, retryAt));
 
-        AuditProcessorService svc = new AuditProcessorService(
-            runService,
-            auditDao,
-            mock(UrlNormalizer.class),
-            mock(HttpModuleAnalyzer.class),
-            mock(HtmlModuleAnalyzer.class),
-            mock(RuntimeModuleAnalyzer.class),
-            mock(LighthouseModuleAnalyzer.class),
-            mock(ObservatoryModuleAnalyzer.class),
-            mock(SslLabsModuleAnalyzer.class),
-            mock(ZapModuleAnalyzer.class),
-            mock(DomainAnalysisService.class),
-            mock(CheckMergerService.class),
-            mock(ScoreEnricherService.class),
-            mock(ScoreService.class),
-            new ObjectMapper(),
-            mock(ReportPublishService.class)
+        AuditQueueMetrics queueMetrics = mock(AuditQueueMetrics.class);
+
+        AuditProcessorService svc = service(runService, auditDao, mock(UrlNormalizer.class), budgets(), domainService,
+            new RunProgressRegistry(), queueMetrics,
+            new FakeAnalyzer("http", Set.of(), ctx -> {
+                httpCalls.incrementAndGet();
+                return module("http");
+            })
         );
 
         svc.process(1L);
 
-        verify(runService).fail(eq(1L), anyString());
+        verify(runService).defer(run, retryAt);
+        // Run renvoyé en file : pas d'échantillon claim → démarrage
+        verify(queueMetrics, never()).runStarted(any(AuditRun.class));
+        assertEquals(0, httpCalls.get());
+        verify(runService, never()).complete(any(AuditRun.class), anyString());
+        verify(runService, never()).fail(any(AuditRun.class), anyString());
     }
 
     @Test
-    void shouldNormalizeUrlWhenMissingAndComplete() throws Exception {
+    void shouldForgetProgressWhenClaimIsLost() {
         AuditRunService runService = mock(AuditRunService.class);
         AuditDao auditDao = mock(AuditDao.class);
-        UrlNormalizer normalizer = mock(UrlNormalizer.class);
+        DomainService domainService = mock(DomainService.class);
+        RunProgressRegistry registry = new RunProgressRegistry();
+        List<RunProgressEventType> events = new ArrayList<>();
+        registry.subscribe(1L, event -> events.add(event.type()));
 
-        var run = new com.dokor.argos.db.generated.AuditRun();
-        run.setId(1L);
-        run.setAuditId(10L);
+        when(runService.getRun(1L)).thenReturn(Optional.of(run()));
+        when(auditDao.findById(10L)).thenReturn(audit("http://example.com"));
+        when(domainService.acquireHostSlot(1L, 1L)).thenReturn(new DomainDao.HostSlot(true, null));
+        when(runService.complete(runOne(), anyString())).thenReturn(false);
 
-        Audit audit = new Audit();
-        audit.setId(10L);
-        audit.setInputUrl("http://example.com");
-        audit.setNormalizedUrl(null);
+        AuditProcessorService svc = service(runService, auditDao, mock(UrlNormalizer.class), budgets(), domainService,
+            registry, httpOk());
 
-        when(runService.getRun(1L)).thenReturn(Optional.of(run));
-        when(auditDao.findById(10L)).thenReturn(audit);
-        when(normalizer.normalize("http://example.com")).thenReturn("http://example.com");
+        svc.process(1L);
 
-        HttpModuleAnalyzer http = mock(HttpModuleAnalyzer.class);
-        HtmlModuleAnalyzer html = mock(HtmlModuleAnalyzer.class);
-        RuntimeModuleAnalyzer runtime = mock(RuntimeModuleAnalyzer.class);
-        ScoreEnricherService scoreEnricherService = mock(ScoreEnricherService.class);
-        ScoreService scoreService = mock(ScoreService.class);
+        // Pas d'état local figé en RUNNING : le heartbeat SSE relit le run en base
+        assertTrue(registry.snapshot(1L).isEmpty());
+        assertFalse(events.contains(RunProgressEventType.RUN_COMPLETED));
+    }
 
-        AuditModuleResult httpModule = new AuditModuleResult(
-            "http", "HTTP", "ok",
-            Map.of(
-                "finalUrl", "http://example.com",
-                "statusCode", 200,
-                "durationMs", 10L,
-                "redirectChain", List.of("http://example.com"),
-                "headers", Map.of("content-type", "text/html"),
-                "body", "<html><head><title>T</title></head><body><h1>A</h1></body></html>"
-            ),
-            List.of()
+    @Test
+    void shouldReportBudgetExceededModuleAsFinished() {
+        AuditRunService runService = mock(AuditRunService.class);
+        AuditDao auditDao = mock(AuditDao.class);
+        DomainService domainService = mock(DomainService.class);
+        ConfigurationService configurationService = budgets();
+        RunProgressRegistry registry = new RunProgressRegistry();
+        List<RunProgressEvent> events = new ArrayList<>();
+        registry.subscribe(1L, events::add);
+
+        when(runService.getRun(1L)).thenReturn(Optional.of(run()));
+        when(auditDao.findById(10L)).thenReturn(audit("http://example.com"));
+        when(domainService.acquireHostSlot(1L, 1L)).thenReturn(new DomainDao.HostSlot(true, null));
+        when(configurationService.auditModuleBudget("slow")).thenReturn(Duration.ofMillis(50));
+
+        AuditProcessorService svc = service(runService, auditDao, mock(UrlNormalizer.class), configurationService,
+            domainService, registry,
+            httpOk(),
+            new FakeAnalyzer("slow", Set.of("http"), ctx -> {
+                try {
+                    Thread.sleep(60_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return module("slow");
+            })
         );
 
-        when(http.analyze(any(AuditContext.class), any())).thenReturn(httpModule);
-        when(html.analyze(any(AuditContext.class), any())).thenReturn(new AuditModuleResult("html", "HTML", "ok", Map.of(), List.of()));
-        when(runtime.analyze(any(AuditContext.class), any())).thenReturn(new AuditModuleResult("runtime", "RUNTIME", "ok", Map.of(), List.of()));
+        svc.process(1L);
 
-        AuditProcessorService svc = new AuditProcessorService(
-            runService,
-            auditDao,
-            normalizer,
-            http,
-            html,
-            runtime,
-            mock(LighthouseModuleAnalyzer.class),
-            mock(ObservatoryModuleAnalyzer.class),
-            mock(SslLabsModuleAnalyzer.class),
-            mock(ZapModuleAnalyzer.class),
-            mock(DomainAnalysisService.class),
-            mock(CheckMergerService.class),
-            scoreEnricherService,
-            scoreService,
-            new ObjectMapper(),
-            mock(ReportPublishService.class)
+        // Le module abandonné est notifié comme terminé, comme dans le rapport final
+        assertTrue(events.stream().anyMatch(event ->
+            event.type() == RunProgressEventType.MODULE_FINISHED && "slow".equals(event.moduleId())
+        ));
+    }
+
+    @Test
+    void shouldNormalizeUrlWhenMissingAndComplete() {
+        AuditRunService runService = mock(AuditRunService.class);
+        AuditDao auditDao = mock(AuditDao.class);
+        UrlNormalizer normalizer = mock(UrlNormalizer.class);
+
+        when(runService.getRun(1L)).thenReturn(Optional.of(run()));
+        when(auditDao.findById(10L)).thenReturn(audit(null));
+        when(normalizer.normalize("http://example.com")).thenReturn("http://example.com");
+
+        AuditProcessorService svc = service(runService, auditDao, normalizer, budgets(),
+            httpOk(),
+            new FakeAnalyzer("html", Set.of("http"), ctx -> module("html"))
         );
 
         svc.process(1L);
 
         verify(normalizer).normalize("http://example.com");
-        verify(runService).complete(eq(1L), anyString());
-        verify(runService, never()).fail(eq(1L), anyString());
+        verify(runService).complete(runOne(), anyString());
+        verify(runService, never()).fail(runOne(), anyString());
     }
 
     @Test
@@ -167,43 +192,256 @@ class AuditProcessorServiceTest {
         AuditRunService runService = mock(AuditRunService.class);
         AuditDao auditDao = mock(AuditDao.class);
 
-        var run = new com.dokor.argos.db.generated.AuditRun();
-        run.setId(1L);
-        run.setAuditId(10L);
+        when(runService.getRun(1L)).thenReturn(Optional.of(run()));
+        when(auditDao.findById(10L)).thenReturn(audit("http://example.com"));
 
-        Audit audit = new Audit();
-        audit.setId(10L);
-        audit.setInputUrl("http://example.com");
-        audit.setNormalizedUrl("http://example.com");
+        AuditProcessorService svc = service(runService, auditDao, mock(UrlNormalizer.class), budgets(),
+            new FakeAnalyzer("http", Set.of(), ctx -> {
+                throw new RuntimeException("boom");
+            })
+        );
+
+        svc.process(1L);
+
+        verify(runService).fail(runOne(), contains("boom"));
+        verify(runService, never()).complete(runOne(), anyString());
+    }
+
+    @Test
+    void shouldNotFailWhenRetryIsScheduled() {
+        AuditRunService runService = mock(AuditRunService.class);
+        AuditDao auditDao = mock(AuditDao.class);
 
+        AuditRun run = run();
         when(runService.getRun(1L)).thenReturn(Optional.of(run));
-        when(auditDao.findById(10L)).thenReturn(audit);
+        when(auditDao.findById(10L)).thenReturn(audit("http://example.com"));
+        when(runService.scheduleRetry(eq(run), any())).thenReturn(true);
+
+        AuditProcessorService svc = service(runService, auditDao, mock(UrlNormalizer.class), budgets(),
+            new FakeAnalyzer("http", Set.of(), ctx -> {
+                throw new RuntimeException("connection reset");
+            })
+        );
+
+        svc.process(1L);
+
+        verify(runService).scheduleRetry(eq(run), any());
+        verify(runService, never()).fail(any(AuditRun.class), anyString());
+        verify(runService, never()).complete(any(AuditRun.class), anyString());
+    }
+
+    @Test
+    void shouldRunDependentModulesWithHttpEnrichedContext() {
+        AuditRunService runService = mock(AuditRunService.class);
+        AuditDao auditDao = mock(AuditDao.class);
+
+        when(runService.getRun(1L)).thenReturn(Optional.of(run()));
+        when(auditDao.findById(10L)).thenReturn(audit("http://example.com"));
+
+        AtomicReference<String> seenFinalUrl = new AtomicReference<>();
+        AuditProcessorService svc = service(runService, auditDao, mock(UrlNormalizer.class), budgets(),
+            httpOk(),
+            new FakeAnalyzer("html", Set.of("http"), ctx -> {
+                seenFinalUrl.set(ctx.finalUrl());
+                return module("html");
+            })
+        );
+
+        svc.process(1L);
+
+        assertEquals("https://example.com/", seenFinalUrl.get());
+        verify(runService).complete(runOne(), anyString());
+    }
+
+    @Test
+    void shouldSkipDisabledModuleAndKeepRegistrationOrder() throws Exception {
+        AuditRunService runService = mock(AuditRunService.class);
+        AuditDao auditDao = mock(AuditDao.class);
+
+        when(runService.getRun(1L)).thenReturn(Optional.of(run()));
+        when(auditDao.findById(10L)).thenReturn(audit("http://example.com"));
+
+        ConfigurationService configurationService = budgets();
+        when(configurationService.auditModuleEnabled("zap", true)).thenReturn(false);
+
+        AtomicInteger zapCalls = new AtomicInteger();
+        AuditProcessorService svc = service(runService, auditDao, mock(UrlNormalizer.class), configurationService,
+            httpOk(),
+            new FakeAnalyzer("zap", Set.of("http"), ctx -> {
+                zapCalls.incrementAndGet();
+                return module("zap");
+            }),
+            new FakeAnalyzer("html", Set.of("http"), ctx -> module("html"))
+        );
 
-        HttpModuleAnalyzer http = mock(HttpModuleAnalyzer.class);
-        when(http.analyze(any(AuditContext.class), any())).thenThrow(new RuntimeException("boom"));
+        svc.process(1L);
+
+        ArgumentCaptor<String> json = ArgumentCaptor.forClass(String.class);
+        verify(runService).complete(runOne(), json.capture());
+        assertEquals(0, zapCalls.get());
 
-        AuditProcessorService svc = new AuditProcessorService(
+        List<String> moduleIds = new ObjectMapper().readTree(json.getValue()).get("modules")
+            .findValuesAsText("id");
+        assertEquals(List.of("http", "html"), moduleIds);
+    }
+
+    // -------------------------
+    // Helpers
+    // -------------------------
+
+    private static AuditProcessorService service(
+        AuditRunService runService,
+        AuditDao auditDao,
+        UrlNormalizer normalizer,
+        ConfigurationService configurationService,
+        AuditModuleAnalyzer... analyzers
+    ) {
+        DomainService domainService = mock(DomainService.class);
+        when(domainService.acquireHostSlot(anyLong(), anyLong())).thenReturn(new DomainDao.HostSlot(true, null));
+        return service(runService, auditDao, normalizer, configurationService, domainService, analyzers);
+    }
+
+    private static AuditProcessorService service(
+        AuditRunService runService,
+        AuditDao auditDao,
+        UrlNormalizer normalizer,
+        ConfigurationService configurationService,
+        DomainService domainService,
+        AuditModuleAnalyzer... analyzers
+    ) {
+        return service(runService, auditDao, normalizer, configurationService, domainService, new RunProgressRegistry(), analyzers);
+    }
+
+    private static AuditProcessorService service(
+        AuditRunService runService,
+        AuditDao auditDao,
+        UrlNormalizer normalizer,
+        ConfigurationService configurationService,
+        DomainService domainService,
+        RunProgressRegistry runProgressRegistry,
+        AuditModuleAnalyzer... analyzers
+    ) {
+        return service(runService, auditDao, normalizer, configurationService, domainService, runProgressRegistry,
+            mock(AuditQueueMetrics.class), analyzers);
+    }
+
+    private static AuditProcessorService service(
+        AuditRunService runService,
+        AuditDao auditDao,
+        UrlNormalizer normalizer,
+        ConfigurationService configurationService,
+        DomainService domainService,
+        RunProgressRegistry runProgressRegistry,
+        AuditQueueMetrics queueMetrics,
+        AuditModuleAnalyzer... analyzers
+    ) {
+        CheckMergerService checkMergerService = mock(CheckMergerService.class);
+        when(checkMergerService.merge(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        ScoreEnricherService scoreEnricherService = mock(ScoreEnricherService.class);
+        when(scoreEnricherService.enrich(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        ScoreService scoreService = mock(ScoreService.class);
+        ScoreAggregate global = ScoreAggregate.of("global", 0, 0);
+        when(scoreService.compute(anyInt(), anyList()))
+            .thenReturn(new AuditScoreReport(1, global, List.of(), List.of(), List.of()));
+
+        return new AuditProcessorService(
             runService,
+            mock(AuditRunModuleService.class),
+            runProgressRegistry,
             auditDao,
-            mock(UrlNormalizer.class),
-            http,
-            mock(HtmlModuleAnalyzer.class),
-            mock(RuntimeModuleAnalyzer.class),
-            mock(LighthouseModuleAnalyzer.class),
-            mock(ObservatoryModuleAnalyzer.class),
-            mock(SslLabsModuleAnalyzer.class),
-            mock(ZapModuleAnalyzer.class),
+            normalizer,
+            new LinkedHashSet<>(List.of(analyzers)),
             mock(DomainAnalysisService.class),
-            mock(CheckMergerService.class),
-            mock(ScoreEnricherService.class),
-            mock(ScoreService.class),
-            new ObjectMapper(),
-            mock(ReportPublishService.class)
+            domainService,
+            mock(CrawlService.class),
+            checkMergerService,
+            scoreEnricherService,
+            scoreService,
+            new ObjectMapper().findAndRegisterModules(),
+            mock(ReportPublishService.class),
+            configurationService,
+            queueMetrics
         );
+    }
 
-        svc.process(1L);
+    private static ConfigurationService budgets() {
+        ConfigurationService configurationService = mock(ConfigurationService.class);
+        when(configurationService.auditRunBudget()).thenReturn(Duration.ofMinutes(5));
+        when(configurationService.auditModuleBudget(anyString())).thenReturn(Duration.ofSeconds(30));
+        when(configurationService.auditModuleEnabled(anyString(), anyBoolean())).thenReturn(true);
+        return configurationService;
+    }
+
+    private static AuditRun run() {
+        AuditRun run = new AuditRun();
+        run.setId(1L);
+        run.setAuditId(10L);
+        return run;
+    }
+
+    private static AuditRun runOne() {
+        return argThat(run -> run != null && run.getId() == 1L);
+    }
+
+    private static Audit audit(String normalizedUrl) {
+        Audit audit = new Audit();
+        audit.setId(10L);
+        audit.setDomainId(1L);
+        audit.setInputUrl("http://example.com");
+        audit.setNormalizedUrl(normalizedUrl);
+        return audit;
+    }
+
+    private static AuditModuleResult module(String id) {
+        return new AuditModuleResult(id, id.toUpperCase(), "ok", Map.of(), List.of());
+    }
+
+    private static AuditModuleAnalyzer httpOk() {
+        return new FakeAnalyzer("http", Set.of(), ctx -> new AuditModuleResult(
+            "http", "HTTP", "ok",
+            Map.of(
+                "finalUrl", "https://example.com/",
+                "statusCode", 200,
+                "durationMs", 10L,
+                "redirectChain", List.of("http://example.com", "https://example.com/"),
+                "headers", Map.of("content-type", "text/html"),
+                "body", "<html><head><title>T</title></head><body><h1>A</h1></body></html>"
+            ),
+            List.of()
+        )) {
+            @Override
+            public AuditContext enrich(AuditContext context, AuditModuleResult result) {
+                return HttpModuleAnalyzer.enrichContext(context, result);
+            }
+        };
+    }
 
-        verify(runService).fail(eq(1L), contains("boom"));
-        verify(runService, never()).complete(eq(1L), anyString());
+    private static class FakeAnalyzer implements AuditModuleAnalyzer {
+        private final String id;
+        private final Set<String> dependsOn;
+        private final Function<AuditContext, AuditModuleResult> behaviour;
+
+        FakeAnalyzer(String id, Set<String> dependsOn, Function<AuditContext, AuditModuleResult> behaviour) {
+            this.id = id;
+            this.dependsOn = dependsOn;
+            this.behaviour = behaviour;
+        }
+
+        @Override
+        public String moduleId() {
+            return id;
+        }
+
+        @Override
+        public Set<String> dependsOn() {
+            return dependsOn;
+        }
+
+        @Override
+        public AuditModuleResult analyze(AuditContext context, org.slf4j.Logger logger) {
+            return behaviour.apply(context);
+        }
     }
 }
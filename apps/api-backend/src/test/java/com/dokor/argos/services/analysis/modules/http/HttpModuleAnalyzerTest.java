@@ -4,11 +4,23 @@ import com.dokor.argos.services.analysis.model.AuditCheckResult;
 import com.dokor.argos.services.analysis.model.AuditContext;
 import com.dokor.argos.services.analysis.model.AuditModuleResult;
 import com.dokor.argos.services.analysis.model.enums.AuditStatus;
+import com.sun.net.httpserver.HttpServer;
 import org.junit.jupiter.api.Test;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Map;
+import java.util.OptionalLong;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,7 +36,10 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 class HttpModuleAnalyzerTest {
 
-    private final HttpModuleAnalyzer analyzer = new HttpModuleAnalyzer();
+    private final HttpModuleAnalyzer analyzer = new HttpModuleAnalyzer(
+        HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NEVER).build(),
+        1024
+    );
 
     // -------------------------
     // enrichContext
@@ -128,6 +143,223 @@ class HttpModuleAnalyzerTest {
         assertTrue(keys.contains("http.final_url.https"),    "Missing http.final_url.https");
     }
 
+    // -------------------------
+    // analyze — redirections (serveur local)
+    // -------------------------
+
+    @Test
+    void analyze_shouldFollowRedirectsWithoutReadingHopBodies() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        // Saut de redirection avec un corps énorme : il ne doit pas être téléchargé
+        server.createContext("/start", exchange -> {
+            exchange.getResponseHeaders().add("Location", "/final");
+            exchange.sendResponseHeaders(301, 0);
+            try (OutputStream out = exchange.getResponseBody()) {
+                for (int i = 0; i < 50_000; i++) {
+                    out.write(new byte[1024]);
+                }
+            } catch (IOException expected) {
+                // Le client a annulé la réception du corps
+            }
+        });
+        server.createContext("/final", exchange -> {
+            byte[] page = "<html>ok</html>".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, page.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(page);
+            }
+        });
+        server.start();
+        try {
+            String base = "http://127.0.0.1:" + server.getAddress().getPort();
+            AuditContext ctx = new AuditContext(base + "/start", base + "/start", 0L);
+
+            AuditModuleResult result = analyzer.analyze(ctx, LoggerFactory.getLogger("test"));
+
+            assertEquals(200, result.data().get("statusCode"));
+            assertEquals(base + "/final", result.data().get("finalUrl"));
+            assertEquals(List.of(base + "/start", base + "/final"), result.data().get("redirectChain"));
+            assertEquals("<html>ok</html>", result.data().get("body"));
+            assertEquals(false, result.data().get("bodyTruncated"));
+
+            // Un chronométrage par saut : DNS au premier saut vers l'hôte seulement, pas de téléchargement
+            // pour la redirection
+            List<?> hopTimings = (List<?>) result.data().get("hopTimings");
+            assertEquals(2, hopTimings.size());
+            Map<?, ?> redirectHop = (Map<?, ?>) hopTimings.get(0);
+            assertEquals(301, redirectHop.get("status"));
+            assertNotNull(redirectHop.get("dnsMs"));
+            assertEquals(0L, redirectHop.get("downloadMs"));
+            assertFalse(redirectHop.containsKey("connectMs"));
+            assertNull(((Map<?, ?>) hopTimings.get(1)).get("dnsMs"));
+
+            // Connexion de sonde unique, vers l'origine finale ; pas de TLS en HTTP
+            Map<?, ?> connectionTiming = (Map<?, ?>) result.data().get("connectionTiming");
+            assertNotNull(connectionTiming.get("connectMs"));
+            assertNull(connectionTiming.get("tlsMs"));
+            // Réponse finale sur l'origine déjà visitée par la redirection : connexion réutilisable,
+            // le TTFB n'est pas corrigé du coût d'établissement
+            AuditCheckResult phases = result.checks().stream()
+                .filter(c -> "http.timing.phases".equals(c.key()))
+                .findFirst()
+                .orElseThrow();
+            assertEquals(false, phases.details().get("ttfbIncludesSetup"));
+            assertEquals(phases.details().get("ttfbMs"), phases.details().get("serverTtfbMs"));
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    // -------------------------
+    // HttpBodyReader — lecture bornée
+    // -------------------------
+
+    @Test
+    void readBody_shouldTruncateAtCap() throws Exception {
+        byte[] page = "<html>".concat("a".repeat(10_000)).getBytes(StandardCharsets.UTF_8);
+
+        HttpBodyReader.CapturedBody body = HttpBodyReader.read(
+            new ByteArrayInputStream(page), 1024, "text/html", null, OptionalLong.of(page.length)
+        );
+
+        assertTrue(body.truncated());
+        assertEquals(1024, body.bytes());
+        assertEquals(1024, body.text().length());
+    }
+
+    @Test
+    void readBody_shouldNotTruncateWhenBodyFitsExactly() throws Exception {
+        byte[] page = "a".repeat(1024).getBytes(StandardCharsets.UTF_8);
+
+        HttpBodyReader.CapturedBody body = HttpBodyReader.read(
+            new ByteArrayInputStream(page), 1024, "text/html", null, OptionalLong.empty()
+        );
+
+        assertFalse(body.truncated());
+        assertEquals(1024, body.bytes());
+    }
+
+    @Test
+    void readBody_shouldStopReadingAtCap() throws Exception {
+        // Flux infini : la lecture doit s'arrêter d'elle-même à la limite
+        InputStream endless = new InputStream() {
+            @Override
+            public int read() {
+                return 'x';
+            }
+        };
+
+        HttpBodyReader.CapturedBody body = HttpBodyReader.read(endless, 4096, null, null, OptionalLong.empty());
+
+        assertTrue(body.truncated());
+        assertEquals(4096, body.bytes());
+    }
+
+    @Test
+    void readBody_shouldPreferContentTypeCharset() throws Exception {
+        byte[] page = "<meta charset=\"utf-8\"><p>caf\u00e9</p>".getBytes(StandardCharsets.ISO_8859_1);
+
+        HttpBodyReader.CapturedBody body = HttpBodyReader.read(
+            new ByteArrayInputStream(page), 1024, "text/html; charset=ISO-8859-1", null, OptionalLong.empty()
+        );
+
+        assertEquals("ISO-8859-1", body.charset());
+        assertTrue(body.text().contains("caf\u00e9"));
+    }
+
+    @Test
+    void readBody_shouldDetectCharsetFromMetaTag() throws Exception {
+        byte[] page = "<html><head><meta http-equiv=\"Content-Type\" content=\"text/html; charset=windows-1252\">"
+            .concat("</head><p>caf\u00e9</p>")
+            .getBytes(StandardCharsets.ISO_8859_1);
+
+        HttpBodyReader.CapturedBody body = HttpBodyReader.read(
+            new ByteArrayInputStream(page), 1024, "text/html", null, OptionalLong.empty()
+        );
+
+        assertEquals("windows-1252", body.charset());
+        assertTrue(body.text().contains("caf\u00e9"));
+    }
+
+    @Test
+    void readBody_shouldDefaultToUtf8AndStripBom() throws Exception {
+        byte[] text = "caf\u00e9".getBytes(StandardCharsets.UTF_8);
+        byte[] page = new byte[text.length + 3];
+        page[0] = (byte) 0xEF;
+        page[1] = (byte) 0xBB;
+        page[2] = (byte) 0xBF;
+        System.arraycopy(text, 0, page, 3, text.length);
+
+        HttpBodyReader.CapturedBody body = HttpBodyReader.read(
+            new ByteArrayInputStream(page), 1024, null, null, OptionalLong.empty()
+        );
+
+        assertEquals("UTF-8", body.charset());
+        assertEquals("caf\u00e9", body.text());
+    }
+
+    @Test
+    void readBody_shouldDecodeGzipAndCountWireBytes() throws Exception {
+        String html = "<html>" + "<p>hello</p>".repeat(500) + "</html>";
+        byte[] gzipped = compress(html, true);
+
+        HttpBodyReader.CapturedBody body = HttpBodyReader.read(
+            new ByteArrayInputStream(gzipped), 1_000_000, "text/html", "gzip", OptionalLong.of(gzipped.length)
+        );
+
+        assertEquals(html, body.text());
+        assertEquals("gzip", body.encoding());
+        assertEquals(html.length(), body.bytes());
+        assertEquals(gzipped.length, body.wireBytes());
+        assertTrue(body.compressionRatio() > 10);
+    }
+
+    @Test
+    void readBody_shouldDecodeDeflate() throws Exception {
+        String html = "<html>" + "<p>hello</p>".repeat(500) + "</html>";
+
+        HttpBodyReader.CapturedBody body = HttpBodyReader.read(
+            new ByteArrayInputStream(compress(html, false)), 1_000_000, "text/html", "deflate", OptionalLong.empty()
+        );
+
+        assertEquals(html, body.text());
+        assertEquals("deflate", body.encoding());
+    }
+
+    @Test
+    void readBody_shouldCapDecodedBytesOfCompressedBody() throws Exception {
+        // "Bombe" de compression : quelques Ko sur le réseau, plusieurs Mo une fois décodés
+        byte[] bomb = compress("a".repeat(5_000_000), true);
+
+        HttpBodyReader.CapturedBody body = HttpBodyReader.read(
+            new ByteArrayInputStream(bomb), 1024, "text/html", "gzip", OptionalLong.empty()
+        );
+
+        assertTrue(body.truncated());
+        assertEquals(1024, body.bytes());
+    }
+
+    @Test
+    void readBody_shouldKeepBodyWhenEncodingHeaderIsWrong() throws Exception {
+        byte[] page = "<html>plain</html>".getBytes(StandardCharsets.UTF_8);
+
+        HttpBodyReader.CapturedBody body = HttpBodyReader.read(
+            new ByteArrayInputStream(page), 1024, "text/html", "gzip", OptionalLong.empty()
+        );
+
+        assertEquals("<html>plain</html>", body.text());
+        assertEquals("identity", body.encoding());
+    }
+
+    private static byte[] compress(String text, boolean gzip) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (OutputStream compressed = gzip ? new GZIPOutputStream(out) : new DeflaterOutputStream(out)) {
+            compressed.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return out.toByteArray();
+    }
+
     // -------------------------
     // moduleId
     // -------------------------
@@ -0,0 +1,155 @@
+package com.dokor.argos.services.domain.audit;
+
+import com.dokor.argos.db.dao.AuditBatchDao;
+import com.dokor.argos.db.dao.AuditRunDao;
+import com.dokor.argos.db.generated.AuditBatch;
+import com.dokor.argos.services.configuration.ConfigurationService;
+import com.dokor.argos.services.domain.audit.enums.AuditRunLane;
+import com.dokor.argos.services.domain.audit.errors.ClientQuotaExceededException;
+import com.dokor.argos.services.domain.audit.errors.QueueFullException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AuditAdmissionControllerTest {
+
+    private final AuditRunDao auditRunDao = mock(AuditRunDao.class);
+    private final AuditBatchDao auditBatchDao = mock(AuditBatchDao.class);
+    private final ConfigurationService configurationService = mock(ConfigurationService.class);
+
+    private final AuditAdmissionController controller = new AuditAdmissionController(
+        auditRunDao, auditBatchDao, configurationService
+    );
+
+    @BeforeEach
+    void setUp() {
+        when(configurationService.auditAdmissionMaxWait()).thenReturn(Duration.ofMinutes(15));
+        when(configurationService.auditAdmissionStatsRefresh()).thenReturn(Duration.ofMinutes(1));
+        when(configurationService.auditAdmissionDurationSampleSize()).thenReturn(50);
+        when(configurationService.auditAdmissionDefaultRunDuration()).thenReturn(Duration.ofSeconds(60));
+        when(configurationService.auditWorkerConcurrency()).thenReturn(4);
+        when(configurationService.auditAdmissionBulkMaxWait()).thenReturn(Duration.ofHours(24));
+        when(configurationService.auditAdmissionClientQuota()).thenReturn(5000);
+        when(configurationService.auditAdmissionClientQuotaWindow()).thenReturn(Duration.ofHours(1));
+        when(auditRunDao.findRecentRunDurations(50)).thenReturn(List.of(
+            Duration.ofSeconds(50), Duration.ofSeconds(60), Duration.ofMinutes(5)
+        ));
+    }
+
+    @Test
+    void shouldAdmitWhileProjectedWaitIsBelowThreshold() {
+        // 59 runs devant × 60s ÷ 4 workers = 14m45s
+        when(auditRunDao.countQueuedAhead(eq("INTERACTIVE"), any())).thenReturn(59L);
+
+        assertDoesNotThrow(controller::admit);
+    }
+
+    @Test
+    void shouldRejectWithRetryAfterOnceQueueIsFull() {
+        // 70 runs devant × 60s ÷ 4 workers = 17m30s, soit 2m30s au-delà du seuil
+        when(auditRunDao.countQueuedAhead(eq("INTERACTIVE"), any())).thenReturn(70L);
+
+        QueueFullException e = assertThrows(QueueFullException.class, controller::admit);
+
+        assertEquals(Duration.ofSeconds(150), e.retryAfter());
+    }
+
+    @Test
+    void shouldCountAdmittedRunsBetweenRefreshes() {
+        // 60 runs devant : pile 15m, admis ; le suivant passerait à 15m15s
+        when(auditRunDao.countQueuedAhead(eq("INTERACTIVE"), any())).thenReturn(60L);
+
+        controller.admit();
+        assertThrows(QueueFullException.class, controller::admit);
+        verify(auditRunDao, times(1)).countQueuedAhead(eq("INTERACTIVE"), any());
+    }
+
+    @Test
+    void shouldUseRunningRunsAsWorkersWhenClusterIsLarger() {
+        when(auditRunDao.countQueuedAhead(eq("INTERACTIVE"), any())).thenReturn(70L);
+        when(auditRunDao.countRunning()).thenReturn(8L);
+
+        assertDoesNotThrow(controller::admit);
+    }
+
+    @Test
+    void shouldIgnoreAgedBulkBacklog() {
+        // 5000 runs BULK vieillis devant : seuls les 10 runs interactifs comptent, 10 × 60s ÷ 4 workers
+        when(auditRunDao.countQueuedAhead(eq("BULK"), any())).thenReturn(5000L);
+        when(auditRunDao.countQueuedAhead(eq("INTERACTIVE"), any())).thenReturn(10L);
+
+        assertDoesNotThrow(controller::admit);
+    }
+
+    @Test
+    void shouldOnlyCountWorkersTheInteractiveLaneCanUse() {
+        // 2 workers réservés à BULK : 50 runs devant × 60s ÷ 2 workers = 25m
+        when(configurationService.auditLaneReservedWorkers(AuditRunLane.BULK)).thenReturn(2);
+        when(auditRunDao.countQueuedAhead(eq("INTERACTIVE"), any())).thenReturn(50L);
+
+        assertThrows(QueueFullException.class, controller::admit);
+    }
+
+    @Test
+    void shouldNeverRejectWhenDisabled() {
+        when(configurationService.auditAdmissionMaxWait()).thenReturn(Duration.ZERO);
+
+        assertDoesNotThrow(controller::admit);
+        verifyNoInteractions(auditRunDao);
+    }
+
+    @Test
+    void shouldRejectBulkSubmissionBeyondBacklogWait() {
+        // 5000 runs BULK en file + 1000 nouveaux × 60s ÷ 4 workers = 25h
+        when(auditRunDao.countQueued(anyCollection())).thenReturn(5000L);
+
+        assertThrows(QueueFullException.class, () -> controller.admitBulk("ip:1.2.3.4", 1000));
+        assertDoesNotThrow(() -> controller.admitBulk("ip:1.2.3.4", 500));
+    }
+
+    @Test
+    void shouldRejectClientOverItsQuotaUntilOldestBatchLeavesWindow() {
+        Instant now = Instant.now();
+        when(auditBatchDao.findSubmittedSince(eq("ip:1.2.3.4"), any())).thenReturn(List.of(
+            batch(now.minus(Duration.ofMinutes(50)), 3000, null),
+            batch(now.minus(Duration.ofMinutes(10)), 1, 1500)
+        ));
+
+        ClientQuotaExceededException e = assertThrows(
+            ClientQuotaExceededException.class, () -> controller.admitBulk("ip:1.2.3.4", 1000)
+        );
+
+        // Le lot de 3000 URLs sort de la fenêtre dans 10 minutes
+        assertTrue(e.retryAfter().compareTo(Duration.ofMinutes(10)) <= 0);
+        assertTrue(e.retryAfter().compareTo(Duration.ofMinutes(9)) > 0);
+        verify(auditRunDao, never()).countQueued(anyCollection());
+    }
+
+    @Test
+    void shouldAdmitClientWithinItsQuota() {
+        when(auditBatchDao.findSubmittedSince(eq("ip:1.2.3.4"), any())).thenReturn(List.of(
+            batch(Instant.now().minus(Duration.ofMinutes(30)), 3000, null)
+        ));
+
+        assertDoesNotThrow(() -> controller.admitBulk("ip:1.2.3.4", 2000));
+    }
+
+    @Test
+    void shouldFallBackToDefaultDurationWithoutHistory() {
+        assertEquals(Duration.ofSeconds(60), AuditAdmissionController.median(List.of(), Duration.ofSeconds(60)));
+    }
+
+    private static AuditBatch batch(Instant createdAt, int urlCount, Integer maxPages) {
+        AuditBatch batch = new AuditBatch();
+        batch.setCreatedAt(createdAt);
+        batch.setUrlCount(urlCount);
+        batch.setMaxPages(maxPages);
+        return batch;
+    }
+}
@@ -0,0 +1,160 @@
+package com.dokor.argos.services.domain.audit;
+
+import com.dokor.argos.db.dao.AuditBatchDao;
+import com.dokor.argos.db.dao.AuditDao;
+import com.dokor.argos.db.generated.Audit;
+import com.dokor.argos.db.generated.AuditBatch;
+import com.dokor.argos.db.generated.Domain;
+import com.dokor.argos.services.configuration.ConfigurationService;
+import com.dokor.argos.services.domain.audit.enums.AuditRunLane;
+import com.dokor.argos.services.domain.audit.errors.ClientQuotaExceededException;
+import com.dokor.argos.services.domain.domain.DomainService;
+import com.dokor.argos.webservices.api.audits.data.AuditBatchStatusResponse;
+import com.dokor.argos.webservices.api.audits.data.CreateAuditBatchRequest;
+import com.dokor.argos.webservices.api.audits.data.CreateAuditBatchResponse;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AuditBatchServiceTest {
+
+    private final AuditBatchDao auditBatchDao = mock(AuditBatchDao.class);
+    private final AuditDao auditDao = mock(AuditDao.class);
+    private final AuditRunService auditRunService = mock(AuditRunService.class);
+    private final DomainService domainService = mock(DomainService.class);
+    private final UrlNormalizer urlNormalizer = mock(UrlNormalizer.class);
+    private final ConfigurationService configurationService = mock(ConfigurationService.class);
+    private final AuditAdmissionController admissionController = mock(AuditAdmissionController.class);
+
+    private final AuditBatchService service = new AuditBatchService(
+        auditBatchDao, auditDao, auditRunService, domainService, urlNormalizer, configurationService, admissionController
+    );
+
+    @Test
+    void shouldCreateOneRunPerDistinctUrlAndReportRejectedOnes() {
+        when(configurationService.auditBatchMaxUrls()).thenReturn(10);
+        when(urlNormalizer.normalize(anyString())).thenAnswer(inv -> {
+            String url = inv.getArgument(0);
+            if (url.contains("invalid")) {
+                throw new IllegalArgumentException("Invalid URL");
+            }
+            return url.toLowerCase();
+        });
+        when(urlNormalizer.extractHostname(anyString())).thenReturn("example.com");
+        when(domainService.findOrCreateAll(anyCollection())).thenReturn(Map.of("example.com", domain()));
+        // /a existe déjà, /b est créé par le batch INSERT IGNORE
+        when(auditDao.findByNormalizedUrls(anyCollection())).thenAnswer(inv -> {
+            Collection<String> urls = inv.getArgument(0);
+            return urls.contains("https://example.com/a")
+                ? List.of(audit(1L, "https://example.com/a"))
+                : List.of(audit(2L, "https://example.com/b"));
+        });
+        when(auditBatchDao.save(any())).thenAnswer(inv -> {
+            AuditBatch batch = inv.getArgument(0);
+            batch.setId(7L);
+            return batch;
+        });
+
+        CreateAuditBatchResponse response = service.createBatch(new CreateAuditBatchRequest(List.of(
+            "https://example.com/a",
+            "https://EXAMPLE.com/a",
+            "invalid",
+            "https://example.com/b"
+        ), null), "1.2.3.4");
+
+        verify(admissionController).admitBulk("ip:1.2.3.4", 4);
+        assertEquals(7L, response.batchId());
+        assertEquals(4, response.urlCount());
+        assertEquals(2, response.runCount());
+        assertEquals(List.of(new CreateAuditBatchResponse.RejectedUrl(2, "Invalid URL")), response.rejected());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Audit>> inserted = ArgumentCaptor.forClass(Collection.class);
+        verify(auditDao).insertMissing(inserted.capture());
+        assertEquals(List.of("https://example.com/b"), inserted.getValue().stream().map(Audit::getNormalizedUrl).toList());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> runs = ArgumentCaptor.forClass(Collection.class);
+        verify(auditRunService).createQueuedRuns(runs.capture(), eq(7L), eq(AuditRunLane.BULK), any(Instant.class));
+        assertEquals(List.of(1L, 2L), new ArrayList<>(runs.getValue()));
+    }
+
+    @Test
+    void shouldRejectTooLargeBatch() {
+        when(configurationService.auditBatchMaxUrls()).thenReturn(2);
+
+        CreateAuditBatchRequest request = new CreateAuditBatchRequest(Arrays.asList("a", "b", "c"), null);
+
+        assertThrows(IllegalArgumentException.class, () -> service.createBatch(request, null));
+        verifyNoInteractions(auditBatchDao, auditRunService);
+    }
+
+    @Test
+    void shouldRejectInteractiveLaneForBatch() {
+        when(configurationService.auditBatchMaxUrls()).thenReturn(10);
+
+        CreateAuditBatchRequest request = new CreateAuditBatchRequest(List.of("https://example.com/a"), "interactive");
+
+        assertThrows(IllegalArgumentException.class, () -> service.createBatch(request, null));
+        verifyNoInteractions(auditBatchDao, auditRunService);
+    }
+
+    @Test
+    void shouldRejectBatchOverClientQuotaBeforeInsertingAnything() {
+        when(configurationService.auditBatchMaxUrls()).thenReturn(10);
+        doThrow(new ClientQuotaExceededException(1, Duration.ofHours(1), Duration.ofMinutes(5)))
+            .when(admissionController).admitBulk("ip:1.2.3.4", 2);
+
+        CreateAuditBatchRequest request = new CreateAuditBatchRequest(
+            List.of("https://example.com/a", "https://example.com/b"), null
+        );
+
+        assertThrows(ClientQuotaExceededException.class, () -> service.createBatch(request, "1.2.3.4"));
+        verifyNoInteractions(urlNormalizer, domainService, auditDao, auditBatchDao, auditRunService);
+    }
+
+    @Test
+    void shouldAggregateRunStatusesOfBatch() {
+        AuditBatch batch = new AuditBatch();
+        batch.setId(7L);
+        batch.setRunCount(5);
+        when(auditBatchDao.findById(7L)).thenReturn(batch);
+        when(auditRunService.countByStatusForBatch(7L)).thenReturn(Map.of("COMPLETED", 4L, "FAILED", 1L));
+
+        AuditBatchStatusResponse status = service.getBatchStatus(7L);
+
+        assertEquals(5, status.runCount());
+        assertEquals(0, status.queued());
+        assertEquals(4, status.completed());
+        assertEquals(1, status.failed());
+        assertTrue(status.done());
+    }
+
+    // -------------------------
+    // Helpers
+    // -------------------------
+
+    private static Domain domain() {
+        Domain domain = new Domain();
+        domain.setId(3L);
+        domain.setHostname("example.com");
+        return domain;
+    }
+
+    private static Audit audit(long id, String normalizedUrl) {
+        Audit audit = new Audit();
+        audit.setId(id);
+        audit.setNormalizedUrl(normalizedUrl);
+        return audit;
+    }
+}
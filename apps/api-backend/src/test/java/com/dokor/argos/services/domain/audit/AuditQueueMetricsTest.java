@@ -0,0 +1,69 @@
+package com.dokor.argos.services.domain.audit;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.Timer;
+import com.dokor.argos.db.dao.AuditRunDao;
+import com.dokor.argos.db.generated.AuditRun;
+import com.dokor.argos.services.configuration.ConfigurationService;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AuditQueueMetricsTest {
+
+    private final AuditRunDao auditRunDao = mock(AuditRunDao.class);
+    private final ConfigurationService configurationService = mock(ConfigurationService.class);
+
+    private AuditQueueMetrics metrics() {
+        when(configurationService.auditMetricsQueueRefresh()).thenReturn(Duration.ofMinutes(1));
+        return new AuditQueueMetrics(auditRunDao, configurationService);
+    }
+
+    @Test
+    void shouldExposeQueueDepthFromOneCachedAggregate() {
+        when(auditRunDao.countInFlightByStatusAndLane()).thenReturn(List.of(
+            new AuditRunDao.StatusLaneCount("QUEUED", "BULK", 1200),
+            new AuditRunDao.StatusLaneCount("RUNNING", "INTERACTIVE", 3)
+        ));
+        when(auditRunDao.findOldestQueuedCreatedAt()).thenReturn(Optional.of(Instant.now().minusSeconds(600)));
+
+        Map<String, Metric> registered = metrics().metrics();
+
+        assertEquals(1200L, gauge(registered, "audit.queue.depth.queued.bulk"));
+        assertEquals(3L, gauge(registered, "audit.queue.depth.running.interactive"));
+        assertEquals(0L, gauge(registered, "audit.queue.depth.queued.interactive"));
+        assertTrue((Long) gauge(registered, "audit.queue.oldest-queued-age-ms") >= 600_000L);
+        verify(auditRunDao, times(1)).countInFlightByStatusAndLane();
+    }
+
+    @Test
+    void shouldRecordLatenciesAndThroughput() {
+        AuditQueueMetrics queueMetrics = metrics();
+        AuditRun run = new AuditRun();
+        run.setCreatedAt(Instant.now().minusSeconds(90));
+        run.setStartedAt(Instant.now().minusSeconds(2));
+
+        queueMetrics.runStarted(run);
+        queueMetrics.runCompleted(run);
+        queueMetrics.runFailed();
+
+        Map<String, Metric> registered = queueMetrics.metrics();
+        assertEquals(1, ((Timer) registered.get("audit.runs.claim-to-start")).getCount());
+        assertEquals(1, ((Timer) registered.get("audit.runs.end-to-end")).getCount());
+        assertEquals(1, ((Meter) registered.get("audit.runs.completed")).getCount());
+        assertEquals(1, ((Meter) registered.get("audit.runs.failed")).getCount());
+    }
+
+    private static Object gauge(Map<String, Metric> metrics, String name) {
+        return ((Gauge<?>) metrics.get(name)).getValue();
+    }
+}
@@ -0,0 +1,46 @@
+package com.dokor.argos.services.domain.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuditQueueSignalTest {
+
+    private final AuditQueueSignal signal = new AuditQueueSignal();
+
+    @Test
+    void shouldNotSleepWhenSignalArrivedSinceGenerationWasRead() throws Exception {
+        long generation = signal.generation();
+        signal.signal();
+
+        long start = System.nanoTime();
+        signal.await(generation, Duration.ofSeconds(10));
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+    }
+
+    @Test
+    void shouldWakeUpWaitingWorkerOnSignal() throws Exception {
+        long generation = signal.generation();
+        Thread worker = Thread.ofVirtual().start(() -> {
+            try {
+                signal.await(generation, Duration.ofSeconds(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        signal.signal();
+
+        assertTrue(worker.join(Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void shouldReturnAfterTimeoutWithoutSignal() throws Exception {
+        signal.await(signal.generation(), Duration.ofMillis(20));
+
+        assertEquals(0L, signal.generation());
+    }
+}
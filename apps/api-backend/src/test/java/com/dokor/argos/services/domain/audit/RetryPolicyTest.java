@@ -0,0 +1,103 @@
+package com.dokor.argos.services.domain.audit;
+
+import com.dokor.argos.services.configuration.ConfigurationService;
+import com.dokor.argos.services.domain.audit.errors.TransientServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RetryPolicyTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final ConfigurationService configurationService = mock(ConfigurationService.class);
+    private final RetryPolicy retryPolicy = new RetryPolicy(configurationService);
+
+    @BeforeEach
+    void setUp() {
+        when(configurationService.auditRetryMaxAttempts()).thenReturn(3);
+        when(configurationService.auditRetryBaseDelay()).thenReturn(Duration.ofSeconds(30));
+        when(configurationService.auditRetryMaxDelay()).thenReturn(Duration.ofMinutes(10));
+        when(configurationService.auditRetryModuleMaxAttempts()).thenReturn(3);
+        when(configurationService.auditRetryModuleBaseDelay()).thenReturn(Duration.ofMillis(1));
+        when(configurationService.auditRetryModuleMaxDelay()).thenReturn(Duration.ofMillis(5));
+    }
+
+    @Test
+    void shouldClassifyNetworkAndServiceUnavailabilityAsTransient() {
+        assertTrue(retryPolicy.isTransient(new UnknownHostException("example.com")));
+        assertTrue(retryPolicy.isTransient(new RuntimeException(new ConnectException("Connection refused"))));
+        assertTrue(retryPolicy.isTransient(new IOException("HTTP/1.1 header parser received no bytes")));
+        assertTrue(retryPolicy.isTransient(new TransientServiceException("HTTP 503")));
+
+        assertFalse(retryPolicy.isTransient(new IllegalStateException("HTTP 400")));
+        assertFalse(retryPolicy.isTransient(new IllegalArgumentException("Illegal character in URL")));
+    }
+
+    @Test
+    void shouldDoubleBackoffWithJitterUpToMaxDelay() {
+        Duration base = Duration.ofSeconds(30);
+        Duration max = Duration.ofMinutes(10);
+        for (int i = 0; i < 50; i++) {
+            assertBetween(RetryPolicy.backoff(1, base, max), Duration.ofSeconds(15), Duration.ofSeconds(30));
+            assertBetween(RetryPolicy.backoff(3, base, max), Duration.ofSeconds(60), Duration.ofSeconds(120));
+            assertBetween(RetryPolicy.backoff(10, base, max), Duration.ofMinutes(5), Duration.ofMinutes(10));
+        }
+    }
+
+    @Test
+    void shouldScheduleRunRetryOnlyForTransientFailuresWithinMaxAttempts() {
+        Optional<Instant> next = retryPolicy.nextRunAttempt(1, new TransientServiceException("HTTP 503"), T0);
+        assertTrue(next.isPresent());
+        assertBetween(Duration.between(T0, next.get()), Duration.ofSeconds(15), Duration.ofSeconds(30));
+
+        assertTrue(retryPolicy.nextRunAttempt(1, new IllegalStateException("bad report"), T0).isEmpty());
+        assertTrue(retryPolicy.nextRunAttempt(3, new TransientServiceException("HTTP 503"), T0).isEmpty());
+    }
+
+    @Test
+    void shouldRetryModuleCallOnTransientFailure() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = retryPolicy.callModule("lighthouse", null, () -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new TransientServiceException("HTTP 503");
+            }
+            return "ok";
+        });
+
+        assertEquals("ok", result);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void shouldNotRetryModuleCallOnPermanentFailureOrPastDeadline() {
+        AtomicInteger calls = new AtomicInteger();
+        assertThrows(IllegalStateException.class, () -> retryPolicy.callModule("lighthouse", null, () -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("HTTP 400");
+        }));
+        assertEquals(1, calls.get());
+
+        AtomicInteger lateCalls = new AtomicInteger();
+        assertThrows(TransientServiceException.class, () -> retryPolicy.callModule("lighthouse", Instant.now().minusSeconds(1), () -> {
+            lateCalls.incrementAndGet();
+            throw new TransientServiceException("HTTP 503");
+        }));
+        assertEquals(1, lateCalls.get());
+    }
+
+    private static void assertBetween(Duration actual, Duration min, Duration max) {
+        assertTrue(actual.compareTo(min) >= 0 && actual.compareTo(max) <= 0, actual + " not in [" + min + ", " + max + "]");
+    }
+}
@@ -0,0 +1,78 @@
+package com.dokor.argos.services.domain.audit;
+
+import com.dokor.argos.db.dao.AuditRunDao;
+import com.dokor.argos.services.configuration.ConfigurationService;
+import com.dokor.argos.services.domain.audit.enums.AuditRunLane;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SubmitterFairShareTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T10:00:00Z");
+
+    private final AuditRunDao auditRunDao = mock(AuditRunDao.class);
+    private final ConfigurationService configurationService = mock(ConfigurationService.class);
+
+    private final SubmitterFairShare fairShare = new SubmitterFairShare(auditRunDao, configurationService);
+
+    @BeforeEach
+    void setUp() {
+        when(configurationService.auditFairShareQuantum()).thenReturn(Duration.ofSeconds(30));
+        when(configurationService.auditFairShareIndexRefresh()).thenReturn(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void shouldNotLetHeavySubmitterHoldBackOthers() {
+        when(auditRunDao.findQueuedHeads(any())).thenReturn(List.of(
+            new AuditRunDao.QueuedHead("batch:1", AuditRunLane.BULK.name(), T0, 2000),
+            new AuditRunDao.QueuedHead("ip:203.0.113.7", AuditRunLane.INTERACTIVE.name(), T0.plusSeconds(45), 1)
+        ));
+
+        Map<String, Integer> quotas = fairShare.quotas(4, allLanesOpen());
+
+        // batch à T0 puis T0+30s, l'IP à T0+45s, puis de nouveau le batch à T0+60s
+        assertEquals(Map.of("batch:1", 3, "ip:203.0.113.7", 1), quotas);
+    }
+
+    @Test
+    void shouldSkipSubmittersWhoseLaneIsFull() {
+        when(auditRunDao.findQueuedHeads(any())).thenReturn(List.of(
+            new AuditRunDao.QueuedHead("batch:1", AuditRunLane.BULK.name(), T0, 2000),
+            new AuditRunDao.QueuedHead("ip:203.0.113.7", AuditRunLane.INTERACTIVE.name(), T0.plusSeconds(45), 1)
+        ));
+
+        Map<String, Integer> quotas = fairShare.quotas(4, Map.of(
+            AuditRunLane.INTERACTIVE, 1,
+            AuditRunLane.BULK, 0,
+            AuditRunLane.SCHEDULED, 0
+        ));
+
+        assertEquals(Map.of("ip:203.0.113.7", 1), quotas);
+    }
+
+    @Test
+    void shouldRereadQueueHeadsWhenIndexLooksEmpty() {
+        when(auditRunDao.findQueuedHeads(any()))
+            .thenReturn(List.of())
+            .thenReturn(List.of(new AuditRunDao.QueuedHead("anonymous", AuditRunLane.INTERACTIVE.name(), T0, 1)));
+
+        assertTrue(fairShare.quotas(1, allLanesOpen()).isEmpty());
+        assertEquals(Map.of("anonymous", 1), fairShare.quotas(1, allLanesOpen()));
+    }
+
+    private static Map<AuditRunLane, Integer> allLanesOpen() {
+        return Map.of(
+            AuditRunLane.INTERACTIVE, 4,
+            AuditRunLane.BULK, 4,
+            AuditRunLane.SCHEDULED, 4
+        );
+    }
+}
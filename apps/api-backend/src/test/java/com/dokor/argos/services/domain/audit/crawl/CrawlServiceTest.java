@@ -0,0 +1,100 @@
+package com.dokor.argos.services.domain.audit.crawl;
+
+import com.dokor.argos.db.dao.AuditBatchDao;
+import com.dokor.argos.db.dao.AuditDao;
+import com.dokor.argos.db.generated.AuditBatch;
+import com.dokor.argos.services.analysis.model.AuditContext;
+import com.dokor.argos.services.configuration.ConfigurationService;
+import com.dokor.argos.services.domain.audit.AuditAdmissionController;
+import com.dokor.argos.services.domain.audit.AuditBatchService;
+import com.dokor.argos.services.domain.audit.AuditRunService;
+import com.dokor.argos.services.domain.audit.UrlNormalizer;
+import com.dokor.argos.services.domain.domain.DomainService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CrawlServiceTest {
+
+    private final AuditBatchDao auditBatchDao = mock(AuditBatchDao.class);
+    private final AuditDao auditDao = mock(AuditDao.class);
+    private final AuditBatchService auditBatchService = mock(AuditBatchService.class);
+    private final UrlNormalizer urlNormalizer = new UrlNormalizer();
+
+    private final CrawlService crawlService = new CrawlService(
+        auditBatchDao,
+        auditDao,
+        auditBatchService,
+        mock(AuditRunService.class),
+        mock(DomainService.class),
+        urlNormalizer,
+        mock(ConfigurationService.class),
+        mock(AuditAdmissionController.class),
+        new ObjectMapper()
+    );
+
+    @Test
+    void shouldFollowLinksOfRootRedirectedToAnotherHost() {
+        String rootUrl = urlNormalizer.normalize("https://example.com/");
+        when(auditBatchDao.findById(1L)).thenReturn(crawl(rootUrl, null));
+        when(auditBatchDao.recordCrawlHost(1L, "www.example.com")).thenReturn("www.example.com");
+        when(auditDao.findNormalizedUrlsByBatch(1L)).thenReturn(List.of(rootUrl));
+        when(auditBatchDao.reserveRuns(eq(1L), anyInt())).thenAnswer(inv -> inv.getArgument(1));
+        when(auditBatchService.addPages(eq(1L), anyMap(), anyString())).thenAnswer(inv -> (long) inv.<Map<?, ?>>getArgument(1).size());
+
+        crawlService.onPageFetched(1L, page(rootUrl, "https://www.example.com/", """
+            <a href="/pricing">Pricing</a>
+            <a href="https://www.example.com/contact">Contact</a>
+            """));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, String>> pages = ArgumentCaptor.forClass(Map.class);
+        verify(auditBatchService).addPages(eq(1L), pages.capture(), eq("www.example.com"));
+        assertEquals(List.of(
+            urlNormalizer.normalize("https://www.example.com/pricing"),
+            urlNormalizer.normalize("https://www.example.com/contact")
+        ), List.copyOf(pages.getValue().keySet()));
+    }
+
+    @Test
+    void shouldIgnoreLinksOutsideRecordedCrawlHost() {
+        String rootUrl = urlNormalizer.normalize("https://example.com/");
+        when(auditBatchDao.findById(1L)).thenReturn(crawl(rootUrl, "www.example.com"));
+        when(auditDao.findNormalizedUrlsByBatch(1L)).thenReturn(List.of(rootUrl));
+
+        // Page redirigée vers un autre hôte : ses liens ne font pas partie du site crawlé
+        crawlService.onPageFetched(1L, page(
+            urlNormalizer.normalize("https://www.example.com/login"),
+            "https://accounts.example.org/",
+            "<a href=\"/signup\">Signup</a>"
+        ));
+
+        verify(auditBatchDao, never()).recordCrawlHost(anyLong(), anyString());
+        verify(auditBatchService, never()).addPages(anyLong(), anyMap(), anyString());
+    }
+
+    // -------------------------
+    // Helpers
+    // -------------------------
+
+    private static AuditBatch crawl(String rootUrl, String crawlHost) {
+        AuditBatch crawl = new AuditBatch();
+        crawl.setId(1L);
+        crawl.setRootUrl(rootUrl);
+        crawl.setCrawlHost(crawlHost);
+        crawl.setMaxPages(10);
+        crawl.setRunCount(1);
+        return crawl;
+    }
+
+    private static AuditContext page(String normalizedUrl, String finalUrl, String html) {
+        return new AuditContext(normalizedUrl, normalizedUrl, 1L)
+            .withHttpResult(finalUrl, 200, 10L, List.of(normalizedUrl, finalUrl), Map.of(), html);
+    }
+}
@@ -0,0 +1,72 @@
+package com.dokor.argos.services.domain.audit.crawl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LinkExtractorTest {
+
+    @Test
+    void shouldResolveRelativeLinksAndKeepDocumentOrder() {
+        String html = """
+            <a href="/pricing">Pricing</a>
+            <a class="nav" href='blog/post-1'>Post</a>
+            <a href=https://example.com/contact>Contact</a>
+            """;
+
+        Set<String> links = LinkExtractor.extractSameHostLinks(html, "https://example.com/fr/");
+
+        assertEquals(List.of(
+            "https://example.com/pricing",
+            "https://example.com/fr/blog/post-1",
+            "https://example.com/contact"
+        ), List.copyOf(links));
+    }
+
+    @Test
+    void shouldIgnoreOtherHostsAndNonHttpLinks() {
+        String html = """
+            <a href="https://other.com/">Other</a>
+            <a href="mailto:contact@example.com">Mail</a>
+            <a href="javascript:void(0)">JS</a>
+            <a href="#top">Top</a>
+            <a href="ftp://example.com/file">FTP</a>
+            <a href="https://EXAMPLE.com/about">About</a>
+            """;
+
+        Set<String> links = LinkExtractor.extractSameHostLinks(html, "https://example.com/");
+
+        assertEquals(List.of("https://EXAMPLE.com/about"), List.copyOf(links));
+    }
+
+    @Test
+    void shouldStripFragmentsAndDeduplicate() {
+        String html = """
+            <a href="/docs#install">Install</a>
+            <a href="/docs#usage">Usage</a>
+            <a href="/search?q=a&amp;page=2">Search</a>
+            """;
+
+        Set<String> links = LinkExtractor.extractSameHostLinks(html, "https://example.com/");
+
+        assertEquals(List.of("https://example.com/docs", "https://example.com/search?q=a&page=2"), List.copyOf(links));
+    }
+
+    @Test
+    void shouldHonourBaseHref() {
+        String html = "<head><base href=\"/app/\"></head><a href=\"page\">Page</a>";
+
+        Set<String> links = LinkExtractor.extractSameHostLinks(html, "https://example.com/");
+
+        assertEquals(List.of("https://example.com/app/page"), List.copyOf(links));
+    }
+
+    @Test
+    void shouldReturnEmptyWithoutBody() {
+        assertTrue(LinkExtractor.extractSameHostLinks(null, "https://example.com/").isEmpty());
+        assertTrue(LinkExtractor.extractSameHostLinks("<a href=\"/a\">A</a>", null).isEmpty());
+    }
+}
@@ -0,0 +1,78 @@
+package com.dokor.argos.services.domain.audit.progress;
+
+import com.dokor.argos.services.domain.audit.enums.AuditRunStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RunProgressRegistryTest {
+
+    @Test
+    void shouldTrackModulesAndNotifySubscribers() {
+        RunProgressRegistry registry = new RunProgressRegistry();
+        List<RunProgressEvent> events = new ArrayList<>();
+        registry.subscribe(1L, events::add);
+
+        registry.runStarted(1L, List.of("http", "html"));
+        registry.moduleStarted(1L, "http");
+        registry.moduleFinished(1L, "http", 120L);
+
+        RunProgress progress = registry.snapshot(1L).orElseThrow();
+        assertEquals(AuditRunStatus.RUNNING, progress.status());
+        assertEquals(List.of("http"), progress.finishedModules());
+        assertTrue(progress.runningModules().isEmpty());
+
+        assertEquals(
+            List.of(RunProgressEventType.RUN_STARTED, RunProgressEventType.MODULE_STARTED, RunProgressEventType.MODULE_FINISHED),
+            events.stream().map(RunProgressEvent::type).toList()
+        );
+        RunProgressEvent finished = events.get(2);
+        assertEquals("http", finished.moduleId());
+        assertEquals(120L, finished.durationMs());
+        assertEquals(1, finished.finishedModules());
+        assertEquals(2, finished.totalModules());
+    }
+
+    @Test
+    void shouldForgetRunAfterTerminalEvent() {
+        RunProgressRegistry registry = new RunProgressRegistry();
+        List<RunProgressEvent> events = new ArrayList<>();
+        registry.subscribe(1L, events::add);
+
+        registry.runStarted(1L, List.of("http"));
+        registry.runFailed(1L, "boom");
+        registry.moduleStarted(1L, "http");
+
+        assertTrue(registry.snapshot(1L).isEmpty());
+        assertEquals(RunProgressEventType.RUN_FAILED, events.get(events.size() - 1).type());
+        assertEquals("boom", events.get(events.size() - 1).error());
+    }
+
+    @Test
+    void shouldStopNotifyingAfterUnsubscribe() {
+        RunProgressRegistry registry = new RunProgressRegistry();
+        List<RunProgressEvent> events = new ArrayList<>();
+        Runnable unsubscribe = registry.subscribe(1L, events::add);
+
+        registry.runStarted(1L, List.of("http"));
+        unsubscribe.run();
+        registry.moduleStarted(1L, "http");
+
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void shouldNotifyNewSubscriberAfterLastOneLeft() {
+        RunProgressRegistry registry = new RunProgressRegistry();
+        List<RunProgressEvent> events = new ArrayList<>();
+        registry.subscribe(1L, event -> {}).run();
+        registry.subscribe(1L, events::add);
+
+        registry.runStarted(1L, List.of("http"));
+
+        assertEquals(1, events.size());
+    }
+}
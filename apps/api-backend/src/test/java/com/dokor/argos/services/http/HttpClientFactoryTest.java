@@ -0,0 +1,75 @@
+package com.dokor.argos.services.http;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.Timer;
+import com.dokor.argos.services.configuration.ConfigurationService;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HttpClientFactoryTest {
+
+    private final ConfigurationService configurationService = mock(ConfigurationService.class);
+
+    private HttpClientFactory factory() {
+        when(configurationService.httpClientConnectTimeout(any())).thenReturn(Duration.ofSeconds(2));
+        return new HttpClientFactory(configurationService);
+    }
+
+    @Test
+    void shouldShareOneClientPerProfile() {
+        HttpClientFactory factory = factory();
+
+        HttpClient sidecar = factory.client(HttpClientProfile.SIDECAR);
+
+        assertSame(sidecar, factory.client(HttpClientProfile.SIDECAR));
+        assertNotSame(sidecar, factory.client(HttpClientProfile.AUDIT_TARGET));
+        assertEquals(HttpClient.Version.HTTP_1_1, sidecar.version());
+        assertEquals(HttpClient.Redirect.NEVER, factory.client(HttpClientProfile.AUDIT_TARGET).followRedirects());
+        assertEquals(Duration.ofSeconds(2), sidecar.connectTimeout().orElseThrow());
+    }
+
+    @Test
+    void shouldCountRequestsAndErrorsPerProfile() throws Exception {
+        HttpClientFactory factory = factory();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            HttpClient client = factory.client(HttpClientProfile.SIDECAR);
+            URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/");
+
+            client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding());
+            client.send(HttpRequest.newBuilder(uri).build(), HttpResponse.BodyHandlers.discarding());
+            assertThrows(ConnectException.class, () -> client.send(
+                HttpRequest.newBuilder(URI.create("http://127.0.0.1:1/")).build(),
+                HttpResponse.BodyHandlers.discarding()
+            ));
+        } finally {
+            server.stop(0);
+        }
+
+        Map<String, Metric> metrics = factory.metrics();
+        assertEquals(2, ((Timer) metrics.get("http.client.sidecar.requests")).getCount());
+        assertEquals(1, ((Meter) metrics.get("http.client.sidecar.errors")).getCount());
+        assertEquals(0, ((Timer) metrics.get("http.client.audit-target.requests")).getCount());
+    }
+}
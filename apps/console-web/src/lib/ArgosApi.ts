@@ -1,7 +1,10 @@
 import { Report } from "@/components/report/types";
+import { AuditModuleResult, ScoreAggregate } from "@/lib/auditTypes";
 
 export type CreateAuditRequest = {
   url: string;
+  // true pour relancer l'audit même si un résultat récent existe
+  forceRefresh?: boolean;
 };
 
 export type CreateAuditResponse = {
@@ -9,6 +12,10 @@ export type CreateAuditResponse = {
   runId: string | number;
   status: "QUEUED" | "RUNNING" | "FAILED" | "COMPLETED";
   normalizedUrl?: string;
+  // true si la soumission a été rattachée à un run déjà en cours pour la même URL
+  attached?: boolean;
+  // run dont le résultat récent est réutilisé (run créé directement COMPLETED)
+  sourceRunId?: string | number | null;
 };
 
 export type AuditRunStatusResponse = {
@@ -21,6 +28,63 @@ export type AuditRunStatusResponse = {
   startedAt?: string | null;
   finishedAt?: string | null;
   reportToken?: string | null;
+  // Renseignés tant que le run n'est pas terminé (résultats progressifs)
+  partialModules?: AuditModuleResult[] | null;
+  provisionalScore?: ScoreAggregate | null;
+  sourceRunId?: string | number | null;
+};
+
+export type CreateAuditBatchRequest = {
+  urls: string[];
+  // file de priorité des runs du lot (BULK par défaut)
+  lane?: "BULK" | "SCHEDULED";
+};
+
+export type CreateAuditBatchResponse = {
+  batchId: string | number;
+  urlCount: number;
+  runCount: number;
+  rejected: { index: number; error: string }[];
+  createdAt?: string;
+};
+
+export type AuditBatchStatusResponse = {
+  batchId: string | number;
+  createdAt?: string;
+  runCount: number;
+  queued: number;
+  running: number;
+  completed: number;
+  failed: number;
+  done: boolean;
+};
+
+export type CreateCrawlRequest = {
+  url: string;
+  maxPages?: number;
+};
+
+export type CreateCrawlResponse = {
+  batchId: string | number;
+  rootRunId: string | number;
+  maxPages: number;
+  createdAt?: string;
+};
+
+export type CrawlRollupResponse = {
+  batchId: string | number;
+  rootUrl: string;
+  maxPages: number;
+  progress: AuditBatchStatusResponse;
+  siteScore?: number | null;
+  moduleScores: { moduleId: string; ratio: number }[];
+  failingChecks: { key: string; title: string; pageCount: number }[];
+  pages: {
+    runId: string | number;
+    normalizedUrl: string;
+    status: "QUEUED" | "RUNNING" | "FAILED" | "COMPLETED";
+    score?: number | null;
+  }[];
 };
 
 export type AuditListItem = {
@@ -75,6 +139,24 @@ export const argosApi = {
       body: JSON.stringify(body),
     }),
 
+  createAuditBatch: (body: CreateAuditBatchRequest): Promise<CreateAuditBatchResponse> =>
+    http<CreateAuditBatchResponse>("/api/audits/batch", {
+      method: "POST",
+      body: JSON.stringify(body),
+    }),
+
+  getBatch: (batchId: string | number): Promise<AuditBatchStatusResponse> =>
+    http<AuditBatchStatusResponse>(`/api/audits/batch/${batchId}`, { method: "GET" }),
+
+  createCrawl: (body: CreateCrawlRequest): Promise<CreateCrawlResponse> =>
+    http<CreateCrawlResponse>("/api/audits/crawl", {
+      method: "POST",
+      body: JSON.stringify(body),
+    }),
+
+  getCrawl: (batchId: string | number): Promise<CrawlRollupResponse> =>
+    http<CrawlRollupResponse>(`/api/audits/crawl/${batchId}`, { method: "GET" }),
+
   getList: (): Promise<AuditListItem[]> =>
     http<AuditListItem[]>(`/api/audits?limit=${limit}`, { method: "GET" }),
 